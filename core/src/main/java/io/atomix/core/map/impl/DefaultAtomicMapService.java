@@ -29,6 +29,7 @@ import io.atomix.core.transaction.impl.RollbackResult;
 import io.atomix.primitive.service.AbstractPrimitiveService;
 import io.atomix.primitive.service.BackupInput;
 import io.atomix.primitive.service.BackupOutput;
+import io.atomix.primitive.service.ServiceBackup;
 import io.atomix.primitive.session.Session;
 import io.atomix.primitive.session.SessionId;
 import io.atomix.utils.concurrent.Scheduled;
@@ -65,6 +66,7 @@ public class DefaultAtomicMapService
   protected Map<TransactionId, TransactionScope> activeTransactions = Maps.newHashMap();
   protected Map<Long, IteratorContext> entryIterators = Maps.newHashMap();
   protected long currentVersion;
+  private Set<String> changedKeys;
 
   public DefaultAtomicMapService() {
     super(AtomicMapType.instance(), AtomicMapClient.class);
@@ -89,6 +91,20 @@ public class DefaultAtomicMapService
     return map;
   }
 
+  /**
+   * Returns a shallow copy of the map entries.
+   * <p>
+   * Map entry values are immutable, so a shallow copy is a consistent view of the map's state even as the map
+   * continues to be modified.
+   *
+   * @return a shallow copy of the map entries
+   */
+  protected Map<String, MapEntryValue> copyEntries() {
+    Map<String, MapEntryValue> entries = createMap();
+    entries.putAll(entries());
+    return entries;
+  }
+
   @Override
   public Serializer serializer() {
     return serializer;
@@ -102,6 +118,62 @@ public class DefaultAtomicMapService
     writer.writeObject(activeTransactions);
     writer.writeLong(currentVersion);
     writer.writeObject(entryIterators);
+    changedKeys = Sets.newHashSet();
+  }
+
+  @Override
+  public ServiceBackup captureBackup() {
+    Set<SessionId> listeners = Sets.newLinkedHashSet(this.listeners);
+    Set<String> preparedKeys = Sets.newHashSet(this.preparedKeys);
+    Map<String, MapEntryValue> entries = copyEntries();
+    Map<TransactionId, TransactionScope> activeTransactions = Maps.newHashMap(this.activeTransactions);
+    long currentVersion = this.currentVersion;
+    Map<Long, IteratorContext> entryIterators = Maps.newHashMap();
+    this.entryIterators.forEach((id, context) -> entryIterators.put(id, new IteratorContext(context)));
+    changedKeys = Sets.newHashSet();
+    return writer -> {
+      writer.writeObject(listeners);
+      writer.writeObject(preparedKeys);
+      writer.writeObject(entries);
+      writer.writeObject(activeTransactions);
+      writer.writeLong(currentVersion);
+      writer.writeObject(entryIterators);
+    };
+  }
+
+  @Override
+  public ServiceBackup captureChanges() {
+    // Changes are only tracked once the map has been backed up or restored.
+    if (changedKeys == null) {
+      return null;
+    }
+
+    Set<SessionId> listeners = Sets.newLinkedHashSet(this.listeners);
+    Set<String> preparedKeys = Sets.newHashSet(this.preparedKeys);
+    Map<String, MapEntryValue> updatedEntries = Maps.newHashMap();
+    Set<String> removedKeys = Sets.newHashSet();
+    for (String key : changedKeys) {
+      MapEntryValue value = entries().get(key);
+      if (value != null) {
+        updatedEntries.put(key, value);
+      } else {
+        removedKeys.add(key);
+      }
+    }
+    Map<TransactionId, TransactionScope> activeTransactions = Maps.newHashMap(this.activeTransactions);
+    long currentVersion = this.currentVersion;
+    Map<Long, IteratorContext> entryIterators = Maps.newHashMap();
+    this.entryIterators.forEach((id, context) -> entryIterators.put(id, new IteratorContext(context)));
+    changedKeys = Sets.newHashSet();
+    return writer -> {
+      writer.writeObject(listeners);
+      writer.writeObject(preparedKeys);
+      writer.writeObject(updatedEntries);
+      writer.writeObject(removedKeys);
+      writer.writeObject(activeTransactions);
+      writer.writeLong(currentVersion);
+      writer.writeObject(entryIterators);
+    };
   }
 
   @Override
@@ -112,15 +184,56 @@ public class DefaultAtomicMapService
     activeTransactions = reader.readObject();
     currentVersion = reader.readLong();
     entryIterators = reader.readObject();
+    changedKeys = Sets.newHashSet();
 
-    map.forEach((key, value) -> {
-      if (value.ttl() > 0) {
-        value.timer = getScheduler().schedule(Duration.ofMillis(value.ttl() - (getWallClock().getTime().unixTimestamp() - value.created())), () -> {
-          entries().remove(key, value);
-          publish(new AtomicMapEvent<>(AtomicMapEvent.Type.REMOVE, "", key, null, toVersioned(value)));
-        });
-      }
+    map.forEach(this::restoreTtl);
+  }
+
+  @Override
+  public void restoreChanges(BackupInput reader) {
+    listeners = reader.readObject();
+    preparedKeys = reader.readObject();
+    Map<String, MapEntryValue> updatedEntries = reader.readObject();
+    Set<String> removedKeys = reader.readObject();
+    activeTransactions = reader.readObject();
+    currentVersion = reader.readLong();
+    entryIterators = reader.readObject();
+
+    for (String key : removedKeys) {
+      cancelTtl(entries().remove(key));
+    }
+    updatedEntries.forEach((key, value) -> {
+      cancelTtl(entries().put(key, value));
+      restoreTtl(key, value);
     });
+    changedKeys = Sets.newHashSet();
+  }
+
+  /**
+   * Schedules the remaining TTL for the given restored value.
+   *
+   * @param key   the key for which to schedule the TTL
+   * @param value the value for which to schedule the TTL
+   */
+  private void restoreTtl(String key, MapEntryValue value) {
+    if (value.ttl() > 0) {
+      value.timer = getScheduler().schedule(Duration.ofMillis(value.ttl() - (getWallClock().getTime().unixTimestamp() - value.created())), () -> {
+        entries().remove(key, value);
+        markChanged(key);
+        publish(new AtomicMapEvent<>(AtomicMapEvent.Type.REMOVE, "", key, null, toVersioned(value)));
+      });
+    }
+  }
+
+  /**
+   * Records a change to the given key to be included in the next incremental backup.
+   *
+   * @param key the changed key
+   */
+  protected void markChanged(String key) {
+    if (changedKeys != null) {
+      changedKeys.add(key);
+    }
   }
 
   @Override
@@ -250,6 +363,7 @@ public class DefaultAtomicMapService
    */
   protected void putValue(String key, MapEntryValue value) {
     MapEntryValue oldValue = entries().put(key, value);
+    markChanged(key);
     cancelTtl(oldValue);
     scheduleTtl(key, value);
   }
@@ -263,6 +377,7 @@ public class DefaultAtomicMapService
     if (value.ttl() > 0) {
       value.timer = getScheduler().schedule(Duration.ofMillis(value.ttl()), () -> {
         entries().remove(key, value);
+        markChanged(key);
         publish(new AtomicMapEvent<>(AtomicMapEvent.Type.REMOVE, "", key, null, toVersioned(value)));
       });
     }
@@ -418,6 +533,7 @@ public class DefaultAtomicMapService
     } else {
       entries().put(key, new MapEntryValue(MapEntryValue.Type.TOMBSTONE, index, null, 0, 0));
     }
+    markChanged(key);
 
     // Cancel the timer if one is scheduled.
     cancelTtl(value);
@@ -528,6 +644,7 @@ public class DefaultAtomicMapService
         } else {
           entriesToAdd.put(key, new MapEntryValue(MapEntryValue.Type.TOMBSTONE, value.version, null, 0, 0));
         }
+        markChanged(key);
       }
     }
     entries().putAll(entriesToAdd);
@@ -746,6 +863,7 @@ public class DefaultAtomicMapService
       }
 
       MapEntryValue previousValue = entries().remove(key);
+      markChanged(key);
 
       // Cancel the previous timer if set.
       cancelTtl(previousValue);
@@ -831,9 +949,10 @@ public class DefaultAtomicMapService
     if (activeTransactions.isEmpty()) {
       Iterator<Map.Entry<String, MapEntryValue>> iterator = entries().entrySet().iterator();
       while (iterator.hasNext()) {
-        MapEntryValue value = iterator.next().getValue();
-        if (value.type() == MapEntryValue.Type.TOMBSTONE) {
+        Map.Entry<String, MapEntryValue> entry = iterator.next();
+        if (entry.getValue().type() == MapEntryValue.Type.TOMBSTONE) {
           iterator.remove();
+          markChanged(entry.getKey());
         }
       }
     } else {
@@ -842,9 +961,10 @@ public class DefaultAtomicMapService
           .min().getAsLong();
       Iterator<Map.Entry<String, MapEntryValue>> iterator = entries().entrySet().iterator();
       while (iterator.hasNext()) {
-        MapEntryValue value = iterator.next().getValue();
-        if (value.type() == MapEntryValue.Type.TOMBSTONE && value.version < lowWaterMark) {
+        Map.Entry<String, MapEntryValue> entry = iterator.next();
+        if (entry.getValue().type() == MapEntryValue.Type.TOMBSTONE && entry.getValue().version < lowWaterMark) {
           iterator.remove();
+          markChanged(entry.getKey());
         }
       }
     }
@@ -1027,5 +1147,10 @@ public class DefaultAtomicMapService
     IteratorContext(long sessionId) {
       this.sessionId = sessionId;
     }
+
+    IteratorContext(IteratorContext context) {
+      this.sessionId = context.sessionId;
+      this.position = context.position;
+    }
   }
 }
\ No newline at end of file
@@ -44,6 +44,11 @@ public class DefaultAtomicTreeMapService extends DefaultAtomicMapService impleme
     return (NavigableMap<String, MapEntryValue>) super.entries();
   }
 
+  @Override
+  protected NavigableMap<String, MapEntryValue> copyEntries() {
+    return new ConcurrentSkipListMap<>(entries());
+  }
+
   @Override
   public NavigableMap<String, byte[]> subMap(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
     NavigableMap<String, byte[]> map = new TreeMap<>();
@@ -17,6 +17,7 @@ package io.atomix.core.map.impl;
 
 import io.atomix.core.map.AtomicMapType;
 import io.atomix.primitive.PrimitiveId;
+import io.atomix.primitive.service.ServiceBackup;
 import io.atomix.primitive.service.ServiceContext;
 import io.atomix.primitive.service.impl.DefaultBackupInput;
 import io.atomix.primitive.service.impl.DefaultBackupOutput;
@@ -34,6 +35,7 @@ import java.time.Duration;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -70,6 +72,79 @@ public class DefaultAtomicMapServiceTest {
     assertArrayEquals("Hello world!".getBytes(), value.value());
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCaptureBackup() throws Exception {
+    ServiceContext context = mock(ServiceContext.class);
+    when(context.serviceType()).thenReturn(AtomicMapType.instance());
+    when(context.serviceName()).thenReturn("test");
+    when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.wallClock()).thenReturn(new WallClock());
+
+    DefaultAtomicMapService service = new TestAtomicMapService();
+    service.init(context);
+
+    service.put("foo", "Hello world!".getBytes());
+    ServiceBackup backup = service.captureBackup();
+    assertNotNull(backup);
+
+    // Changes made after the backup is captured must not be written to the backup.
+    service.put("foo", "Goodbye world!".getBytes());
+    service.put("bar", "Hello world!".getBytes());
+
+    Buffer buffer = HeapBuffer.allocate();
+    backup.backup(new DefaultBackupOutput(buffer, service.serializer()));
+
+    service = new TestAtomicMapService();
+    service.restore(new DefaultBackupInput(buffer.flip(), service.serializer()));
+
+    Versioned<byte[]> value = service.get("foo");
+    assertNotNull(value);
+    assertArrayEquals("Hello world!".getBytes(), value.value());
+    assertNull(service.get("bar"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCaptureChanges() throws Exception {
+    ServiceContext context = mock(ServiceContext.class);
+    when(context.serviceType()).thenReturn(AtomicMapType.instance());
+    when(context.serviceName()).thenReturn("test");
+    when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.wallClock()).thenReturn(new WallClock());
+
+    DefaultAtomicMapService service = new TestAtomicMapService();
+    service.init(context);
+
+    // Changes are not tracked until the map has been backed up.
+    service.put("foo", "Hello world!".getBytes());
+    service.put("bar", "Hello world!".getBytes());
+    assertNull(service.captureChanges());
+
+    Buffer buffer = HeapBuffer.allocate();
+    service.backup(new DefaultBackupOutput(buffer, service.serializer()));
+
+    service.put("foo", "Goodbye world!".getBytes());
+    service.remove("bar");
+    service.put("baz", "Hello world!".getBytes());
+    ServiceBackup changes = service.captureChanges();
+    assertNotNull(changes);
+
+    // Changes made after the changes are captured must not be written to the backup.
+    service.put("baz", "Goodbye world!".getBytes());
+
+    Buffer changesBuffer = HeapBuffer.allocate();
+    changes.backup(new DefaultBackupOutput(changesBuffer, service.serializer()));
+
+    service = new TestAtomicMapService();
+    service.restore(new DefaultBackupInput(buffer.flip(), service.serializer()));
+    service.restoreChanges(new DefaultBackupInput(changesBuffer.flip(), service.serializer()));
+
+    assertArrayEquals("Goodbye world!".getBytes(), service.get("foo").value());
+    assertNull(service.get("bar"));
+    assertArrayEquals("Hello world!".getBytes(), service.get("baz").value());
+  }
+
   private static class TestAtomicMapService extends DefaultAtomicMapService {
     @Override
     protected Scheduler getScheduler() {
@@ -58,6 +58,46 @@ public interface PrimitiveService {
    */
   void backup(BackupOutput output);
 
+  /**
+   * Captures a point-in-time view of the service state to be backed up asynchronously.
+   * <p>
+   * Services that support asynchronous backups capture a cheap, consistent view of their state on the service
+   * thread, and the returned backup is written outside of the service thread while the service continues to apply
+   * operations. The state written by the returned backup must be readable by {@link #restore(BackupInput)}.
+   * By default, asynchronous backups are not supported and the service is backed up by
+   * {@link #backup(BackupOutput)} on the service thread.
+   *
+   * @return the captured service backup or {@code null} if the service does not support asynchronous backups
+   */
+  default ServiceBackup captureBackup() {
+    return null;
+  }
+
+  /**
+   * Captures the changes made to the service state since it was last backed up, to be backed up asynchronously.
+   * <p>
+   * Services that support incremental backups track the changes made to their state since the state was last
+   * {@link #backup(BackupOutput) backed up}, {@link #captureBackup() captured}, {@link #restore(BackupInput) restored}
+   * or its changes were captured. Capturing the changes resets the tracked changes, and the changes written by the
+   * returned backup must be readable by {@link #restoreChanges(BackupInput)}. By default, incremental backups are not
+   * supported and the service must be backed up in full.
+   *
+   * @return the captured changes or {@code null} if the service must be backed up in full
+   */
+  default ServiceBackup captureChanges() {
+    return null;
+  }
+
+  /**
+   * Applies changes captured by {@link #captureChanges()} to the restored service state.
+   *
+   * @param input the buffer from which to read the changes
+   * @throws UnsupportedOperationException if the service does not support incremental backups
+   */
+  default void restoreChanges(BackupInput input) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Restores the service state from the given buffer.
    *
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.primitive.service;
+
+/**
+ * Point-in-time backup of a primitive service.
+ * <p>
+ * Service backups are captured by {@link PrimitiveService#captureBackup()} on the service thread and written outside
+ * of the service thread while the service continues to apply operations. A backup must therefore only read the state
+ * captured at the time the backup was created, and never the service's mutable state.
+ */
+@FunctionalInterface
+public interface ServiceBackup {
+
+  /**
+   * Writes the captured service state to the given buffer.
+   *
+   * @param output the buffer to which to write the captured service state
+   */
+  void backup(BackupOutput output);
+
+}
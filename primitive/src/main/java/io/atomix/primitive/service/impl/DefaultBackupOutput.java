@@ -19,6 +19,7 @@ import io.atomix.primitive.service.BackupOutput;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.BufferOutput;
 import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.PooledSerializer;
 import io.atomix.utils.serializer.Serializer;
 
 import java.nio.charset.Charset;
@@ -28,16 +29,21 @@ import java.nio.charset.Charset;
  */
 public class DefaultBackupOutput implements BackupOutput {
   private final BufferOutput<?> output;
-  private final Serializer serializer;
+  private final PooledSerializer serializer;
 
   public DefaultBackupOutput(BufferOutput<?> output, Serializer serializer) {
     this.output = output;
-    this.serializer = serializer;
+    this.serializer = new PooledSerializer(serializer);
   }
 
   @Override
   public <U> BackupOutput writeObject(U object) {
-    output.writeObject(object, o -> o != null ? serializer.encode(o) : null);
+    if (object == null) {
+      output.writeObject(object, o -> o != null ? serializer.encode(o) : null);
+      return this;
+    }
+
+    serializer.encode(object, output);
     return this;
   }
 
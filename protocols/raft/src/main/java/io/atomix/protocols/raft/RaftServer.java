@@ -552,6 +552,13 @@ public interface RaftServer {
     private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMillis(5000);
     private static final ThreadModel DEFAULT_THREAD_MODEL = ThreadModel.SHARED_THREAD_POOL;
     private static final int DEFAULT_THREAD_POOL_SIZE = Math.max(Math.min(Runtime.getRuntime().availableProcessors() * 2, 8), 4);
+    private static final int DEFAULT_MAX_APPENDS_PER_MEMBER = 2;
+    private static final int DEFAULT_MAX_APPEND_BATCH_SIZE = 1024 * 1024;
+    private static final int DEFAULT_MAX_COMMAND_BATCH_SIZE = 128;
+    private static final int DEFAULT_SNAPSHOT_CHUNK_SIZE = 1024 * 1024;
+    private static final int DEFAULT_MAX_INSTALLS_PER_MEMBER = 2;
+    private static final int DEFAULT_MAX_SNAPSHOT_DELTAS = 10;
+    private static final int DEFAULT_MAX_APPLY_BATCH_SIZE = 1024;
 
     protected String name;
     protected MemberId localMemberId;
@@ -564,6 +571,13 @@ public interface RaftServer {
     protected PrimitiveTypeRegistry primitiveTypes;
     protected ThreadModel threadModel = DEFAULT_THREAD_MODEL;
     protected int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
+    protected int maxAppendsPerMember = DEFAULT_MAX_APPENDS_PER_MEMBER;
+    protected int maxAppendBatchSize = DEFAULT_MAX_APPEND_BATCH_SIZE;
+    protected int maxCommandBatchSize = DEFAULT_MAX_COMMAND_BATCH_SIZE;
+    protected int snapshotChunkSize = DEFAULT_SNAPSHOT_CHUNK_SIZE;
+    protected int maxInstallsPerMember = DEFAULT_MAX_INSTALLS_PER_MEMBER;
+    protected int maxSnapshotDeltas = DEFAULT_MAX_SNAPSHOT_DELTAS;
+    protected int maxApplyBatchSize = DEFAULT_MAX_APPLY_BATCH_SIZE;
 
     protected Builder(MemberId localMemberId) {
       this.localMemberId = checkNotNull(localMemberId, "localMemberId cannot be null");
@@ -698,5 +712,119 @@ public interface RaftServer {
       this.threadPoolSize = threadPoolSize;
       return this;
     }
+
+    /**
+     * Sets the maximum number of append requests the leader may pipeline to each follower.
+     * <p>
+     * Once a follower's log is in sync with the leader's, the leader sends up to this many append requests to the
+     * follower without waiting for responses. Larger windows increase replication throughput over high latency links
+     * at the cost of more entries being resent when a request fails.
+     *
+     * @param maxAppendsPerMember the maximum number of in-flight append requests per follower
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxAppendsPerMember} is not positive
+     */
+    public Builder withMaxAppendsPerMember(int maxAppendsPerMember) {
+      checkArgument(maxAppendsPerMember > 0, "maxAppendsPerMember must be positive");
+      this.maxAppendsPerMember = maxAppendsPerMember;
+      return this;
+    }
+
+    /**
+     * Sets the maximum size of an append request to a follower in bytes.
+     * <p>
+     * The size of append requests to each follower adapts to the follower's state. Followers that are in sync with
+     * the leader are sent small batches, and the batch size grows up to this maximum while a follower is catching up.
+     *
+     * @param maxAppendBatchSize the maximum size of an append request to a follower in bytes
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxAppendBatchSize} is not positive
+     */
+    public Builder withMaxAppendBatchSize(int maxAppendBatchSize) {
+      checkArgument(maxAppendBatchSize > 0, "maxAppendBatchSize must be positive");
+      this.maxAppendBatchSize = maxAppendBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of commands the leader may append and replicate in a single batch.
+     * <p>
+     * Commands received by the leader while it's busy are appended to the log together and replicated in a single
+     * pass. Each command is still stored in its own log entry. Setting the maximum batch size to {@code 1} disables
+     * command batching.
+     *
+     * @param maxCommandBatchSize the maximum number of commands in a single batch
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxCommandBatchSize} is not positive
+     */
+    public Builder withMaxCommandBatchSize(int maxCommandBatchSize) {
+      checkArgument(maxCommandBatchSize > 0, "maxCommandBatchSize must be positive");
+      this.maxCommandBatchSize = maxCommandBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of snapshot bytes sent to a member in a single install request.
+     * <p>
+     * When a member is too far behind the leader's log, the leader's current snapshot is streamed to the member
+     * in chunks of up to the given number of bytes.
+     *
+     * @param snapshotChunkSize the maximum number of snapshot bytes in a single install request
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code snapshotChunkSize} is not positive
+     */
+    public Builder withSnapshotChunkSize(int snapshotChunkSize) {
+      checkArgument(snapshotChunkSize > 0, "snapshotChunkSize must be positive");
+      this.snapshotChunkSize = snapshotChunkSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of install requests that may be pipelined to each member.
+     *
+     * @param maxInstallsPerMember the maximum number of install requests that may be pipelined to each member
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxInstallsPerMember} is not positive
+     */
+    public Builder withMaxInstallsPerMember(int maxInstallsPerMember) {
+      checkArgument(maxInstallsPerMember > 0, "maxInstallsPerMember must be positive");
+      this.maxInstallsPerMember = maxInstallsPerMember;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of incremental snapshots to take of a service between full snapshots.
+     * <p>
+     * Services that support incremental backups are snapshotted by appending the changes made since the previous
+     * snapshot to the service's state in the previous snapshot. Once a service's state has been appended to the
+     * given number of times, or the appended changes outgrow the service's full state, a full snapshot of the
+     * service is taken to consolidate the changes. A value of {@code 0} disables incremental snapshots.
+     *
+     * @param maxSnapshotDeltas the maximum number of incremental snapshots to take between full snapshots
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxSnapshotDeltas} is negative
+     */
+    public Builder withMaxSnapshotDeltas(int maxSnapshotDeltas) {
+      checkArgument(maxSnapshotDeltas >= 0, "maxSnapshotDeltas must be positive");
+      this.maxSnapshotDeltas = maxSnapshotDeltas;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of committed entries to apply to the state machine in a single batch.
+     * <p>
+     * Committed entries are read from the log and applied to the state machine in batches rather than by a separate
+     * task per entry. Once a batch reaches the given size, the server thread yields to other tasks before reading
+     * the next batch.
+     *
+     * @param maxApplyBatchSize the maximum number of committed entries to apply in a single batch
+     * @return The server builder.
+     * @throws IllegalArgumentException if {@code maxApplyBatchSize} is not positive
+     */
+    public Builder withMaxApplyBatchSize(int maxApplyBatchSize) {
+      checkArgument(maxApplyBatchSize > 0, "maxApplyBatchSize must be positive");
+      this.maxApplyBatchSize = maxApplyBatchSize;
+      return this;
+    }
   }
 }
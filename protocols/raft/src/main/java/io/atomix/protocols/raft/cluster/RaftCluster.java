@@ -150,6 +150,16 @@ public interface RaftCluster {
    */
   Collection<RaftMember> getMembers();
 
+  /**
+   * Returns replication statistics for each remote member of the cluster.
+   * <p>
+   * Replication statistics are only maintained while the local server is the cluster leader. On other servers,
+   * the returned statistics describe the state of replication as of the last time the local server was leader.
+   *
+   * @return replication statistics for each remote member of the cluster
+   */
+  Collection<RaftMemberStatistics> getMemberStatistics();
+
   /**
    * Bootstraps the cluster.
    * <p>
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.cluster;
+
+import io.atomix.cluster.MemberId;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Replication statistics for a remote Raft member.
+ * <p>
+ * Replication statistics are maintained by the leader for each of its followers and are a point-in-time view of the
+ * follower's replication state.
+ */
+public class RaftMemberStatistics {
+  private final MemberId memberId;
+  private final long matchIndex;
+  private final long lag;
+  private final int batchSize;
+  private final double appendLatency;
+  private final int pendingAppends;
+
+  public RaftMemberStatistics(MemberId memberId, long matchIndex, long lag, int batchSize, double appendLatency, int pendingAppends) {
+    this.memberId = checkNotNull(memberId, "memberId cannot be null");
+    this.matchIndex = matchIndex;
+    this.lag = lag;
+    this.batchSize = batchSize;
+    this.appendLatency = appendLatency;
+    this.pendingAppends = pendingAppends;
+  }
+
+  /**
+   * Returns the member identifier.
+   *
+   * @return the member identifier
+   */
+  public MemberId memberId() {
+    return memberId;
+  }
+
+  /**
+   * Returns the highest index known to be replicated to the member.
+   *
+   * @return the highest index known to be replicated to the member
+   */
+  public long getMatchIndex() {
+    return matchIndex;
+  }
+
+  /**
+   * Returns the number of entries in the leader's log that are not known to be replicated to the member.
+   *
+   * @return the number of entries by which the member lags behind the leader
+   */
+  public long getLag() {
+    return lag;
+  }
+
+  /**
+   * Returns the current maximum size of an append request to the member in bytes.
+   *
+   * @return the current maximum size of an append request to the member in bytes
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Returns the mean round trip time of recent append requests to the member in milliseconds.
+   *
+   * @return the mean round trip time of recent append requests to the member in milliseconds
+   */
+  public double getAppendLatency() {
+    return appendLatency;
+  }
+
+  /**
+   * Returns the number of append requests to the member awaiting a response.
+   *
+   * @return the number of append requests to the member awaiting a response
+   */
+  public int getPendingAppends() {
+    return pendingAppends;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("memberId", memberId)
+        .add("matchIndex", matchIndex)
+        .add("lag", lag)
+        .add("batchSize", batchSize)
+        .add("appendLatency", appendLatency)
+        .add("pendingAppends", pendingAppends)
+        .toString();
+  }
+}
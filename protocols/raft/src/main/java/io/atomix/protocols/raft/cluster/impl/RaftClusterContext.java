@@ -22,6 +22,7 @@ import io.atomix.protocols.raft.cluster.RaftCluster;
 import io.atomix.protocols.raft.cluster.RaftClusterEvent;
 import io.atomix.protocols.raft.cluster.RaftClusterEventListener;
 import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.RaftMemberStatistics;
 import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.protocol.JoinRequest;
 import io.atomix.protocols.raft.protocol.LeaveRequest;
@@ -206,6 +207,14 @@ public final class RaftClusterContext implements RaftCluster, AutoCloseable {
     return member != null ? member.getMember() : null;
   }
 
+  @Override
+  public Collection<RaftMemberStatistics> getMemberStatistics() {
+    long lastIndex = raft.getLogWriter().getLastIndex();
+    return remoteMembers.stream()
+        .map(member -> member.getStatistics(lastIndex))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Returns a list of all member states.
    *
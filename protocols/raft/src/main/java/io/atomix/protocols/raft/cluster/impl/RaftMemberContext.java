@@ -15,8 +15,10 @@
  */
 package io.atomix.protocols.raft.cluster.impl;
 
+import io.atomix.protocols.raft.cluster.RaftMemberStatistics;
 import io.atomix.protocols.raft.storage.log.RaftLog;
 import io.atomix.protocols.raft.storage.log.RaftLogReader;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -27,9 +29,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Cluster member state.
  */
 public final class RaftMemberContext {
-  private static final int MAX_APPENDS = 2;
   private static final int APPEND_WINDOW_SIZE = 8;
+  private static final int MIN_BATCH_SIZE = 1024 * 32;
   private final DefaultRaftMember member;
+  private final RaftClusterContext cluster;
   private long term;
   private long configIndex;
   private long snapshotIndex;
@@ -39,9 +42,12 @@ public final class RaftMemberContext {
   private long heartbeatTime;
   private int appending;
   private boolean appendSucceeded;
+  private long appendGeneration;
   private long appendTime;
+  private int batchSize = MIN_BATCH_SIZE;
   private boolean configuring;
-  private boolean installing;
+  private int installing;
+  private SnapshotReader snapshotReader;
   private int failures;
   private long failureTime;
   private volatile RaftLogReader reader;
@@ -49,6 +55,7 @@ public final class RaftMemberContext {
 
   RaftMemberContext(DefaultRaftMember member, RaftClusterContext cluster) {
     this.member = checkNotNull(member, "member cannot be null").setCluster(cluster);
+    this.cluster = cluster;
   }
 
   /**
@@ -63,8 +70,11 @@ public final class RaftMemberContext {
     appending = 0;
     timeStats.clear();
     configuring = false;
-    installing = false;
+    installing = 0;
+    setSnapshotReader(null);
     appendSucceeded = false;
+    appendGeneration++;
+    batchSize = getMinBatchSize();
     failures = 0;
     failureTime = 0;
 
@@ -208,11 +218,15 @@ public final class RaftMemberContext {
 
   /**
    * Returns a boolean indicating whether an append request can be sent to the member.
+   * <p>
+   * Once an append to the member has succeeded, up to {@link io.atomix.protocols.raft.impl.RaftContext#getMaxAppendsPerMember()}
+   * append requests may be pipelined to the member. After a failed append only a single request is sent at a time
+   * until the member's log has been brought back in sync.
    *
    * @return Indicates whether an append request can be sent to the member.
    */
   public boolean canAppend() {
-    return appending == 0 || (appendSucceeded && appending < MAX_APPENDS && System.currentTimeMillis() - (timeStats.getMean() / MAX_APPENDS) >= appendTime);
+    return appending == 0 || (appendSucceeded && appending < cluster.getContext().getMaxAppendsPerMember());
   }
 
   /**
@@ -233,9 +247,70 @@ public final class RaftMemberContext {
 
   /**
    * Flags the last append to the member is failed.
+   * <p>
+   * Failing an append starts a new append generation. Rejections of requests that were pipelined in a prior
+   * generation are stale, since the member's next index has already been reset for the failed request.
    */
   public void appendFailed() {
     appendSucceeded(false);
+    appendGeneration++;
+    batchSize = getMinBatchSize();
+  }
+
+  /**
+   * Returns the maximum size in bytes of the next append request to the member.
+   *
+   * @return the maximum size in bytes of the next append request to the member
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Returns the smallest batch size to which the member's batch size may be reduced.
+   */
+  private int getMinBatchSize() {
+    return Math.min(MIN_BATCH_SIZE, cluster.getContext().getMaxAppendBatchSize());
+  }
+
+  /**
+   * Adapts the member's batch size to the size of the last batch built for the member.
+   * <p>
+   * A batch that reaches the batch size indicates the member lags behind the leader by more than a batch, in which
+   * case the batch size is doubled up to the configured maximum, as long as appends to the member still complete
+   * within a heartbeat interval. Once the member has caught up and batches are no longer filled, the batch size is
+   * halved back towards the minimum batch size.
+   *
+   * @param size the size of the last batch built for the member in bytes
+   */
+  public void updateBatchSize(int size) {
+    if (size >= batchSize) {
+      if (appendSucceeded && getAppendLatency() < cluster.getContext().getHeartbeatInterval().toMillis()) {
+        batchSize = (int) Math.min((long) batchSize * 2, cluster.getContext().getMaxAppendBatchSize());
+      } else {
+        batchSize = Math.max(batchSize / 2, getMinBatchSize());
+      }
+    } else if (size < batchSize / 2) {
+      batchSize = Math.max(batchSize / 2, getMinBatchSize());
+    }
+  }
+
+  /**
+   * Returns the mean round trip time of recent append requests to the member in milliseconds.
+   *
+   * @return the mean round trip time of recent append requests to the member in milliseconds
+   */
+  public double getAppendLatency() {
+    return timeStats.getN() > 0 ? timeStats.getMean() : 0;
+  }
+
+  /**
+   * Returns the member's current append generation.
+   *
+   * @return the member's current append generation
+   */
+  public long getAppendGeneration() {
+    return appendGeneration;
   }
 
   /**
@@ -295,27 +370,53 @@ public final class RaftMemberContext {
     configuring = false;
   }
 
+  /**
+   * Returns the reader from which the snapshot being installed on the member is read.
+   *
+   * @return The member snapshot reader or {@code null} if no snapshot is being read.
+   */
+  public SnapshotReader getSnapshotReader() {
+    return snapshotReader;
+  }
+
+  /**
+   * Sets the reader from which the snapshot being installed on the member is read, closing the prior reader.
+   *
+   * @param snapshotReader The member snapshot reader or {@code null} to close the current reader.
+   */
+  public void setSnapshotReader(SnapshotReader snapshotReader) {
+    if (this.snapshotReader != null && this.snapshotReader != snapshotReader) {
+      this.snapshotReader.close();
+    }
+    this.snapshotReader = snapshotReader;
+  }
+
   /**
    * Returns a boolean indicating whether an install request can be sent to the member.
+   * <p>
+   * Once the first chunk of a snapshot has been sent, up to
+   * {@link io.atomix.protocols.raft.impl.RaftContext#getMaxInstallsPerMember()} install requests may be pipelined
+   * to the member until the last chunk of the snapshot has been sent.
    *
    * @return Indicates whether an install request can be sent to the member.
    */
   public boolean canInstall() {
-    return !installing;
+    return installing == 0 || (snapshotReader != null && snapshotReader.hasRemaining()
+        && installing < cluster.getContext().getMaxInstallsPerMember());
   }
 
   /**
    * Starts an install request to the member.
    */
   public void startInstall() {
-    installing = true;
+    installing++;
   }
 
   /**
    * Completes an install request to the member.
    */
   public void completeInstall() {
-    installing = false;
+    installing = Math.max(installing - 1, 0);
   }
 
   /**
@@ -374,6 +475,22 @@ public final class RaftMemberContext {
     return failureTime;
   }
 
+  /**
+   * Returns replication statistics for the member.
+   *
+   * @param lastIndex the last index in the leader's log
+   * @return replication statistics for the member
+   */
+  public RaftMemberStatistics getStatistics(long lastIndex) {
+    return new RaftMemberStatistics(
+        member.memberId(),
+        matchIndex,
+        Math.max(lastIndex - matchIndex, 0),
+        batchSize,
+        getAppendLatency(),
+        appending);
+  }
+
   @Override
   public String toString() {
     RaftLogReader reader = this.reader;
@@ -389,6 +506,8 @@ public final class RaftMemberContext {
         .add("heartbeatTime", heartbeatTime)
         .add("appending", appending)
         .add("appendSucceeded", appendSucceeded)
+        .add("appendGeneration", appendGeneration)
+        .add("batchSize", batchSize)
         .add("appendTime", appendTime)
         .add("configuring", configuring)
         .add("installing", installing)
@@ -247,6 +247,13 @@ public class DefaultRaftServer implements RaftServer {
       raft.setElectionTimeout(electionTimeout);
       raft.setHeartbeatInterval(heartbeatInterval);
       raft.setSessionTimeout(sessionTimeout);
+      raft.setMaxAppendsPerMember(maxAppendsPerMember);
+      raft.setMaxAppendBatchSize(maxAppendBatchSize);
+      raft.setMaxCommandBatchSize(maxCommandBatchSize);
+      raft.setSnapshotChunkSize(snapshotChunkSize);
+      raft.setMaxInstallsPerMember(maxInstallsPerMember);
+      raft.setMaxSnapshotDeltas(maxSnapshotDeltas);
+      raft.setMaxApplyBatchSize(maxApplyBatchSize);
 
       return new DefaultRaftServer(raft);
     }
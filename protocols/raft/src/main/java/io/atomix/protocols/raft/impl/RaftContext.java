@@ -42,6 +42,7 @@ import io.atomix.protocols.raft.storage.log.RaftLogWriter;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
 import io.atomix.protocols.raft.storage.system.MetaStore;
 import io.atomix.protocols.raft.utils.LoadMonitor;
+import io.atomix.utils.concurrent.Scheduled;
 import io.atomix.utils.concurrent.SingleThreadContext;
 import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.concurrent.ThreadContextFactory;
@@ -51,8 +52,13 @@ import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
@@ -96,12 +102,22 @@ public class RaftContext implements AutoCloseable {
   private final SnapshotStore snapshotStore;
   private final RaftServiceManager stateMachine;
   private final ThreadContextFactory threadContextFactory;
+  private final int threadPoolSize;
   private final ThreadContext loadContext;
   private final ThreadContext stateContext;
   private final ThreadContext compactionContext;
+  private final ThreadContext flushContext;
+  private Scheduled groupCommitTimer;
   protected RaftRole role = new InactiveRole(this);
   private Duration electionTimeout = Duration.ofMillis(500);
   private Duration heartbeatInterval = Duration.ofMillis(150);
+  private int maxAppendsPerMember = 2;
+  private int maxAppendBatchSize = 1024 * 1024;
+  private int maxCommandBatchSize = 128;
+  private int snapshotChunkSize = 1024 * 1024;
+  private int maxInstallsPerMember = 2;
+  private int maxSnapshotDeltas = 10;
+  private int maxApplyBatchSize = 1024;
   private Duration sessionTimeout = Duration.ofMillis(5000);
   private volatile MemberId leader;
   private volatile long term;
@@ -109,6 +125,7 @@ public class RaftContext implements AutoCloseable {
   private long commitIndex;
   private volatile long firstCommitIndex;
   private volatile long lastApplied;
+  private final NavigableMap<Long, CompletableFuture<Void>> appliedFutures = new TreeMap<>();
 
   @SuppressWarnings("unchecked")
   public RaftContext(
@@ -134,8 +151,10 @@ public class RaftContext implements AutoCloseable {
     this.loadContext = new SingleThreadContext(namedThreads(baseThreadName + "-load", log));
     this.stateContext = new SingleThreadContext(namedThreads(baseThreadName + "-state", log));
     this.compactionContext = new SingleThreadContext(namedThreads(baseThreadName + "-compaction", log));
+    this.flushContext = new SingleThreadContext(namedThreads(baseThreadName + "-flush", log));
 
     this.threadContextFactory = threadModel.factory(baseThreadName + "-%d", threadPoolSize, log);
+    this.threadPoolSize = threadPoolSize;
 
     this.loadMonitor = new LoadMonitor(LOAD_WINDOW_SIZE, HIGH_LOAD_THRESHOLD, loadContext);
 
@@ -151,6 +170,13 @@ public class RaftContext implements AutoCloseable {
     this.logWriter = raftLog.writer();
     this.logReader = raftLog.openReader(1, RaftLogReader.Mode.ALL);
 
+    // If group commit is time bounded, periodically flush group commit batches for which the window or maximum
+    // delay has elapsed. Batches bounded only by size are flushed once the size is reached.
+    Duration interval = groupCommitInterval(storage);
+    if (interval != null) {
+      this.groupCommitTimer = threadContext.schedule(interval, interval, logWriter::flushExpired);
+    }
+
     // Open the snapshot store.
     this.snapshotStore = storage.openSnapshotStore();
 
@@ -163,6 +189,19 @@ public class RaftContext implements AutoCloseable {
     registerHandlers(protocol);
   }
 
+  /**
+   * Returns the interval at which to flush expired group commit batches, or {@code null} if group commit batches
+   * are not time bounded.
+   */
+  private static Duration groupCommitInterval(RaftStorage storage) {
+    Duration window = storage.groupCommitWindow();
+    Duration maxDelay = storage.groupCommitMaxDelay();
+    if (window.isZero()) {
+      return storage.groupCommitSize() > 0 && !maxDelay.isZero() ? maxDelay : null;
+    }
+    return !maxDelay.isZero() && maxDelay.compareTo(window) < 0 ? maxDelay : window;
+  }
+
   /**
    * Returns the server name.
    *
@@ -246,6 +285,15 @@ public class RaftContext implements AutoCloseable {
     electionListeners.remove(listener);
   }
 
+  /**
+   * Returns the size of the service thread pool.
+   *
+   * @return the size of the service thread pool
+   */
+  public int getThreadPoolSize() {
+    return threadPoolSize;
+  }
+
   /**
    * Returns the execution context.
    *
@@ -255,6 +303,15 @@ public class RaftContext implements AutoCloseable {
     return threadContext;
   }
 
+  /**
+   * Returns the context on which the log is flushed to disk asynchronously.
+   *
+   * @return the context on which the log is flushed to disk asynchronously
+   */
+  public ThreadContext getFlushContext() {
+    return flushContext;
+  }
+
   /**
    * Returns the cluster service.
    *
@@ -327,6 +384,139 @@ public class RaftContext implements AutoCloseable {
     return heartbeatInterval;
   }
 
+  /**
+   * Sets the maximum number of append requests that may be pipelined to each member.
+   *
+   * @param maxAppendsPerMember the maximum number of append requests that may be pipelined to each member
+   */
+  public void setMaxAppendsPerMember(int maxAppendsPerMember) {
+    checkArgument(maxAppendsPerMember > 0, "maxAppendsPerMember must be positive");
+    this.maxAppendsPerMember = maxAppendsPerMember;
+  }
+
+  /**
+   * Returns the maximum number of append requests that may be pipelined to each member.
+   *
+   * @return the maximum number of append requests that may be pipelined to each member
+   */
+  public int getMaxAppendsPerMember() {
+    return maxAppendsPerMember;
+  }
+
+  /**
+   * Sets the maximum size of an append request to a member in bytes.
+   *
+   * @param maxAppendBatchSize the maximum size of an append request to a member in bytes
+   */
+  public void setMaxAppendBatchSize(int maxAppendBatchSize) {
+    checkArgument(maxAppendBatchSize > 0, "maxAppendBatchSize must be positive");
+    this.maxAppendBatchSize = maxAppendBatchSize;
+  }
+
+  /**
+   * Returns the maximum size of an append request to a member in bytes.
+   *
+   * @return the maximum size of an append request to a member in bytes
+   */
+  public int getMaxAppendBatchSize() {
+    return maxAppendBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of commands in a single batch.
+   *
+   * @param maxCommandBatchSize the maximum number of commands in a single batch
+   */
+  public void setMaxCommandBatchSize(int maxCommandBatchSize) {
+    checkArgument(maxCommandBatchSize > 0, "maxCommandBatchSize must be positive");
+    this.maxCommandBatchSize = maxCommandBatchSize;
+  }
+
+  /**
+   * Returns the maximum number of commands in a single batch.
+   *
+   * @return the maximum number of commands in a single batch
+   */
+  public int getMaxCommandBatchSize() {
+    return maxCommandBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of snapshot bytes to send to a member in a single install request.
+   *
+   * @param snapshotChunkSize the maximum number of snapshot bytes in a single install request
+   */
+  public void setSnapshotChunkSize(int snapshotChunkSize) {
+    checkArgument(snapshotChunkSize > 0, "snapshotChunkSize must be positive");
+    this.snapshotChunkSize = snapshotChunkSize;
+  }
+
+  /**
+   * Returns the maximum number of snapshot bytes to send to a member in a single install request.
+   *
+   * @return the maximum number of snapshot bytes in a single install request
+   */
+  public int getSnapshotChunkSize() {
+    return snapshotChunkSize;
+  }
+
+  /**
+   * Sets the maximum number of install requests that may be pipelined to each member.
+   *
+   * @param maxInstallsPerMember the maximum number of install requests that may be pipelined to each member
+   */
+  public void setMaxInstallsPerMember(int maxInstallsPerMember) {
+    checkArgument(maxInstallsPerMember > 0, "maxInstallsPerMember must be positive");
+    this.maxInstallsPerMember = maxInstallsPerMember;
+  }
+
+  /**
+   * Returns the maximum number of install requests that may be pipelined to each member.
+   *
+   * @return the maximum number of install requests that may be pipelined to each member
+   */
+  public int getMaxInstallsPerMember() {
+    return maxInstallsPerMember;
+  }
+
+  /**
+   * Sets the maximum number of incremental snapshots to take of a service between full snapshots.
+   *
+   * @param maxSnapshotDeltas the maximum number of incremental snapshots to take between full snapshots
+   */
+  public void setMaxSnapshotDeltas(int maxSnapshotDeltas) {
+    checkArgument(maxSnapshotDeltas >= 0, "maxSnapshotDeltas must be positive");
+    this.maxSnapshotDeltas = maxSnapshotDeltas;
+  }
+
+  /**
+   * Returns the maximum number of incremental snapshots to take of a service between full snapshots.
+   *
+   * @return the maximum number of incremental snapshots to take between full snapshots
+   */
+  public int getMaxSnapshotDeltas() {
+    return maxSnapshotDeltas;
+  }
+
+  /**
+   * Sets the maximum number of committed entries to apply to the state machine in a single batch.
+   *
+   * @param maxApplyBatchSize the maximum number of committed entries to apply in a single batch
+   */
+  public void setMaxApplyBatchSize(int maxApplyBatchSize) {
+    checkArgument(maxApplyBatchSize > 0, "maxApplyBatchSize must be positive");
+    this.maxApplyBatchSize = maxApplyBatchSize;
+  }
+
+  /**
+   * Returns the maximum number of committed entries to apply to the state machine in a single batch.
+   *
+   * @return the maximum number of committed entries to apply in a single batch
+   */
+  public int getMaxApplyBatchSize() {
+    return maxApplyBatchSize;
+  }
+
   /**
    * Returns the session timeout.
    *
@@ -467,7 +657,11 @@ public class RaftContext implements AutoCloseable {
     long previousCommitIndex = this.commitIndex;
     if (commitIndex > previousCommitIndex) {
       this.commitIndex = commitIndex;
-      logWriter.commit(Math.min(commitIndex, logWriter.getLastIndex()));
+      CompletableFuture<Long> commitFuture = logWriter.commit(Math.min(commitIndex, logWriter.getLastIndex()));
+      if (!commitFuture.isDone()) {
+        // Committed entries can't be applied until the group commit batch containing them has been flushed.
+        commitFuture.thenRun(() -> threadContext.execute(stateMachine::resume));
+      }
       long configurationIndex = cluster.getConfiguration().index();
       if (configurationIndex > previousCommitIndex && configurationIndex <= commitIndex) {
         cluster.commit();
@@ -513,6 +707,9 @@ public class RaftContext implements AutoCloseable {
    */
   public void setLastApplied(long lastApplied) {
     this.lastApplied = Math.max(this.lastApplied, lastApplied);
+    if (!appliedFutures.isEmpty()) {
+      completeAppliedFutures();
+    }
     if (state == State.ACTIVE) {
       threadContext.execute(() -> {
         if (state == State.ACTIVE && this.lastApplied >= firstCommitIndex) {
@@ -532,6 +729,34 @@ public class RaftContext implements AutoCloseable {
     return lastApplied;
   }
 
+  /**
+   * Returns a future to be completed once entries up to the given index have been applied.
+   * <p>
+   * The future is completed on the server thread once the entry at the given index has been submitted to the state
+   * machine, so any operation submitted to the state machine after the future is completed observes the effects of
+   * all entries up to the given index.
+   *
+   * @param index the index up to which to wait for entries to be applied
+   * @return a future to be completed once entries up to the given index have been applied
+   */
+  public CompletableFuture<Void> awaitApplied(long index) {
+    checkThread();
+    if (lastApplied >= index) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return appliedFutures.computeIfAbsent(index, i -> new CompletableFuture<>());
+  }
+
+  /**
+   * Completes futures awaiting the application of entries up to the last applied index.
+   */
+  private void completeAppliedFutures() {
+    Map<Long, CompletableFuture<Void>> applied = appliedFutures.headMap(lastApplied, true);
+    List<CompletableFuture<Void>> futures = new ArrayList<>(applied.values());
+    applied.clear();
+    futures.forEach(future -> future.complete(null));
+  }
+
   /**
    * Returns the server load monitor.
    *
@@ -661,6 +886,7 @@ public class RaftContext implements AutoCloseable {
     protocol.registerReconfigureHandler(request -> runOnContext(() -> role.onReconfigure(request)));
     protocol.registerLeaveHandler(request -> runOnContext(() -> role.onLeave(request)));
     protocol.registerTransferHandler(request -> runOnContext(() -> role.onTransfer(request)));
+    protocol.registerReadIndexHandler(request -> runOnContext(() -> role.onReadIndex(request)));
     protocol.registerAppendHandler(request -> runOnContext(() -> role.onAppend(request)));
     protocol.registerPollHandler(request -> runOnContext(() -> role.onPoll(request)));
     protocol.registerVoteHandler(request -> runOnContext(() -> role.onVote(request)));
@@ -696,6 +922,7 @@ public class RaftContext implements AutoCloseable {
     protocol.unregisterReconfigureHandler();
     protocol.unregisterLeaveHandler();
     protocol.unregisterTransferHandler();
+    protocol.unregisterReadIndexHandler();
     protocol.unregisterAppendHandler();
     protocol.unregisterPollHandler();
     protocol.unregisterVoteHandler();
@@ -836,6 +1063,11 @@ public class RaftContext implements AutoCloseable {
     // Unregister protocol listeners.
     unregisterHandlers(protocol);
 
+    // Cancel the group commit timer.
+    if (groupCommitTimer != null) {
+      groupCommitTimer.cancel();
+    }
+
     // Close the log.
     try {
       raftLog.close();
@@ -860,6 +1092,7 @@ public class RaftContext implements AutoCloseable {
     loadContext.close();
     stateContext.close();
     compactionContext.close();
+    flushContext.close();
     threadContextFactory.close();
   }
 
@@ -15,6 +15,7 @@
  */
 package io.atomix.protocols.raft.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Longs;
 import io.atomix.cluster.MemberId;
@@ -43,6 +44,10 @@ import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.CompositeBytes;
+import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.storage.buffer.HeapBytes;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.utils.concurrent.ComposableFuture;
 import io.atomix.utils.concurrent.Futures;
@@ -57,12 +62,19 @@ import io.atomix.utils.time.WallClockTimestamp;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -89,6 +101,10 @@ public class RaftServiceManager implements AutoCloseable {
   private final Map<Long, CompletableFuture> futures = Maps.newHashMap();
   private volatile CompletableFuture<Void> compactFuture;
   private long lastEnqueued;
+  private long lastRead;
+  private boolean applyScheduled;
+  private final Queue<Runnable> deferredTasks = new ArrayDeque<>();
+  private boolean suspended;
   private long lastCompacted;
 
   public RaftServiceManager(RaftContext raft, ThreadContext stateContext, ThreadContext compactionContext, ThreadContextFactory threadContextFactory) {
@@ -102,6 +118,7 @@ public class RaftServiceManager implements AutoCloseable {
         .addValue(raft.getName())
         .build());
     this.lastEnqueued = reader.getFirstIndex() - 1;
+    this.lastRead = lastEnqueued;
     scheduleSnapshots();
   }
 
@@ -217,13 +234,7 @@ public class RaftServiceManager implements AutoCloseable {
    */
   private CompletableFuture<Snapshot> takeSnapshots(long index) {
     ComposableFuture<Snapshot> future = new ComposableFuture<>();
-    stateContext.execute(() -> {
-      try {
-        future.complete(snapshot(index));
-      } catch (Exception e) {
-        future.completeExceptionally(e);
-      }
-    });
+    executeState(() -> snapshot(index, future));
     return future;
   }
 
@@ -313,135 +324,508 @@ public class RaftServiceManager implements AutoCloseable {
 
   /**
    * Applies all entries up to the given index.
+   * <p>
+   * Entries are not applied by a separate task per index. Instead, a single task is scheduled on the server thread
+   * to drain committed entries from the log, and the entries are applied to the state machine by a single task on
+   * the state machine thread.
    *
    * @param index the index up to which to apply entries
    */
   private void enqueueBatch(long index) {
-    while (lastEnqueued < index) {
-      enqueueIndex(++lastEnqueued);
+    if (index > lastEnqueued) {
+      lastEnqueued = index;
+      resume();
     }
   }
 
   /**
-   * Enqueues an index to be applied to the state machine.
-   *
-   * @param index the index to be applied to the state machine
+   * Resumes applying enqueued entries.
+   * <p>
+   * When group commit is enabled, committed entries are not applied until the group commit batch containing them
+   * has been flushed to disk. This method must be called once the batch has been flushed to resume applying entries.
    */
-  private void enqueueIndex(long index) {
-    raft.getThreadContext().execute(() -> applyIndex(index));
+  public void resume() {
+    if (!applyScheduled && lastRead < lastEnqueued) {
+      applyScheduled = true;
+      raft.getThreadContext().execute(this::applyBatch);
+    }
   }
 
   /**
-   * Applies the next entry in the log up to the given index.
-   *
-   * @param index the index up to which to apply the entry
+   * Reads the next batch of committed entries from the log and applies them to the state machine.
+   * <p>
+   * At most {@link RaftContext#getMaxApplyBatchSize()} entries are read in a single batch. If more entries remain to
+   * be applied once the batch is full, another batch is scheduled to allow other tasks on the server thread to run.
+   * Reading stops at entries that have been committed but not yet flushed to disk by a group commit.
    */
-  @SuppressWarnings("unchecked")
-  private void applyIndex(long index) {
-    // Apply entries prior to this entry.
-    if (reader.hasNext() && reader.getNextIndex() == index) {
-      // Read the entry from the log. If the entry is non-null then apply it, otherwise
-      // simply update the last applied index and return a null result.
-      Indexed<RaftLogEntry> entry = reader.next();
-      try {
-        if (entry.index() != index) {
-          throw new IllegalStateException("inconsistent index applying entry " + index + ": " + entry);
-        }
-        CompletableFuture future = futures.remove(index);
-        apply(entry).whenComplete((r, e) -> {
-          if (future != null) {
-            if (e == null) {
-              future.complete(r);
-            } else {
-              future.completeExceptionally(e);
-            }
-          }
-        });
-      } catch (Exception e) {
-        logger.error("Failed to apply {}: {}", entry, e);
-      } finally {
-        raft.setLastApplied(index);
+  private void applyBatch() {
+    int maxBatchSize = raft.getMaxApplyBatchSize();
+    List<Indexed<RaftLogEntry>> entries = new ArrayList<>((int) Math.min(lastEnqueued - lastRead, maxBatchSize));
+    List<CompletableFuture> entryFutures = new ArrayList<>(entries.size());
+    long lastApplied = 0;
+    boolean flushing = false;
+    while (lastRead < lastEnqueued && entries.size() < maxBatchSize) {
+      long index = lastRead + 1;
+
+      // If the entry has been committed but is not yet visible to the reader, it's waiting for the group commit
+      // batch containing it to be flushed. Stop reading until the batch has been flushed and applying is resumed.
+      if (!reader.hasNext()
+          && reader.getNextIndex() == index
+          && index <= raft.getCommitIndex()
+          && index <= raft.getLogWriter().getLastIndex()) {
+        flushing = true;
+        break;
       }
-    } else {
+
+      lastRead = index;
       CompletableFuture future = futures.remove(index);
-      if (future != null) {
+
+      // Read the entry from the log. If the entry is present then apply it, otherwise fail the index.
+      if (reader.hasNext() && reader.getNextIndex() == index) {
+        Indexed<RaftLogEntry> entry = reader.next();
+        if (entry.index() == index) {
+          entries.add(entry);
+          entryFutures.add(future);
+        } else {
+          logger.error("Failed to apply {}: inconsistent index applying entry {}", entry, index);
+          if (future != null) {
+            future.completeExceptionally(new IllegalStateException("inconsistent index applying entry " + index));
+          }
+        }
+        lastApplied = index;
+      } else if (future != null) {
         logger.error("Cannot apply index " + index);
         future.completeExceptionally(new IndexOutOfBoundsException("Cannot apply index " + index));
       }
     }
+
+    if (!entries.isEmpty()) {
+      executeState(() -> applyEntries(entries, entryFutures));
+    }
+    if (lastApplied > 0) {
+      raft.setLastApplied(lastApplied);
+    }
+
+    if (lastRead < lastEnqueued && !flushing) {
+      raft.getThreadContext().execute(this::applyBatch);
+    } else {
+      applyScheduled = false;
+    }
   }
 
   /**
-   * Applies an entry to the state machine.
+   * Executes the given task on the state machine thread.
    * <p>
-   * Calls to this method are assumed to expect a result. This means linearizable session events
-   * triggered by the application of the given entry will be awaited before completing the returned future.
+   * If the state machine is suspended when the task is run, the task is deferred until the state machine is resumed.
    *
-   * @param entry The entry to apply.
-   * @return A completable future to be completed with the result.
+   * @param task the task to execute
    */
-  @SuppressWarnings("unchecked")
-  public <T> CompletableFuture<T> apply(Indexed<? extends RaftLogEntry> entry) {
-    CompletableFuture<T> future = new CompletableFuture<>();
+  private void executeState(Runnable task) {
     stateContext.execute(() -> {
+      if (suspended) {
+        deferredTasks.add(task);
+      } else {
+        task.run();
+      }
+    });
+  }
+
+  /**
+   * Suspends the state machine until the given future is completed.
+   *
+   * @param future the future to await
+   * @see #suspend(CompletableFuture, BiConsumer)
+   */
+  private void suspend(CompletableFuture<?> future) {
+    suspend(future, (result, error) -> {});
+  }
+
+  /**
+   * Suspends the state machine until the given future is completed.
+   * <p>
+   * This method must be called on the state machine thread. Once the future is completed, the given callback is
+   * called on the state machine thread, and then the tasks deferred while the state machine was suspended are run
+   * in the order in which they were executed.
+   *
+   * @param future   the future to await
+   * @param callback the callback to call once the future is completed
+   */
+  private <T> void suspend(CompletableFuture<T> future, BiConsumer<? super T, ? super Throwable> callback) {
+    if (future.isDone()) {
+      future.whenComplete(callback);
+      return;
+    }
+
+    suspended = true;
+    future.whenCompleteAsync((result, error) -> {
+      suspended = false;
+      callback.accept(result, error);
+      while (!suspended && !deferredTasks.isEmpty()) {
+        deferredTasks.remove().run();
+      }
+    }, stateContext);
+  }
+
+  /**
+   * Applies a batch of entries to the state machine.
+   * <p>
+   * This method must be called on the state machine thread. The futures are completed with the results of the
+   * entries as soon as each entry has been applied.
+   *
+   * @param entries the entries to apply
+   * @param futures the futures to complete with the results of the entries, or {@code null} for entries whose
+   *                results are not expected
+   */
+  @SuppressWarnings("unchecked")
+  private void applyEntries(List<Indexed<RaftLogEntry>> entries, List<CompletableFuture> futures) {
+    for (int i = 0; i < entries.size(); i++) {
+      Indexed<RaftLogEntry> entry = entries.get(i);
+      CompletableFuture future = futures.get(i);
       logger.trace("Applying {}", entry);
-      try {
-        if (entry.type() == QueryEntry.class) {
-          applyQuery(entry.cast()).whenComplete((r, e) -> {
+      if (entry.type() == QueryEntry.class) {
+        CompletableFuture<OperationResult> queryFuture = applyQuery(entry.cast());
+        if (future != null) {
+          queryFuture.whenComplete((r, e) -> {
             if (e != null) {
               future.completeExceptionally(e);
             } else {
-              future.complete((T) r);
+              future.complete(r);
             }
           });
-        } else {
-          install(entry.index());
-          if (entry.type() == CommandEntry.class) {
-            future.complete((T) applyCommand(entry.cast()));
-          } else if (entry.type() == OpenSessionEntry.class) {
-            future.complete((T) (Long) applyOpenSession(entry.cast()));
-          } else if (entry.type() == KeepAliveEntry.class) {
-            future.complete((T) applyKeepAlive(entry.cast()));
-          } else if (entry.type() == CloseSessionEntry.class) {
-            applyCloseSession(entry.cast());
-            future.complete(null);
-          } else if (entry.type() == MetadataEntry.class) {
-            future.complete((T) applyMetadata(entry.cast()));
-          } else if (entry.type() == InitializeEntry.class) {
-            future.complete((T) applyInitialize(entry.cast()));
-          } else if (entry.type() == ConfigurationEntry.class) {
-            future.complete((T) applyConfiguration(entry.cast()));
-          } else {
-            future.completeExceptionally(new RaftException.ProtocolException("Unknown entry type"));
-          }
         }
-      } catch (Exception e) {
+      } else {
+        // If a snapshot must be installed before the entry is applied, suspend the state machine until the services
+        // have been restored, and then apply the remaining entries in the batch.
+        CompletableFuture<Void> installFuture = install(entry.index());
+        if (!installFuture.isDone()) {
+          List<Indexed<RaftLogEntry>> remainingEntries = entries.subList(i + 1, entries.size());
+          List<CompletableFuture> remainingFutures = futures.subList(i + 1, futures.size());
+          suspend(installFuture, (result, error) -> {
+            applyEntry(entry, future, error);
+            applyEntries(remainingEntries, remainingFutures);
+          });
+          return;
+        }
+        installFuture.whenComplete((result, error) -> applyEntry(entry, future, error));
+      }
+    }
+  }
+
+  /**
+   * Applies a non-query entry to the state machine once any snapshot preceding the entry has been installed.
+   *
+   * @param entry        the entry to apply
+   * @param future       the future to complete with the result of the entry, or {@code null} if the result is not
+   *                     expected
+   * @param installError the error with which the snapshot failed to install, or {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  private void applyEntry(Indexed<RaftLogEntry> entry, CompletableFuture future, Throwable installError) {
+    if (installError != null) {
+      Throwable cause = installError instanceof CompletionException ? installError.getCause() : installError;
+      logger.error("Failed to install snapshot before applying {}", entry, cause);
+      if (future != null) {
+        future.completeExceptionally(cause);
+      }
+      return;
+    }
+
+    try {
+      Object result = applyEntry(entry);
+      if (future != null) {
+        future.complete(result);
+      }
+    } catch (Exception e) {
+      if (future != null) {
         future.completeExceptionally(e);
       }
-    });
+    }
+  }
+
+  /**
+   * Applies an entry to the state machine.
+   * <p>
+   * Calls to this method are assumed to expect a result. This means linearizable session events
+   * triggered by the application of the given entry will be awaited before completing the returned future.
+   *
+   * @param entry The entry to apply.
+   * @return A completable future to be completed with the result.
+   */
+  public <T> CompletableFuture<T> apply(Indexed<? extends RaftLogEntry> entry) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executeState(() -> applyEntries(
+        Collections.singletonList(entry.<RaftLogEntry>cast()),
+        Collections.<CompletableFuture>singletonList(future)));
     return future;
   }
 
+  /**
+   * Applies a non-query entry to the state machine on the state machine thread.
+   *
+   * @param entry the entry to apply
+   * @return the result of the entry
+   */
+  private Object applyEntry(Indexed<? extends RaftLogEntry> entry) {
+    if (entry.type() == CommandEntry.class) {
+      return applyCommand(entry.cast());
+    } else if (entry.type() == OpenSessionEntry.class) {
+      return applyOpenSession(entry.cast());
+    } else if (entry.type() == KeepAliveEntry.class) {
+      return applyKeepAlive(entry.cast());
+    } else if (entry.type() == CloseSessionEntry.class) {
+      applyCloseSession(entry.cast());
+      return null;
+    } else if (entry.type() == MetadataEntry.class) {
+      return applyMetadata(entry.cast());
+    } else if (entry.type() == InitializeEntry.class) {
+      return applyInitialize(entry.cast());
+    } else if (entry.type() == ConfigurationEntry.class) {
+      return applyConfiguration(entry.cast());
+    } else {
+      throw new RaftException.ProtocolException("Unknown entry type");
+    }
+  }
+
   /**
    * Takes snapshots for the given index.
+   * <p>
+   * Services that do not support asynchronous snapshots are written while the state machine is suspended. Services
+   * that do are only captured on the state machine thread, and the captured snapshots are written once the state
+   * machine has been resumed while it continues to apply entries. Services that support incremental snapshots are
+   * captured by appending their changes to their section of the previous snapshot where possible. In both cases,
+   * each service's section of the snapshot is written on the service's own snapshot context, and the snapshot is
+   * completed on the compaction thread.
    *
-   * @param index the index for which to take snapshots
+   * @param index  the index for which to take snapshots
+   * @param future the future to complete once the snapshot has been written
    */
-  private Snapshot snapshot(long index) {
+  private void snapshot(long index, CompletableFuture<Snapshot> future) {
     Snapshot snapshot = raft.getSnapshotStore().newTemporarySnapshot(index, new WallClockTimestamp());
-    try (SnapshotWriter writer = snapshot.openWriter()) {
+    SnapshotReader previousReader = openPreviousSnapshot();
+    SnapshotWriter writer = null;
+    Map<RaftServiceContext, Consumer<SnapshotWriter>> capturedServices = new LinkedHashMap<>();
+    Map<RaftServiceContext, Consumer<SnapshotWriter>> services = new LinkedHashMap<>();
+    try {
+      writer = snapshot.openWriter();
+      writeVersion(writer);
+      Map<Long, SnapshotReader> previousServices = previousReader != null
+          ? readServices(previousReader)
+          : Collections.emptyMap();
       for (RaftServiceContext service : raft.getServices()) {
-        writer.buffer().mark();
-        SnapshotWriter serviceWriter = new SnapshotWriter(writer.buffer().writeInt(0).slice(), writer.snapshot());
-        snapshotService(serviceWriter, service);
-        int length = serviceWriter.buffer().position();
-        writer.buffer().reset().writeInt(length).skip(length);
+        Consumer<SnapshotWriter> capturedService = captureService(
+            snapshot, service, previousServices.get(service.serviceId().id()));
+        if (capturedService != null) {
+          capturedServices.put(service, capturedService);
+        } else {
+          services.put(service, serviceWriter -> snapshotService(serviceWriter, service));
+        }
       }
     } catch (Exception e) {
+      if (writer != null) {
+        writer.close();
+      }
+      closePreviousSnapshot(previousReader);
       snapshot.close();
-      throw e;
+      future.completeExceptionally(e);
+      return;
+    }
+
+    // Services that could not be captured must be written before the state machine can continue. Captured services
+    // are written once the state machine has been resumed.
+    SnapshotWriter snapshotWriter = writer;
+    CompletableFuture<Void> servicesFuture = writeServices(snapshotWriter, services);
+    suspend(servicesFuture);
+    servicesFuture.thenCompose(v -> writeServices(snapshotWriter, capturedServices))
+        .whenCompleteAsync((result, error) -> {
+          snapshotWriter.close();
+          closePreviousSnapshot(previousReader);
+          if (error == null) {
+            future.complete(snapshot);
+          } else {
+            snapshot.close();
+            future.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+          }
+        }, compactionContext);
+  }
+
+  /**
+   * Opens a reader for the previous snapshot from which to take incremental snapshots.
+   *
+   * @return the previous snapshot reader or {@code null} if incremental snapshots cannot be taken
+   */
+  private SnapshotReader openPreviousSnapshot() {
+    if (raft.getMaxSnapshotDeltas() == 0) {
+      return null;
+    }
+    Snapshot snapshot = raft.getSnapshotStore().getCurrentSnapshot();
+    if (snapshot == null) {
+      return null;
+    }
+    try {
+      return snapshot.openReader();
+    } catch (IllegalStateException e) {
+      // The snapshot was replaced by an installed snapshot.
+      logger.debug("Failed to open previous snapshot {}", snapshot, e);
+      return null;
+    }
+  }
+
+  /**
+   * Closes the given previous snapshot reader.
+   *
+   * @param reader the previous snapshot reader to close
+   */
+  private void closePreviousSnapshot(SnapshotReader reader) {
+    if (reader != null) {
+      reader.close();
+    }
+  }
+
+  /**
+   * Writes the snapshot format version to the given snapshot writer.
+   * <p>
+   * The version is written as a negative number at the beginning of the snapshot. Snapshots written before the
+   * version was introduced begin with the length of the first service section, which is always positive.
+   *
+   * @param writer the snapshot writer
+   */
+  private void writeVersion(SnapshotWriter writer) {
+    writer.writeInt(-RaftServiceContext.SNAPSHOT_VERSION_2);
+  }
+
+  /**
+   * Reads the snapshot format version from the given snapshot reader.
+   *
+   * @param reader the snapshot reader
+   * @return the snapshot format version
+   */
+  private int readVersion(SnapshotReader reader) {
+    if (!reader.hasRemaining()) {
+      return RaftServiceContext.SNAPSHOT_VERSION_2;
+    }
+    reader.buffer().mark();
+    int version = reader.readInt();
+    if (version < 0) {
+      return -version;
+    }
+    reader.buffer().reset();
+    return RaftServiceContext.SNAPSHOT_VERSION_1;
+  }
+
+  /**
+   * Reads the service sections of the given snapshot.
+   * <p>
+   * Only snapshots in the current format can be used to take incremental snapshots, so no sections are returned for
+   * snapshots written in older formats.
+   *
+   * @param reader the snapshot reader
+   * @return readers for each service's section of the snapshot, positioned after the service's configuration
+   */
+  private Map<Long, SnapshotReader> readServices(SnapshotReader reader) {
+    if (readVersion(reader) != RaftServiceContext.SNAPSHOT_VERSION_2) {
+      return Collections.emptyMap();
     }
-    return snapshot;
+    Map<Long, SnapshotReader> services = Maps.newHashMap();
+    while (reader.hasRemaining()) {
+      int length = reader.readInt();
+      if (length > 0) {
+        SnapshotReader serviceReader = new SnapshotReader(reader.buffer().slice(length), reader.snapshot());
+        long serviceId = serviceReader.readLong();
+        serviceReader.readString();
+        serviceReader.readString();
+        serviceReader.skip(serviceReader.readInt());
+        services.put(serviceId, serviceReader);
+        reader.skip(length);
+      }
+    }
+    return services;
+  }
+
+  /**
+   * Writes length-prefixed service snapshots to the given writer.
+   * <p>
+   * Each service is written on its own snapshot context in windows of at most one service per thread in the service
+   * thread pool. The first service in each window is written directly to the snapshot, and the remaining services in
+   * the window are written to their own buffers and appended to the snapshot in order once the window is complete.
+   * This bounds the number of service snapshots held in memory at once to the size of the thread pool. The buffered
+   * services are composed with their length prefixes and appended with a single (gathering, for file snapshots) write.
+   *
+   * @param writer   the snapshot writer
+   * @param services the functions with which to write each service's snapshot
+   * @return a future to be completed once all the services have been written
+   */
+  private CompletableFuture<Void> writeServices(
+      SnapshotWriter writer, Map<RaftServiceContext, Consumer<SnapshotWriter>> services) {
+    int parallelism = Math.max(Math.min(raft.getThreadPoolSize(), services.size()), 1);
+    List<Map.Entry<RaftServiceContext, Consumer<SnapshotWriter>>> entries = new ArrayList<>(services.entrySet());
+    CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+    for (List<Map.Entry<RaftServiceContext, Consumer<SnapshotWriter>>> window : Lists.partition(entries, parallelism)) {
+      future = future.thenCompose(v -> writeWindow(writer, window));
+    }
+    return future;
+  }
+
+  /**
+   * Writes a window of length-prefixed service snapshots to the given writer.
+   *
+   * @param writer the snapshot writer
+   * @param window the services in the window and the functions with which to write each service's snapshot
+   * @return a future to be completed once the window has been written
+   */
+  private CompletableFuture<Void> writeWindow(
+      SnapshotWriter writer, List<Map.Entry<RaftServiceContext, Consumer<SnapshotWriter>>> window) {
+    HeapBuffer[] sections = new HeapBuffer[window.size()];
+    CompletableFuture[] futures = new CompletableFuture[window.size()];
+    for (int i = 0; i < window.size(); i++) {
+      int index = i;
+      Consumer<SnapshotWriter> service = window.get(index).getValue();
+      futures[index] = CompletableFuture.runAsync(() -> {
+        if (index == 0) {
+          writeService(writer, service);
+        } else {
+          HeapBuffer buffer = HeapBuffer.allocate();
+          service.accept(new SnapshotWriter(buffer, writer.snapshot()));
+          sections[index] = buffer;
+        }
+      }, window.get(index).getKey().snapshotContext());
+    }
+    return CompletableFuture.allOf(futures).thenRun(() -> {
+      if (sections.length > 1) {
+        writer.write(composeSections(sections));
+      }
+    });
+  }
+
+  /**
+   * Composes the given buffered service snapshots, skipping the first, into length-prefixed sections.
+   *
+   * @param sections the buffered service snapshots
+   * @return the composed length-prefixed sections
+   */
+  private CompositeBytes composeSections(HeapBuffer[] sections) {
+    HeapBytes lengths = HeapBytes.allocate((sections.length - 1) * Bytes.INTEGER);
+    CompositeBytes.Builder builder = CompositeBytes.builder();
+    for (int i = 1; i < sections.length; i++) {
+      int offset = (i - 1) * Bytes.INTEGER;
+      int length = sections[i].position();
+      lengths.writeInt(offset, length);
+      builder.add(lengths, offset, Bytes.INTEGER).add(sections[i].bytes(), sections[i].offset(), length);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Writes a length-prefixed service snapshot directly to the given writer.
+   *
+   * @param writer  the snapshot writer
+   * @param service the function with which to write the service's snapshot
+   */
+  private void writeService(SnapshotWriter writer, Consumer<SnapshotWriter> service) {
+    writer.buffer().mark();
+    SnapshotWriter serviceWriter = new SnapshotWriter(writer.buffer().writeInt(0).slice(), writer.snapshot());
+    service.accept(serviceWriter);
+    int length = serviceWriter.buffer().position();
+    writer.buffer().reset().writeInt(length).skip(length);
   }
 
   /**
@@ -451,44 +835,104 @@ public class RaftServiceManager implements AutoCloseable {
    * @param service the service to snapshot
    */
   private void snapshotService(SnapshotWriter writer, RaftServiceContext service) {
+    writeServiceConfig(writer, service, encodeServiceConfig(service));
+    service.takeSnapshot(writer);
+  }
+
+  /**
+   * Captures a snapshot of the given service to be written asynchronously.
+   *
+   * @param snapshot the snapshot being taken
+   * @param service  the service to snapshot
+   * @param previous a reader for the service's section of the previous snapshot or {@code null} if the service
+   *                 is not in the previous snapshot
+   * @return the captured service snapshot or {@code null} if the service does not support asynchronous snapshots
+   */
+  private Consumer<SnapshotWriter> captureService(Snapshot snapshot, RaftServiceContext service, SnapshotReader previous) {
+    Consumer<SnapshotWriter> capturedChanges = previous != null ? service.captureChanges(snapshot, previous) : null;
+    Consumer<SnapshotWriter> capturedSnapshot = capturedChanges != null
+        ? capturedChanges
+        : service.captureSnapshot(snapshot);
+    if (capturedSnapshot == null) {
+      return null;
+    }
+    byte[] config = encodeServiceConfig(service);
+    return writer -> {
+      writeServiceConfig(writer, service, config);
+      capturedSnapshot.accept(writer);
+    };
+  }
+
+  /**
+   * Encodes the configuration of the given service.
+   */
+  private byte[] encodeServiceConfig(RaftServiceContext service) {
+    return Serializer.using(service.serviceType().namespace()).encode(service.serviceConfig());
+  }
+
+  /**
+   * Writes the identity and configuration of the given service to the given writer.
+   */
+  private void writeServiceConfig(SnapshotWriter writer, RaftServiceContext service, byte[] config) {
     writer.writeLong(service.serviceId().id());
     writer.writeString(service.serviceType().name());
     writer.writeString(service.serviceName());
-    byte[] config = Serializer.using(service.serviceType().namespace()).encode(service.serviceConfig());
     writer.writeInt(config.length).writeBytes(config);
-    service.takeSnapshot(writer);
   }
 
   /**
    * Prepares sessions for the given index.
+   * <p>
+   * The services and sessions in the snapshot are installed on the state machine thread, and then each service's
+   * state is restored on the service's own snapshot context.
    *
    * @param index the index for which to install snapshots
+   * @return a future to be completed once all the services in the snapshot have been restored
    */
-  private void install(long index) {
+  private CompletableFuture<Void> install(long index) {
     Snapshot snapshot = raft.getSnapshotStore().getSnapshot(index - 1);
 
-    // If snapshots exist for the prior index, iterate through snapshots and populate services/sessions.
-    if (snapshot != null) {
-      logger.debug("Installing snapshot {}", snapshot);
-      try (SnapshotReader reader = snapshot.openReader()) {
-        while (reader.hasRemaining()) {
-          int length = reader.readInt();
-          if (length > 0) {
-            SnapshotReader serviceReader = new SnapshotReader(reader.buffer().slice(length), reader.snapshot());
-            installService(serviceReader);
-            reader.skip(length);
+    // If no snapshot exists for the prior index, there are no services or sessions to populate.
+    if (snapshot == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    logger.debug("Installing snapshot {}", snapshot);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    try (SnapshotReader reader = snapshot.openReader()) {
+      int version = readVersion(reader);
+      while (reader.hasRemaining()) {
+        int length = reader.readInt();
+        if (length > 0) {
+          SnapshotReader serviceReader = new SnapshotReader(reader.buffer().slice(length), reader.snapshot());
+          RaftServiceContext service = initializeService(serviceReader);
+          Consumer<SnapshotReader> restore = service != null ? service.installSnapshot(serviceReader, version) : null;
+          if (restore != null) {
+            // Restore the service's state from a separate reader, since file snapshots cannot be read concurrently.
+            int offset = reader.position() + serviceReader.position();
+            int stateLength = length - serviceReader.position();
+            futures.add(CompletableFuture.runAsync(() -> {
+              try (SnapshotReader stateReader = snapshot.openReader()) {
+                restore.accept(new SnapshotReader(stateReader.buffer().position(offset).slice(stateLength), snapshot));
+              }
+            }, service.snapshotContext()));
           }
+          reader.skip(length);
         }
       }
+    } catch (Exception e) {
+      futures.add(Futures.exceptionalFuture(e));
     }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
   }
 
   /**
-   * Restores the service associated with the given snapshot.
+   * Initializes the service associated with the given snapshot.
    *
    * @param reader the snapshot reader
+   * @return the initialized service or {@code null} if the service could not be initialized
    */
-  private void installService(SnapshotReader reader) {
+  private RaftServiceContext initializeService(SnapshotReader reader) {
     PrimitiveId primitiveId = PrimitiveId.from(reader.readLong());
     try {
       PrimitiveType primitiveType = raft.getPrimitiveTypes().getPrimitiveType(reader.readString());
@@ -497,12 +941,10 @@ public class RaftServiceManager implements AutoCloseable {
 
       // Get or create the service associated with the snapshot.
       logger.debug("Installing service {} {}", primitiveId, serviceName);
-      RaftServiceContext service = initializeService(primitiveId, primitiveType, serviceName, serviceConfig);
-      if (service != null) {
-        service.installSnapshot(reader);
-      }
+      return initializeService(primitiveId, primitiveType, serviceName, serviceConfig);
     } catch (ConfigurationException e) {
       logger.error(e.getMessage(), e);
+      return null;
     }
   }
 
@@ -33,7 +33,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * in chunks, with each chunk being sent in a separate install request. As requests are received by
  * the follower, the snapshot is reconstructed based on the provided {@link #chunkOffset()} and other
  * metadata. The last install request will be sent with {@link #complete()} being {@code true} to
- * indicate that all chunks of the snapshot have been sent.
+ * indicate that all chunks of the snapshot have been sent. Each chunk carries a {@link #checksum()} of its
+ * {@link #data()} with which the receiver verifies the chunk before writing it to the snapshot.
  */
 public class InstallRequest extends AbstractRaftRequest {
 
@@ -52,15 +53,17 @@ public class InstallRequest extends AbstractRaftRequest {
   private final long timestamp;
   private final int offset;
   private final byte[] data;
+  private final long checksum;
   private final boolean complete;
 
-  public InstallRequest(long term, MemberId leader, long index, long timestamp, int offset, byte[] data, boolean complete) {
+  public InstallRequest(long term, MemberId leader, long index, long timestamp, int offset, byte[] data, long checksum, boolean complete) {
     this.term = term;
     this.leader = leader;
     this.index = index;
     this.timestamp = timestamp;
     this.offset = offset;
     this.data = data;
+    this.checksum = checksum;
     this.complete = complete;
   }
 
@@ -118,6 +121,15 @@ public class InstallRequest extends AbstractRaftRequest {
     return data;
   }
 
+  /**
+   * Returns the CRC32C checksum of the snapshot data.
+   *
+   * @return The CRC32C checksum of the snapshot data.
+   */
+  public long checksum() {
+    return checksum;
+  }
+
   /**
    * Returns a boolean value indicating whether this is the last chunk of the snapshot.
    *
@@ -129,7 +141,7 @@ public class InstallRequest extends AbstractRaftRequest {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getClass(), term, leader, index, offset, complete, data);
+    return Objects.hash(getClass(), term, leader, index, offset, complete, checksum);
   }
 
   @Override
@@ -141,6 +153,7 @@ public class InstallRequest extends AbstractRaftRequest {
           && request.index == index
           && request.offset == offset
           && request.complete == complete
+          && request.checksum == checksum
           && Arrays.equals(request.data, data);
     }
     return false;
@@ -154,6 +167,7 @@ public class InstallRequest extends AbstractRaftRequest {
         .add("index", index)
         .add("offset", offset)
         .add("data", ArraySizeHashPrinter.of(data))
+        .add("checksum", checksum)
         .add("complete", complete)
         .toString();
   }
@@ -168,6 +182,7 @@ public class InstallRequest extends AbstractRaftRequest {
     private long timestamp;
     private int offset;
     private byte[] data;
+    private long checksum;
     private boolean complete;
 
     /**
@@ -242,6 +257,17 @@ public class InstallRequest extends AbstractRaftRequest {
       return this;
     }
 
+    /**
+     * Sets the CRC32C checksum of the snapshot bytes.
+     *
+     * @param checksum The CRC32C checksum of the snapshot bytes.
+     * @return The request builder.
+     */
+    public Builder withChecksum(long checksum) {
+      this.checksum = checksum;
+      return this;
+    }
+
     /**
      * Sets whether the request is complete.
      *
@@ -270,7 +296,7 @@ public class InstallRequest extends AbstractRaftRequest {
     @Override
     public InstallRequest build() {
       validate();
-      return new InstallRequest(term, leader, index, timestamp, offset, data, complete);
+      return new InstallRequest(term, leader, index, timestamp, offset, data, checksum, complete);
     }
   }
 
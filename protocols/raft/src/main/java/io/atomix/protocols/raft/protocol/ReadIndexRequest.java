@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.protocol;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.protocols.raft.ReadConsistency;
+
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Read index request.
+ * <p>
+ * Read index requests are sent by followers to the leader to learn the commit index up to which the follower must
+ * apply its log before it can serve a linearizable query locally. The request carries the consistency level of the
+ * query, and {@link ReadConsistency#LINEARIZABLE_LEASE lease-based} reads are answered without confirming the
+ * leader's leadership with a quorum.
+ */
+public class ReadIndexRequest extends AbstractRaftRequest {
+
+  /**
+   * Returns a new read index request builder.
+   *
+   * @return A new read index request builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final MemberId member;
+  private final ReadConsistency consistency;
+
+  public ReadIndexRequest(MemberId member, ReadConsistency consistency) {
+    this.member = member;
+    this.consistency = consistency;
+  }
+
+  /**
+   * Returns the requesting member.
+   *
+   * @return The requesting member.
+   */
+  public MemberId member() {
+    return member;
+  }
+
+  /**
+   * Returns the read consistency level of the query.
+   *
+   * @return The read consistency level of the query.
+   */
+  public ReadConsistency consistency() {
+    return consistency;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), member, consistency);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) return true;
+    if (object == null || !getClass().isAssignableFrom(object.getClass())) return false;
+
+    ReadIndexRequest request = (ReadIndexRequest) object;
+    return request.member.equals(member) && request.consistency == consistency;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("member", member)
+        .add("consistency", consistency)
+        .toString();
+  }
+
+  /**
+   * Read index request builder.
+   */
+  public static class Builder extends AbstractRaftRequest.Builder<Builder, ReadIndexRequest> {
+    private MemberId member;
+    private ReadConsistency consistency = ReadConsistency.LINEARIZABLE;
+
+    /**
+     * Sets the requesting member.
+     *
+     * @param member The requesting member.
+     * @return The request builder.
+     * @throws NullPointerException if {@code member} is null
+     */
+    public Builder withMember(MemberId member) {
+      this.member = checkNotNull(member, "member cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the read consistency level of the query.
+     *
+     * @param consistency The read consistency level of the query.
+     * @return The request builder.
+     * @throws NullPointerException if {@code consistency} is null
+     */
+    public Builder withConsistency(ReadConsistency consistency) {
+      this.consistency = checkNotNull(consistency, "consistency cannot be null");
+      return this;
+    }
+
+    @Override
+    protected void validate() {
+      super.validate();
+      checkNotNull(member, "member cannot be null");
+      checkNotNull(consistency, "consistency cannot be null");
+    }
+
+    @Override
+    public ReadIndexRequest build() {
+      validate();
+      return new ReadIndexRequest(member, consistency);
+    }
+  }
+}
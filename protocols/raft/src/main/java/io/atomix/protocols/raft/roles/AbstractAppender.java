@@ -31,6 +31,7 @@ import io.atomix.protocols.raft.storage.log.RaftLogReader;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.storage.journal.ChecksumType;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.Checksum;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -46,7 +48,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Abstract appender.
  */
 abstract class AbstractAppender implements AutoCloseable {
-  private static final int MAX_BATCH_SIZE = 1024 * 32;
   protected final Logger log;
   protected final RaftContext raft;
   protected boolean open = true;
@@ -131,12 +132,13 @@ abstract class AbstractAppender implements AutoCloseable {
     // Build a list of entries to send to the member.
     final List<RaftLogEntry> entries = new ArrayList<>();
 
-    // Build a list of entries up to the MAX_BATCH_SIZE. Note that entries in the log may
+    // Build a list of entries up to the member's batch size. Note that entries in the log may
     // be null if they've been compacted and the member to which we're sending entries is just
     // joining the cluster or is otherwise far behind. Null entries are simply skipped and not
     // counted towards the size of the batch.
-    // If there exists an entry in the log with size >= MAX_BATCH_SIZE the logic ensures that
+    // If there exists an entry in the log with size >= the batch size the logic ensures that
     // entry will be sent in a batch of size one
+    final int batchSize = member.getBatchSize();
     int size = 0;
 
     // Iterate through the log until the last index or the end of the log is reached.
@@ -145,11 +147,14 @@ abstract class AbstractAppender implements AutoCloseable {
       Indexed<RaftLogEntry> entry = reader.next();
       entries.add(entry.entry());
       size += entry.size();
-      if (entry.index() == lastIndex || size >= MAX_BATCH_SIZE) {
+      if (entry.index() == lastIndex || size >= batchSize) {
         break;
       }
     }
 
+    // Adapt the member's batch size according to whether the member is catching up.
+    member.updateBatchSize(size);
+
     // Add the entries to the request builder and build the request.
     return builder.withEntries(entries).build();
   }
@@ -167,6 +172,7 @@ abstract class AbstractAppender implements AutoCloseable {
     member.startAppend();
 
     long timestamp = System.currentTimeMillis();
+    long generation = member.getAppendGeneration();
 
     log.trace("Sending {} to {}", request, member.getMember().memberId());
     raft.getProtocol().append(member.getMember().memberId(), request).whenCompleteAsync((response, error) -> {
@@ -180,7 +186,11 @@ abstract class AbstractAppender implements AutoCloseable {
       if (open) {
         if (error == null) {
           log.trace("Received {} from {}", response, member.getMember().memberId());
-          handleAppendResponse(member, request, response, timestamp);
+          if (generation != member.getAppendGeneration() && isRejected(response)) {
+            handleStaleAppendResponse(member, request, response, timestamp);
+          } else {
+            handleAppendResponse(member, request, response, timestamp);
+          }
         } else {
           handleAppendResponseFailure(member, request, error);
         }
@@ -192,6 +202,24 @@ abstract class AbstractAppender implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns a boolean indicating whether the given response rejected an append due to a log inconsistency.
+   */
+  private boolean isRejected(AppendResponse response) {
+    return response.status() == RaftResponse.Status.OK && !response.succeeded() && response.term() <= raft.getTerm();
+  }
+
+  /**
+   * Handles the rejection of an append request that was pipelined before the member's log was last reset.
+   * <p>
+   * When pipelined requests are rejected, the first rejection resets the member's next index and every subsequent
+   * rejection of a request sent before the reset is stale. Stale rejections must not reset the next index again.
+   */
+  protected void handleStaleAppendResponse(RaftMemberContext member, AppendRequest request, AppendResponse response, long timestamp) {
+    log.trace("Discarding stale {} from {}", response, member.getMember().memberId());
+    succeedAttempt(member);
+  }
+
   /**
    * Handles an append failure.
    */
@@ -289,8 +317,11 @@ abstract class AbstractAppender implements AutoCloseable {
    * Updates the match index when a response is received.
    */
   protected void updateMatchIndex(RaftMemberContext member, AppendResponse response) {
-    // If the replica returned a valid match index then update the existing match index.
-    member.setMatchIndex(response.lastLogIndex());
+    // If the replica returned a valid match index then update the existing match index. Responses to pipelined
+    // requests may be handled out of order, so never move the match index backwards on a successful append.
+    if (response.lastLogIndex() > member.getMatchIndex()) {
+      member.setMatchIndex(response.lastLogIndex());
+    }
   }
 
   /**
@@ -406,39 +437,70 @@ abstract class AbstractAppender implements AutoCloseable {
 
   /**
    * Builds an install request for the given member.
+   * <p>
+   * A single reader is kept open for each member to which a snapshot is being installed, and each request reads
+   * the next chunk of the snapshot from the member's reader. The reader is only reopened when the snapshot changes
+   * or the installation is resumed from an earlier chunk.
    */
   protected InstallRequest buildInstallRequest(RaftMemberContext member, Snapshot snapshot) {
+    final int chunkSize = raft.getSnapshotChunkSize();
+
     if (member.getNextSnapshotIndex() != snapshot.index()) {
       member.setNextSnapshotIndex(snapshot.index());
       member.setNextSnapshotOffset(0);
+      member.setSnapshotReader(null);
     }
 
-    InstallRequest request;
+    SnapshotReader reader;
+    byte[] data;
     synchronized (snapshot) {
-      // Open a new snapshot reader.
-      try (SnapshotReader reader = snapshot.openReader()) {
-        // Skip to the next batch of bytes according to the snapshot chunk size and current offset.
-        reader.skip(member.getNextSnapshotOffset() * MAX_BATCH_SIZE);
-        byte[] data = new byte[Math.min(MAX_BATCH_SIZE, reader.remaining())];
-        reader.read(data);
-
-        // Create the install request, indicating whether this is the last chunk of data based on the number
-        // of bytes remaining in the buffer.
-        DefaultRaftMember leader = raft.getLeader();
-        request = InstallRequest.builder()
-            .withTerm(raft.getTerm())
-            .withLeader(leader != null ? leader.memberId() : null)
-            .withIndex(snapshot.index())
-            .withOffset(member.getNextSnapshotOffset())
-            .withData(data)
-            .withComplete(!reader.hasRemaining())
-            .build();
+      // If necessary, open a new snapshot reader and skip to the next chunk according to the snapshot chunk size
+      // and current offset.
+      reader = member.getSnapshotReader();
+      if (reader == null) {
+        reader = snapshot.openReader();
+        reader.skip((int) Math.min((long) member.getNextSnapshotOffset() * chunkSize, reader.remaining()));
+        member.setSnapshotReader(reader);
       }
+
+      data = new byte[Math.min(chunkSize, reader.remaining())];
+      reader.read(data);
     }
 
+    Checksum checksum = ChecksumType.CRC32C.newChecksum();
+    checksum.update(data, 0, data.length);
+
+    // Create the install request, indicating whether this is the last chunk of data based on the number
+    // of bytes remaining in the buffer.
+    DefaultRaftMember leader = raft.getLeader();
+    InstallRequest request = InstallRequest.builder()
+        .withTerm(raft.getTerm())
+        .withLeader(leader != null ? leader.memberId() : null)
+        .withIndex(snapshot.index())
+        .withTimestamp(snapshot.timestamp().unixTimestamp())
+        .withOffset(member.getNextSnapshotOffset())
+        .withData(data)
+        .withChecksum(checksum.getValue())
+        .withComplete(!reader.hasRemaining())
+        .build();
+
+    member.setNextSnapshotOffset(member.getNextSnapshotOffset() + 1);
     return request;
   }
 
+  /**
+   * Resumes installation of the current snapshot to the member from the given chunk offset.
+   * <p>
+   * The install is only rewound if the given offset precedes the next chunk to be sent to the member, and requests
+   * for snapshots other than the snapshot currently being installed are ignored.
+   */
+  protected void resumeInstall(RaftMemberContext member, InstallRequest request, int offset) {
+    if (request.snapshotIndex() == member.getNextSnapshotIndex() && offset < member.getNextSnapshotOffset()) {
+      member.setNextSnapshotOffset(offset);
+      member.setSnapshotReader(null);
+    }
+  }
+
   /**
    * Connects to the member and sends a snapshot request.
    */
@@ -471,10 +533,9 @@ abstract class AbstractAppender implements AutoCloseable {
    * Handles an install response failure.
    */
   protected void handleInstallResponseFailure(RaftMemberContext member, InstallRequest request, Throwable error) {
-    // Reset the member's snapshot index and offset to resend the snapshot from the start
-    // once a connection to the member is re-established.
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotOffset(0);
+    // Rewind the member's snapshot offset to the failed chunk to resume the install once a connection
+    // to the member is re-established. Chunks that were already received by the member are skipped by it.
+    resumeInstall(member, request, request.chunkOffset());
 
     // Log the failed attempt to contact the member.
     failAttempt(member, request, error);
@@ -501,15 +562,12 @@ abstract class AbstractAppender implements AutoCloseable {
 
     // If the install request was completed successfully, set the member's snapshotIndex and reset
     // the next snapshot index/offset.
-    if (request.complete()) {
+    if (request.complete() && request.snapshotIndex() == member.getNextSnapshotIndex()) {
       member.setNextSnapshotIndex(0);
       member.setNextSnapshotOffset(0);
+      member.setSnapshotReader(null);
       member.setSnapshotIndex(request.snapshotIndex());
     }
-    // If more install requests remain, increment the member's snapshot offset.
-    else {
-      member.setNextSnapshotOffset(request.chunkOffset() + 1);
-    }
 
     // Recursively append entries to the member.
     appendEntries(member);
@@ -521,8 +579,9 @@ abstract class AbstractAppender implements AutoCloseable {
   @SuppressWarnings("unused")
   protected void handleInstallResponseError(RaftMemberContext member, InstallRequest request, InstallResponse response) {
     log.warn("Failed to install {}", member.getMember().memberId());
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotOffset(0);
+
+    // Resume the install from the next chunk expected by the member.
+    resumeInstall(member, request, response.nextOffset());
   }
 
   @Override
@@ -26,7 +26,9 @@ import io.atomix.protocols.raft.protocol.ConfigureResponse;
 import io.atomix.protocols.raft.protocol.InstallRequest;
 import io.atomix.protocols.raft.protocol.InstallResponse;
 import io.atomix.protocols.raft.protocol.RaftRequest;
+import io.atomix.protocols.raft.storage.log.RaftLogWriter;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.storage.StorageException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -49,6 +51,8 @@ final class LeaderAppender extends AbstractAppender {
   private final long electionTimeout;
   private final long heartbeatInterval;
   private long heartbeatTime;
+  private final boolean flushOnAppend;
+  private boolean flushing;
   private final Map<Long, CompletableFuture<Long>> appendFutures = new HashMap<>();
   private final List<TimestampedFuture<Long>> heartbeatFutures = new ArrayList<>();
 
@@ -59,6 +63,7 @@ final class LeaderAppender extends AbstractAppender {
     this.heartbeatTime = leaderTime;
     this.electionTimeout = raft.getElectionTimeout().toMillis();
     this.heartbeatInterval = raft.getHeartbeatInterval().toMillis();
+    this.flushOnAppend = raft.getLogWriter().isFlushOnCommit();
   }
 
   /**
@@ -107,6 +112,9 @@ final class LeaderAppender extends AbstractAppender {
       return CompletableFuture.completedFuture(null);
     }
 
+    // Retry flushing entries in case a prior flush of the leader's log failed.
+    flushEntries();
+
     // Create a heartbeat future and add it to the heartbeat futures list.
     TimestampedFuture<Long> future = new TimestampedFuture<>();
     heartbeatFutures.add(future);
@@ -151,6 +159,9 @@ final class LeaderAppender extends AbstractAppender {
       return CompletableFuture.completedFuture(index);
     }
 
+    // Flush the entry to disk in parallel with replicating it to followers.
+    flushEntries();
+
     // Only send entry-specific AppendRequests to active members of the cluster.
     return appendFutures.computeIfAbsent(index, i -> {
       for (RaftMemberContext member : raft.getCluster().getActiveMemberStates()) {
@@ -199,8 +210,11 @@ final class LeaderAppender extends AbstractAppender {
           return;
         }
 
+        // Stream chunks of the snapshot to the member until the install pipeline is full.
         log.debug("Replicating snapshot {} to {}", snapshot.index(), member.getMember().memberId());
-        sendInstallRequest(member, buildInstallRequest(member, snapshot));
+        do {
+          sendInstallRequest(member, buildInstallRequest(member, snapshot));
+        } while (member.canInstall());
       } else if (member.canAppend()) {
         sendAppendRequest(member, buildAppendRequest(member, -1));
       }
@@ -326,7 +340,7 @@ final class LeaderAppender extends AbstractAppender {
     }
 
     // Calculate the current commit index as the median matchIndex.
-    long commitIndex = members.get(getQuorumIndex()).getMatchIndex();
+    long commitIndex = getQuorumMatchIndex(members);
 
     // If the commit index has increased then update the commit index. Note that in order to ensure
     // the leader completeness property holds, we verify that the commit index is greater than or equal to
@@ -339,6 +353,64 @@ final class LeaderAppender extends AbstractAppender {
     }
   }
 
+  /**
+   * Returns the highest index stored by a majority of the cluster.
+   * <p>
+   * The leader counts toward the majority only for entries that have been persisted to its log, so entries may be
+   * committed once they're stored by a majority of the cluster that does not include the leader.
+   *
+   * @param members the active members of the cluster, sorted by descending match index
+   * @return the highest index stored by a majority of the cluster
+   */
+  private long getQuorumMatchIndex(List<RaftMemberContext> members) {
+    int quorumIndex = getQuorumIndex();
+    long quorumMatchIndex = Math.min(getPersistedIndex(), members.get(quorumIndex).getMatchIndex());
+    if (quorumIndex + 1 < members.size()) {
+      quorumMatchIndex = Math.max(quorumMatchIndex, members.get(quorumIndex + 1).getMatchIndex());
+    }
+    return quorumMatchIndex;
+  }
+
+  /**
+   * Returns the index up to which entries have been persisted to the leader's log.
+   */
+  private long getPersistedIndex() {
+    RaftLogWriter writer = raft.getLogWriter();
+    return flushOnAppend ? writer.getFlushedIndex() : writer.getLastIndex();
+  }
+
+  /**
+   * Flushes entries appended to the leader's log to disk.
+   * <p>
+   * When the log is flushed on commit, the leader's log is flushed on the flush context while entries are
+   * replicated to followers rather than when entries are committed. Only a single flush is in progress at any
+   * given time. Entries appended while a flush is in progress are flushed once it completes.
+   */
+  private void flushEntries() {
+    RaftLogWriter writer = raft.getLogWriter();
+    if (!flushOnAppend || flushing || writer.getFlushedIndex() >= writer.getLastIndex()) {
+      return;
+    }
+
+    flushing = true;
+    writer.flushAsync(raft.getFlushContext()).whenCompleteAsync((index, error) -> {
+      flushing = false;
+      if (open) {
+        if (error == null) {
+          writer.setFlushedIndex(index);
+          commitEntries();
+          flushEntries();
+        } else if (error instanceof StorageException.FlushAborted) {
+          // The flushed entries were truncated or their segment was closed. Flush the log as it is now.
+          log.debug("Flush aborted, retrying", error);
+          flushEntries();
+        } else {
+          log.warn("Failed to flush entries", error);
+        }
+      }
+    }, raft.getThreadContext());
+  }
+
   /**
    * Completes append entries attempts up to the given index.
    */
@@ -353,6 +425,11 @@ final class LeaderAppender extends AbstractAppender {
 
   @Override
   protected void handleAppendResponseFailure(RaftMemberContext member, AppendRequest request, Throwable error) {
+    // Stop pipelining to the member. Requests pipelined behind the failed request will be rejected by the member,
+    // and the next request sent to the member will reset its next index.
+    if (!request.entries().isEmpty()) {
+      member.appendFailed();
+    }
     failHeartbeat();
     super.handleAppendResponseFailure(member, request, error);
   }
@@ -363,6 +440,12 @@ final class LeaderAppender extends AbstractAppender {
     recordHeartbeat(member, timestamp);
   }
 
+  @Override
+  protected void handleStaleAppendResponse(RaftMemberContext member, AppendRequest request, AppendResponse response, long timestamp) {
+    super.handleStaleAppendResponse(member, request, response, timestamp);
+    recordHeartbeat(member, timestamp);
+  }
+
   @Override
   protected void handleAppendResponseOk(RaftMemberContext member, AppendRequest request, AppendResponse response) {
     // Reset the member failure count and update the member's availability status if necessary.
@@ -450,6 +533,7 @@ final class LeaderAppender extends AbstractAppender {
   @Override
   public void close() {
     super.close();
+    raft.getCluster().getRemoteMemberStates().forEach(member -> member.setSnapshotReader(null));
     appendFutures.values().forEach(future ->
         future.completeExceptionally(new IllegalStateException("Inactive state")));
     heartbeatFutures.forEach(future ->
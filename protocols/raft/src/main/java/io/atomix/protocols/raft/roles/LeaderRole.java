@@ -22,6 +22,7 @@ import io.atomix.primitive.session.SessionId;
 import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.RaftServer;
+import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.cluster.RaftMember;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.protocols.raft.cluster.impl.RaftMemberContext;
@@ -50,6 +51,8 @@ import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
@@ -74,7 +77,9 @@ import io.atomix.utils.concurrent.Scheduled;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -93,6 +98,10 @@ public final class LeaderRole extends ActiveRole {
   private final Set<SessionId> expiring = Sets.newHashSet();
   private long configuring;
   private boolean transferring;
+  private CompletableFuture<Void> pendingReadRound;
+  private boolean readRoundInProgress;
+  private List<PendingCommand> batchCommands = new ArrayList<>();
+  private boolean batchScheduled;
 
   public LeaderRole(RaftContext context) {
     super(context);
@@ -492,6 +501,30 @@ public final class LeaderRole extends ActiveRole {
     return future;
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> onReadIndex(final ReadIndexRequest request) {
+    logRequest(request);
+
+    // Read index requests are handled like linearizable queries, sharing leadership confirmation rounds with them,
+    // but the read index is returned to the requesting member to apply the query to its own state machine.
+    // Lease-based reads are handled like bounded linearizable queries and rely on the leader stepping down if it
+    // fails to contact a majority of the cluster, so the commit index is returned without confirming leadership.
+    final long readIndex = Math.max(raft.getCommitIndex(), appender.getIndex());
+    final CompletableFuture<Void> future = request.consistency() == ReadConsistency.LINEARIZABLE_LEASE
+        ? appender.appendEntries(readIndex).<Void>thenApply(index -> null)
+        : CompletableFuture.allOf(confirmLeadership(), appender.appendEntries(readIndex));
+    return future
+        .thenApply(v -> ReadIndexResponse.builder()
+            .withStatus(RaftResponse.Status.OK)
+            .withIndex(readIndex)
+            .build())
+        .exceptionally(error -> ReadIndexResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.PROTOCOL_ERROR, error.getMessage())
+            .build())
+        .thenApply(this::logResponse);
+  }
+
   @Override
   public CompletableFuture<PollResponse> onPoll(final PollRequest request) {
     logRequest(request);
@@ -678,49 +711,107 @@ public final class LeaderRole extends ActiveRole {
 
   /**
    * Commits a command.
+   * <p>
+   * Commands are not written to the log immediately. Instead, they're buffered until the Raft thread has drained
+   * its queue of requests and are then appended to the log as consecutive {@link CommandEntry}s which are flushed
+   * and replicated to followers together, amortizing the cost of writing and replicating commands under load.
+   * Each command is still stored in its own entry, so services observe a unique, increasing index per command.
    *
    * @param request the command request
    * @param future  the command response future
    */
   private void commitCommand(CommandRequest request, CompletableFuture<CommandResponse> future) {
+    batchCommands.add(new PendingCommand(request, future));
+    if (batchCommands.size() >= raft.getMaxCommandBatchSize()) {
+      commitCommands();
+    } else if (!batchScheduled) {
+      batchScheduled = true;
+      raft.getThreadContext().execute(() -> {
+        batchScheduled = false;
+        commitCommands();
+      });
+    }
+  }
+
+  /**
+   * Commits the batch of pending commands.
+   */
+  private void commitCommands() {
+    if (batchCommands.isEmpty()) {
+      return;
+    }
+
+    List<PendingCommand> commands = batchCommands;
+    batchCommands = new ArrayList<>();
+
+    if (!isRunning()) {
+      commands.forEach(command -> failCommand(command.future()));
+    } else {
+      commitCommands(commands);
+    }
+  }
+
+  /**
+   * Appends a batch of commands to the log and replicates them to followers in a single pass.
+   *
+   * @param commands the commands to commit
+   */
+  private void commitCommands(List<PendingCommand> commands) {
     final long term = raft.getTerm();
     final long timestamp = System.currentTimeMillis();
 
-    appendAndCompact(new CommandEntry(term, timestamp, request.session(), request.sequenceNumber(), request.operation()))
-        .whenCompleteAsync((entry, error) -> {
-          if (error != null) {
-            future.complete(CommandResponse.builder()
-                .withStatus(RaftResponse.Status.ERROR)
-                .withError(RaftError.Type.COMMAND_FAILURE)
-                .build());
-            return;
-          }
+    // Append the commands in the order in which they were received. Appends complete synchronously unless the
+    // log must first be compacted, in which case the remaining commands are appended once compaction completes.
+    // If an append fails, the commands following it are not appended.
+    final List<Indexed<CommandEntry>> entries = new ArrayList<>(commands.size());
+    CompletableFuture<Void> appendFuture = CompletableFuture.completedFuture(null);
+    for (PendingCommand command : commands) {
+      CommandRequest request = command.request();
+      CommandEntry entry = new CommandEntry(term, timestamp, request.session(), request.sequenceNumber(), request.operation());
+      appendFuture = appendFuture.thenCompose(v -> appendAndCompact(entry).thenAccept(entries::add));
+    }
 
+    appendFuture.whenCompleteAsync((result, error) -> {
+      // Fail the commands that could not be appended. Commands that were appended before the failure are in the
+      // log and will be committed, so they're replicated and completed once applied like the rest of the batch.
+      for (int i = entries.size(); i < commands.size(); i++) {
+        failCommand(commands.get(i).future());
+      }
+      if (entries.isEmpty()) {
+        return;
+      }
 
+      // Replicate the commands to followers.
+      appender.appendEntries(entries.get(entries.size() - 1).index()).whenComplete((commitIndex, commitError) -> {
+        raft.checkThread();
+        if (isRunning() && commitError == null) {
+          // If the commands were successfully committed, apply each to the state machine and complete it with
+          // its own result.
+          for (int i = 0; i < entries.size(); i++) {
+            CompletableFuture<CommandResponse> future = commands.get(i).future();
+            raft.getServiceManager().<OperationResult>apply(entries.get(i).index()).whenComplete((r, e) -> {
+              completeOperation(r, CommandResponse.builder(), e, future);
+            });
+          }
+        } else {
+          for (int i = 0; i < entries.size(); i++) {
+            failCommand(commands.get(i).future());
+          }
+        }
+      });
+    }, raft.getThreadContext());
+  }
 
-          // Replicate the command to followers.
-          appender.appendEntries(entry.index()).whenComplete((commitIndex, commitError) -> {
-            raft.checkThread();
-            if (isRunning()) {
-              // If the command was successfully committed, apply it to the state machine.
-              if (commitError == null) {
-                raft.getServiceManager().<OperationResult>apply(entry.index()).whenComplete((r, e) -> {
-                  completeOperation(r, CommandResponse.builder(), e, future);
-                });
-              } else {
-                future.complete(CommandResponse.builder()
-                    .withStatus(RaftResponse.Status.ERROR)
-                    .withError(RaftError.Type.COMMAND_FAILURE)
-                    .build());
-              }
-            } else {
-              future.complete(CommandResponse.builder()
-                  .withStatus(RaftResponse.Status.ERROR)
-                  .withError(RaftError.Type.COMMAND_FAILURE)
-                  .build());
-            }
-          });
-        }, raft.getThreadContext());
+  /**
+   * Fails a command that could not be committed.
+   *
+   * @param future the command response future
+   */
+  private void failCommand(CompletableFuture<CommandResponse> future) {
+    future.complete(CommandResponse.builder()
+        .withStatus(RaftResponse.Status.ERROR)
+        .withError(RaftError.Type.COMMAND_FAILURE)
+        .build());
   }
 
   @Override
@@ -788,17 +879,81 @@ public final class LeaderRole extends ActiveRole {
   /**
    * Executes a linearizable query.
    * <p>
-   * Linearizable queries are first sequenced with commands and then applied to the state machine. Once
-   * applied, we verify the node's leadership prior to responding successfully to the query.
+   * Linearizable queries are executed using the read index protocol. The current commit index is recorded as the
+   * query's read index, and the leader then verifies its leadership with a quorum of the cluster. Once leadership
+   * has been confirmed, the query is applied to the state machine after all entries up to the read index.
+   * If the leader has not yet committed an entry in its term, the read index is the index of the leader's initial
+   * entry, which must be committed before the query can be applied.
    */
   private CompletableFuture<QueryResponse> queryLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry)
-        .thenComposeAsync(response -> appender.appendEntries()
-            .thenApply(index -> response)
-            .exceptionally(error -> QueryResponse.builder()
-                .withStatus(RaftResponse.Status.ERROR)
-                .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
-                .build()), raft.getThreadContext());
+    final long readIndex = Math.max(raft.getCommitIndex(), appender.getIndex());
+    return CompletableFuture.allOf(confirmLeadership(), appender.appendEntries(readIndex))
+        .thenComposeAsync(v -> applyQuery(entry, readIndex), raft.getThreadContext())
+        .exceptionally(error -> QueryResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build());
+  }
+
+  /**
+   * Applies a query to the state machine once all entries up to the given read index have been applied.
+   */
+  private CompletableFuture<QueryResponse> applyQuery(Indexed<QueryEntry> entry, long readIndex) {
+    // Committed entries may be applied in several batches, so the query must wait until all entries up to the read
+    // index have been submitted to the state machine rather than relying on the order of tasks on the server thread.
+    raft.getServiceManager().applyAll(readIndex);
+    return raft.awaitApplied(readIndex).thenCompose(v -> applyQuery(entry));
+  }
+
+  /**
+   * Confirms the leader's leadership with a quorum of the cluster.
+   * <p>
+   * Linearizable queries are batched into rounds of heartbeats. Queries received while a round is in progress
+   * wait for the next round, which is started as soon as the current round completes. This ensures leadership is
+   * always confirmed by heartbeats sent after a query's read index was recorded, while all the queries received
+   * within a heartbeat round trip share a single quorum confirmation.
+   *
+   * @return a future to be completed once a quorum of the cluster has confirmed the leader's leadership
+   */
+  private CompletableFuture<Void> confirmLeadership() {
+    if (pendingReadRound == null) {
+      pendingReadRound = new CompletableFuture<>();
+    }
+    CompletableFuture<Void> future = pendingReadRound;
+    if (!readRoundInProgress) {
+      startReadRound();
+    }
+    return future;
+  }
+
+  /**
+   * Starts a round of heartbeats to confirm leadership for pending linearizable queries.
+   */
+  private void startReadRound() {
+    CompletableFuture<Void> round = pendingReadRound;
+    pendingReadRound = null;
+    readRoundInProgress = true;
+    appender.appendEntries().whenCompleteAsync((result, error) -> {
+      readRoundInProgress = false;
+      if (error == null) {
+        round.complete(null);
+      } else {
+        round.completeExceptionally(error);
+      }
+      if (pendingReadRound != null && isRunning()) {
+        startReadRound();
+      }
+    }, raft.getThreadContext());
+  }
+
+  /**
+   * Fails linearizable queries awaiting leadership confirmation.
+   */
+  private void failPendingReads() {
+    if (pendingReadRound != null) {
+      pendingReadRound.completeExceptionally(new RaftException.ProtocolException("Failed to reach consensus"));
+      pendingReadRound = null;
+    }
   }
 
   @Override
@@ -1032,6 +1187,10 @@ public final class LeaderRole extends ActiveRole {
    * @return a completable future to be completed once the entry has been appended
    */
   private <E extends RaftLogEntry> CompletableFuture<Indexed<E>> appendAndCompact(E entry) {
+    // Append pending commands first to preserve the order in which requests were received.
+    if (!(entry instanceof CommandEntry)) {
+      commitCommands();
+    }
     return appendAndCompact(entry, 0);
   }
 
@@ -1101,6 +1260,8 @@ public final class LeaderRole extends ActiveRole {
         .thenRun(appender::close)
         .thenRun(this::cancelAppendTimer)
         .thenRun(this::stepDown)
-        .thenRun(this::failPendingCommands);
+        .thenRun(this::commitCommands)
+        .thenRun(this::failPendingCommands)
+        .thenRun(this::failPendingReads);
   }
 }
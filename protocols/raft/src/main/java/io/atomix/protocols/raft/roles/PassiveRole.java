@@ -15,10 +15,12 @@
  */
 package io.atomix.protocols.raft.roles;
 
+import io.atomix.cluster.MemberId;
 import io.atomix.protocols.raft.RaftError;
 import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.RaftServer;
 import io.atomix.protocols.raft.ReadConsistency;
+import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.protocol.*;
@@ -30,11 +32,13 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
 import io.atomix.storage.StorageException;
+import io.atomix.storage.journal.ChecksumType;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.utils.time.WallClockTimestamp;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.zip.Checksum;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 
@@ -358,7 +362,8 @@ public class PassiveRole extends InactiveRole {
       return queryForward(request);
     }
 
-    // If the session's consistency level is SEQUENTIAL, handle the request here, otherwise forward it.
+    // If the session's consistency level is SEQUENTIAL, handle the request here, otherwise query the state machine
+    // once it has applied entries up to the leader's read index.
     if (session.readConsistency() == ReadConsistency.SEQUENTIAL) {
 
       // If the commit index is not in the log then we've fallen too far behind the leader to perform a local query.
@@ -379,8 +384,63 @@ public class PassiveRole extends InactiveRole {
 
       return applyQuery(entry).thenApply(this::logResponse);
     } else {
+      return queryReadIndex(request, session.readConsistency());
+    }
+  }
+
+  /**
+   * Performs a linearizable query on the local state machine using the read index of the leader.
+   * <p>
+   * The leader returns its commit index as the read index, confirming its leadership with a quorum of the cluster
+   * first unless the query's consistency level is {@link ReadConsistency#LINEARIZABLE_LEASE}. Once all entries up to
+   * the read index have been applied to the local state machine, the query is applied locally. If the read index
+   * cannot be retrieved from the leader, the query is forwarded to the leader.
+   */
+  private CompletableFuture<QueryResponse> queryReadIndex(QueryRequest request, ReadConsistency consistency) {
+    DefaultRaftMember leader = raft.getLeader();
+    if (leader == null) {
       return queryForward(request);
     }
+
+    ReadIndexRequest readIndexRequest = ReadIndexRequest.builder()
+        .withMember(raft.getCluster().getMember().memberId())
+        .withConsistency(consistency)
+        .build();
+
+    log.trace("Requesting read index from {}", leader.memberId());
+    CompletableFuture<QueryResponse> future = new CompletableFuture<>();
+    raft.getProtocol().readIndex(leader.memberId(), readIndexRequest).whenCompleteAsync((response, error) -> {
+      if (error == null && response.status() == RaftResponse.Status.OK) {
+        final Indexed<QueryEntry> entry = new Indexed<>(
+            request.index(),
+            new QueryEntry(
+                raft.getTerm(),
+                System.currentTimeMillis(),
+                request.session(),
+                request.sequenceNumber(),
+                request.operation()), 0);
+
+        raft.awaitApplied(response.index())
+            .thenCompose(v -> applyQuery(entry))
+            .thenApply(this::logResponse)
+            .whenComplete((queryResponse, queryError) -> {
+              if (queryError == null) {
+                future.complete(queryResponse);
+              } else {
+                future.completeExceptionally(queryError);
+              }
+            });
+      } else {
+        queryForward(request).whenComplete((queryResponse, queryError) -> {
+          if (queryError == null) {
+            future.complete(queryResponse);
+          } else {
+            future.completeExceptionally(queryError);
+          }
+        });
+      }
+    }, raft.getThreadContext());
+    return future;
   }
 
   /**
@@ -490,7 +550,10 @@ public class PassiveRole extends InactiveRole {
     // where snapshots must be sent since entries can still legitimately exist prior to the snapshot,
     // and so snapshots aren't simply sent at the beginning of the follower's log, but rather the
     // leader dictates when a snapshot needs to be sent.
-    if (pendingSnapshot != null && request.snapshotIndex() != pendingSnapshot.snapshot().index()) {
+    // Snapshots taken by different leaders at the same index are not guaranteed to be identical, so
+    // the pending snapshot is also discarded if the snapshot is being sent by a different leader.
+    if (pendingSnapshot != null && (request.snapshotIndex() != pendingSnapshot.snapshot().index()
+        || !request.leader().equals(pendingSnapshot.leader()))) {
       pendingSnapshot.rollback();
       pendingSnapshot = null;
     }
@@ -502,44 +565,61 @@ public class PassiveRole extends InactiveRole {
         return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
             .withStatus(RaftResponse.Status.ERROR)
             .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset is invalid")
+            .withNextOffset(0)
             .build()));
       }
 
       Snapshot snapshot = raft.getSnapshotStore().newSnapshot(
           request.snapshotIndex(),
           WallClockTimestamp.from(request.snapshotTimestamp()));
-      pendingSnapshot = new PendingSnapshot(snapshot);
+      pendingSnapshot = new PendingSnapshot(snapshot, request.leader());
     }
 
     // If the request offset is greater than the next expected snapshot offset, fail the request.
+    // The leader will resume the install from the next expected snapshot offset.
     if (request.chunkOffset() > pendingSnapshot.nextOffset()) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.ERROR)
           .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset does not match the next chunk offset")
+          .withNextOffset(pendingSnapshot.nextOffset())
           .build()));
     }
     // If the request offset has already been written, return OK to skip to the next chunk.
     else if (request.chunkOffset() < pendingSnapshot.nextOffset()) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.OK)
+          .withNextOffset(pendingSnapshot.nextOffset())
           .build()));
     }
 
-    // Write the data to the snapshot.
-    try (SnapshotWriter writer = pendingSnapshot.snapshot().openWriter()) {
-      writer.write(request.data());
+    // Verify the chunk checksum before writing the chunk to the snapshot. If the chunk is corrupt, fail
+    // the request to force the leader to resend the chunk.
+    Checksum checksum = ChecksumType.CRC32C.newChecksum();
+    checksum.update(request.data(), 0, request.data().length);
+    if (checksum.getValue() != request.checksum()) {
+      return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+          .withStatus(RaftResponse.Status.ERROR)
+          .withError(RaftError.Type.PROTOCOL_ERROR, "Request chunk checksum does not match the chunk data")
+          .withNextOffset(pendingSnapshot.nextOffset())
+          .build()));
     }
 
+    // Write the data to the snapshot.
+    pendingSnapshot.write(request.data());
+
     // If the snapshot is complete, store the snapshot and reset state, otherwise update the next snapshot offset.
     if (request.complete()) {
       pendingSnapshot.commit();
       pendingSnapshot = null;
-    } else {
-      pendingSnapshot.incrementOffset();
+      return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .build()));
     }
 
+    pendingSnapshot.incrementOffset();
     return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
         .withStatus(RaftResponse.Status.OK)
+        .withNextOffset(pendingSnapshot.nextOffset())
         .build()));
   }
 
@@ -739,10 +819,13 @@ public class PassiveRole extends InactiveRole {
    */
   private static class PendingSnapshot {
     private final Snapshot snapshot;
-    private long nextOffset;
+    private final MemberId leader;
+    private SnapshotWriter writer;
+    private int nextOffset;
 
-    public PendingSnapshot(Snapshot snapshot) {
+    public PendingSnapshot(Snapshot snapshot, MemberId leader) {
       this.snapshot = snapshot;
+      this.leader = leader;
     }
 
     /**
@@ -755,11 +838,20 @@ public class PassiveRole extends InactiveRole {
     }
 
     /**
-     * Returns and increments the next snapshot offset.
+     * Returns the leader from which the snapshot is being received.
+     *
+     * @return the leader from which the snapshot is being received
+     */
+    public MemberId leader() {
+      return leader;
+    }
+
+    /**
+     * Returns the next snapshot offset.
      *
      * @return the next snapshot offset
      */
-    public long nextOffset() {
+    public int nextOffset() {
       return nextOffset;
     }
 
@@ -770,10 +862,35 @@ public class PassiveRole extends InactiveRole {
       nextOffset++;
     }
 
+    /**
+     * Writes a chunk of data to the snapshot.
+     * <p>
+     * The snapshot writer is kept open until the snapshot is committed or rolled back.
+     *
+     * @param data the chunk of data to write
+     */
+    public void write(byte[] data) {
+      if (writer == null) {
+        writer = snapshot.openWriter();
+      }
+      writer.write(data);
+    }
+
+    /**
+     * Closes the snapshot writer if necessary.
+     */
+    private void closeWriter() {
+      if (writer != null) {
+        writer.close();
+        writer = null;
+      }
+    }
+
     /**
      * Commits the snapshot to disk.
      */
     public void commit() {
+      closeWriter();
       snapshot.complete();
     }
 
@@ -781,6 +898,7 @@ public class PassiveRole extends InactiveRole {
      * Closes and deletes the snapshot.
      */
     public void rollback() {
+      closeWriter();
       snapshot.close();
       snapshot.delete();
     }
@@ -789,6 +907,7 @@ public class PassiveRole extends InactiveRole {
     public String toString() {
       return toStringHelper(this)
           .add("snapshot", snapshot)
+          .add("leader", leader)
           .add("nextOffset", nextOffset)
           .toString();
     }
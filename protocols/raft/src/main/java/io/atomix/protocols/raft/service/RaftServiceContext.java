@@ -23,6 +23,7 @@ import io.atomix.primitive.operation.OperationType;
 import io.atomix.primitive.operation.PrimitiveOperation;
 import io.atomix.primitive.service.Commit;
 import io.atomix.primitive.service.PrimitiveService;
+import io.atomix.primitive.service.ServiceBackup;
 import io.atomix.primitive.service.ServiceConfig;
 import io.atomix.primitive.service.ServiceContext;
 import io.atomix.primitive.service.impl.DefaultBackupInput;
@@ -36,9 +37,13 @@ import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.session.RaftSessionRegistry;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.HeapBuffer;
+import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.concurrent.ThreadContextFactory;
 import io.atomix.utils.config.ConfigurationException;
 import io.atomix.utils.logging.ContextualLoggerFactory;
@@ -51,6 +56,7 @@ import io.atomix.utils.time.WallClockTimestamp;
 import org.slf4j.Logger;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -59,6 +65,19 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Raft server state machine executor.
  */
 public class RaftServiceContext implements ServiceContext {
+
+  /**
+   * Snapshot format in which the service's state is stored in the remainder of the service's snapshot section.
+   */
+  public static final int SNAPSHOT_VERSION_1 = 1;
+
+  /**
+   * Snapshot format in which the service's length-prefixed state is followed by length-prefixed incremental changes.
+   */
+  public static final int SNAPSHOT_VERSION_2 = 2;
+
+  private static final int COPY_BUFFER_SIZE = 1024 * 64;
+
   private final Logger log;
   private final PrimitiveId primitiveId;
   private final String serviceName;
@@ -68,7 +87,9 @@ public class RaftServiceContext implements ServiceContext {
   private final RaftContext raft;
   private final RaftSessionRegistry sessions;
   private final ThreadContextFactory threadContextFactory;
+  private final ThreadContext snapshotContext;
   private long currentIndex;
+  private long snapshotIndex;
   private Session currentSession;
   private long currentTimestamp;
   private OperationType currentOperation;
@@ -101,6 +122,7 @@ public class RaftServiceContext implements ServiceContext {
     this.raft = checkNotNull(raft);
     this.sessions = raft.getSessions();
     this.threadContextFactory = threadContextFactory;
+    this.snapshotContext = threadContextFactory.createContext();
     this.log = ContextualLoggerFactory.getLogger(getClass(), LoggerContext.builder(PrimitiveService.class)
         .addValue(primitiveId)
         .add("type", primitiveType)
@@ -134,6 +156,15 @@ public class RaftServiceContext implements ServiceContext {
     return service.serializer();
   }
 
+  /**
+   * Returns the thread context on which the service's snapshots are written and restored.
+   *
+   * @return the thread context on which the service's snapshots are written and restored
+   */
+  public ThreadContext snapshotContext() {
+    return snapshotContext;
+  }
+
   @Override
   public long currentIndex() {
     return currentIndex;
@@ -200,8 +231,16 @@ public class RaftServiceContext implements ServiceContext {
 
   /**
    * Installs a snapshot.
+   * <p>
+   * The service's sessions are installed immediately, and the service's state is restored by the returned function.
+   * The function must be called with a reader over the remainder of the service's section of the snapshot, and may
+   * be called on the service's {@link #snapshotContext() snapshot context}.
+   *
+   * @param reader  the snapshot reader
+   * @param version the snapshot format version
+   * @return the function with which to restore the service's state or {@code null} if the service's type is unknown
    */
-  public void installSnapshot(SnapshotReader reader) {
+  public Consumer<SnapshotReader> installSnapshot(SnapshotReader reader, int version) {
     log.debug("Installing snapshot {}", reader.snapshot().index());
     reader.skip(Bytes.LONG); // Skip the service ID
     PrimitiveType primitiveType;
@@ -209,7 +248,7 @@ public class RaftServiceContext implements ServiceContext {
       primitiveType = raft.getPrimitiveTypes().getPrimitiveType(reader.readString());
     } catch (ConfigurationException e) {
       log.error(e.getMessage(), e);
-      return;
+      return null;
     }
 
     String serviceName = reader.readString();
@@ -248,7 +287,34 @@ public class RaftServiceContext implements ServiceContext {
     }
     currentIndex = reader.snapshot().index();
     currentTimestamp = reader.snapshot().timestamp().unixTimestamp();
-    service.restore(new DefaultBackupInput(reader, service.serializer()));
+    return stateReader -> restoreSnapshot(stateReader, version);
+  }
+
+  /**
+   * Restores the service's state from a snapshot.
+   *
+   * @param reader  a reader over the remainder of the service's section of the snapshot
+   * @param version the snapshot format version
+   */
+  private void restoreSnapshot(SnapshotReader reader, int version) {
+    // Snapshots written before incremental snapshots were introduced store the service's state in the remainder of
+    // the service's section.
+    if (version == SNAPSHOT_VERSION_1) {
+      service.restore(new DefaultBackupInput(reader, service.serializer()));
+      snapshotIndex = reader.snapshot().index();
+      return;
+    }
+
+    // Restore the service's full state, and then apply any changes appended by incremental snapshots.
+    int length = reader.readInt();
+    service.restore(new DefaultBackupInput(new SnapshotReader(reader.buffer().slice(length), reader.snapshot()), service.serializer()));
+    reader.skip(length);
+    while (reader.hasRemaining()) {
+      length = reader.readInt();
+      service.restoreChanges(new DefaultBackupInput(new SnapshotReader(reader.buffer().slice(length), reader.snapshot()), service.serializer()));
+      reader.skip(length);
+    }
+    snapshotIndex = reader.snapshot().index();
   }
 
   /**
@@ -258,6 +324,151 @@ public class RaftServiceContext implements ServiceContext {
     log.debug("Taking snapshot {}", writer.snapshot().index());
 
     // Serialize sessions to the in-memory snapshot and request a snapshot from the state machine.
+    writeSessions(writer);
+    writeBackup(writer, service::backup);
+    snapshotIndex = writer.snapshot().index();
+  }
+
+  /**
+   * Captures a snapshot of the service to be written outside of the state machine thread.
+   * <p>
+   * Sessions are serialized when the snapshot is captured, and the service state is captured by
+   * {@link PrimitiveService#captureBackup()} to be serialized when the returned snapshot is written.
+   *
+   * @param snapshot the snapshot being taken
+   * @return the captured service snapshot or {@code null} if the service does not support asynchronous snapshots
+   */
+  public Consumer<SnapshotWriter> captureSnapshot(Snapshot snapshot) {
+    ServiceBackup backup = service.captureBackup();
+    if (backup == null) {
+      return null;
+    }
+
+    log.debug("Capturing snapshot {}", snapshot.index());
+    Buffer buffer = HeapBuffer.allocate();
+    writeSessions(new SnapshotWriter(buffer, snapshot));
+    byte[] sessions = buffer.flip().readBytes(buffer.remaining());
+    snapshotIndex = snapshot.index();
+    return writer -> {
+      writer.write(sessions);
+      writeBackup(writer, backup);
+    };
+  }
+
+  /**
+   * Captures an incremental snapshot of the service to be written outside of the state machine thread.
+   * <p>
+   * An incremental snapshot copies the service's full state and the changes appended to it from the service's
+   * section of the previous snapshot, and appends the changes captured by {@link PrimitiveService#captureChanges()}.
+   * Incremental snapshots can only be taken if the previous snapshot is the last snapshot taken or installed by the
+   * service, and once the maximum number of changes has been appended or the appended changes have outgrown the
+   * service's full state, a full snapshot must be taken instead.
+   *
+   * @param snapshot the snapshot being taken
+   * @param previous a reader for the service's section of the previous snapshot
+   * @return the captured service snapshot or {@code null} if a full snapshot of the service must be taken
+   */
+  public Consumer<SnapshotWriter> captureChanges(Snapshot snapshot, SnapshotReader previous) {
+    if (previous.snapshot().index() != snapshotIndex) {
+      return null;
+    }
+
+    // Skip the previous snapshot's sessions and determine the size of the service's full state and changes.
+    skipSessions(previous);
+    int offset = previous.position();
+    int backupLength = previous.readInt();
+    previous.skip(backupLength);
+    int changesLength = 0;
+    int changesCount = 0;
+    while (previous.hasRemaining()) {
+      int length = previous.readInt();
+      previous.skip(length);
+      changesLength += length;
+      changesCount++;
+    }
+
+    if (changesCount >= raft.getMaxSnapshotDeltas() || changesLength > backupLength) {
+      return null;
+    }
+
+    ServiceBackup changes = service.captureChanges();
+    if (changes == null) {
+      return null;
+    }
+
+    log.debug("Capturing changes since snapshot {} in snapshot {}", snapshotIndex, snapshot.index());
+    Buffer buffer = HeapBuffer.allocate();
+    writeSessions(new SnapshotWriter(buffer, snapshot));
+    byte[] sessions = buffer.flip().readBytes(buffer.remaining());
+    int length = previous.position() - offset;
+    snapshotIndex = snapshot.index();
+    return writer -> {
+      writer.write(sessions);
+      copyBackup(previous.snapshot(), previous.buffer().position(offset), length, writer);
+      writeBackup(writer, changes);
+    };
+  }
+
+  /**
+   * Writes a length-prefixed backup to the given snapshot writer.
+   *
+   * @param writer the snapshot writer
+   * @param backup the backup to write
+   */
+  private void writeBackup(SnapshotWriter writer, ServiceBackup backup) {
+    writer.buffer().mark();
+    SnapshotWriter backupWriter = new SnapshotWriter(writer.buffer().writeInt(0).slice(), writer.snapshot());
+    backup.backup(new DefaultBackupOutput(backupWriter, service.serializer()));
+    int length = backupWriter.buffer().position();
+    writer.buffer().reset().writeInt(length).skip(length);
+  }
+
+  /**
+   * Copies the given number of bytes of previously written backups to the given snapshot writer.
+   *
+   * @param snapshot the snapshot from which to copy the backups
+   * @param buffer   the buffer from which to copy the backups
+   * @param length   the number of bytes to copy
+   * @param writer   the snapshot writer
+   */
+  private void copyBackup(Snapshot snapshot, Buffer buffer, int length, SnapshotWriter writer) {
+    byte[] bytes = new byte[Math.min(length, COPY_BUFFER_SIZE)];
+    int remaining = length;
+    while (remaining > 0) {
+      int count = Math.min(remaining, bytes.length);
+      // Previous snapshot sections may be copied in parallel from the same underlying file.
+      synchronized (snapshot) {
+        buffer.read(bytes, 0, count);
+      }
+      writer.write(bytes, 0, count);
+      remaining -= count;
+    }
+  }
+
+  /**
+   * Skips the service's sessions in the given snapshot reader.
+   *
+   * @param reader the snapshot reader
+   */
+  private void skipSessions(SnapshotReader reader) {
+    reader.skip(Bytes.LONG); // Skip the service ID
+    reader.readString();
+    reader.readString();
+    int sessionCount = reader.readInt();
+    for (int i = 0; i < sessionCount; i++) {
+      reader.skip(Bytes.LONG);
+      reader.readString();
+      reader.readString();
+      reader.skip(Bytes.LONG * 7);
+    }
+  }
+
+  /**
+   * Writes the service's sessions to the given snapshot writer.
+   *
+   * @param writer the snapshot writer
+   */
+  private void writeSessions(SnapshotWriter writer) {
     writer.writeLong(primitiveId.id());
     writer.writeString(primitiveType.name());
     writer.writeString(serviceName);
@@ -274,7 +485,6 @@ public class RaftServiceContext implements ServiceContext {
       writer.writeLong(session.getEventIndex());
       writer.writeLong(session.getLastCompleted());
     }
-    service.backup(new DefaultBackupOutput(writer, service.serializer()));
   }
 
   /**
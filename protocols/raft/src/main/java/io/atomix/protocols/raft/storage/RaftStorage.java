@@ -21,6 +21,7 @@ import io.atomix.protocols.raft.storage.snapshot.SnapshotFile;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
 import io.atomix.protocols.raft.storage.system.MetaStore;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.storage.journal.JournalSegmentDescriptor;
 import io.atomix.storage.journal.JournalSegmentFile;
 import io.atomix.storage.statistics.StorageStatistics;
@@ -29,6 +30,7 @@ import io.atomix.utils.serializer.Serializer;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.function.Predicate;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -69,9 +71,16 @@ public class RaftStorage {
   private final Serializer serializer;
   private final int maxSegmentSize;
   private final int maxEntriesPerSegment;
+  private final int cacheSize;
   private final boolean dynamicCompaction;
   private final double freeDiskBuffer;
   private final boolean flushOnCommit;
+  private final int groupCommitSize;
+  private final Duration groupCommitWindow;
+  private final Duration groupCommitMaxDelay;
+  private final boolean preallocateSegments;
+  private final CompressionType compression;
+  private final boolean synchronousWrites;
   private final boolean retainStaleSnapshots;
   private final StorageStatistics statistics;
 
@@ -82,9 +91,16 @@ public class RaftStorage {
       Serializer serializer,
       int maxSegmentSize,
       int maxEntriesPerSegment,
+      int cacheSize,
       boolean dynamicCompaction,
       double freeDiskBuffer,
       boolean flushOnCommit,
+      int groupCommitSize,
+      Duration groupCommitWindow,
+      Duration groupCommitMaxDelay,
+      boolean preallocateSegments,
+      CompressionType compression,
+      boolean synchronousWrites,
       boolean retainStaleSnapshots) {
     this.prefix = prefix;
     this.storageLevel = storageLevel;
@@ -92,9 +108,16 @@ public class RaftStorage {
     this.serializer = serializer;
     this.maxSegmentSize = maxSegmentSize;
     this.maxEntriesPerSegment = maxEntriesPerSegment;
+    this.cacheSize = cacheSize;
     this.dynamicCompaction = dynamicCompaction;
     this.freeDiskBuffer = freeDiskBuffer;
     this.flushOnCommit = flushOnCommit;
+    this.groupCommitSize = groupCommitSize;
+    this.groupCommitWindow = groupCommitWindow;
+    this.groupCommitMaxDelay = groupCommitMaxDelay;
+    this.preallocateSegments = preallocateSegments;
+    this.compression = compression;
+    this.synchronousWrites = synchronousWrites;
     this.retainStaleSnapshots = retainStaleSnapshots;
     this.statistics = new StorageStatistics(directory);
     directory.mkdirs();
@@ -166,6 +189,15 @@ public class RaftStorage {
     return maxEntriesPerSegment;
   }
 
+  /**
+   * Returns the number of recently written entries cached in memory by each log segment.
+   *
+   * @return The number of recently written entries cached in memory by each log segment.
+   */
+  public int cacheSize() {
+    return cacheSize;
+  }
+
   /**
    * Returns whether dynamic log compaction is enabled.
    *
@@ -193,6 +225,60 @@ public class RaftStorage {
     return flushOnCommit;
   }
 
+  /**
+   * Returns the log group commit size.
+   *
+   * @return The number of unflushed bytes after which a group commit is flushed to disk.
+   */
+  public int groupCommitSize() {
+    return groupCommitSize;
+  }
+
+  /**
+   * Returns the log group commit window.
+   *
+   * @return The maximum amount of time for which commits are gathered into a single flush.
+   */
+  public Duration groupCommitWindow() {
+    return groupCommitWindow;
+  }
+
+  /**
+   * Returns the log group commit maximum delay.
+   *
+   * @return The maximum amount of time for which a commit waits for the group commit size to be reached.
+   */
+  public Duration groupCommitMaxDelay() {
+    return groupCommitMaxDelay;
+  }
+
+  /**
+   * Returns whether the next log segment is preallocated in the background.
+   *
+   * @return Whether the next log segment is preallocated in the background.
+   */
+  public boolean isPreallocateSegments() {
+    return preallocateSegments;
+  }
+
+  /**
+   * Returns the compression type for entries in new log segments.
+   *
+   * @return The compression type for entries in new log segments.
+   */
+  public CompressionType compression() {
+    return compression;
+  }
+
+  /**
+   * Returns whether {@link StorageLevel#DISK} log segments are written synchronously.
+   *
+   * @return Whether disk log segments are written synchronously.
+   */
+  public boolean isSynchronousWrites() {
+    return synchronousWrites;
+  }
+
   /**
    * Returns a boolean value indicating whether to retain stale snapshots on disk.
    * <p>
@@ -279,7 +365,14 @@ public class RaftStorage {
         .withSerializer(serializer)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntriesPerSegment(maxEntriesPerSegment)
+        .withCacheSize(cacheSize)
         .withFlushOnCommit(flushOnCommit)
+        .withGroupCommitSize(groupCommitSize)
+        .withGroupCommitWindow(groupCommitWindow)
+        .withGroupCommitMaxDelay(groupCommitMaxDelay)
+        .withPreallocateSegments(preallocateSegments)
+        .withCompression(compression)
+        .withSynchronousWrites(synchronousWrites)
         .build();
   }
 
@@ -290,7 +383,9 @@ public class RaftStorage {
    * Deleting log files does not involve rebuilding indexes or reading any logs into memory.
    */
   public void deleteLog() {
-    deleteFiles(f -> JournalSegmentFile.isSegmentFile(prefix, f));
+    deleteFiles(f -> JournalSegmentFile.isSegmentFile(prefix, f)
+        || JournalSegmentFile.isSegmentIndexFile(prefix, f)
+        || JournalSegmentFile.isPreallocatedFile(prefix, f));
   }
 
   /**
@@ -337,9 +432,16 @@ public class RaftStorage {
     private static final String DEFAULT_DIRECTORY = System.getProperty("user.dir");
     private static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
+    private static final int DEFAULT_CACHE_SIZE = 1024;
     private static final boolean DEFAULT_DYNAMIC_COMPACTION = true;
     private static final double DEFAULT_FREE_DISK_BUFFER = .2;
     private static final boolean DEFAULT_FLUSH_ON_COMMIT = true;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 0;
+    private static final Duration DEFAULT_GROUP_COMMIT_WINDOW = Duration.ZERO;
+    private static final Duration DEFAULT_GROUP_COMMIT_MAX_DELAY = Duration.ZERO;
+    private static final boolean DEFAULT_PREALLOCATE_SEGMENTS = false;
+    private static final CompressionType DEFAULT_COMPRESSION = CompressionType.NONE;
+    private static final boolean DEFAULT_SYNCHRONOUS_WRITES = false;
     private static final boolean DEFAULT_RETAIN_STALE_SNAPSHOTS = false;
 
     private String prefix = DEFAULT_PREFIX;
@@ -348,9 +450,16 @@ public class RaftStorage {
     private Serializer serializer;
     private int maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
     private int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
+    private int cacheSize = DEFAULT_CACHE_SIZE;
     private boolean dynamicCompaction = DEFAULT_DYNAMIC_COMPACTION;
     private double freeDiskBuffer = DEFAULT_FREE_DISK_BUFFER;
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private int groupCommitSize = DEFAULT_GROUP_COMMIT_SIZE;
+    private Duration groupCommitWindow = DEFAULT_GROUP_COMMIT_WINDOW;
+    private Duration groupCommitMaxDelay = DEFAULT_GROUP_COMMIT_MAX_DELAY;
+    private boolean preallocateSegments = DEFAULT_PREALLOCATE_SEGMENTS;
+    private CompressionType compression = DEFAULT_COMPRESSION;
+    private boolean synchronousWrites = DEFAULT_SYNCHRONOUS_WRITES;
     private boolean retainStaleSnapshots = DEFAULT_RETAIN_STALE_SNAPSHOTS;
 
     private Builder() {
@@ -463,6 +572,24 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets the number of recently written entries to cache in memory per log segment, returning the builder for
+     * method chaining.
+     * <p>
+     * Followers and leaders frequently read entries shortly after they're written. Caching recently written entries
+     * allows those reads to be served without deserializing entries from the segment. A cache size of {@code 0}
+     * disables the cache. By default, the cache size is {@code 1024}.
+     *
+     * @param cacheSize The number of entries to cache per log segment.
+     * @return The storage builder.
+     * @throws IllegalArgumentException If the {@code cacheSize} is negative
+     */
+    public Builder withCacheSize(int cacheSize) {
+      checkArgument(cacheSize >= 0, "cacheSize must be positive");
+      this.cacheSize = cacheSize;
+      return this;
+    }
+
     /**
      * Enables dynamic log compaction.
      * <p>
@@ -530,6 +657,130 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets the log group commit size, returning the builder for method chaining.
+     * <p>
+     * When group commit is enabled, flushes on commit are gathered into a single batch which is flushed to disk
+     * once the number of unflushed bytes exceeds the group commit size or the group commit window elapses.
+     * By default, the group commit size is {@code 0} and no size threshold is applied.
+     *
+     * @param groupCommitSize The group commit size in bytes.
+     * @return The storage builder.
+     * @throws IllegalArgumentException If the {@code groupCommitSize} is negative
+     */
+    public Builder withGroupCommitSize(int groupCommitSize) {
+      checkArgument(groupCommitSize >= 0, "groupCommitSize must be positive");
+      this.groupCommitSize = groupCommitSize;
+      return this;
+    }
+
+    /**
+     * Sets the log group commit window, returning the builder for method chaining.
+     * <p>
+     * When group commit is enabled, flushes on commit are gathered into a single batch which is flushed to disk
+     * once the group commit window elapses or the number of unflushed bytes exceeds the group commit size.
+     * By default, the group commit window is {@link Duration#ZERO} and group commit is disabled.
+     *
+     * @param groupCommitWindow The group commit window.
+     * @return The storage builder.
+     * @throws NullPointerException If the {@code groupCommitWindow} is {@code null}
+     */
+    public Builder withGroupCommitWindow(Duration groupCommitWindow) {
+      checkNotNull(groupCommitWindow, "groupCommitWindow cannot be null");
+      checkArgument(!groupCommitWindow.isNegative(), "groupCommitWindow must be positive");
+      this.groupCommitWindow = groupCommitWindow;
+      return this;
+    }
+
+    /**
+     * Sets the log group commit maximum delay, returning the builder for method chaining.
+     * <p>
+     * When only a {@link #withGroupCommitSize(int) group commit size} is configured, flushes on commit are deferred
+     * until the number of unflushed bytes exceeds the group commit size, so commits may wait indefinitely while few
+     * entries are written. The maximum delay bounds that wait: a pending batch is flushed once it has been pending for
+     * the maximum delay even if the size has not been reached. By default, the maximum delay is {@link Duration#ZERO}
+     * and no bound is applied.
+     *
+     * @param groupCommitMaxDelay The group commit maximum delay.
+     * @return The storage builder.
+     * @throws NullPointerException If the {@code groupCommitMaxDelay} is {@code null}
+     */
+    public Builder withGroupCommitMaxDelay(Duration groupCommitMaxDelay) {
+      checkNotNull(groupCommitMaxDelay, "groupCommitMaxDelay cannot be null");
+      checkArgument(!groupCommitMaxDelay.isNegative(), "groupCommitMaxDelay must be positive");
+      this.groupCommitMaxDelay = groupCommitMaxDelay;
+      return this;
+    }
+
+    /**
+     * Enables preallocating the next log segment in the background, returning the builder for method chaining.
+     *
+     * @return The storage builder.
+     */
+    public Builder withPreallocateSegments() {
+      return withPreallocateSegments(true);
+    }
+
+    /**
+     * Sets whether to preallocate the next log segment in the background, returning the builder for method chaining.
+     * <p>
+     * When segment preallocation is enabled, the file for the next log segment is created and zeroed on a background
+     * thread while the current segment is written, so rolling over to a new segment does not require allocating a
+     * file on the Raft thread. Preallocation does not apply to {@link StorageLevel#MEMORY} storage.
+     * By default, segments are not preallocated.
+     *
+     * @param preallocateSegments Whether to preallocate the next log segment.
+     * @return The storage builder.
+     */
+    public Builder withPreallocateSegments(boolean preallocateSegments) {
+      this.preallocateSegments = preallocateSegments;
+      return this;
+    }
+
+    /**
+     * Sets the compression type for entries in new log segments, returning the builder for method chaining.
+     * <p>
+     * When compression is enabled, each entry is compressed individually before it's written to disk, trading CPU
+     * for reduced disk usage and write bandwidth. Entries that do not shrink when compressed are stored uncompressed.
+     * The compression type is recorded in each segment, so logs written with a different compression type remain
+     * readable. By default, entries are not compressed.
+     *
+     * @param compression The compression type.
+     * @return The storage builder.
+     * @throws NullPointerException If the {@code compression} is {@code null}
+     */
+    public Builder withCompression(CompressionType compression) {
+      this.compression = checkNotNull(compression, "compression cannot be null");
+      return this;
+    }
+
+    /**
+     * Enables synchronous writes for {@link StorageLevel#DISK} logs, returning the builder for method chaining.
+     *
+     * @return The storage builder.
+     */
+    public Builder withSynchronousWrites() {
+      return withSynchronousWrites(true);
+    }
+
+    /**
+     * Sets whether to write {@link StorageLevel#DISK} log segments synchronously, returning the builder for
+     * method chaining.
+     * <p>
+     * When synchronous writes are enabled, log segment files are opened in {@code O_DSYNC} mode and each entry is
+     * written to the storage device before it's appended to the log. Committing entries then does not require
+     * forcing the segment file to disk, which avoids latency spikes from flushing large amounts of dirty data at
+     * commit time at the cost of append throughput. Synchronous writes do not apply to {@link StorageLevel#MAPPED}
+     * or {@link StorageLevel#MEMORY} storage. By default, log segments are written asynchronously.
+     *
+     * @param synchronousWrites Whether to write disk log segments synchronously.
+     * @return The storage builder.
+     */
+    public Builder withSynchronousWrites(boolean synchronousWrites) {
+      this.synchronousWrites = synchronousWrites;
+      return this;
+    }
+
     /**
      * Enables retaining stale snapshots on disk, returning the builder for method chaining.
      * <p>
@@ -576,9 +827,16 @@ public class RaftStorage {
           serializer,
           maxSegmentSize,
           maxEntriesPerSegment,
+          cacheSize,
           dynamicCompaction,
           freeDiskBuffer,
           flushOnCommit,
+          groupCommitSize,
+          groupCommitWindow,
+          groupCommitMaxDelay,
+          preallocateSegments,
+          compression,
+          synchronousWrites,
           retainStaleSnapshots);
     }
   }
@@ -17,11 +17,13 @@ package io.atomix.protocols.raft.storage.log;
 
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.storage.journal.DelegatingJournal;
 import io.atomix.storage.journal.SegmentedJournal;
 import io.atomix.utils.serializer.Serializer;
 
 import java.io.File;
+import java.time.Duration;
 
 /**
  * Raft log.
@@ -267,6 +269,126 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
       return this;
     }
 
+    /**
+     * Sets the log group commit size.
+     * <p>
+     * When group commit is enabled, flushes on commit are gathered into a single batch which is flushed to disk once
+     * the number of unflushed bytes exceeds the group commit size or the group commit window elapses.
+     *
+     * @param groupCommitSize the group commit size in bytes
+     * @return the log builder
+     * @throws IllegalArgumentException if the group commit size is negative
+     */
+    public Builder withGroupCommitSize(int groupCommitSize) {
+      journalBuilder.withGroupCommitSize(groupCommitSize);
+      return this;
+    }
+
+    /**
+     * Sets the log group commit window.
+     * <p>
+     * When group commit is enabled, flushes on commit are gathered into a single batch which is flushed to disk once
+     * the group commit window elapses or the number of unflushed bytes exceeds the group commit size.
+     *
+     * @param groupCommitWindow the group commit window
+     * @return the log builder
+     * @throws NullPointerException if the window is {@code null}
+     */
+    public Builder withGroupCommitWindow(Duration groupCommitWindow) {
+      journalBuilder.withGroupCommitWindow(groupCommitWindow);
+      return this;
+    }
+
+    /**
+     * Sets the log group commit maximum delay.
+     * <p>
+     * The maximum delay bounds the time for which a pending group commit waits for the group commit size to be
+     * reached. A delay of {@link Duration#ZERO} disables the bound.
+     *
+     * @param groupCommitMaxDelay the group commit maximum delay
+     * @return the log builder
+     * @throws NullPointerException if the delay is {@code null}
+     */
+    public Builder withGroupCommitMaxDelay(Duration groupCommitMaxDelay) {
+      journalBuilder.withGroupCommitMaxDelay(groupCommitMaxDelay);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of threads with which to recover log segments when the log is opened.
+     *
+     * @param recoveryThreads the maximum number of recovery threads
+     * @return the log builder
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public Builder withRecoveryThreads(int recoveryThreads) {
+      journalBuilder.withRecoveryThreads(recoveryThreads);
+      return this;
+    }
+
+    /**
+     * Enables preallocating the next log segment in the background.
+     *
+     * @return the log builder
+     */
+    public Builder withPreallocateSegments() {
+      return withPreallocateSegments(true);
+    }
+
+    /**
+     * Sets whether to preallocate the next log segment in the background.
+     * <p>
+     * When segment preallocation is enabled, the next segment is allocated and opened on a background thread while
+     * the current segment is written, so rolling over to a new segment does not require allocating or opening a file
+     * on the Raft thread.
+     *
+     * @param preallocateSegments whether to preallocate the next log segment
+     * @return the log builder
+     */
+    public Builder withPreallocateSegments(boolean preallocateSegments) {
+      journalBuilder.withPreallocateSegments(preallocateSegments);
+      return this;
+    }
+
+    /**
+     * Sets the compression type for entries in new log segments.
+     * <p>
+     * Each entry is compressed individually as it's written, and the compression type is recorded in each
+     * segment's descriptor so segments written with a different compression type remain readable.
+     *
+     * @param compression the compression type
+     * @return the log builder
+     * @throws NullPointerException if the compression type is {@code null}
+     */
+    public Builder withCompression(CompressionType compression) {
+      journalBuilder.withCompression(compression);
+      return this;
+    }
+
+    /**
+     * Enables synchronous writes for {@link StorageLevel#DISK} logs.
+     *
+     * @return the log builder
+     */
+    public Builder withSynchronousWrites() {
+      return withSynchronousWrites(true);
+    }
+
+    /**
+     * Sets whether to write {@link StorageLevel#DISK} log segments synchronously.
+     * <p>
+     * When synchronous writes are enabled, segment files are opened in {@code O_DSYNC} mode and each entry is
+     * written to the storage device before the append returns, so flushing the log does not need to force the
+     * segment file.
+     *
+     * @param synchronousWrites whether to write disk log segments synchronously
+     * @return the log builder
+     */
+    public Builder withSynchronousWrites(boolean synchronousWrites) {
+      journalBuilder.withSynchronousWrites(synchronousWrites);
+      return this;
+    }
+
     /**
      * Enables flushing buffers to disk when entries are committed to a segment, returning the builder
      * for method chaining.
@@ -19,12 +19,18 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.journal.DelegatingJournalWriter;
 import io.atomix.storage.journal.SegmentedJournalWriter;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Raft log writer.
  */
 public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
   private final SegmentedJournalWriter<RaftLogEntry> writer;
   private final RaftLog log;
+  private long flushedIndex;
+  private long commitIndex;
+  private CompletableFuture<Long> commitFuture = CompletableFuture.completedFuture(0L);
 
   public RaftLogWriter(SegmentedJournalWriter<RaftLogEntry> writer, RaftLog log) {
     super(writer);
@@ -39,27 +45,109 @@ public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
    */
   public void reset(long index) {
     writer.reset(index);
+    flushedIndex = Math.min(flushedIndex, index - 1);
+  }
+
+  /**
+   * Returns whether entries are flushed to disk when they're committed.
+   * <p>
+   * When group commit is enabled, flushes on commit are deferred to the next group commit batch, so entries may not
+   * have been flushed to disk when they're committed. Committed entries are not visible to
+   * {@link RaftLogReader.Mode#COMMITS} readers until the batch has been flushed.
+   *
+   * @return indicates whether entries are flushed to disk when they're committed
+   */
+  public boolean isFlushOnCommit() {
+    return log.isFlushOnCommit() && !writer.isGroupCommit();
+  }
+
+  /**
+   * Returns the index up to which entries are known to have been flushed to disk.
+   *
+   * @return the index up to which entries are known to have been flushed to disk
+   */
+  public long getFlushedIndex() {
+    return flushedIndex;
   }
 
   /**
    * Commits entries up to the given index.
+   * <p>
+   * If entries are flushed on commit, the commit index of the log is not advanced until the committed entries have
+   * been flushed to disk. When group commit is enabled, the flush is deferred to the next group commit batch, and the
+   * returned future is completed on the thread that owns the writer once the batch has been flushed. All commits
+   * pending in a batch are completed together.
    *
    * @param index The index up to which to commit entries.
+   * @return a future to be completed with the committed index once the log's commit index has been advanced
    */
-  public void commit(long index) {
-    if (index > log.getCommitIndex()) {
+  public CompletableFuture<Long> commit(long index) {
+    if (index <= commitIndex) {
+      return index <= log.getCommitIndex()
+          ? CompletableFuture.completedFuture(index)
+          : commitFuture.thenApply(v -> index);
+    }
+
+    commitIndex = index;
+    if (!log.isFlushOnCommit() || index <= flushedIndex) {
       log.setCommitIndex(index);
-      if (log.isFlushOnCommit()) {
-        flush();
-      }
+      return CompletableFuture.completedFuture(index);
+    } else if (!writer.isGroupCommit()) {
+      writer.commit();
+      flushedIndex = writer.getLastIndex();
+      log.setCommitIndex(index);
+      return CompletableFuture.completedFuture(index);
     }
+
+    commitFuture = writer.commit().thenApply(v -> {
+      setFlushedIndex(index);
+      if (index > log.getCommitIndex()) {
+        log.setCommitIndex(index);
+      }
+      return index;
+    });
+    return commitFuture;
+  }
+
+  /**
+   * Flushes entries written to the log to disk on the given executor.
+   * <p>
+   * Entries may continue to be appended to the log while the flush is in progress. Once the returned future is
+   * completed, the thread that owns the writer must record the flushed index via {@link #setFlushedIndex(long)}.
+   * If the flushed entries are truncated or their segment is closed before the flush completes, the future is
+   * completed exceptionally with {@link io.atomix.storage.StorageException.FlushAborted}.
+   *
+   * @param executor the executor on which to flush the log
+   * @return a future to be completed with the index of the last entry flushed to disk
+   */
+  public CompletableFuture<Long> flushAsync(Executor executor) {
+    return writer.flushAsync(executor);
+  }
+
+  /**
+   * Records that entries up to the given index have been flushed to disk.
+   * <p>
+   * Commits of entries up to the flushed index do not flush the log again.
+   *
+   * @param index the index up to which entries have been flushed to disk
+   */
+  public void setFlushedIndex(long index) {
+    flushedIndex = Math.max(flushedIndex, Math.min(index, writer.getLastIndex()));
+  }
+
+  /**
+   * Flushes the pending group commit batch if the group commit window has elapsed.
+   */
+  public void flushExpired() {
+    writer.flushExpired();
   }
 
   @Override
   public void truncate(long index) {
-    if (index < log.getCommitIndex()) {
+    if (index < commitIndex) {
       throw new IndexOutOfBoundsException("Cannot truncate committed index: " + index);
     }
     super.truncate(index);
+    flushedIndex = Math.min(flushedIndex, index);
   }
 }
@@ -21,6 +21,7 @@ import io.atomix.cluster.MemberId;
 import io.atomix.primitive.AbstractAsyncPrimitive;
 import io.atomix.primitive.AsyncPrimitive;
 import io.atomix.primitive.DistributedPrimitiveBuilder;
+import io.atomix.primitive.PrimitiveId;
 import io.atomix.primitive.PrimitiveInfo;
 import io.atomix.primitive.PrimitiveManagementService;
 import io.atomix.primitive.PrimitiveRegistry;
@@ -49,8 +50,13 @@ import io.atomix.primitive.session.SessionId;
 import io.atomix.primitive.session.SessionMetadata;
 import io.atomix.protocols.raft.cluster.RaftClusterEvent;
 import io.atomix.protocols.raft.cluster.RaftMember;
+import io.atomix.protocols.raft.cluster.RaftMemberStatistics;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
+import io.atomix.protocols.raft.cluster.impl.RaftClusterContext;
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.protocol.InstallRequest;
 import io.atomix.protocols.raft.protocol.TestRaftProtocolFactory;
+import io.atomix.protocols.raft.session.CommunicationStrategy;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
@@ -60,12 +66,17 @@ import io.atomix.protocols.raft.storage.log.entry.KeepAliveEntry;
 import io.atomix.protocols.raft.storage.log.entry.MetadataEntry;
 import io.atomix.protocols.raft.storage.log.entry.OpenSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotStore;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
 import io.atomix.protocols.raft.storage.system.Configuration;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.utils.concurrent.SingleThreadContext;
 import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.serializer.Namespace;
 import io.atomix.utils.serializer.Serializer;
+import io.atomix.utils.time.WallClockTimestamp;
 import net.jodah.concurrentunit.ConcurrentTestCase;
 import org.junit.After;
 import org.junit.Before;
@@ -83,6 +94,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -94,9 +106,12 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -133,6 +148,7 @@ public class RaftTest extends ConcurrentTestCase {
       .build());
 
   private static final Serializer clientSerializer = Serializer.using(Namespace.DEFAULT);
+  private static final AtomicInteger restores = new AtomicInteger();
 
   protected volatile int nextId;
   protected volatile List<RaftMember> members;
@@ -140,6 +156,8 @@ public class RaftTest extends ConcurrentTestCase {
   protected volatile List<RaftServer> servers = new ArrayList<>();
   protected volatile TestRaftProtocolFactory protocolFactory;
   protected volatile ThreadContext context;
+  protected volatile Consumer<RaftServer.Builder> serverConfig = builder -> {
+  };
 
   /**
    * Tests getting session metadata.
@@ -271,6 +289,211 @@ public class RaftTest extends ConcurrentTestCase {
     await(30000);
   }
 
+  /**
+   * Tests installing a snapshot written before the snapshot format version was introduced.
+   */
+  @Test
+  public void testInstallLegacySnapshot() throws Throwable {
+    restores.set(0);
+    List<RaftServer> servers = createServers(1, storage -> {
+      // Write a snapshot in which the service's state is stored in the remainder of its section.
+      SnapshotStore snapshotStore = storage.build().openSnapshotStore();
+      Snapshot snapshot = snapshotStore.newSnapshot(1, new WallClockTimestamp());
+      try (SnapshotWriter writer = snapshot.openWriter()) {
+        byte[] config = Serializer.using(TestPrimitiveType.INSTANCE.namespace()).encode(new ServiceConfig());
+        HeapBuffer section = HeapBuffer.allocate();
+        section.writeLong(1)
+            .writeString(TestPrimitiveType.INSTANCE.name())
+            .writeString("raft-test")
+            .writeInt(config.length)
+            .write(config)
+            .writeLong(1)
+            .writeString(TestPrimitiveType.INSTANCE.name())
+            .writeString("raft-test")
+            .writeInt(0)
+            .writeLong(10);
+        writer.writeInt(section.position()).write(section.array(), 0, section.position());
+      }
+      snapshot.complete();
+      snapshotStore.close();
+    });
+
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client);
+    primitive.write("Hello world!").get(10, TimeUnit.SECONDS);
+
+    RaftContext context = ((RaftClusterContext) servers.get(0).cluster()).getContext();
+    assertEquals(PrimitiveId.from(1), context.getServices().getService("raft-test").serviceId());
+    assertEquals(1, restores.get());
+  }
+
+  /**
+   * Tests writing and restoring a snapshot of more services than there are threads in the service thread pool.
+   */
+  @Test
+  public void testSnapshotMultipleServices() throws Throwable {
+    RaftServer server = createServers(1).get(0);
+    RaftClient client = createClient();
+    int serviceCount = 10;
+    for (int i = 0; i < serviceCount; i++) {
+      client.sessionBuilder("raft-test-" + i, TestPrimitiveType.INSTANCE, new ServiceConfig())
+          .build()
+          .connect()
+          .get(10, TimeUnit.SECONDS);
+    }
+
+    RaftContext context = ((RaftClusterContext) server.cluster()).getContext();
+    context.getServiceManager().compact().get(30, TimeUnit.SECONDS);
+    server.shutdown().get(10, TimeUnit.SECONDS);
+
+    restores.set(0);
+    RaftServer restarted = createServer(members.get(0).memberId());
+    restarted.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+    await(30000);
+
+    // Opening a session applies an entry following the snapshot, which installs the snapshot.
+    createSession(createClient());
+    RaftContext restartedContext = ((RaftClusterContext) restarted.cluster()).getContext();
+    for (int i = 0; i < serviceCount; i++) {
+      assertNotNull(restartedContext.getServices().getService("raft-test-" + i));
+    }
+    assertEquals(serviceCount, restores.get());
+  }
+
+  /**
+   * Tests installing a snapshot in many pipelined chunks.
+   */
+  @Test
+  public void testInstallSnapshotChunks() throws Throwable {
+    List<Integer> offsets = testInstallSnapshot(request -> request);
+    assertTrue(offsets.size() > 2);
+    for (int i = 0; i < offsets.size(); i++) {
+      assertEquals(i, (int) offsets.get(i));
+    }
+  }
+
+  /**
+   * Tests that a corrupted snapshot chunk is rejected and resent.
+   */
+  @Test
+  public void testInstallSnapshotCorruptChunk() throws Throwable {
+    AtomicInteger corrupted = new AtomicInteger();
+    List<Integer> offsets = testInstallSnapshot(request -> {
+      if (request.chunkOffset() == 2 && corrupted.compareAndSet(0, 1)) {
+        return InstallRequest.builder()
+            .withTerm(request.term())
+            .withLeader(request.leader())
+            .withIndex(request.snapshotIndex())
+            .withTimestamp(request.snapshotTimestamp())
+            .withOffset(request.chunkOffset())
+            .withData(request.data())
+            .withChecksum(request.checksum() + 1)
+            .withComplete(request.complete())
+            .build();
+      }
+      return request;
+    });
+    assertEquals(1, corrupted.get());
+    assertTrue(Collections.frequency(offsets, 2) > 1);
+  }
+
+  /**
+   * Tests that a dropped snapshot chunk is resent once the request times out.
+   */
+  @Test
+  public void testInstallSnapshotDroppedChunk() throws Throwable {
+    AtomicInteger dropped = new AtomicInteger();
+    List<Integer> offsets = testInstallSnapshot(request ->
+        request.chunkOffset() == 2 && dropped.compareAndSet(0, 1) ? null : request);
+    assertEquals(1, dropped.get());
+    assertTrue(offsets.contains(2));
+  }
+
+  /**
+   * Tests that a snapshot install is resumed rather than restarted once the member is reachable again.
+   */
+  @Test
+  public void testInstallSnapshotResumeAfterReconnect() throws Throwable {
+    AtomicInteger dropped = new AtomicInteger();
+    List<Integer> offsets = testInstallSnapshot(request ->
+        request.chunkOffset() >= 2 && dropped.get() < 4 && dropped.incrementAndGet() <= 4 ? null : request);
+    assertEquals(4, dropped.get());
+    assertEquals(1, Collections.frequency(offsets, 0));
+    assertEquals(1, Collections.frequency(offsets, 1));
+    assertTrue(offsets.contains(2));
+  }
+
+  /**
+   * Installs a snapshot to a late joining server, passing each install request sent to the server through the
+   * given filter.
+   *
+   * @param filter the install request filter, which returns {@code null} to drop a request
+   * @return the chunk offsets of the install requests for the leader's snapshot delivered to the joining server
+   */
+  private List<Integer> testInstallSnapshot(Function<InstallRequest, InstallRequest> filter) throws Throwable {
+    serverConfig = builder -> builder.withSnapshotChunkSize(16);
+    List<RaftServer> servers = createServers(3);
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client);
+    submit(primitive, 0, 100);
+    await(30000);
+
+    // Compact the leader's log to force the leader to install a snapshot on the joining server.
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    RaftContext leaderContext = ((RaftClusterContext) leader.cluster()).getContext();
+    leaderContext.getServiceManager().compact().get(30, TimeUnit.SECONDS);
+    Snapshot snapshot = leaderContext.getSnapshotStore().getCurrentSnapshot();
+    assertNotNull(snapshot);
+
+    MemberId joinerId = nextNodeId();
+    List<Integer> offsets = Collections.synchronizedList(new ArrayList<>());
+    protocolFactory.setInstallFilter((memberId, request) -> {
+      if (!memberId.equals(joinerId)) {
+        return request;
+      }
+      InstallRequest filtered = filter.apply(request);
+      if (filtered != null && filtered.snapshotIndex() == snapshot.index()) {
+        offsets.add(filtered.chunkOffset());
+      }
+      return filtered;
+    });
+
+    RaftServer joiner = createServer(joinerId);
+    joiner.join(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
+    await(30000);
+
+    RaftContext joinerContext = ((RaftClusterContext) joiner.cluster()).getContext();
+    long deadline = System.currentTimeMillis() + 30000;
+    while (joinerContext.getSnapshotStore().getSnapshot(snapshot.index()) == null) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(100);
+    }
+
+    primitive.write("Hello world!").get(10, TimeUnit.SECONDS);
+    return new ArrayList<>(offsets);
+  }
+
+  /**
+   * Tests replication statistics on the leader.
+   */
+  @Test
+  public void testMemberStatistics() throws Throwable {
+    List<RaftServer> servers = createServers(3);
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client);
+    submit(primitive, 0, 100);
+    await(30000);
+
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    Collection<RaftMemberStatistics> statistics = leader.cluster().getMemberStatistics();
+    assertEquals(2, statistics.size());
+    for (RaftMemberStatistics memberStatistics : statistics) {
+      assertTrue(memberStatistics.getMatchIndex() > 0);
+      assertTrue(memberStatistics.getBatchSize() > 0);
+      assertTrue(memberStatistics.getAppendLatency() >= 0);
+    }
+  }
+
   /**
    * Tests leaving a sever from a cluster.
    */
@@ -505,6 +728,66 @@ public class RaftTest extends ConcurrentTestCase {
     await(30000);
   }
 
+  /**
+   * Tests submitting many concurrent commands from multiple sessions which may be batched by the leader.
+   */
+  @Test
+  public void testThreeNodeSubmitConcurrentCommands() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    List<List<CompletableFuture<Long>>> sessions = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      sessions.add(new ArrayList<>());
+    }
+
+    List<TestPrimitive> primitives = new ArrayList<>();
+    for (int i = 0; i < sessions.size(); i++) {
+      primitives.add(createPrimitive(client));
+    }
+
+    for (int i = 0; i < 10; i++) {
+      for (int j = 0; j < primitives.size(); j++) {
+        sessions.get(j).add(primitives.get(j).write("Hello world!"));
+      }
+    }
+
+    for (List<CompletableFuture<Long>> futures : sessions) {
+      long lastIndex = 0;
+      for (CompletableFuture<Long> future : futures) {
+        long index = future.get(10, TimeUnit.SECONDS);
+        assertTrue(index > lastIndex);
+        lastIndex = index;
+      }
+    }
+  }
+
+  /**
+   * Tests that concurrent versioned updates from multiple sessions are each assigned a unique version.
+   */
+  @Test
+  public void testThreeNodeConcurrentVersionedUpdates() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    TestPrimitive primitive1 = createPrimitive(client);
+    TestPrimitive primitive2 = createPrimitive(client);
+
+    for (int i = 0; i < 10; i++) {
+      CompletableFuture<Long> future1 = primitive1.put("foo");
+      CompletableFuture<Long> future2 = primitive2.put("bar");
+      long version1 = future1.get(10, TimeUnit.SECONDS);
+      long version2 = future2.get(10, TimeUnit.SECONDS);
+      assertNotEquals(version1, version2);
+
+      // Only the version written by the later update may be replaced.
+      long oldVersion = Math.min(version1, version2);
+      long newVersion = Math.max(version1, version2);
+      assertFalse(primitive1.replace(oldVersion, "baz").get(10, TimeUnit.SECONDS));
+      assertTrue(primitive2.replace(newVersion, "baz").get(10, TimeUnit.SECONDS));
+    }
+  }
+
   /**
    * Tests submitting a query.
    */
@@ -625,6 +908,92 @@ public class RaftTest extends ConcurrentTestCase {
     testSubmitQuery(5, ReadConsistency.LINEARIZABLE);
   }
 
+  /**
+   * Tests that concurrent linearizable queries observe prior writes.
+   */
+  @Test
+  public void testThreeNodeConcurrentLinearizableQueries() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client, ReadConsistency.LINEARIZABLE);
+    long index = primitive.write("Hello world!").get(10, TimeUnit.SECONDS);
+
+    List<CompletableFuture<Long>> reads = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      reads.add(primitive.read());
+    }
+    for (CompletableFuture<Long> read : reads) {
+      assertTrue(read.get(10, TimeUnit.SECONDS) >= index);
+    }
+  }
+
+  /**
+   * Tests that linearizable queries observe entries committed before the query while the leader has a backlog of
+   * committed entries that have not yet been applied.
+   */
+  @Test
+  public void testThreeNodeLinearizableQueriesWithApplyBacklog() throws Throwable {
+    // Committed entries are not applied until the group commit window elapses, leaving a backlog of committed entries
+    // larger than the apply batch size.
+    List<RaftServer> servers = createServers(3, storage -> storage
+        .withFlushOnCommit()
+        .withGroupCommitSize(1024 * 1024)
+        .withGroupCommitWindow(Duration.ofMillis(200)));
+
+    RaftClient client = createClient();
+    List<TestPrimitive> writers = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      writers.add(createPrimitive(client));
+    }
+    TestPrimitive reader = createPrimitive(client, ReadConsistency.LINEARIZABLE);
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    RaftContext context = ((RaftClusterContext) leader.cluster()).getContext();
+
+    List<CompletableFuture<Long>> writes = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      for (TestPrimitive writer : writers) {
+        writes.add(writer.write("Hello world!"));
+      }
+    }
+
+    // Wait for the writes to be committed but not yet applied, and submit a query.
+    long commitIndex = 0;
+    while (commitIndex == 0) {
+      CompletableFuture<Long> future = new CompletableFuture<>();
+      context.getThreadContext().execute(() -> future.complete(
+          context.getCommitIndex() > context.getLastApplied() + 4 ? context.getCommitIndex() : 0));
+      commitIndex = future.get(10, TimeUnit.SECONDS);
+    }
+    CompletableFuture<Long> read = reader.read();
+
+    long lastWrite = 0;
+    for (CompletableFuture<Long> write : writes) {
+      long index = write.get(10, TimeUnit.SECONDS);
+      if (index <= commitIndex) {
+        lastWrite = Math.max(lastWrite, index);
+      }
+    }
+    assertTrue(lastWrite > 0);
+    assertTrue(read.get(10, TimeUnit.SECONDS) >= lastWrite);
+  }
+
+  /**
+   * Tests that linearizable queries served by followers observe prior writes.
+   */
+  @Test
+  public void testThreeNodeFollowerLinearizableQueries() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    TestPrimitive writer = createPrimitive(client, ReadConsistency.LINEARIZABLE);
+    TestPrimitive reader = createPrimitive(client, ReadConsistency.LINEARIZABLE, CommunicationStrategy.FOLLOWERS);
+    for (int i = 0; i < 10; i++) {
+      long index = writer.write("Hello world!").get(10, TimeUnit.SECONDS);
+      assertTrue(reader.read().get(10, TimeUnit.SECONDS) >= index);
+    }
+  }
+
   /**
    * Tests submitting a query with a configured consistency level.
    */
@@ -1169,6 +1538,14 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a set of Raft servers.
    */
   private List<RaftServer> createServers(int nodes) throws Throwable {
+    return createServers(nodes, storage -> {
+    });
+  }
+
+  /**
+   * Creates a set of Raft servers with the given storage configuration.
+   */
+  private List<RaftServer> createServers(int nodes, Consumer<RaftStorage.Builder> storageConfig) throws Throwable {
     List<RaftServer> servers = new ArrayList<>();
 
     for (int i = 0; i < nodes; i++) {
@@ -1176,7 +1553,7 @@ public class RaftTest extends ConcurrentTestCase {
     }
 
     for (int i = 0; i < nodes; i++) {
-      RaftServer server = createServer(members.get(i).memberId());
+      RaftServer server = createServer(members.get(i).memberId(), storageConfig);
       if (members.get(i).getType() == RaftMember.Type.ACTIVE) {
         server.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
       } else {
@@ -1219,16 +1596,29 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a Raft server.
    */
   private RaftServer createServer(MemberId memberId) {
+    return createServer(memberId, storage -> {
+    });
+  }
+
+  /**
+   * Creates a Raft server with the given storage configuration.
+   */
+  private RaftServer createServer(MemberId memberId, Consumer<RaftStorage.Builder> storageConfig) {
+    RaftStorage.Builder storage = RaftStorage.builder()
+        .withStorageLevel(StorageLevel.DISK)
+        .withDirectory(new File(String.format("target/test-logs/%s", memberId)))
+        .withSerializer(storageSerializer)
+        .withMaxSegmentSize(1024 * 10)
+        .withMaxEntriesPerSegment(10);
+    storageConfig.accept(storage);
+
     RaftServer.Builder builder = RaftServer.builder(memberId)
         .withMembershipService(mock(ClusterMembershipService.class))
         .withProtocol(protocolFactory.newServerProtocol(memberId))
-        .withStorage(RaftStorage.builder()
-            .withStorageLevel(StorageLevel.DISK)
-            .withDirectory(new File(String.format("target/test-logs/%s", memberId)))
-            .withSerializer(storageSerializer)
-            .withMaxSegmentSize(1024 * 10)
-            .withMaxEntriesPerSegment(10)
-            .build());
+        .withMaxAppendsPerMember(4)
+        .withMaxApplyBatchSize(4)
+        .withStorage(storage.build());
+    serverConfig.accept(builder);
 
     RaftServer server = builder.build();
     servers.add(server);
@@ -1262,8 +1652,16 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a test session.
    */
   private SessionClient createSession(RaftClient client, ReadConsistency consistency) throws Exception {
+    return createSession(client, consistency, CommunicationStrategy.LEADER);
+  }
+
+  /**
+   * Creates a test session.
+   */
+  private SessionClient createSession(RaftClient client, ReadConsistency consistency, CommunicationStrategy communicationStrategy) throws Exception {
     return client.sessionBuilder("raft-test", TestPrimitiveType.INSTANCE, new ServiceConfig())
         .withReadConsistency(consistency)
+        .withCommunicationStrategy(communicationStrategy)
         .withMinTimeout(Duration.ofMillis(250))
         .withMaxTimeout(Duration.ofSeconds(5))
         .build()
@@ -1282,7 +1680,14 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a new primitive instance.
    */
   private TestPrimitive createPrimitive(RaftClient client, ReadConsistency consistency) throws Exception {
-    SessionClient partition = createSession(client, consistency);
+    return createPrimitive(client, consistency, CommunicationStrategy.LEADER);
+  }
+
+  /**
+   * Creates a new primitive instance.
+   */
+  private TestPrimitive createPrimitive(RaftClient client, ReadConsistency consistency, CommunicationStrategy communicationStrategy) throws Exception {
+    SessionClient partition = createSession(client, consistency, communicationStrategy);
     ProxyClient<TestPrimitiveService> proxy = new DefaultProxyClient<>(
         "test",
         TestPrimitiveType.INSTANCE,
@@ -1375,6 +1780,10 @@ public class RaftTest extends ConcurrentTestCase {
 
     CompletableFuture<Long> read();
 
+    CompletableFuture<Long> put(String value);
+
+    CompletableFuture<Boolean> replace(long version, String value);
+
     CompletableFuture<Long> sendEvent(boolean sender);
 
     CompletableFuture<Void> onEvent(Consumer<Long> callback);
@@ -1408,6 +1817,12 @@ public class RaftTest extends ConcurrentTestCase {
     @Query
     long read();
 
+    @Command
+    long put(String value);
+
+    @Command
+    boolean replace(long version, String value);
+
     @Command
     long sendEvent(boolean sender);
 
@@ -1444,6 +1859,16 @@ public class RaftTest extends ConcurrentTestCase {
       return getProxyClient().applyBy(name(), service -> service.read());
     }
 
+    @Override
+    public CompletableFuture<Long> put(String value) {
+      return getProxyClient().applyBy(name(), service -> service.put(value));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replace(long version, String value) {
+      return getProxyClient().applyBy(name(), service -> service.replace(version, value));
+    }
+
     @Override
     public CompletableFuture<Long> sendEvent(boolean sender) {
       return getProxyClient().applyBy(name(), service -> service.sendEvent(sender));
@@ -1499,6 +1924,7 @@ public class RaftTest extends ConcurrentTestCase {
   public static class TestPrimitiveServiceImpl extends AbstractPrimitiveService<TestPrimitiveClient> implements TestPrimitiveService {
     private SessionId expire;
     private SessionId close;
+    private long version;
 
     public TestPrimitiveServiceImpl(ServiceConfig config) {
       super(TestPrimitiveType.INSTANCE, TestPrimitiveClient.class);
@@ -1531,6 +1957,7 @@ public class RaftTest extends ConcurrentTestCase {
     @Override
     public void restore(BackupInput reader) {
       assertEquals(10, reader.readLong());
+      restores.incrementAndGet();
     }
 
     @Override
@@ -1543,6 +1970,21 @@ public class RaftTest extends ConcurrentTestCase {
       return getCurrentIndex();
     }
 
+    @Override
+    public long put(String value) {
+      version = getCurrentIndex();
+      return version;
+    }
+
+    @Override
+    public boolean replace(long version, String value) {
+      if (this.version != version) {
+        return false;
+      }
+      this.version = getCurrentIndex();
+      return true;
+    }
+
     @Override
     public long sendEvent(boolean sender) {
       if (sender) {
@@ -20,6 +20,7 @@ import io.atomix.cluster.MemberId;
 import io.atomix.utils.concurrent.ThreadContext;
 
 import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * Test Raft protocol factory.
@@ -28,6 +29,7 @@ public class TestRaftProtocolFactory {
   private final Map<MemberId, TestRaftServerProtocol> servers = Maps.newConcurrentMap();
   private final Map<MemberId, TestRaftClientProtocol> clients = Maps.newConcurrentMap();
   private final ThreadContext context;
+  private volatile BiFunction<MemberId, InstallRequest, InstallRequest> installFilter = (memberId, request) -> request;
 
   public TestRaftProtocolFactory(ThreadContext context) {
     this.context = context;
@@ -50,6 +52,18 @@ public class TestRaftProtocolFactory {
    * @return a new test server protocol
    */
   public RaftServerProtocol newServerProtocol(MemberId memberId) {
-    return new TestRaftServerProtocol(memberId, servers, clients, context);
+    return new TestRaftServerProtocol(memberId, servers, clients, context, (member, request) -> installFilter.apply(member, request));
+  }
+
+  /**
+   * Sets a filter to apply to install requests sent to servers.
+   * <p>
+   * The filter is called with the receiving member and the request, and returns the request to deliver or
+   * {@code null} to drop the request.
+   *
+   * @param installFilter the install request filter
+   */
+  public void setInstallFilter(BiFunction<MemberId, InstallRequest, InstallRequest> installFilter) {
+    this.installFilter = installFilter;
   }
 }
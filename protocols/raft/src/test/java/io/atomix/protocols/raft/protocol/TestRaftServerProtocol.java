@@ -25,6 +25,7 @@ import java.net.ConnectException;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -44,17 +45,21 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
   private Function<ReconfigureRequest, CompletableFuture<ReconfigureResponse>> reconfigureHandler;
   private Function<InstallRequest, CompletableFuture<InstallResponse>> installHandler;
   private Function<TransferRequest, CompletableFuture<TransferResponse>> transferHandler;
+  private Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> readIndexHandler;
   private Function<PollRequest, CompletableFuture<PollResponse>> pollHandler;
   private Function<VoteRequest, CompletableFuture<VoteResponse>> voteHandler;
   private Function<AppendRequest, CompletableFuture<AppendResponse>> appendHandler;
   private final Map<Long, Consumer<ResetRequest>> resetListeners = Maps.newConcurrentMap();
+  private final BiFunction<MemberId, InstallRequest, InstallRequest> installFilter;
 
   public TestRaftServerProtocol(
       MemberId memberId,
       Map<MemberId, TestRaftServerProtocol> servers,
       Map<MemberId, TestRaftClientProtocol> clients,
-      ThreadContext context) {
+      ThreadContext context,
+      BiFunction<MemberId, InstallRequest, InstallRequest> installFilter) {
     super(servers, clients, context);
+    this.installFilter = installFilter;
     servers.put(memberId, this);
   }
 
@@ -128,7 +133,11 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
 
   @Override
   public CompletableFuture<InstallResponse> install(MemberId memberId, InstallRequest request) {
-    return scheduleTimeout(getServer(memberId).thenCompose(listener -> listener.install(request)));
+    InstallRequest filtered = installFilter.apply(memberId, request);
+    if (filtered == null) {
+      return scheduleTimeout(new CompletableFuture<>());
+    }
+    return scheduleTimeout(getServer(memberId).thenCompose(listener -> listener.install(filtered)));
   }
 
   @Override
@@ -136,6 +145,11 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     return scheduleTimeout(getServer(memberId).thenCompose(listener -> listener.transfer(request)));
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(MemberId memberId, ReadIndexRequest request) {
+    return scheduleTimeout(getServer(memberId).thenCompose(listener -> listener.readIndex(request)));
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(MemberId memberId, PollRequest request) {
     return scheduleTimeout(getServer(memberId).thenCompose(listener -> listener.poll(request)));
@@ -377,6 +391,24 @@ public class TestRaftServerProtocol extends TestRaftProtocol implements RaftServ
     this.transferHandler = null;
   }
 
+  CompletableFuture<ReadIndexResponse> readIndex(ReadIndexRequest request) {
+    if (readIndexHandler != null) {
+      return readIndexHandler.apply(request);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    this.readIndexHandler = handler;
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    this.readIndexHandler = null;
+  }
+
   CompletableFuture<PollResponse> poll(PollRequest request) {
     if (pollHandler != null) {
       return pollHandler.apply(request);
@@ -15,9 +15,11 @@
  */
 package io.atomix.protocols.raft.storage;
 
+import io.atomix.storage.journal.CompressionType;
 import org.junit.Test;
 
 import java.io.File;
+import java.time.Duration;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -35,9 +37,16 @@ public class RaftStorageTest {
     assertEquals(new File(System.getProperty("user.dir")), storage.directory());
     assertEquals(1024 * 1024 * 32, storage.maxLogSegmentSize());
     assertEquals(1024 * 1024, storage.maxLogEntriesPerSegment());
+    assertEquals(1024, storage.cacheSize());
     assertTrue(storage.dynamicCompaction());
     assertEquals(.2, storage.freeDiskBuffer(), .01);
     assertTrue(storage.isFlushOnCommit());
+    assertEquals(0, storage.groupCommitSize());
+    assertEquals(Duration.ZERO, storage.groupCommitWindow());
+    assertEquals(Duration.ZERO, storage.groupCommitMaxDelay());
+    assertFalse(storage.isPreallocateSegments());
+    assertEquals(CompressionType.NONE, storage.compression());
+    assertFalse(storage.isSynchronousWrites());
     assertFalse(storage.isRetainStaleSnapshots());
   }
 
@@ -48,18 +57,32 @@ public class RaftStorageTest {
         .withDirectory(new File(System.getProperty("user.dir"), "foo"))
         .withMaxSegmentSize(1024 * 1024)
         .withMaxEntriesPerSegment(1024)
+        .withCacheSize(128)
         .withDynamicCompaction(false)
         .withFreeDiskBuffer(.5)
         .withFlushOnCommit(false)
+        .withGroupCommitSize(1024 * 64)
+        .withGroupCommitWindow(Duration.ofMillis(2))
+        .withGroupCommitMaxDelay(Duration.ofMillis(5))
+        .withPreallocateSegments()
+        .withCompression(CompressionType.LZ4)
+        .withSynchronousWrites()
         .withRetainStaleSnapshots()
         .build();
     assertEquals("foo", storage.prefix());
     assertEquals(new File(System.getProperty("user.dir"), "foo"), storage.directory());
     assertEquals(1024 * 1024, storage.maxLogSegmentSize());
     assertEquals(1024, storage.maxLogEntriesPerSegment());
+    assertEquals(128, storage.cacheSize());
     assertFalse(storage.dynamicCompaction());
     assertEquals(.5, storage.freeDiskBuffer(), .01);
     assertFalse(storage.isFlushOnCommit());
+    assertEquals(1024 * 64, storage.groupCommitSize());
+    assertEquals(Duration.ofMillis(2), storage.groupCommitWindow());
+    assertEquals(Duration.ofMillis(5), storage.groupCommitMaxDelay());
+    assertTrue(storage.isPreallocateSegments());
+    assertEquals(CompressionType.LZ4, storage.compression());
+    assertTrue(storage.isSynchronousWrites());
     assertTrue(storage.isRetainStaleSnapshots());
   }
 
@@ -43,9 +43,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -362,6 +364,80 @@ public abstract class AbstractLogTest {
     }
   }
 
+  @Test
+  public void testFlushAsync() throws Exception {
+    RaftLog log = RaftLog.builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel())
+        .withMaxEntriesPerSegment(MAX_ENTRIES_PER_SEGMENT)
+        .withMaxSegmentSize(MAX_SEGMENT_SIZE)
+        .withFlushOnCommit()
+        .build();
+    RaftLogWriter writer = log.writer();
+    assertTrue(writer.isFlushOnCommit());
+
+    for (int i = 1; i <= MAX_ENTRIES_PER_SEGMENT + 5; i++) {
+      writer.append(new TestEntry(1, 32));
+    }
+    assertEquals(0, writer.getFlushedIndex());
+
+    long index = writer.flushAsync(Runnable::run).get();
+    assertEquals(MAX_ENTRIES_PER_SEGMENT + 5, index);
+    writer.setFlushedIndex(index);
+    assertEquals(index, writer.getFlushedIndex());
+
+    writer.truncate(index - 2);
+    assertEquals(index - 2, writer.getFlushedIndex());
+
+    writer.append(new TestEntry(1, 32));
+    writer.append(new TestEntry(1, 32));
+    writer.commit(index - 2);
+    assertEquals(index - 2, writer.getFlushedIndex());
+    writer.commit(index);
+    assertEquals(index, writer.getFlushedIndex());
+  }
+
+  @Test
+  public void testGroupCommit() throws Exception {
+    RaftLog log = RaftLog.builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel())
+        .withMaxEntriesPerSegment(MAX_ENTRIES_PER_SEGMENT)
+        .withMaxSegmentSize(MAX_SEGMENT_SIZE)
+        .withGroupCommitSize(MAX_SEGMENT_SIZE)
+        .withGroupCommitWindow(Duration.ofMinutes(1))
+        .withFlushOnCommit()
+        .build();
+    RaftLogWriter writer = log.writer();
+    RaftLogReader reader = log.openReader(1, RaftLogReader.Mode.COMMITS);
+
+    writer.append(new TestEntry(1, 32));
+    writer.append(new TestEntry(1, 32));
+    CompletableFuture<Long> first = writer.commit(1);
+    CompletableFuture<Long> second = writer.commit(2);
+    CompletableFuture<Long> duplicate = writer.commit(1);
+
+    // Committed entries are not visible until the group commit batch has been flushed.
+    assertFalse(first.isDone());
+    assertFalse(second.isDone());
+    assertFalse(duplicate.isDone());
+    assertFalse(reader.hasNext());
+    assertEquals(0, writer.getFlushedIndex());
+
+    writer.flush();
+    assertEquals(Long.valueOf(1), first.getNow(null));
+    assertEquals(Long.valueOf(2), second.getNow(null));
+    assertEquals(Long.valueOf(1), duplicate.getNow(null));
+    assertEquals(2, writer.getFlushedIndex());
+    assertEquals(1, reader.next().index());
+    assertEquals(2, reader.next().index());
+    assertTrue(writer.commit(2).isDone());
+  }
+
   @Test
   public void testReadAfterCompact() throws Exception {
     RaftLog log = createLog();
@@ -45,4 +45,14 @@ public class StorageException extends RuntimeException {
       super(message);
     }
   }
+
+  /**
+   * Exception thrown when an asynchronous flush cannot report the flushed entries because they were truncated
+   * or their segment was closed while the flush was in progress.
+   */
+  public static class FlushAborted extends StorageException {
+    public FlushAborted(String message) {
+      super(message);
+    }
+  }
 }
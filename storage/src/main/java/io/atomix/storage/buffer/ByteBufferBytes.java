@@ -15,6 +15,8 @@
  */
 package io.atomix.storage.buffer;
 
+import io.atomix.utils.memory.MemoryBudget;
+
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -22,12 +24,22 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Byte buffer bytes.
+ * <p>
+ * Bytes constructed with a {@link MemoryBudget} are charged to the budget for the capacity of the underlying buffer
+ * until they are {@link #close() closed}. Resizing the bytes charges or releases only the difference in capacity.
  */
 public abstract class ByteBufferBytes extends AbstractBytes {
   protected ByteBuffer buffer;
+  private final MemoryBudget budget;
+  private boolean released;
 
   protected ByteBufferBytes(ByteBuffer buffer) {
+    this(buffer, null);
+  }
+
+  protected ByteBufferBytes(ByteBuffer buffer, MemoryBudget budget) {
     this.buffer = buffer;
+    this.budget = budget;
   }
 
   public Bytes reset(ByteBuffer buffer) {
@@ -47,11 +59,26 @@ public abstract class ByteBufferBytes extends AbstractBytes {
   @Override
   public Bytes resize(int newSize) {
     ByteBuffer oldBuffer = buffer;
-    ByteBuffer newBuffer = newByteBuffer(newSize);
+    long delta = budget != null ? (long) newSize - oldBuffer.capacity() : 0;
+    if (delta > 0) {
+      budget.reserve(delta);
+    }
+    ByteBuffer newBuffer;
+    try {
+      newBuffer = newByteBuffer(newSize);
+    } catch (RuntimeException | Error e) {
+      if (delta > 0) {
+        budget.release(delta);
+      }
+      throw e;
+    }
     oldBuffer.position(0).limit(oldBuffer.capacity());
     newBuffer.position(0).limit(newBuffer.capacity());
     newBuffer.put(oldBuffer);
     newBuffer.clear();
+    if (delta < 0) {
+      budget.release(-delta);
+    }
     return reset(newBuffer);
   }
 
@@ -221,4 +248,13 @@ public abstract class ByteBufferBytes extends AbstractBytes {
     return this;
   }
 
+  @Override
+  public void close() {
+    if (budget != null && !released) {
+      released = true;
+      budget.release(buffer.capacity());
+    }
+    super.close();
+  }
+
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Byte array view handles.
+ * <p>
+ * On JVMs that provide {@code java.lang.invoke.VarHandle}, this class exposes method handles for the {@code GET} and
+ * {@code SET} access modes of the view var handles returned by {@code MethodHandles.byteArrayViewVarHandle}. Because
+ * the handles are held in {@code static final} fields, the JIT compiler treats them as constants and inlines them
+ * into callers. On older JVMs, {@link #isAvailable()} returns {@code false} and the handles are {@code null}.
+ */
+final class ByteViews {
+  private static final boolean AVAILABLE;
+
+  static final MethodHandle ARRAY_GET_SHORT_BE;
+  static final MethodHandle ARRAY_SET_SHORT_BE;
+  static final MethodHandle ARRAY_GET_SHORT_LE;
+  static final MethodHandle ARRAY_SET_SHORT_LE;
+  static final MethodHandle ARRAY_GET_INT_BE;
+  static final MethodHandle ARRAY_SET_INT_BE;
+  static final MethodHandle ARRAY_GET_INT_LE;
+  static final MethodHandle ARRAY_SET_INT_LE;
+  static final MethodHandle ARRAY_GET_LONG_BE;
+  static final MethodHandle ARRAY_SET_LONG_BE;
+  static final MethodHandle ARRAY_GET_LONG_LE;
+  static final MethodHandle ARRAY_SET_LONG_LE;
+
+  static {
+    Factory factory;
+    try {
+      factory = new Factory();
+    } catch (ReflectiveOperationException e) {
+      factory = null;
+    }
+    AVAILABLE = factory != null;
+
+    ARRAY_GET_SHORT_BE = factory != null ? factory.array(short[].class, ByteOrder.BIG_ENDIAN, "GET") : null;
+    ARRAY_SET_SHORT_BE = factory != null ? factory.array(short[].class, ByteOrder.BIG_ENDIAN, "SET") : null;
+    ARRAY_GET_SHORT_LE = factory != null ? factory.array(short[].class, ByteOrder.LITTLE_ENDIAN, "GET") : null;
+    ARRAY_SET_SHORT_LE = factory != null ? factory.array(short[].class, ByteOrder.LITTLE_ENDIAN, "SET") : null;
+    ARRAY_GET_INT_BE = factory != null ? factory.array(int[].class, ByteOrder.BIG_ENDIAN, "GET") : null;
+    ARRAY_SET_INT_BE = factory != null ? factory.array(int[].class, ByteOrder.BIG_ENDIAN, "SET") : null;
+    ARRAY_GET_INT_LE = factory != null ? factory.array(int[].class, ByteOrder.LITTLE_ENDIAN, "GET") : null;
+    ARRAY_SET_INT_LE = factory != null ? factory.array(int[].class, ByteOrder.LITTLE_ENDIAN, "SET") : null;
+    ARRAY_GET_LONG_BE = factory != null ? factory.array(long[].class, ByteOrder.BIG_ENDIAN, "GET") : null;
+    ARRAY_SET_LONG_BE = factory != null ? factory.array(long[].class, ByteOrder.BIG_ENDIAN, "SET") : null;
+    ARRAY_GET_LONG_LE = factory != null ? factory.array(long[].class, ByteOrder.LITTLE_ENDIAN, "GET") : null;
+    ARRAY_SET_LONG_LE = factory != null ? factory.array(long[].class, ByteOrder.LITTLE_ENDIAN, "SET") : null;
+  }
+
+  /**
+   * Returns a boolean indicating whether view handles are available on this JVM.
+   *
+   * @return indicates whether view handles are available on this JVM
+   */
+  static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /**
+   * Reflective view handle factory.
+   * <p>
+   * The {@code VarHandle} API is accessed reflectively so that this class can be compiled for Java 8.
+   */
+  private static final class Factory {
+    private final Method byteArrayViewVarHandle;
+    private final Method toMethodHandle;
+    private final Class<? extends Enum> accessMode;
+
+    @SuppressWarnings("unchecked")
+    Factory() throws ReflectiveOperationException {
+      Class<?> varHandle = Class.forName("java.lang.invoke.VarHandle");
+      this.accessMode = (Class<? extends Enum>) Class.forName("java.lang.invoke.VarHandle$AccessMode");
+      this.byteArrayViewVarHandle = MethodHandles.class.getMethod("byteArrayViewVarHandle", Class.class, ByteOrder.class);
+      this.toMethodHandle = varHandle.getMethod("toMethodHandle", accessMode);
+    }
+
+    /**
+     * Returns a byte array view handle for the given view type, byte order and access mode.
+     */
+    MethodHandle array(Class<?> viewType, ByteOrder order, String mode) {
+      return handle(byteArrayViewVarHandle, viewType, order, mode);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MethodHandle handle(Method factory, Class<?> viewType, ByteOrder order, String mode) {
+      try {
+        Object varHandle = factory.invoke(null, viewType, order);
+        return (MethodHandle) toMethodHandle.invoke(varHandle, Enum.valueOf(accessMode, mode));
+      } catch (ReflectiveOperationException e) {
+        throw new AssertionError(e);
+      }
+    }
+  }
+
+  /**
+   * Returns a boolean indicating whether the given buffer's byte order is big endian.
+   */
+  static boolean isBigEndian(ByteBuffer buffer) {
+    return buffer.order() == ByteOrder.BIG_ENDIAN;
+  }
+
+  private ByteViews() {
+  }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Composite bytes.
+ * <p>
+ * Composite bytes present a sequence of regions of other {@link Bytes} as a single fixed size region. Reads and
+ * writes are routed to the underlying regions without copying. When composite bytes are written to
+ * {@link FileBytes}, the regions are written with a single gathering write.
+ * <p>
+ * Multi-byte values are always read and written in {@link ByteOrder#BIG_ENDIAN} order, regardless of the byte order
+ * of the underlying regions. Values are read and written through a region directly only if the region is itself
+ * big endian, and are otherwise assembled a byte at a time.
+ */
+public class CompositeBytes extends AbstractBytes {
+
+  /**
+   * Returns new composite bytes spanning the given bytes.
+   *
+   * @param bytes the bytes to compose
+   * @return the composite bytes
+   */
+  public static CompositeBytes of(Bytes... bytes) {
+    Builder builder = builder();
+    for (Bytes component : bytes) {
+      builder.add(component, 0, component.size());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a new composite bytes builder.
+   *
+   * @return a new composite bytes builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final Bytes[] components;
+  private final int[] offsets;
+  private final int[] positions;
+  private final boolean[] bigEndian;
+  private final int size;
+
+  protected CompositeBytes(Bytes[] components, int[] offsets, int[] lengths) {
+    this.components = components;
+    this.offsets = offsets;
+    this.positions = new int[components.length + 1];
+    this.bigEndian = new boolean[components.length];
+    for (int i = 0; i < components.length; i++) {
+      positions[i + 1] = positions[i] + lengths[i];
+      bigEndian[i] = components[i].order() == ByteOrder.BIG_ENDIAN;
+    }
+    this.size = positions[components.length];
+  }
+
+  /**
+   * Returns the number of regions in the composite bytes.
+   *
+   * @return the number of regions in the composite bytes
+   */
+  public int components() {
+    return components.length;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Bytes resize(int newSize) {
+    throw new UnsupportedOperationException("composite bytes cannot be resized");
+  }
+
+  /**
+   * Returns the index of the region containing the given position.
+   */
+  private int component(int position) {
+    int index = Arrays.binarySearch(positions, position);
+    if (index < 0) {
+      return -index - 2;
+    }
+    // Skip empty regions that start at the same position.
+    while (index < components.length - 1 && positions[index + 1] == position) {
+      index++;
+    }
+    return Math.min(index, components.length - 1);
+  }
+
+  /**
+   * Returns the offset within the region at the given index for the given position.
+   */
+  private int offset(int component, int position) {
+    return offsets[component] + position - positions[component];
+  }
+
+  /**
+   * Returns the region containing the given range if the range is not split across regions and the region is big
+   * endian, otherwise {@code -1}.
+   */
+  private int contiguous(int position, int length) {
+    checkRead(position, length);
+    int component = component(position);
+    return position + length <= positions[component + 1] && bigEndian[component] ? component : -1;
+  }
+
+  /**
+   * Returns the remaining bytes of the given range as an array of byte buffers, one per region.
+   * <p>
+   * Regions backed by {@link ByteBufferBytes} or by an array are exposed as views of the underlying memory, and other
+   * regions are copied into new heap byte buffers. Writes to the returned views are reflected in the composite bytes.
+   *
+   * @param position the position of the range
+   * @param length the length of the range
+   * @return the byte buffers spanning the given range
+   */
+  ByteBuffer[] byteBuffers(int position, int length) {
+    checkRead(position, length);
+    List<ByteBuffer> buffers = new ArrayList<>(components.length);
+    int remaining = length;
+    while (remaining > 0) {
+      int component = component(position);
+      int offset = offset(component, position);
+      int count = Math.min(remaining, positions[component + 1] - position);
+      buffers.add(byteBuffer(components[component], offset, count));
+      position += count;
+      remaining -= count;
+    }
+    return buffers.toArray(new ByteBuffer[0]);
+  }
+
+  /**
+   * Returns a byte buffer spanning the given range of the given bytes.
+   */
+  private static ByteBuffer byteBuffer(Bytes bytes, int offset, int length) {
+    if (bytes instanceof WrappedBytes) {
+      bytes = ((WrappedBytes) bytes).root();
+    }
+    if (bytes instanceof ByteBufferBytes) {
+      ByteBuffer buffer = ((ByteBufferBytes) bytes).byteBuffer().duplicate();
+      buffer.clear().position(offset).limit(offset + length);
+      return buffer.slice();
+    } else if (bytes.hasArray()) {
+      return ByteBuffer.wrap(bytes.array(), offset, length).slice();
+    }
+    byte[] copy = new byte[length];
+    bytes.read(offset, copy, 0, length);
+    return ByteBuffer.wrap(copy);
+  }
+
+  @Override
+  public Bytes zero() {
+    return zero(0, size);
+  }
+
+  @Override
+  public Bytes zero(int offset) {
+    return zero(offset, size - offset);
+  }
+
+  @Override
+  public Bytes zero(int position, int length) {
+    checkWrite(position, length);
+    while (length > 0) {
+      int component = component(position);
+      int count = Math.min(length, positions[component + 1] - position);
+      components[component].zero(offset(component, position), count);
+      position += count;
+      length -= count;
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes read(int position, Bytes bytes, int offset, int length) {
+    checkRead(position, length);
+    while (length > 0) {
+      int component = component(position);
+      int count = Math.min(length, positions[component + 1] - position);
+      components[component].read(offset(component, position), bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes read(int position, byte[] bytes, int offset, int length) {
+    checkRead(position, length);
+    while (length > 0) {
+      int component = component(position);
+      int count = Math.min(length, positions[component + 1] - position);
+      components[component].read(offset(component, position), bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+    return this;
+  }
+
+  @Override
+  public int readByte(int offset) {
+    checkRead(offset, BYTE);
+    int component = component(offset);
+    return components[component].readByte(offset(component, offset));
+  }
+
+  @Override
+  public char readChar(int offset) {
+    return (char) readShort(offset);
+  }
+
+  @Override
+  public short readShort(int offset) {
+    int component = contiguous(offset, SHORT);
+    if (component >= 0) {
+      return components[component].readShort(offset(component, offset));
+    }
+    return (short) readSplit(offset, SHORT);
+  }
+
+  @Override
+  public int readInt(int offset) {
+    int component = contiguous(offset, INTEGER);
+    if (component >= 0) {
+      return components[component].readInt(offset(component, offset));
+    }
+    return (int) readSplit(offset, INTEGER);
+  }
+
+  @Override
+  public long readLong(int offset) {
+    int component = contiguous(offset, LONG);
+    if (component >= 0) {
+      return components[component].readLong(offset(component, offset));
+    }
+    return readSplit(offset, LONG);
+  }
+
+  @Override
+  public float readFloat(int offset) {
+    return Float.intBitsToFloat(readInt(offset));
+  }
+
+  @Override
+  public double readDouble(int offset) {
+    return Double.longBitsToDouble(readLong(offset));
+  }
+
+  /**
+   * Reads a big endian value a byte at a time.
+   */
+  private long readSplit(int offset, int length) {
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      value = (value << 8) | (readByte(offset + i) & 0xFF);
+    }
+    return value;
+  }
+
+  @Override
+  public Bytes write(int position, Bytes bytes, int offset, int length) {
+    checkWrite(position, length);
+    while (length > 0) {
+      int component = component(position);
+      int count = Math.min(length, positions[component + 1] - position);
+      components[component].write(offset(component, position), bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes write(int position, byte[] bytes, int offset, int length) {
+    checkWrite(position, length);
+    while (length > 0) {
+      int component = component(position);
+      int count = Math.min(length, positions[component + 1] - position);
+      components[component].write(offset(component, position), bytes, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeByte(int offset, int b) {
+    checkWrite(offset, BYTE);
+    int component = component(offset);
+    components[component].writeByte(offset(component, offset), b);
+    return this;
+  }
+
+  @Override
+  public Bytes writeChar(int offset, char c) {
+    return writeShort(offset, (short) c);
+  }
+
+  @Override
+  public Bytes writeShort(int offset, short s) {
+    checkWrite(offset, SHORT);
+    int component = contiguous(offset, SHORT);
+    if (component >= 0) {
+      components[component].writeShort(offset(component, offset), s);
+    } else {
+      writeSplit(offset, s, SHORT);
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeInt(int offset, int i) {
+    checkWrite(offset, INTEGER);
+    int component = contiguous(offset, INTEGER);
+    if (component >= 0) {
+      components[component].writeInt(offset(component, offset), i);
+    } else {
+      writeSplit(offset, i, INTEGER);
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeLong(int offset, long l) {
+    checkWrite(offset, LONG);
+    int component = contiguous(offset, LONG);
+    if (component >= 0) {
+      components[component].writeLong(offset(component, offset), l);
+    } else {
+      writeSplit(offset, l, LONG);
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeFloat(int offset, float f) {
+    return writeInt(offset, Float.floatToRawIntBits(f));
+  }
+
+  @Override
+  public Bytes writeDouble(int offset, double d) {
+    return writeLong(offset, Double.doubleToRawLongBits(d));
+  }
+
+  /**
+   * Writes a big endian value a byte at a time.
+   */
+  private void writeSplit(int offset, long value, int length) {
+    for (int i = 0; i < length; i++) {
+      writeByte(offset + i, (int) (value >>> (8 * (length - i - 1))));
+    }
+  }
+
+  @Override
+  public Bytes flush() {
+    for (Bytes component : components) {
+      component.flush();
+    }
+    return this;
+  }
+
+  /**
+   * Composite bytes builder.
+   */
+  public static class Builder implements io.atomix.utils.Builder<CompositeBytes> {
+    private final List<Bytes> components = new ArrayList<>();
+    private int[] offsets = new int[4];
+    private int[] lengths = new int[4];
+
+    protected Builder() {
+    }
+
+    /**
+     * Adds the given region of the given bytes.
+     *
+     * @param bytes the bytes to add
+     * @param offset the offset of the region to add
+     * @param length the length of the region to add
+     * @return the composite bytes builder
+     */
+    public Builder add(Bytes bytes, int offset, int length) {
+      checkNotNull(bytes, "bytes cannot be null");
+      checkArgument(offset >= 0 && length >= 0 && offset + length <= bytes.size(), "invalid region");
+      int index = components.size();
+      if (index == offsets.length) {
+        offsets = Arrays.copyOf(offsets, index * 2);
+        lengths = Arrays.copyOf(lengths, index * 2);
+      }
+      components.add(bytes);
+      offsets[index] = offset;
+      lengths[index] = length;
+      return this;
+    }
+
+    @Override
+    public CompositeBytes build() {
+      int count = components.size();
+      return new CompositeBytes(
+          components.toArray(new Bytes[count]),
+          Arrays.copyOf(offsets, count),
+          Arrays.copyOf(lengths, count));
+    }
+  }
+}
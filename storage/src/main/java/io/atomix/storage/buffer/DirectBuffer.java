@@ -15,8 +15,10 @@
  */
 package io.atomix.storage.buffer;
 
+import io.atomix.utils.concurrent.ReferenceManager;
 import io.atomix.utils.memory.HeapMemory;
 import io.atomix.utils.memory.Memory;
+import io.atomix.utils.memory.MemoryCategory;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -78,12 +80,36 @@ public class DirectBuffer extends ByteBufferBuffer {
    * @see DirectBuffer#allocate(int)
    */
   public static DirectBuffer allocate(int initialCapacity, int maxCapacity) {
+    return allocate(initialCapacity, maxCapacity, MemoryCategory.DEFAULT);
+  }
+
+  /**
+   * Allocates a new direct buffer charged to the given memory category's budget.
+   * <p>
+   * The memory is charged to the budget until the buffer is closed, and growing the buffer charges the additional
+   * capacity. If the budget is exhausted, allocation blocks until memory is released or the budget's maximum wait
+   * time elapses.
+   *
+   * @param initialCapacity The initial capacity of the buffer to allocate (in bytes).
+   * @param maxCapacity     The maximum capacity of the buffer.
+   * @param category        The memory category to which to charge the buffer.
+   * @return The direct buffer.
+   * @throws IllegalArgumentException If {@code capacity} or {@code maxCapacity} is greater than the maximum
+   *                                  allowed count for a {@link java.nio.ByteBuffer} - {@code Integer.MAX_VALUE - 5}
+   * @throws io.atomix.utils.memory.MemoryLimitExceededException If the memory could not be reserved
+   * @see DirectBuffer#allocate(int, int)
+   */
+  public static DirectBuffer allocate(int initialCapacity, int maxCapacity, MemoryCategory category) {
     checkArgument(initialCapacity <= maxCapacity, "initial capacity cannot be greater than maximum capacity");
-    return new DirectBuffer(DirectBytes.allocate((int) Math.min(Memory.Util.toPow2(initialCapacity), HeapMemory.MAX_SIZE)), 0, initialCapacity, maxCapacity);
+    return new DirectBuffer(DirectBytes.allocate((int) Math.min(Memory.Util.toPow2(initialCapacity), HeapMemory.MAX_SIZE), category), 0, initialCapacity, maxCapacity);
   }
 
   protected DirectBuffer(DirectBytes bytes, int offset, int initialCapacity, int maxCapacity) {
-    super(bytes, offset, initialCapacity, maxCapacity, null);
+    this(bytes, offset, initialCapacity, maxCapacity, null);
+  }
+
+  protected DirectBuffer(DirectBytes bytes, int offset, int initialCapacity, int maxCapacity, ReferenceManager<Buffer> referenceManager) {
+    super(bytes, offset, initialCapacity, maxCapacity, referenceManager);
   }
 
   @Override
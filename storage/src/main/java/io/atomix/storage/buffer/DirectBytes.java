@@ -16,6 +16,9 @@
 package io.atomix.storage.buffer;
 
 import io.atomix.utils.memory.HeapMemory;
+import io.atomix.utils.memory.MemoryAccountant;
+import io.atomix.utils.memory.MemoryBudget;
+import io.atomix.utils.memory.MemoryCategory;
 
 import java.nio.ByteBuffer;
 
@@ -25,23 +28,53 @@ import java.nio.ByteBuffer;
 public class DirectBytes extends ByteBufferBytes {
 
   /**
-   * Allocates a new direct byte array.
+   * Allocates a new direct byte array charged to the {@link MemoryCategory#DEFAULT} memory budget.
    *
    * @param size The count of the buffer to allocate (in bytes).
    * @return The direct buffer.
    * @throws IllegalArgumentException If {@code count} is greater than the maximum allowed count for
    *                                  an array on the Java heap - {@code Integer.MAX_VALUE - 5}
+   * @see #allocate(int, MemoryCategory)
    */
   public static DirectBytes allocate(int size) {
+    return allocate(size, MemoryCategory.DEFAULT);
+  }
+
+  /**
+   * Allocates a new direct byte array charged to the given memory category's budget.
+   * <p>
+   * The memory is charged to the budget until the bytes are {@link #close() closed}. If the budget is exhausted,
+   * allocation blocks until memory is released or the budget's maximum wait time elapses.
+   *
+   * @param size     The count of the buffer to allocate (in bytes).
+   * @param category The memory category to which to charge the buffer.
+   * @return The direct buffer.
+   * @throws IllegalArgumentException If {@code count} is greater than the maximum allowed count for
+   *                                  an array on the Java heap - {@code Integer.MAX_VALUE - 5}
+   * @throws io.atomix.utils.memory.MemoryLimitExceededException If the memory could not be reserved
+   * @see #allocate(int)
+   */
+  public static DirectBytes allocate(int size, MemoryCategory category) {
     if (size > HeapMemory.MAX_SIZE)
       throw new IllegalArgumentException("size cannot for DirectBytes cannot be greater than " + HeapMemory.MAX_SIZE);
-    return new DirectBytes(ByteBuffer.allocate((int) size));
+    MemoryBudget budget = MemoryAccountant.instance().budget(category);
+    budget.reserve(size);
+    try {
+      return new DirectBytes(ByteBuffer.allocateDirect(size), budget);
+    } catch (RuntimeException | Error e) {
+      budget.release(size);
+      throw e;
+    }
   }
 
   protected DirectBytes(ByteBuffer buffer) {
     super(buffer);
   }
 
+  protected DirectBytes(ByteBuffer buffer, MemoryBudget budget) {
+    super(buffer, budget);
+  }
+
   @Override
   protected ByteBuffer newByteBuffer(int size) {
     return ByteBuffer.allocateDirect((int) size);
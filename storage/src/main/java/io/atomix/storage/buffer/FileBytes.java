@@ -20,6 +20,7 @@ import io.atomix.utils.memory.Memory;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
@@ -40,6 +41,8 @@ import java.nio.file.Files;
  */
 public class FileBytes extends AbstractBytes {
   static final String DEFAULT_MODE = "rw";
+  static final String SYNC_MODE = "rws";
+  static final String DSYNC_MODE = "rwd";
 
   /**
    * Allocates a randomAccessFile buffer of unlimited count.
@@ -129,6 +132,18 @@ public class FileBytes extends AbstractBytes {
     return size;
   }
 
+  /**
+   * Returns a boolean indicating whether the file was opened in a synchronous mode.
+   * <p>
+   * In the {@code rws} and {@code rwd} modes, every write to the file is written synchronously to the underlying
+   * storage device, so {@link #flush()} does not need to sync the file.
+   *
+   * @return indicates whether the file was opened in a synchronous mode
+   */
+  public boolean isSynchronous() {
+    return mode.equals(SYNC_MODE) || mode.equals(DSYNC_MODE);
+  }
+
   @Override
   public Bytes resize(int newSize) {
     if (newSize < size)
@@ -201,6 +216,20 @@ public class FileBytes extends AbstractBytes {
     return ByteOrder.BIG_ENDIAN;
   }
 
+  /**
+   * Writes the given buffers to the file at the current file pointer with a gathering write.
+   */
+  private void write(ByteBuffer[] buffers) throws IOException {
+    FileChannel channel = randomAccessFile.getChannel();
+    long remaining = 0;
+    for (ByteBuffer buffer : buffers) {
+      remaining += buffer.remaining();
+    }
+    while (remaining > 0) {
+      remaining -= channel.write(buffers);
+    }
+  }
+
   /**
    * Seeks to the given offset.
    */
@@ -361,7 +390,14 @@ public class FileBytes extends AbstractBytes {
     if (bytes instanceof WrappedBytes) {
       bytes = ((WrappedBytes) bytes).root();
     }
-    if (bytes.hasArray()) {
+    if (bytes instanceof CompositeBytes) {
+      try {
+        seekToOffset(position);
+        write(((CompositeBytes) bytes).byteBuffers(offset, length));
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    } else if (bytes.hasArray()) {
       try {
         seekToOffset(position);
         randomAccessFile.write(bytes.array(), (int) offset, (int) length);
@@ -479,6 +515,10 @@ public class FileBytes extends AbstractBytes {
 
   @Override
   public Bytes flush() {
+    // Files opened in a synchronous mode are written through to the storage device by each write.
+    if (isSynchronous()) {
+      return this;
+    }
     try {
       randomAccessFile.getFD().sync();
     } catch (IOException e) {
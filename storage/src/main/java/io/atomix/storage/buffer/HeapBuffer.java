@@ -15,6 +15,7 @@
  */
 package io.atomix.storage.buffer;
 
+import io.atomix.utils.concurrent.ReferenceManager;
 import io.atomix.utils.memory.HeapMemory;
 import io.atomix.utils.memory.Memory;
 
@@ -97,7 +98,11 @@ public class HeapBuffer extends ByteBufferBuffer {
   private final HeapBytes bytes;
 
   protected HeapBuffer(HeapBytes bytes, int offset, int initialCapacity, int maxCapacity) {
-    super(bytes, offset, initialCapacity, maxCapacity, null);
+    this(bytes, offset, initialCapacity, maxCapacity, null);
+  }
+
+  protected HeapBuffer(HeapBytes bytes, int offset, int initialCapacity, int maxCapacity, ReferenceManager<Buffer> referenceManager) {
+    super(bytes, offset, initialCapacity, maxCapacity, referenceManager);
     this.bytes = bytes;
   }
 
@@ -21,10 +21,21 @@ import java.nio.ByteBuffer;
 
 /**
  * {@link ByteBuffer} based heap bytes.
+ * <p>
+ * {@link #allocate(int)} and {@link #wrap(byte[])} return {@link VarHandleHeapBytes}, which access the underlying
+ * array through byte array view handles, only when enabled via the {@code io.atomix.storage.buffer.varHandles}
+ * system property, e.g. {@code -Dio.atomix.storage.buffer.varHandles=true}, on JVMs that support {@code VarHandle}s.
  */
 public class HeapBytes extends ByteBufferBytes {
   public static final byte[] EMPTY = new byte[0];
 
+  /**
+   * System property that enables {@link VarHandleHeapBytes} for heap allocations.
+   */
+  public static final String VAR_HANDLES_PROPERTY = "io.atomix.storage.buffer.varHandles";
+
+  private static final boolean VAR_HANDLES = Boolean.getBoolean(VAR_HANDLES_PROPERTY) && ByteViews.isAvailable();
+
   /**
    * Allocates a new heap byte array.
    *
@@ -34,8 +45,12 @@ public class HeapBytes extends ByteBufferBytes {
    *                                  an array on the Java heap - {@code Integer.MAX_VALUE - 5}
    */
   public static HeapBytes allocate(int size) {
-    if (size > HeapMemory.MAX_SIZE)
+    if (VAR_HANDLES) {
+      return VarHandleHeapBytes.allocate(size);
+    }
+    if (size > HeapMemory.MAX_SIZE) {
       throw new IllegalArgumentException("size cannot for HeapBytes cannot be greater than " + HeapMemory.MAX_SIZE);
+    }
     return new HeapBytes(ByteBuffer.allocate((int) size));
   }
 
@@ -49,6 +64,9 @@ public class HeapBytes extends ByteBufferBytes {
    * @param bytes The bytes to wrap.
    */
   public static HeapBytes wrap(byte[] bytes) {
+    if (VAR_HANDLES) {
+      return VarHandleHeapBytes.wrap(bytes);
+    }
     return new HeapBytes(ByteBuffer.wrap(bytes));
   }
 
@@ -15,6 +15,8 @@
  */
 package io.atomix.storage.buffer;
 
+import io.atomix.utils.memory.MemoryCategory;
+
 import java.io.File;
 import java.nio.channels.FileChannel;
 
@@ -175,10 +177,55 @@ public class MappedBuffer extends ByteBufferBuffer {
    * @see #allocate(File, int, int)
    */
   public static MappedBuffer allocate(File file, FileChannel.MapMode mode, int initialCapacity, int maxCapacity) {
+    return allocate(file, mode, initialCapacity, maxCapacity, MemoryCategory.DEFAULT);
+  }
+
+  /**
+   * Allocates a mapped buffer charged to the given memory category's budget.
+   * <p>
+   * The mapped memory is charged to the budget until the buffer is closed, and growing the buffer charges the
+   * additional capacity. If the budget is exhausted, allocation blocks until memory is released or the budget's
+   * maximum wait time elapses.
+   *
+   * @param file            The file to map into memory. If the file doesn't exist it will be automatically created.
+   * @param mode            The mode with which to map the file.
+   * @param initialCapacity The initial capacity of the buffer.
+   * @param maxCapacity     The maximum capacity of the buffer.
+   * @param category        The memory category to which to charge the buffer.
+   * @return The mapped buffer.
+   * @throws NullPointerException     If {@code file} is {@code null}
+   * @throws IllegalArgumentException If the {@code capacity} or {@code maxCapacity} is greater than
+   *                                  {@link Integer#MAX_VALUE}.
+   * @throws io.atomix.utils.memory.MemoryLimitExceededException If the memory could not be reserved
+   * @see #allocate(File, FileChannel.MapMode, int, int)
+   * @see #tryAllocate(File, FileChannel.MapMode, int, MemoryCategory)
+   */
+  public static MappedBuffer allocate(File file, FileChannel.MapMode mode, int initialCapacity, int maxCapacity, MemoryCategory category) {
     checkNotNull(file, "file cannot be null");
     checkNotNull(mode, "mode cannot be null");
+    checkNotNull(category, "category cannot be null");
     checkArgument(initialCapacity <= maxCapacity, "initial capacity cannot be greater than maximum capacity");
-    return new MappedBuffer(MappedBytes.allocate(file, mode, initialCapacity), 0, initialCapacity, maxCapacity);
+    return new MappedBuffer(MappedBytes.allocate(file, mode, initialCapacity, category), 0, initialCapacity, maxCapacity);
+  }
+
+  /**
+   * Allocates a fixed capacity mapped buffer charged to the given memory category's budget if the budget can
+   * accommodate it without waiting.
+   *
+   * @param file     The file to map into memory.
+   * @param mode     The mode with which to map the file.
+   * @param capacity The fixed capacity of the buffer to allocate (in bytes).
+   * @param category The memory category to which to charge the buffer.
+   * @return The mapped buffer or {@code null} if the budget is exhausted.
+   * @throws NullPointerException If {@code file} is {@code null}
+   * @see #allocate(File, FileChannel.MapMode, int, int, MemoryCategory)
+   */
+  public static MappedBuffer tryAllocate(File file, FileChannel.MapMode mode, int capacity, MemoryCategory category) {
+    checkNotNull(file, "file cannot be null");
+    checkNotNull(mode, "mode cannot be null");
+    checkNotNull(category, "category cannot be null");
+    MappedBytes bytes = MappedBytes.tryAllocate(file, mode, capacity, category);
+    return bytes != null ? new MappedBuffer(bytes, 0, capacity, capacity) : null;
   }
 
   protected MappedBuffer(MappedBytes bytes, int offset, int initialCapacity, int maxCapacity) {
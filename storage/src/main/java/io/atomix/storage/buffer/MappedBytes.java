@@ -16,6 +16,9 @@
 package io.atomix.storage.buffer;
 
 import io.atomix.utils.AtomixIOException;
+import io.atomix.utils.memory.MemoryAccountant;
+import io.atomix.utils.memory.MemoryBudget;
+import io.atomix.utils.memory.MemoryCategory;
 
 import java.io.File;
 import java.io.IOException;
@@ -48,7 +51,7 @@ public class MappedBytes extends ByteBufferBytes {
   }
 
   /**
-   * Allocates a mapped buffer.
+   * Allocates a mapped buffer charged to the {@link MemoryCategory#DEFAULT} memory budget.
    * <p>
    * Memory will be mapped by opening and expanding the given {@link File} to the desired {@code count} and mapping the
    * file contents into memory via {@link FileChannel#map(FileChannel.MapMode, long, long)}.
@@ -62,12 +65,67 @@ public class MappedBytes extends ByteBufferBytes {
    * @see #allocate(File, int)
    */
   public static MappedBytes allocate(File file, FileChannel.MapMode mode, int size) {
+    return allocate(file, mode, size, MemoryCategory.DEFAULT);
+  }
+
+  /**
+   * Allocates a mapped buffer charged to the given memory category's budget.
+   * <p>
+   * The mapped memory is charged to the budget until the bytes are {@link #close() closed}. If the budget is
+   * exhausted, allocation blocks until memory is released or the budget's maximum wait time elapses.
+   *
+   * @param file     The file to map into memory. If the file doesn't exist it will be automatically created.
+   * @param mode     The mode with which to map the file.
+   * @param size     The count of the buffer to allocate (in bytes).
+   * @param category The memory category to which to charge the buffer.
+   * @return The mapped buffer.
+   * @throws io.atomix.utils.memory.MemoryLimitExceededException If the memory could not be reserved
+   * @see #tryAllocate(File, FileChannel.MapMode, int, MemoryCategory)
+   */
+  public static MappedBytes allocate(File file, FileChannel.MapMode mode, int size, MemoryCategory category) {
+    MemoryBudget budget = MemoryAccountant.instance().budget(category);
+    budget.reserve(size);
+    return map(file, mode, size, budget);
+  }
+
+  /**
+   * Allocates a mapped buffer charged to the given memory category's budget if the budget can accommodate it
+   * without waiting.
+   *
+   * @param file     The file to map into memory. If the file doesn't exist it will be automatically created.
+   * @param mode     The mode with which to map the file.
+   * @param size     The count of the buffer to allocate (in bytes).
+   * @param category The memory category to which to charge the buffer.
+   * @return The mapped buffer or {@code null} if the budget is exhausted.
+   * @see #allocate(File, FileChannel.MapMode, int, MemoryCategory)
+   */
+  public static MappedBytes tryAllocate(File file, FileChannel.MapMode mode, int size, MemoryCategory category) {
+    MemoryBudget budget = MemoryAccountant.instance().budget(category);
+    if (!budget.tryReserve(size)) {
+      return null;
+    }
+    return map(file, mode, size, budget);
+  }
+
+  /**
+   * Maps the given file, releasing the reserved memory if the file cannot be mapped.
+   */
+  private static MappedBytes map(File file, FileChannel.MapMode mode, int size, MemoryBudget budget) {
     try {
       RandomAccessFile randomAccessFile = new RandomAccessFile(file, parseMode(mode));
-      MappedByteBuffer buffer = randomAccessFile.getChannel().map(mode, 0, size);
-      return new MappedBytes(file, randomAccessFile, buffer, mode);
+      try {
+        MappedByteBuffer buffer = randomAccessFile.getChannel().map(mode, 0, size);
+        return new MappedBytes(file, randomAccessFile, buffer, mode, budget);
+      } catch (IOException | RuntimeException e) {
+        randomAccessFile.close();
+        throw e;
+      }
     } catch (IOException e) {
+      budget.release(size);
       throw new AtomixIOException(e);
+    } catch (RuntimeException | Error e) {
+      budget.release(size);
+      throw e;
     }
   }
 
@@ -76,7 +134,11 @@ public class MappedBytes extends ByteBufferBytes {
   private final FileChannel.MapMode mode;
 
   protected MappedBytes(File file, RandomAccessFile randomAccessFile, MappedByteBuffer buffer, FileChannel.MapMode mode) {
-    super(buffer);
+    this(file, randomAccessFile, buffer, mode, null);
+  }
+
+  protected MappedBytes(File file, RandomAccessFile randomAccessFile, MappedByteBuffer buffer, FileChannel.MapMode mode, MemoryBudget budget) {
+    super(buffer, budget);
     this.file = file;
     this.randomAccessFile = randomAccessFile;
     this.mode = mode;
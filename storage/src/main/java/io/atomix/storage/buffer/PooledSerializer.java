@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.utils.serializer.Serializer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Serializer that encodes objects through buffers from the shared {@link SlabAllocator#heap() heap slab allocator}.
+ * <p>
+ * Objects written to a {@link BufferOutput} are encoded into a pooled buffer with
+ * {@link Serializer#encode(Object, ByteBuffer)}, and the pooled buffer is returned to the allocator once its contents
+ * have been written out. The size of the last object encoded of each type is recorded and used to size the pooled
+ * buffer for the next object of that type. Objects that don't fit in the pooled buffer, or whose type was last
+ * encoded into more than the largest pooled buffer, are encoded once by the wrapped serializer instead.
+ * <p>
+ * Encoding an object to a byte array is delegated to the wrapped serializer, which already encodes into a reusable
+ * output in a single pass.
+ */
+public class PooledSerializer implements Serializer {
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_CAPACITY = 1 << SlabAllocator.MAX_SIZE_CLASS;
+
+  private final Serializer serializer;
+  private final Map<Class<?>, Integer> sizeHints = new ConcurrentHashMap<>();
+
+  public PooledSerializer(Serializer serializer) {
+    this.serializer = checkNotNull(serializer, "serializer cannot be null");
+  }
+
+  @Override
+  public <T> byte[] encode(T object) {
+    return serializer.encode(object);
+  }
+
+  @Override
+  public <T> void encode(T object, ByteBuffer buffer) {
+    serializer.encode(object, buffer);
+  }
+
+  /**
+   * Writes the given object to the given output as a length prefixed byte array.
+   * <p>
+   * The object is written in the same format as {@link BufferOutput#writeObject(Object, java.util.function.Function)}
+   * without allocating an intermediate array.
+   *
+   * @param object the object to write
+   * @param output the output to which to write the object
+   * @param <T>    the object type
+   */
+  public <T> void encode(T object, BufferOutput<?> output) {
+    HeapBuffer buffer = encodePooled(object);
+    if (buffer == null) {
+      byte[] bytes = serializer.encode(object);
+      sizeHints.put(object.getClass(), bytes.length);
+      output.writeInt(bytes.length).write(bytes);
+      return;
+    }
+    try {
+      int length = (int) buffer.position();
+      output.writeInt(length).write(buffer.array(), 0, length);
+    } finally {
+      buffer.close();
+    }
+  }
+
+  /**
+   * Encodes the given object into a pooled buffer sized by the last object of the same type.
+   *
+   * @param object the object to encode
+   * @return a pooled buffer positioned at the end of the encoded object, or {@code null} if the object does not fit
+   *     in the pooled buffer
+   */
+  private <T> HeapBuffer encodePooled(T object) {
+    int capacity = Math.max(sizeHints.getOrDefault(object.getClass(), INITIAL_CAPACITY), INITIAL_CAPACITY);
+    if (capacity > MAX_CAPACITY) {
+      return null;
+    }
+
+    HeapBuffer buffer = (HeapBuffer) SlabAllocator.heap().allocate(capacity);
+    byte[] array = buffer.array();
+    ByteBuffer byteBuffer = ByteBuffer.wrap(array, 0, array.length);
+    try {
+      serializer.encode(object, byteBuffer);
+    } catch (BufferOverflowException e) {
+      buffer.close();
+      return null;
+    } catch (RuntimeException e) {
+      buffer.close();
+      throw e;
+    }
+    sizeHints.put(object.getClass(), byteBuffer.position());
+    buffer.position(byteBuffer.position());
+    return buffer;
+  }
+
+  @Override
+  public <T> T decode(byte[] bytes) {
+    return serializer.decode(bytes);
+  }
+}
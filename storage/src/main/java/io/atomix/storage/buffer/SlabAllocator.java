@@ -0,0 +1,325 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.storage.statistics.BufferPoolStatistics;
+import io.atomix.utils.concurrent.ReferenceManager;
+import io.atomix.utils.memory.HeapMemory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Size classed buffer allocator with thread local caches.
+ * <p>
+ * Buffers are allocated from power of two size classes between {@code 64} bytes and {@code 1MB}. When a buffer
+ * is {@link Buffer#close() closed} or its last reference is {@link Buffer#release() released}, it's returned to
+ * the releasing thread's cache for its size class and reused by the next allocation of that size class on the same
+ * thread. Caches are bounded per size class, and buffers that don't fit in a cache or that are larger than the
+ * largest size class are left to the garbage collector.
+ * <p>
+ * Buffers allocated by this allocator must not be used once they've been closed or released.
+ */
+public abstract class SlabAllocator implements BufferAllocator, ReferenceManager<Buffer> {
+  static final int MIN_SIZE_CLASS = 6;
+  static final int MAX_SIZE_CLASS = 20;
+  private static final int SIZE_CLASSES = MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1;
+  private static final int DEFAULT_CACHE_SIZE = 16;
+
+  private static final SlabAllocator HEAP = new HeapSlabAllocator(DEFAULT_CACHE_SIZE);
+  private static final SlabAllocator DIRECT = new DirectSlabAllocator(DEFAULT_CACHE_SIZE);
+
+  /**
+   * Returns the shared heap buffer allocator.
+   *
+   * @return the shared heap buffer allocator
+   */
+  public static SlabAllocator heap() {
+    return HEAP;
+  }
+
+  /**
+   * Returns the shared direct buffer allocator.
+   *
+   * @return the shared direct buffer allocator
+   */
+  public static SlabAllocator direct() {
+    return DIRECT;
+  }
+
+  /**
+   * Returns the size class for the given capacity.
+   *
+   * @param capacity the capacity for which to return the size class
+   * @return the size class for the given capacity
+   */
+  static int sizeClass(int capacity) {
+    if (capacity <= 1 << MIN_SIZE_CLASS) {
+      return MIN_SIZE_CLASS;
+    }
+    return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1);
+  }
+
+  private final int cacheSize;
+  private final ThreadLocal<Cache> caches = ThreadLocal.withInitial(Cache::new);
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder outstandingBytes = new LongAdder();
+  private final LongAdder cachedBytes = new LongAdder();
+  private final BufferPoolStatistics statistics = new BufferPoolStatistics(hits, misses, outstandingBytes, cachedBytes);
+
+  protected SlabAllocator(int cacheSize) {
+    checkArgument(cacheSize >= 0, "cacheSize must be positive");
+    this.cacheSize = cacheSize;
+  }
+
+  /**
+   * Returns the allocator statistics.
+   *
+   * @return the allocator statistics
+   */
+  public BufferPoolStatistics statistics() {
+    return statistics;
+  }
+
+  @Override
+  public Buffer allocate() {
+    return allocate(AbstractBuffer.DEFAULT_INITIAL_CAPACITY, HeapMemory.MAX_SIZE);
+  }
+
+  @Override
+  public Buffer allocate(int initialCapacity) {
+    return allocate(initialCapacity, HeapMemory.MAX_SIZE);
+  }
+
+  @Override
+  public Buffer allocate(int initialCapacity, int maxCapacity) {
+    checkArgument(initialCapacity <= maxCapacity, "initial capacity cannot be greater than maximum capacity");
+    final int sizeClass = sizeClass(initialCapacity);
+    SlabBuffer buffer = null;
+    if (sizeClass <= MAX_SIZE_CLASS) {
+      buffer = caches.get().poll(sizeClass);
+    }
+
+    if (buffer != null) {
+      hits.increment();
+      cachedBytes.add(-buffer.bytes().size());
+    } else {
+      misses.increment();
+      buffer = newBuffer(sizeClass <= MAX_SIZE_CLASS ? 1 << sizeClass : initialCapacity);
+    }
+
+    buffer.markAllocated(buffer.bytes().size());
+    outstandingBytes.add(buffer.allocatedSize());
+    ((AbstractBuffer) buffer).reset(0, initialCapacity, maxCapacity).clear().acquire();
+    return (Buffer) buffer;
+  }
+
+  /**
+   * Creates a new pooled buffer with the given size.
+   *
+   * @param size the size of the buffer's underlying bytes
+   * @return the pooled buffer
+   */
+  protected abstract SlabBuffer newBuffer(int size);
+
+  @Override
+  public void release(Buffer reference) {
+    // Views of pooled buffers share the pooled buffer's reference manager but are not themselves pooled.
+    if (!(reference instanceof SlabBuffer)) {
+      return;
+    }
+
+    SlabBuffer buffer = (SlabBuffer) reference;
+    if (!buffer.markReleased()) {
+      return;
+    }
+
+    outstandingBytes.add(-buffer.allocatedSize());
+
+    // Buffers may have grown since they were allocated, so cache buffers by the size of their underlying bytes.
+    final int size = reference.bytes().size();
+    final int sizeClass = sizeClass(size);
+    if (size == 1 << sizeClass && sizeClass <= MAX_SIZE_CLASS && caches.get().offer(sizeClass, buffer)) {
+      cachedBytes.add(size);
+    }
+  }
+
+  /**
+   * Pooled buffer.
+   */
+  interface SlabBuffer {
+
+    /**
+     * Returns the size of the buffer when it was allocated.
+     *
+     * @return the size of the buffer when it was allocated
+     */
+    int allocatedSize();
+
+    /**
+     * Marks the buffer allocated.
+     *
+     * @param size the size of the allocated buffer
+     */
+    void markAllocated(int size);
+
+    /**
+     * Marks the buffer released.
+     *
+     * @return indicates whether the buffer was allocated prior to being released
+     */
+    boolean markReleased();
+
+    /**
+     * Returns the buffer's underlying bytes.
+     *
+     * @return the buffer's underlying bytes
+     */
+    Bytes bytes();
+  }
+
+  /**
+   * Thread local buffer cache.
+   */
+  private final class Cache {
+    private final SlabBuffer[][] buffers = new SlabBuffer[SIZE_CLASSES][cacheSize];
+    private final int[] counts = new int[SIZE_CLASSES];
+
+    /**
+     * Removes a buffer from the cache for the given size class.
+     */
+    SlabBuffer poll(int sizeClass) {
+      final int index = sizeClass - MIN_SIZE_CLASS;
+      final int count = counts[index];
+      if (count == 0) {
+        return null;
+      }
+      final SlabBuffer buffer = buffers[index][count - 1];
+      buffers[index][count - 1] = null;
+      counts[index] = count - 1;
+      return buffer;
+    }
+
+    /**
+     * Adds a buffer to the cache for the given size class.
+     */
+    boolean offer(int sizeClass, SlabBuffer buffer) {
+      final int index = sizeClass - MIN_SIZE_CLASS;
+      final int count = counts[index];
+      if (count == cacheSize) {
+        return false;
+      }
+      buffers[index][count] = buffer;
+      counts[index] = count + 1;
+      return true;
+    }
+  }
+
+  /**
+   * Heap buffer allocator.
+   */
+  private static final class HeapSlabAllocator extends SlabAllocator {
+    HeapSlabAllocator(int cacheSize) {
+      super(cacheSize);
+    }
+
+    @Override
+    protected SlabBuffer newBuffer(int size) {
+      return new SlabHeapBuffer(HeapBytes.allocate(size), this);
+    }
+  }
+
+  /**
+   * Direct buffer allocator.
+   */
+  private static final class DirectSlabAllocator extends SlabAllocator {
+    DirectSlabAllocator(int cacheSize) {
+      super(cacheSize);
+    }
+
+    @Override
+    protected SlabBuffer newBuffer(int size) {
+      return new SlabDirectBuffer(new DirectBytes(ByteBuffer.allocateDirect(size)), this);
+    }
+  }
+
+  /**
+   * Pooled heap buffer.
+   */
+  private static final class SlabHeapBuffer extends HeapBuffer implements SlabBuffer {
+    private int size;
+    private boolean allocated;
+
+    SlabHeapBuffer(HeapBytes bytes, ReferenceManager<Buffer> referenceManager) {
+      super(bytes, 0, bytes.size(), bytes.size(), referenceManager);
+    }
+
+    @Override
+    public int allocatedSize() {
+      return size;
+    }
+
+    @Override
+    public void markAllocated(int size) {
+      this.size = size;
+      this.allocated = true;
+    }
+
+    @Override
+    public boolean markReleased() {
+      if (!allocated) {
+        return false;
+      }
+      allocated = false;
+      return true;
+    }
+  }
+
+  /**
+   * Pooled direct buffer.
+   */
+  private static final class SlabDirectBuffer extends DirectBuffer implements SlabBuffer {
+    private int size;
+    private boolean allocated;
+
+    SlabDirectBuffer(DirectBytes bytes, ReferenceManager<Buffer> referenceManager) {
+      super(bytes, 0, bytes.size(), bytes.size(), referenceManager);
+    }
+
+    @Override
+    public int allocatedSize() {
+      return size;
+    }
+
+    @Override
+    public void markAllocated(int size) {
+      this.size = size;
+      this.allocated = true;
+    }
+
+    @Override
+    public boolean markReleased() {
+      if (!allocated) {
+        return false;
+      }
+      allocated = false;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.utils.memory.HeapMemory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static io.atomix.storage.buffer.ByteViews.ARRAY_GET_INT_BE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_GET_INT_LE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_GET_LONG_BE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_GET_LONG_LE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_GET_SHORT_BE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_GET_SHORT_LE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_SET_INT_BE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_SET_INT_LE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_SET_LONG_BE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_SET_LONG_LE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_SET_SHORT_BE;
+import static io.atomix.storage.buffer.ByteViews.ARRAY_SET_SHORT_LE;
+
+/**
+ * Heap bytes that access the underlying array through byte array view var handles.
+ * <p>
+ * Multi-byte values are read and written with a single view handle access rather than through the wrapping
+ * {@link ByteBuffer}, and bulk reads and writes are performed with {@link System#arraycopy(Object, int, Object, int, int)}.
+ * These bytes can only be created on JVMs that support {@code VarHandle}s.
+ */
+public class VarHandleHeapBytes extends HeapBytes {
+
+  /**
+   * Returns a boolean indicating whether var handle bytes are supported by the JVM.
+   *
+   * @return indicates whether var handle bytes are supported by the JVM
+   */
+  public static boolean isAvailable() {
+    return ByteViews.isAvailable();
+  }
+
+  /**
+   * Allocates new var handle heap bytes.
+   *
+   * @param size the size of the bytes to allocate
+   * @return the heap bytes
+   * @throws IllegalArgumentException if {@code size} is greater than the maximum allowed size for an array on the
+   *                                  Java heap - {@code Integer.MAX_VALUE - 5}
+   * @throws UnsupportedOperationException if var handles are not supported by the JVM
+   */
+  public static VarHandleHeapBytes allocate(int size) {
+    if (size > HeapMemory.MAX_SIZE) {
+      throw new IllegalArgumentException("size cannot for HeapBytes cannot be greater than " + HeapMemory.MAX_SIZE);
+    }
+    return new VarHandleHeapBytes(ByteBuffer.allocate(size));
+  }
+
+  /**
+   * Wraps the given bytes in a {@link VarHandleHeapBytes} object.
+   *
+   * @param bytes the bytes to wrap
+   * @return the heap bytes
+   * @throws UnsupportedOperationException if var handles are not supported by the JVM
+   */
+  public static VarHandleHeapBytes wrap(byte[] bytes) {
+    return new VarHandleHeapBytes(ByteBuffer.wrap(bytes));
+  }
+
+  private byte[] array;
+  private boolean bigEndian;
+
+  protected VarHandleHeapBytes(ByteBuffer buffer) {
+    super(buffer);
+    if (!ByteViews.isAvailable()) {
+      throw new UnsupportedOperationException("var handles are not supported by this JVM");
+    }
+    this.array = buffer.array();
+    this.bigEndian = ByteViews.isBigEndian(buffer);
+  }
+
+  @Override
+  public Bytes reset(ByteBuffer buffer) {
+    super.reset(buffer);
+    this.array = buffer.array();
+    this.bigEndian = ByteViews.isBigEndian(buffer);
+    return this;
+  }
+
+  @Override
+  protected ByteBuffer newByteBuffer(int size) {
+    return ByteBuffer.allocate(size).order(buffer.order());
+  }
+
+  @Override
+  public Bytes zero(int offset) {
+    Arrays.fill(array, offset, array.length, (byte) 0);
+    return this;
+  }
+
+  @Override
+  public Bytes zero(int offset, int length) {
+    Arrays.fill(array, offset, offset + length, (byte) 0);
+    return this;
+  }
+
+  @Override
+  public Bytes read(int position, byte[] bytes, int offset, int length) {
+    System.arraycopy(array, position, bytes, offset, length);
+    return this;
+  }
+
+  @Override
+  public Bytes read(int position, Bytes bytes, int offset, int length) {
+    bytes.write(offset, array, position, length);
+    return this;
+  }
+
+  @Override
+  public Bytes write(int position, byte[] bytes, int offset, int length) {
+    System.arraycopy(bytes, offset, array, position, length);
+    return this;
+  }
+
+  @Override
+  public Bytes write(int position, Bytes bytes, int offset, int length) {
+    bytes.read(offset, array, position, length);
+    return this;
+  }
+
+  @Override
+  public int readByte(int offset) {
+    return array[offset];
+  }
+
+  @Override
+  public char readChar(int offset) {
+    return (char) readShort(offset);
+  }
+
+  @Override
+  public short readShort(int offset) {
+    try {
+      return bigEndian ? (short) ARRAY_GET_SHORT_BE.invokeExact(array, offset) : (short) ARRAY_GET_SHORT_LE.invokeExact(array, offset);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  @Override
+  public int readInt(int offset) {
+    try {
+      return bigEndian ? (int) ARRAY_GET_INT_BE.invokeExact(array, offset) : (int) ARRAY_GET_INT_LE.invokeExact(array, offset);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  @Override
+  public long readLong(int offset) {
+    try {
+      return bigEndian ? (long) ARRAY_GET_LONG_BE.invokeExact(array, offset) : (long) ARRAY_GET_LONG_LE.invokeExact(array, offset);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  @Override
+  public float readFloat(int offset) {
+    return Float.intBitsToFloat(readInt(offset));
+  }
+
+  @Override
+  public double readDouble(int offset) {
+    return Double.longBitsToDouble(readLong(offset));
+  }
+
+  @Override
+  public Bytes writeByte(int offset, int b) {
+    array[offset] = (byte) b;
+    return this;
+  }
+
+  @Override
+  public Bytes writeChar(int offset, char c) {
+    return writeShort(offset, (short) c);
+  }
+
+  @Override
+  public Bytes writeShort(int offset, short s) {
+    try {
+      if (bigEndian) {
+        ARRAY_SET_SHORT_BE.invokeExact(array, offset, s);
+      } else {
+        ARRAY_SET_SHORT_LE.invokeExact(array, offset, s);
+      }
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeInt(int offset, int i) {
+    try {
+      if (bigEndian) {
+        ARRAY_SET_INT_BE.invokeExact(array, offset, i);
+      } else {
+        ARRAY_SET_INT_LE.invokeExact(array, offset, i);
+      }
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeLong(int offset, long l) {
+    try {
+      if (bigEndian) {
+        ARRAY_SET_LONG_BE.invokeExact(array, offset, l);
+      } else {
+        ARRAY_SET_LONG_LE.invokeExact(array, offset, l);
+      }
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+    return this;
+  }
+
+  @Override
+  public Bytes writeFloat(int offset, float f) {
+    return writeInt(offset, Float.floatToRawIntBits(f));
+  }
+
+  @Override
+  public Bytes writeDouble(int offset, double d) {
+    return writeLong(offset, Double.doubleToRawLongBits(d));
+  }
+
+  /**
+   * Rethrows an exception thrown by a view handle.
+   */
+  static RuntimeException rethrow(Throwable e) {
+    if (e instanceof RuntimeException) {
+      throw (RuntimeException) e;
+    } else if (e instanceof Error) {
+      throw (Error) e;
+    }
+    throw new AssertionError(e);
+  }
+}
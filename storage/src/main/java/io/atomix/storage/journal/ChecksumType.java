@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * Journal entry checksum type.
+ * <p>
+ * The checksum type is stored in each segment's {@link JournalSegmentDescriptor descriptor}. Segments written prior
+ * to the introduction of {@link #CRC32C} checksums store zeros in the checksum field and use {@link #CRC32}.
+ */
+public enum ChecksumType {
+
+  /**
+   * CRC32 checksum.
+   */
+  CRC32(0) {
+    @Override
+    public Checksum newChecksum() {
+      return new java.util.zip.CRC32();
+    }
+  },
+
+  /**
+   * CRC32C (Castagnoli) checksum.
+   * <p>
+   * When running on a JVM that provides {@code java.util.zip.CRC32C}, the JDK implementation is used so that checksums
+   * can be computed using hardware instructions. Otherwise, a pure Java implementation is used.
+   */
+  CRC32C(1) {
+    @Override
+    public Checksum newChecksum() {
+      if (CRC32C_CONSTRUCTOR != null) {
+        try {
+          return (Checksum) CRC32C_CONSTRUCTOR.invoke();
+        } catch (Throwable e) {
+          throw new AssertionError(e);
+        }
+      }
+      return new Crc32c();
+    }
+  };
+
+  private static final MethodHandle CRC32C_CONSTRUCTOR;
+  private static final MethodHandle UPDATE_BUFFER;
+
+  static {
+    MethodHandle constructor;
+    try {
+      constructor = MethodHandles.publicLookup().findConstructor(
+          Class.forName("java.util.zip.CRC32C"), MethodType.methodType(void.class));
+    } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+      constructor = null;
+    }
+    CRC32C_CONSTRUCTOR = constructor;
+
+    MethodHandle update;
+    try {
+      update = MethodHandles.publicLookup().findVirtual(
+          Checksum.class, "update", MethodType.methodType(void.class, ByteBuffer.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      update = null;
+    }
+    UPDATE_BUFFER = update;
+  }
+
+  private final int id;
+
+  ChecksumType(int id) {
+    this.id = id;
+  }
+
+  /**
+   * Returns the checksum type identifier stored in segment descriptors.
+   *
+   * @return the checksum type identifier
+   */
+  public int id() {
+    return id;
+  }
+
+  /**
+   * Returns the checksum type for the given identifier.
+   *
+   * @param id the checksum type identifier
+   * @return the checksum type for the given identifier
+   * @throws IllegalArgumentException if the identifier is unknown
+   */
+  public static ChecksumType forId(int id) {
+    switch (id) {
+      case 0:
+        return CRC32;
+      case 1:
+        return CRC32C;
+      default:
+        throw new IllegalArgumentException("Unknown checksum type: " + id);
+    }
+  }
+
+  /**
+   * Returns a new checksum instance.
+   * <p>
+   * Checksums are not thread safe and are intended to be reused by a single reader or writer by
+   * {@link Checksum#reset() resetting} the checksum prior to each use.
+   *
+   * @return a new checksum instance
+   */
+  public abstract Checksum newChecksum();
+
+  /**
+   * Updates the given checksum with the remaining bytes in the given buffer.
+   * <p>
+   * Upon return, the buffer's position will be equal to its limit.
+   *
+   * @param checksum the checksum to update
+   * @param buffer the buffer with which to update the checksum
+   */
+  static void update(Checksum checksum, ByteBuffer buffer) {
+    if (checksum instanceof CRC32) {
+      ((CRC32) checksum).update(buffer);
+    } else if (checksum instanceof Crc32c) {
+      ((Crc32c) checksum).update(buffer);
+    } else if (UPDATE_BUFFER != null) {
+      try {
+        UPDATE_BUFFER.invoke(checksum, buffer);
+      } catch (Throwable e) {
+        throw new AssertionError(e);
+      }
+    } else if (buffer.hasArray()) {
+      checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      buffer.position(buffer.limit());
+    } else {
+      while (buffer.hasRemaining()) {
+        checksum.update(buffer.get());
+      }
+    }
+  }
+}
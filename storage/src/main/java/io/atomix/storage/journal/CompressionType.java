@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+/**
+ * Journal entry compression type.
+ * <p>
+ * The compression type is stored in each segment's {@link JournalSegmentDescriptor descriptor}, so segments written
+ * with different compression types can be read by the same journal.
+ */
+public enum CompressionType {
+
+  /**
+   * Entries are not compressed.
+   */
+  NONE(0),
+
+  /**
+   * Entries are compressed using the LZ4 block format.
+   */
+  LZ4(1);
+
+  private final int id;
+
+  CompressionType(int id) {
+    this.id = id;
+  }
+
+  /**
+   * Returns the compression type identifier stored in segment descriptors.
+   *
+   * @return the compression type identifier
+   */
+  public int id() {
+    return id;
+  }
+
+  /**
+   * Returns the compression type for the given identifier.
+   *
+   * @param id the compression type identifier
+   * @return the compression type for the given identifier
+   * @throws IllegalArgumentException if the identifier is unknown
+   */
+  public static CompressionType forId(int id) {
+    switch (id) {
+      case 0:
+        return NONE;
+      case 1:
+        return LZ4;
+      default:
+        throw new IllegalArgumentException("Unknown compression type: " + id);
+    }
+  }
+}
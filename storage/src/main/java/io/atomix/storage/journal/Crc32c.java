@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * Pure Java CRC32C (Castagnoli) checksum.
+ * <p>
+ * This implementation is used on JVMs that do not provide {@code java.util.zip.CRC32C}. It computes checksums
+ * eight bytes at a time using the slicing-by-8 algorithm.
+ */
+final class Crc32c implements Checksum {
+  private static final int POLYNOMIAL = 0x82F63B78;
+  private static final int CHUNK_SIZE = 1024;
+  private static final int[][] TABLES = new int[8][256];
+
+  static {
+    for (int i = 0; i < 256; i++) {
+      int crc = i;
+      for (int j = 0; j < 8; j++) {
+        crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+      }
+      TABLES[0][i] = crc;
+    }
+    for (int i = 0; i < 256; i++) {
+      for (int j = 1; j < 8; j++) {
+        TABLES[j][i] = (TABLES[j - 1][i] >>> 8) ^ TABLES[0][TABLES[j - 1][i] & 0xFF];
+      }
+    }
+  }
+
+  private int crc = 0xFFFFFFFF;
+  private byte[] chunk;
+
+  @Override
+  public void update(int b) {
+    crc = (crc >>> 8) ^ TABLES[0][(crc ^ b) & 0xFF];
+  }
+
+  @Override
+  public void update(byte[] bytes, int offset, int length) {
+    final int[] t0 = TABLES[0], t1 = TABLES[1], t2 = TABLES[2], t3 = TABLES[3];
+    final int[] t4 = TABLES[4], t5 = TABLES[5], t6 = TABLES[6], t7 = TABLES[7];
+    int crc = this.crc;
+    int i = offset;
+    final int end = offset + length;
+    while (end - i >= 8) {
+      crc ^= (bytes[i] & 0xFF)
+          | (bytes[i + 1] & 0xFF) << 8
+          | (bytes[i + 2] & 0xFF) << 16
+          | (bytes[i + 3] & 0xFF) << 24;
+      crc = t7[crc & 0xFF]
+          ^ t6[(crc >>> 8) & 0xFF]
+          ^ t5[(crc >>> 16) & 0xFF]
+          ^ t4[crc >>> 24]
+          ^ t3[bytes[i + 4] & 0xFF]
+          ^ t2[bytes[i + 5] & 0xFF]
+          ^ t1[bytes[i + 6] & 0xFF]
+          ^ t0[bytes[i + 7] & 0xFF];
+      i += 8;
+    }
+    while (i < end) {
+      crc = (crc >>> 8) ^ t0[(crc ^ bytes[i++]) & 0xFF];
+    }
+    this.crc = crc;
+  }
+
+  /**
+   * Updates the checksum with the remaining bytes in the given buffer.
+   * <p>
+   * Upon return, the buffer's position will be equal to its limit.
+   *
+   * @param buffer the buffer with which to update the checksum
+   */
+  public void update(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      buffer.position(buffer.limit());
+    } else {
+      if (chunk == null) {
+        chunk = new byte[CHUNK_SIZE];
+      }
+      while (buffer.hasRemaining()) {
+        int length = Math.min(buffer.remaining(), CHUNK_SIZE);
+        buffer.get(chunk, 0, length);
+        update(chunk, 0, length);
+      }
+    }
+  }
+
+  @Override
+  public long getValue() {
+    return ~crc & 0xFFFFFFFFL;
+  }
+
+  @Override
+  public void reset() {
+    crc = 0xFFFFFFFF;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.StorageException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Journal entry compressor.
+ * <p>
+ * Entries are compressed in blocks of consecutive entries. The first entry in a block is compressed on its own, and
+ * each following entry in the block is compressed using the uncompressed bytes of the preceding entries in the
+ * block as an {@link Lz4 LZ4} dictionary, so small entries that repeat the structure of their predecessors compress
+ * well even though each entry is still stored in its own frame. A block ends when its uncompressed bytes would exceed
+ * the LZ4 window or when the compressor is {@link #reset() reset}.
+ * <p>
+ * Each stored entry begins with a one byte header indicating whether the entry is compressed and whether it's linked
+ * to the preceding entries in its block. Compressed entries are followed by the 32-bit uncompressed length and the
+ * compressed bytes. Entries that do not compress are stored uncompressed. A linked entry can only be decompressed
+ * after the preceding entries in its block have been decompressed by the same compressor.
+ * <p>
+ * Compressors reuse internal buffers and are not thread safe. Each segment reader and writer uses its own compressor.
+ */
+final class JournalEntryCompressor {
+  static final int MAX_BLOCK_LENGTH = 64 * 1024;
+  private static final int RAW = 0;
+  private static final int COMPRESSED = 1;
+  private static final int LINKED = 2;
+  private static final int RAW_HEADER_LENGTH = 1;
+  private static final int COMPRESSED_HEADER_LENGTH = 1 + Integer.BYTES;
+
+  private byte[] output = new byte[1024];
+  private ByteBuffer outputBuffer = ByteBuffer.wrap(output);
+  private byte[] window = new byte[1024];
+  private int windowLength;
+  private int[] table;
+
+  /**
+   * Returns a boolean indicating whether the stored entry with the given header is linked to the preceding entries
+   * in its block.
+   *
+   * @param header the first byte of the stored entry
+   * @return indicates whether the entry can only be decompressed following the preceding entries in its block
+   */
+  static boolean isLinked(int header) {
+    return (header & LINKED) != 0;
+  }
+
+  /**
+   * Resets the compressor, starting a new block with the next entry.
+   */
+  void reset() {
+    windowLength = 0;
+  }
+
+  /**
+   * Compresses the given serialized entry, appending it to the current block.
+   *
+   * @param bytes a heap buffer containing the serialized entry
+   * @return a heap buffer containing the stored entry bytes, valid until the next call to the compressor
+   */
+  ByteBuffer compress(ByteBuffer bytes) {
+    final int length = bytes.remaining();
+    final int offset = bytes.arrayOffset() + bytes.position();
+    if (windowLength + length > MAX_BLOCK_LENGTH) {
+      reset();
+    }
+
+    if (table == null) {
+      table = new int[1 << Lz4.HASH_LOG];
+    }
+
+    // The first entry in a block clears the hash table so matches can't reference a previous block.
+    final boolean linked = windowLength > 0;
+    if (!linked) {
+      Lz4.reset(table);
+    }
+
+    // Append the entry to the block window and compress it using the preceding entries as a dictionary.
+    ensureWindowCapacity(windowLength + length);
+    System.arraycopy(bytes.array(), offset, window, windowLength, length);
+    ensureCapacity(COMPRESSED_HEADER_LENGTH + Lz4.maxCompressedLength(length));
+    final int compressedLength = Lz4.compress(window, 0, windowLength, length, output, COMPRESSED_HEADER_LENGTH, table);
+    windowLength += length;
+
+    if (COMPRESSED_HEADER_LENGTH + compressedLength < RAW_HEADER_LENGTH + length) {
+      output[0] = (byte) (linked ? COMPRESSED | LINKED : COMPRESSED);
+      output[1] = (byte) (length >>> 24);
+      output[2] = (byte) (length >>> 16);
+      output[3] = (byte) (length >>> 8);
+      output[4] = (byte) length;
+      outputBuffer.clear().limit(COMPRESSED_HEADER_LENGTH + compressedLength);
+      return outputBuffer;
+    }
+
+    output[0] = (byte) (linked ? RAW | LINKED : RAW);
+    System.arraycopy(bytes.array(), offset, output, RAW_HEADER_LENGTH, length);
+    outputBuffer.clear().limit(RAW_HEADER_LENGTH + length);
+    return outputBuffer;
+  }
+
+  /**
+   * Decompresses the given stored entry bytes.
+   * <p>
+   * If the entry is linked, the preceding entries in its block must have been the last entries decompressed.
+   *
+   * @param bytes the array containing the stored entry
+   * @param length the length of the stored entry
+   * @return an array beginning with the serialized entry, valid until the next call to the compressor
+   * @throws StorageException if the entry is malformed
+   */
+  byte[] decompress(byte[] bytes, int length) {
+    if (length < RAW_HEADER_LENGTH || (bytes[0] & ~(COMPRESSED | LINKED)) != 0) {
+      throw new StorageException("Malformed compressed entry");
+    }
+
+    if (!isLinked(bytes[0])) {
+      reset();
+    }
+
+    final int entryOffset = windowLength;
+    final int entryLength;
+    if ((bytes[0] & COMPRESSED) == 0) {
+      entryLength = length - RAW_HEADER_LENGTH;
+      ensureWindowCapacity(entryOffset + entryLength);
+      System.arraycopy(bytes, RAW_HEADER_LENGTH, window, entryOffset, entryLength);
+    } else {
+      if (length < COMPRESSED_HEADER_LENGTH) {
+        throw new StorageException("Malformed compressed entry");
+      }
+      entryLength = (bytes[1] & 0xFF) << 24
+          | (bytes[2] & 0xFF) << 16
+          | (bytes[3] & 0xFF) << 8
+          | (bytes[4] & 0xFF);
+      if (entryLength < 0 || entryOffset + entryLength < 0) {
+        throw new StorageException("Malformed compressed entry");
+      }
+      ensureWindowCapacity(entryOffset + entryLength);
+      Lz4.decompress(bytes, COMPRESSED_HEADER_LENGTH, length - COMPRESSED_HEADER_LENGTH, window, 0, entryOffset, entryLength);
+    }
+    windowLength += entryLength;
+
+    // Entries that begin a block are already at the start of the window.
+    if (entryOffset == 0) {
+      return window;
+    }
+    ensureCapacity(entryLength);
+    System.arraycopy(window, entryOffset, output, 0, entryLength);
+    return output;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (output.length < capacity) {
+      output = new byte[Math.max(capacity, output.length * 2)];
+      outputBuffer = ByteBuffer.wrap(output);
+    }
+  }
+
+  private void ensureWindowCapacity(int capacity) {
+    if (window.length < capacity) {
+      window = Arrays.copyOf(window, Math.max(capacity, window.length * 2));
+    }
+  }
+}
@@ -15,15 +15,28 @@
  */
 package io.atomix.storage.journal;
 
+import com.google.common.collect.Sets;
+import io.atomix.storage.StorageLevel;
+import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.MappedBuffer;
+import io.atomix.utils.memory.MemoryCategory;
 import io.atomix.utils.serializer.Serializer;
-import io.atomix.storage.journal.index.JournalIndex;
-import io.atomix.storage.journal.index.SparseJournalIndex;
+import io.atomix.storage.journal.index.DenseJournalIndex;
+
+import java.nio.channels.FileChannel;
+import java.util.Set;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Log segment.
+ * <p>
+ * Once a {@link StorageLevel#DISK} segment is {@link #seal() sealed}, readers read the segment through a read-only
+ * memory mapped view of the segment file rather than through the file. The mapping is created lazily when the first
+ * reader is opened, and open readers are moved back to the file if the segment is unsealed by truncation. Mapped
+ * views are charged to the {@link MemoryCategory#JOURNAL} memory budget, and readers fall back to the segment file
+ * when the budget is exhausted.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -32,17 +45,34 @@ public class JournalSegment<E> implements AutoCloseable {
 
   protected final JournalSegmentFile file;
   protected final JournalSegmentDescriptor descriptor;
-  protected final JournalIndex index;
+  protected final DenseJournalIndex index;
   protected final Serializer serializer;
+  private final StorageLevel storageLevel;
   private final JournalSegmentWriter<E> writer;
   private final JournalSegmentCache cache;
+  private final Set<JournalSegmentReader<E>> readers = Sets.newConcurrentHashSet();
+  private boolean sealed;
+  private MappedBuffer mappedBuffer;
+  private int references;
   private boolean open = true;
 
-  public JournalSegment(JournalSegmentFile file, JournalSegmentDescriptor descriptor, double indexDensity, int cacheSize, Serializer serializer) {
+  public JournalSegment(
+      JournalSegmentFile file,
+      JournalSegmentDescriptor descriptor,
+      StorageLevel storageLevel,
+      double indexDensity,
+      int cacheSize,
+      Serializer serializer) {
     this.file = file;
     this.descriptor = descriptor;
-    this.index = new SparseJournalIndex(indexDensity);
+    if (storageLevel == StorageLevel.MEMORY) {
+      this.index = new DenseJournalIndex(indexDensity);
+    } else {
+      this.index = new DenseJournalIndex(indexDensity, file.indexFile(), descriptor.index());
+      this.index.load();
+    }
     this.serializer = serializer;
+    this.storageLevel = storageLevel;
     this.cache = new JournalSegmentCache(descriptor.index(), cacheSize);
     this.writer = new JournalSegmentWriter<>(descriptor, cache, index, serializer);
   }
@@ -152,9 +182,127 @@ public class JournalSegment<E> implements AutoCloseable {
    *
    * @return A new segment reader.
    */
-  JournalSegmentReader<E> createReader() {
+  synchronized JournalSegmentReader<E> createReader() {
     checkOpen();
-    return new JournalSegmentReader<>(descriptor, cache, index, serializer);
+    Buffer buffer = sealed ? map() : descriptor.buffer();
+    JournalSegmentReader<E> reader = new JournalSegmentReader<>(this, descriptor, buffer, cache, index, serializer);
+    readers.add(reader);
+    return reader;
+  }
+
+  /**
+   * Closes a segment reader.
+   *
+   * @param reader the reader to close
+   */
+  void closeReader(JournalSegmentReader<E> reader) {
+    readers.remove(reader);
+  }
+
+  /**
+   * Seals the segment.
+   * <p>
+   * Sealed segments will not be written to again unless they're {@link #unseal() unsealed}, so readers of sealed
+   * {@link StorageLevel#DISK} segments read from a read-only memory mapped view of the segment rather than
+   * seeking and copying through the segment file.
+   */
+  synchronized void seal() {
+    if (storageLevel == StorageLevel.DISK) {
+      sealed = true;
+    }
+  }
+
+  /**
+   * Unseals the segment, moving open readers back to the segment file.
+   * <p>
+   * Segments are unsealed when the journal is truncated back into the segment, after which the segment may be
+   * written to again.
+   */
+  synchronized void unseal() {
+    sealed = false;
+    unmap();
+  }
+
+  /**
+   * Returns a boolean indicating whether the segment is sealed.
+   *
+   * @return indicates whether the segment is sealed
+   */
+  boolean isSealed() {
+    return sealed;
+  }
+
+  /**
+   * Returns a boolean indicating whether readers read the segment through a memory mapped view.
+   *
+   * @return indicates whether the segment is memory mapped for readers
+   */
+  boolean isMapped() {
+    return mappedBuffer != null;
+  }
+
+  /**
+   * Maps the segment file into memory in read-only mode.
+   * <p>
+   * If the journal memory budget cannot accommodate the mapping, the segment file is returned instead.
+   */
+  private Buffer map() {
+    if (mappedBuffer == null) {
+      int size = (int) Math.min(file.file().length(), Integer.MAX_VALUE);
+      mappedBuffer = MappedBuffer.tryAllocate(file.file(), FileChannel.MapMode.READ_ONLY, size, MemoryCategory.JOURNAL);
+      if (mappedBuffer == null) {
+        return descriptor.buffer();
+      }
+      mappedBuffer.position(JournalSegmentDescriptor.BYTES);
+    }
+    return mappedBuffer;
+  }
+
+  /**
+   * Moves open readers back to the segment file and releases the mapped view of the segment.
+   */
+  private void unmap() {
+    if (mappedBuffer != null) {
+      for (JournalSegmentReader<E> reader : readers) {
+        reader.map(descriptor.buffer());
+      }
+      mappedBuffer.close();
+      mappedBuffer = null;
+    }
+  }
+
+  /**
+   * Persists the segment index to disk.
+   * <p>
+   * Once the index has been persisted, the segment can be opened without reading every entry in the segment.
+   */
+  void persistIndex() {
+    index.persist();
+  }
+
+  /**
+   * Acquires a reference to the segment.
+   * <p>
+   * The segment will not be closed until all acquired references have been {@link #release() released}. This allows
+   * threads other than the thread that owns the journal to use the segment without racing against its removal.
+   *
+   * @return indicates whether the reference was acquired, or {@code false} if the segment has been closed
+   */
+  synchronized boolean acquire() {
+    if (!open) {
+      return false;
+    }
+    references++;
+    return true;
+  }
+
+  /**
+   * Releases a reference to the segment.
+   */
+  synchronized void release() {
+    if (--references == 0) {
+      notifyAll();
+    }
   }
 
   /**
@@ -178,15 +326,48 @@ public class JournalSegment<E> implements AutoCloseable {
    */
   @Override
   public void close() {
+    synchronized (this) {
+      open = false;
+      awaitReferences();
+    }
+    index.persist();
+    synchronized (this) {
+      unmap();
+    }
     writer.close();
     descriptor.close();
-    open = false;
+  }
+
+  /**
+   * Closes the segment writer once all acquired references to the segment have been released.
+   */
+  synchronized void closeWriter() {
+    awaitReferences();
+    writer.close();
+  }
+
+  /**
+   * Waits for all acquired references to the segment to be released.
+   */
+  private void awaitReferences() {
+    boolean interrupted = false;
+    while (references > 0) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
   }
 
   /**
    * Deletes the segment.
    */
   public void delete() {
+    index.delete();
     writer.delete();
   }
 
@@ -15,37 +15,67 @@
  */
 package io.atomix.storage.journal;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 /**
  * Journal segment cache.
+ * <p>
+ * The cache stores the most recently written entries in a fixed size ring. Entries are stored in the slot
+ * computed from the entry's offset from the first index in the segment, so lookups and insertions do not
+ * require any allocation. The ring is allocated lazily when the first entry is cached.
  */
 class JournalSegmentCache {
+  private final long segmentIndex;
   private final int size;
-  private final Map<Long, Indexed> entries;
+  private Indexed[] entries;
   private long firstIndex;
+  private int count;
 
   JournalSegmentCache(long index, int size) {
+    this.segmentIndex = index;
     this.size = size;
-    this.entries = new HashMap<>(size);
     this.firstIndex = index;
   }
 
+  /**
+   * Returns the ring slot for the given index.
+   *
+   * @param index the index for which to return the slot
+   * @return the ring slot for the given index
+   */
+  private int slot(long index) {
+    return (int) ((index - segmentIndex) % size);
+  }
+
   /**
    * Adds an entry to the cache.
+   * <p>
+   * Entries must be added in sequential order. If the entry does not immediately follow the last cached entry,
+   * the cache is cleared and restarted at the given entry.
    *
    * @param indexed the entry to add to the cache
    */
   public void put(Indexed indexed) {
-    if (indexed.index() == firstIndex + entries.size()) {
-      entries.put(indexed.index(), indexed);
+    if (size == 0 || indexed.index() < segmentIndex) {
+      return;
     }
-    if (entries.size() > size) {
-      entries.remove(firstIndex);
+    if (entries == null) {
+      entries = new Indexed[size];
+    }
+
+    final long index = indexed.index();
+    if (index != firstIndex + count) {
+      clear();
+      firstIndex = index;
+    }
+
+    entries[slot(index)] = indexed;
+    if (count == size) {
       firstIndex++;
+    } else {
+      count++;
     }
   }
 
@@ -56,7 +86,10 @@ class JournalSegmentCache {
    * @return the indexed entry
    */
   public Indexed get(long index) {
-    return entries.get(index);
+    if (index < firstIndex || index >= firstIndex + count) {
+      return null;
+    }
+    return entries[slot(index)];
   }
 
   /**
@@ -66,20 +99,38 @@ class JournalSegmentCache {
    */
   public void truncate(long index) {
     if (index < firstIndex) {
-      firstIndex = index + 1;
-      entries.clear();
-    } else {
-      int size = entries.size();
-      for (long i = index + 1; i < firstIndex + size; i++) {
-        entries.remove(i);
+      clear();
+      firstIndex = Math.max(index + 1, segmentIndex);
+    } else if (index < firstIndex + count - 1) {
+      final int truncated = (int) (firstIndex + count - 1 - index);
+      final int start = slot(index + 1);
+      final int end = start + truncated;
+      if (end <= size) {
+        Arrays.fill(entries, start, end, null);
+      } else {
+        Arrays.fill(entries, start, size, null);
+        Arrays.fill(entries, 0, end - size, null);
       }
+      count -= truncated;
+    }
+  }
+
+  /**
+   * Removes all entries from the cache.
+   */
+  private void clear() {
+    if (entries != null && count > 0) {
+      Arrays.fill(entries, null);
     }
+    count = 0;
   }
 
   @Override
   public String toString() {
     return toStringHelper(this)
         .add("size", size)
+        .add("firstIndex", firstIndex)
+        .add("count", count)
         .toString();
   }
 }
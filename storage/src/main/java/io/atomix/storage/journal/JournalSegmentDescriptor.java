@@ -49,6 +49,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <li>{@code locked} (8-bit boolean) - A boolean indicating whether the segment is locked. Segments will be locked once
  * all entries have been committed to the segment. The lock state of each segment is used to determine log compaction
  * and recovery behavior.</li>
+ * <li>{@code compression} (8-bit signed integer) - The {@link CompressionType} of entries in the segment.</li>
+ * <li>{@code checksum} (8-bit signed integer) - The {@link ChecksumType} of entries in the segment.</li>
  * </ul>
  * The remainder of the 64 segment header bytes are reserved for future metadata.
  *
@@ -68,6 +70,9 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private static final int MAX_SIZE_LENGTH = Bytes.INTEGER;    // 32-bit signed integer
   private static final int MAX_ENTRIES_LENGTH = Bytes.INTEGER; // 32-bit signed integer
   private static final int UPDATED_LENGTH = Bytes.LONG;        // 64-bit signed integer
+  private static final int LOCKED_LENGTH = Bytes.BOOLEAN;      // 8-bit boolean
+  private static final int COMPRESSION_LENGTH = Bytes.BYTE;    // 8-bit signed byte
+  private static final int CHECKSUM_LENGTH = Bytes.BYTE;       // 8-bit signed byte
 
   // The positions of each field in the header.
   private static final int VERSION_POSITION = 0;                                         // 0
@@ -76,6 +81,9 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private static final int MAX_SIZE_POSITION = INDEX_POSITION + INDEX_LENGTH;            // 20
   private static final int MAX_ENTRIES_POSITION = MAX_SIZE_POSITION + MAX_SIZE_LENGTH;   // 24
   private static final int UPDATED_POSITION = MAX_ENTRIES_POSITION + MAX_ENTRIES_LENGTH; // 28
+  private static final int LOCKED_POSITION = UPDATED_POSITION + UPDATED_LENGTH;          // 36
+  private static final int COMPRESSION_POSITION = LOCKED_POSITION + LOCKED_LENGTH;       // 37
+  private static final int CHECKSUM_POSITION = COMPRESSION_POSITION + COMPRESSION_LENGTH; // 38
 
   /**
    * Returns a descriptor builder.
@@ -107,6 +115,8 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   private final int maxEntries;
   private volatile long updated;
   private volatile boolean locked;
+  private final CompressionType compression;
+  private final ChecksumType checksumType;
 
   /**
    * @throws NullPointerException if {@code buffer} is null
@@ -120,6 +130,8 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
     this.maxEntries = buffer.readInt();
     this.updated = buffer.readLong();
     this.locked = buffer.readBoolean();
+    this.compression = CompressionType.forId(buffer.readByte());
+    this.checksumType = ChecksumType.forId(buffer.readByte());
     buffer.skip(BYTES - buffer.position()); // 64 bytes reserved for the header
   }
 
@@ -143,6 +155,30 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
     return version;
   }
 
+  /**
+   * Returns the checksum type used by entries in the segment.
+   * <p>
+   * Segments written prior to the introduction of CRC32C checksums store zeros in the reserved bytes of the header
+   * and are therefore read as using {@link ChecksumType#CRC32 CRC32} checksums.
+   *
+   * @return The segment checksum type.
+   */
+  public ChecksumType checksumType() {
+    return checksumType;
+  }
+
+  /**
+   * Returns the compression type used by entries in the segment.
+   * <p>
+   * Segments written prior to the introduction of compression store zeros in the reserved bytes of the header and
+   * are therefore read as {@link CompressionType#NONE uncompressed}.
+   *
+   * @return The segment compression type.
+   */
+  public CompressionType compression() {
+    return compression;
+  }
+
   /**
    * Returns the segment identifier.
    * <p>
@@ -220,6 +256,8 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
         .writeInt(maxEntries)
         .writeLong(updated)
         .writeBoolean(locked)
+        .writeByte(compression.id())
+        .writeByte(checksumType.id())
         .skip(BYTES - buffer.position())
         .flush();
     return this;
@@ -245,6 +283,8 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
   public String toString() {
     return toStringHelper(this)
         .add("version", version)
+        .add("checksum", checksumType)
+        .add("compression", compression)
         .add("id", id)
         .add("index", index)
         .add("updated", updated)
@@ -259,7 +299,8 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
 
     private Builder(Buffer buffer) {
       this.buffer = checkNotNull(buffer, "buffer cannot be null")
-          .writeInt(VERSION_POSITION, VERSION);
+          .writeInt(VERSION_POSITION, VERSION)
+          .writeByte(CHECKSUM_POSITION, ChecksumType.CRC32C.id());
     }
 
     /**
@@ -306,6 +347,32 @@ public final class JournalSegmentDescriptor implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Sets the compression type for entries in the segment.
+     *
+     * @param compression The segment compression type.
+     * @return The segment descriptor builder.
+     * @throws NullPointerException if {@code compression} is null
+     */
+    public Builder withCompression(CompressionType compression) {
+      buffer.writeByte(COMPRESSION_POSITION, checkNotNull(compression, "compression cannot be null").id());
+      return this;
+    }
+
+    /**
+     * Sets the checksum type for entries in the segment.
+     * <p>
+     * New segments use {@link ChecksumType#CRC32C CRC32C} checksums by default.
+     *
+     * @param checksumType The segment checksum type.
+     * @return The segment descriptor builder.
+     * @throws NullPointerException if {@code checksumType} is null
+     */
+    public Builder withChecksumType(ChecksumType checksumType) {
+      buffer.writeByte(CHECKSUM_POSITION, checkNotNull(checksumType, "checksumType cannot be null").id());
+      return this;
+    }
+
     /**
      * Builds the segment descriptor.
      *
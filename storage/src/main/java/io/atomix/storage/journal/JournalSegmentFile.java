@@ -28,6 +28,7 @@ public final class JournalSegmentFile {
   private static final char PART_SEPARATOR = '-';
   private static final char EXTENSION_SEPARATOR = '.';
   private static final String EXTENSION = "log";
+  private static final String INDEX_EXTENSION = "index";
   private final File file;
 
   /**
@@ -47,6 +48,35 @@ public final class JournalSegmentFile {
    * @throws NullPointerException if {@code file} is null
    */
   public static boolean isSegmentFile(String journalName, String fileName) {
+    return isSegmentFile(journalName, fileName, EXTENSION);
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a parsable segment index file.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @throws NullPointerException if {@code file} is null
+   */
+  public static boolean isSegmentIndexFile(String journalName, File file) {
+    return isSegmentFile(journalName, file.getName(), INDEX_EXTENSION);
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file is the file to which the next segment is preallocated.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @throws NullPointerException if {@code file} is null
+   */
+  public static boolean isPreallocatedFile(String journalName, File file) {
+    return file.getName().equals(createPreallocatedFile(journalName, file.getParentFile()).getName());
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file name appears to be a segment file with the given extension.
+   */
+  private static boolean isSegmentFile(String journalName, String fileName, String extension) {
     checkNotNull(journalName, "journalName cannot be null");
     checkNotNull(fileName, "fileName cannot be null");
 
@@ -56,7 +86,7 @@ public final class JournalSegmentFile {
     if (extensionSeparator == -1
         || partSeparator == -1
         || extensionSeparator < partSeparator
-        || !fileName.endsWith(EXTENSION)) {
+        || !fileName.endsWith(extension)) {
       return false;
     }
 
@@ -76,6 +106,13 @@ public final class JournalSegmentFile {
     return new File(directory, String.format("%s-%d.log", checkNotNull(name, "name cannot be null"), id));
   }
 
+  /**
+   * Creates the file to which the next segment is preallocated for the given directory and log name.
+   */
+  static File createPreallocatedFile(String name, File directory) {
+    return new File(directory, String.format("%s-next.alloc", checkNotNull(name, "name cannot be null")));
+  }
+
   /**
    * @throws IllegalArgumentException if {@code file} is not a valid segment file
    */
@@ -91,4 +128,18 @@ public final class JournalSegmentFile {
   public File file() {
     return file;
   }
+
+  /**
+   * Returns the segment index file.
+   * <p>
+   * The index file is stored alongside the segment file with the same name and an {@code .index} extension.
+   *
+   * @return The segment index file.
+   */
+  public File indexFile() {
+    String name = file.getName();
+    int extensionSeparator = name.lastIndexOf(EXTENSION_SEPARATOR);
+    String baseName = extensionSeparator == -1 ? name : name.substring(0, extensionSeparator);
+    return new File(file.getParentFile(), baseName + EXTENSION_SEPARATOR + INDEX_EXTENSION);
+  }
 }
@@ -24,29 +24,52 @@ import io.atomix.storage.journal.index.Position;
 
 import java.nio.BufferUnderflowException;
 import java.util.NoSuchElementException;
-import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
 /**
  * Log segment reader.
+ * <p>
+ * When the segment is compressed, the reader tracks the position of the compression block containing the next entry.
+ * Entries read sequentially are decompressed against the preceding entries in their block. If the reader reaches an
+ * entry whose block was not read sequentially, e.g. after seeking or skipping cached entries, the preceding entries
+ * in the block are decompressed before the entry.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class JournalSegmentReader<E> implements JournalReader<E> {
-  private final Buffer buffer;
+  private final JournalSegment<E> segment;
+  private Buffer buffer;
   private final JournalSegmentCache cache;
   private final JournalIndex index;
   private final Serializer serializer;
+  private final Checksum checksum;
+  private final JournalEntryCompressor compressor;
   private final HeapBuffer memory = HeapBuffer.allocate();
   private final long firstIndex;
+  private byte[] blockBytes;
+  private int blockPosition;
+  private int windowPosition = -1;
   private Indexed<E> currentEntry;
   private Indexed<E> nextEntry;
 
   public JournalSegmentReader(JournalSegmentDescriptor descriptor, JournalSegmentCache cache, JournalIndex index, Serializer serializer) {
-    this.buffer = descriptor.buffer().slice().duplicate();
+    this(null, descriptor, descriptor.buffer(), cache, index, serializer);
+  }
+
+  JournalSegmentReader(
+      JournalSegment<E> segment,
+      JournalSegmentDescriptor descriptor,
+      Buffer buffer,
+      JournalSegmentCache cache,
+      JournalIndex index,
+      Serializer serializer) {
+    this.segment = segment;
+    this.buffer = buffer.slice().duplicate();
     this.cache = cache;
     this.index = index;
     this.serializer = serializer;
+    this.checksum = descriptor.checksumType().newChecksum();
+    this.compressor = descriptor.compression() != CompressionType.NONE ? new JournalEntryCompressor() : null;
     this.firstIndex = descriptor.index();
     readNext();
   }
@@ -83,6 +106,8 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   @Override
   public void reset() {
     buffer.clear();
+    blockPosition = 0;
+    windowPosition = -1;
     currentEntry = null;
     nextEntry = null;
     readNext();
@@ -123,9 +148,14 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
   private void readNext() {
     // Compute the index of the next entry in the segment.
     final long index = getNextIndex();
+    final int position = buffer.position();
 
     Indexed cachedEntry = cache.get(index);
     if (cachedEntry != null) {
+      // Record the start of a compression block even when the entry itself does not need to be read.
+      if (compressor != null && !JournalEntryCompressor.isLinked(buffer.readByte(position + Bytes.INTEGER + Bytes.INTEGER))) {
+        blockPosition = position;
+      }
       this.nextEntry = cachedEntry;
       buffer.skip(cachedEntry.size() + Bytes.INTEGER + Bytes.INTEGER);
       return;
@@ -153,13 +183,12 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
       memory.flip();
 
       // Compute the checksum for the entry bytes.
-      final Checksum crc32 = new CRC32();
-      crc32.update(memory.array(), 0, length);
+      this.checksum.reset();
+      this.checksum.update(memory.array(), 0, length);
 
       // If the stored checksum equals the computed checksum, return the entry.
-      if (checksum == crc32.getValue()) {
-        E entry = serializer.decode(memory.array());
-        nextEntry = new Indexed<>(index, entry, length);
+      if (checksum == this.checksum.getValue()) {
+        nextEntry = new Indexed<>(index, decode(position, length), length);
       } else {
         buffer.reset();
         nextEntry = null;
@@ -170,8 +199,67 @@ public class JournalSegmentReader<E> implements JournalReader<E> {
     }
   }
 
+  /**
+   * Deserializes the entry read into memory, decompressing the entry if necessary.
+   *
+   * @param position the position of the entry
+   * @param length the length of the stored entry
+   * @return the deserialized entry
+   */
+  private E decode(int position, int length) {
+    if (compressor == null) {
+      return serializer.decode(memory.array());
+    }
+
+    // If the entry is linked to entries that were not just decompressed, decompress its block up to the entry.
+    if (!JournalEntryCompressor.isLinked(memory.array()[0])) {
+      blockPosition = position;
+    } else if (windowPosition != position) {
+      decompressBlock(blockPosition < position ? blockPosition : 0, position);
+    }
+    E entry = serializer.decode(compressor.decompress(memory.array(), length));
+    windowPosition = position + Bytes.INTEGER + Bytes.INTEGER + length;
+    return entry;
+  }
+
+  /**
+   * Decompresses the entries between the given positions.
+   *
+   * @param position the position of the first entry in the block
+   * @param endPosition the position at which to stop decompressing entries
+   */
+  private void decompressBlock(int position, int endPosition) {
+    while (position < endPosition) {
+      final int length = buffer.readInt(position);
+      if (length <= 0) {
+        break;
+      }
+      if (blockBytes == null || blockBytes.length < length) {
+        blockBytes = new byte[length];
+      }
+      buffer.read(position + Bytes.INTEGER + Bytes.INTEGER, blockBytes, 0, length);
+      compressor.decompress(blockBytes, length);
+      position += Bytes.INTEGER + Bytes.INTEGER + length;
+    }
+  }
+
+  /**
+   * Moves the reader to the given segment buffer, preserving the reader's position in the segment.
+   *
+   * @param buffer the segment buffer, positioned at the start of the segment's entries
+   */
+  void map(Buffer buffer) {
+    Buffer previous = this.buffer;
+    this.buffer = buffer.slice().duplicate();
+    this.buffer.position(previous.position());
+    previous.close();
+  }
+
   @Override
   public void close() {
+    if (segment != null) {
+      segment.closeReader(this);
+    }
     memory.close();
     buffer.close();
   }
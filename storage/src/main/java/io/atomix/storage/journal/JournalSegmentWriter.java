@@ -17,13 +17,17 @@ package io.atomix.storage.journal;
 
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.storage.buffer.Buffer;
+import io.atomix.storage.buffer.ByteBufferBytes;
+import io.atomix.storage.buffer.Bytes;
 import io.atomix.storage.buffer.FileBuffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
 import io.atomix.storage.buffer.SlicedBuffer;
 import io.atomix.storage.journal.index.JournalIndex;
+import io.atomix.storage.journal.index.Position;
 
-import java.util.zip.CRC32;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.zip.Checksum;
 
 /**
@@ -38,16 +42,33 @@ import java.util.zip.Checksum;
  * <li>8-bit signed entry type ID</li>
  * <li>n-bit entry bytes</li>
  * </ul>
+ * <p>
+ * When the segment is backed by a {@link ByteBuffer} (i.e. heap or memory mapped segments), entries are serialized
+ * directly into the segment buffer and the length and checksum are filled in afterward. Otherwise, entries are
+ * serialized into a scratch buffer that is reused by the writer for all appends.
+ * <p>
+ * When the segment {@link JournalSegmentDescriptor#compression() compression} type is not
+ * {@link CompressionType#NONE}, entries are compressed in blocks of consecutive entries before they're written. Each
+ * entry is still written in its own frame, but entries after the first in a block are compressed against the
+ * preceding entries in the block. A new block is started at every entry recorded in the segment index, so the
+ * indexed positions are the block offsets from which readers can decompress entries after seeking.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class JournalSegmentWriter<E> implements JournalWriter<E> {
+  private static final int SCRATCH_BUFFER_SIZE = 1024 * 8;
+  private static final int HEADER_LENGTH = Bytes.INTEGER + Bytes.INTEGER;
+
   private final JournalSegmentDescriptor descriptor;
   private final JournalSegmentCache cache;
   private final JournalIndex index;
   private final Buffer buffer;
   private final Serializer serializer;
+  private final Checksum checksum;
+  private final JournalEntryCompressor compressor;
   private final HeapBuffer memory = HeapBuffer.allocate();
+  private ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_BUFFER_SIZE);
+  private ByteBuffer frame = ByteBuffer.allocate(SCRATCH_BUFFER_SIZE + HEADER_LENGTH);
   private final long firstIndex;
   private Indexed<E> lastEntry;
 
@@ -57,28 +78,57 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     this.index = index;
     this.buffer = descriptor.buffer().slice();
     this.serializer = serializer;
+    this.checksum = descriptor.checksumType().newChecksum();
+    this.compressor = descriptor.compression() != CompressionType.NONE ? new JournalEntryCompressor() : null;
     this.firstIndex = descriptor.index();
     reset(0);
   }
 
   /**
    * Initializes the writer by seeking to the end of the segment.
+   * <p>
+   * If the segment index contains a position for an entry at or prior to the given index, entries are read from
+   * the indexed position rather than from the start of the segment.
    */
-  @SuppressWarnings("unchecked")
   private void reset(long index) {
-    long nextIndex = firstIndex;
+    Position position = this.index.lookup(index == 0 ? Long.MAX_VALUE : index);
+    if (position != null
+        && (position.position() >= descriptor.maxSegmentSize()
+        || !reset(index, position.index(), position.position()))) {
+      // If the indexed entry could not be read, discard the index and read the segment from the start.
+      this.index.truncate(firstIndex - 1);
+      position = null;
+    }
+    if (position == null) {
+      reset(index, firstIndex, 0);
+    }
+  }
 
-    // Clear the buffer indexes.
-    buffer.clear();
+  /**
+   * Seeks to the end of the segment, reading entries from the given position.
+   * <p>
+   * Only entry checksums are validated while seeking. The last entry read is the only entry that's deserialized.
+   *
+   * @param index the index up to which to read entries, or {@code 0} to read all entries in the segment
+   * @param nextIndex the index of the entry at the given position
+   * @param position the position from which to read entries
+   * @return indicates whether the entry at the given position was successfully read
+   */
+  @SuppressWarnings("unchecked")
+  private boolean reset(long index, long nextIndex, int position) {
+    final long startIndex = nextIndex;
+    int lastPosition = -1;
+    int lastLength = 0;
+    int blockPosition = -1;
 
-    // Record the current buffer position.
-    int position = buffer.position();
+    // Clear the buffer indexes and seek to the given position.
+    buffer.clear().position(position);
 
     // Read the entry length.
     int length = buffer.mark().readInt();
 
     // If the length is non-zero, read the entry.
-    while (length > 0 && (index == 0 || nextIndex <= index)) {
+    while (length > 0 && length <= descriptor.maxSegmentSize() && (index == 0 || nextIndex <= index)) {
 
       // Read the checksum of the entry.
       final long checksum = buffer.readUnsignedInt();
@@ -88,19 +138,24 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       memory.flip();
 
       // Compute the checksum for the entry bytes.
-      final Checksum crc32 = new CRC32();
-      crc32.update(memory.array(), 0, length);
-
-      // If the stored checksum equals the computed checksum, return the entry.
-      if (checksum == crc32.getValue()) {
-        final E entry = serializer.decode(memory.array());
-        lastEntry = new Indexed<>(nextIndex, entry, length);
-        this.index.index(nextIndex, position);
-        nextIndex++;
-      } else {
+      this.checksum.reset();
+      this.checksum.update(memory.array(), 0, length);
+
+      // If the stored checksum does not equal the computed checksum, stop reading entries.
+      if (checksum != this.checksum.getValue()) {
         break;
       }
 
+      // Record the start of the block containing the entry so the entry can be decompressed.
+      if (compressor != null && !JournalEntryCompressor.isLinked(memory.array()[0])) {
+        blockPosition = position;
+      }
+
+      this.index.index(nextIndex, position);
+      lastPosition = position;
+      lastLength = length;
+      nextIndex++;
+
       // Read the next entry length.
       position = buffer.position();
       length = buffer.mark().readInt();
@@ -108,6 +163,17 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
 
     // Reset the buffer to the previous mark.
     buffer.reset();
+
+    // Deserialize the last entry in the segment.
+    if (lastPosition >= 0) {
+      lastEntry = new Indexed<>(nextIndex - 1, decode(blockPosition, lastPosition, lastLength), lastLength);
+    }
+
+    // Start a new compression block with the next entry appended to the segment.
+    if (compressor != null) {
+      compressor.reset();
+    }
+    return nextIndex > startIndex || startIndex == firstIndex;
   }
 
   @Override
@@ -187,31 +253,156 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
     // Store the entry index.
     final long index = getNextIndex();
 
-    // Serialize the entry.
-    final byte[] bytes = serializer.encode(entry);
-    final int length = bytes.length;
-
-    // Compute the checksum for the entry.
-    final Checksum crc32 = new CRC32();
-    crc32.update(bytes, 0, length);
-    final long checksum = crc32.getValue();
-
     // Record the current buffer position;
-    int position = buffer.position();
+    final int position = buffer.position();
+
+    // Serialize the entry directly into the segment if possible, otherwise serialize it into the scratch buffer.
+    // Entries in compressed segments are always serialized into the scratch buffer and then compressed.
+    ByteBuffer bytes = compressor == null ? encodeDirect(entry, position) : null;
+    final boolean direct = bytes != null;
+    if (!direct) {
+      bytes = encode(entry);
+      if (compressor != null) {
+        // Start a new compression block at each indexed entry so entries can be read after seeking to the index.
+        if (this.index.index(index, position)) {
+          compressor.reset();
+        }
+        bytes = compressor.compress(bytes);
+      }
+    }
+    final int length = bytes.remaining();
 
-    // Write the entry length and entry to the segment.
-    buffer.writeInt(length)
-        .writeUnsignedInt(checksum)
-        .write(bytes);
+    // Compute the checksum for the entry.
+    this.checksum.reset();
+    ChecksumType.update(this.checksum, bytes.duplicate());
+    final long checksum = this.checksum.getValue();
+
+    // Write the entry length and checksum to the segment, followed by the entry bytes if they were not
+    // already serialized into the segment. Entries serialized into the scratch buffer are framed and written
+    // with a single write so file segments issue one write per entry.
+    if (direct) {
+      buffer.writeInt(length).writeUnsignedInt(checksum);
+      buffer.position(position + HEADER_LENGTH + length);
+    } else {
+      final ByteBuffer frame = frame(length, checksum, bytes);
+      buffer.write(frame.array(), 0, frame.limit());
+    }
 
     // Update the last entry with the correct index/term/length.
     Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
     this.lastEntry = indexedEntry;
     this.cache.put(indexedEntry);
-    this.index.index(index, position);
+    if (compressor == null) {
+      this.index.index(index, position);
+    }
     return (Indexed<T>) indexedEntry;
   }
 
+  /**
+   * Serializes the given entry directly into the segment buffer following the entry header.
+   *
+   * @param entry the entry to serialize
+   * @param position the position at which the entry header will be written
+   * @return a buffer spanning the serialized entry bytes or {@code null} if the entry could not be written directly
+   */
+  private ByteBuffer encodeDirect(Object entry, int position) {
+    if (!(buffer.bytes() instanceof ByteBufferBytes)) {
+      return null;
+    }
+
+    // Only write into bytes that have already been allocated for the segment, leaving growth to the buffer,
+    // and never past the end of the segment's region of the underlying bytes.
+    final ByteBuffer segment = ((ByteBufferBytes) buffer.bytes()).byteBuffer();
+    final int offset = buffer.offset() + position + HEADER_LENGTH;
+    final int limit = (int) Math.min(segment.capacity(), (long) buffer.offset() + buffer.maxCapacity());
+    if (offset >= limit) {
+      return null;
+    }
+
+    final ByteBuffer view = segment.duplicate();
+    view.clear().limit(limit).position(offset);
+    final ByteBuffer slice = view.slice();
+    try {
+      serializer.encode(entry, slice);
+    } catch (BufferOverflowException e) {
+      return null;
+    }
+    slice.flip();
+    return slice;
+  }
+
+  /**
+   * Serializes the given entry into the writer's scratch buffer, growing the scratch buffer as necessary.
+   *
+   * @param entry the entry to serialize
+   * @return the scratch buffer spanning the serialized entry bytes
+   */
+  private ByteBuffer encode(Object entry) {
+    while (true) {
+      scratch.clear();
+      try {
+        serializer.encode(entry, scratch);
+        scratch.flip();
+        return scratch;
+      } catch (BufferOverflowException e) {
+        scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+      }
+    }
+  }
+
+  /**
+   * Frames the given entry bytes with the entry header in the writer's frame buffer.
+   *
+   * @param length the entry length
+   * @param checksum the entry checksum
+   * @param bytes the entry bytes
+   * @return the frame buffer spanning the entry header and bytes
+   */
+  private ByteBuffer frame(int length, long checksum, ByteBuffer bytes) {
+    if (frame.capacity() < HEADER_LENGTH + length) {
+      frame = ByteBuffer.allocate(Math.max(HEADER_LENGTH + length, frame.capacity() * 2));
+    }
+    frame.clear();
+    frame.putInt(length).putInt((int) checksum).put(bytes.duplicate()).flip();
+    return frame;
+  }
+
+  /**
+   * Deserializes the stored entry at the given position, decompressing the entry if necessary.
+   * <p>
+   * Compressed entries are decompressed along with the preceding entries in their block, starting from the given
+   * block position or from the start of the segment if the block position is unknown.
+   *
+   * @param blockPosition the position of the first entry in the entry's compression block, or {@code -1}
+   * @param position the position of the entry
+   * @param length the length of the stored entry
+   * @return the deserialized entry
+   */
+  private E decode(int blockPosition, int position, int length) {
+    if (compressor == null) {
+      final byte[] bytes = new byte[length];
+      buffer.read(position + HEADER_LENGTH, bytes, 0, length);
+      return serializer.decode(bytes);
+    }
+
+    byte[] bytes = new byte[length];
+    int next = blockPosition >= 0 ? blockPosition : 0;
+    while (next < position) {
+      final int nextLength = buffer.readInt(next);
+      if (nextLength <= 0) {
+        break;
+      }
+      if (bytes.length < nextLength) {
+        bytes = new byte[nextLength];
+      }
+      buffer.read(next + HEADER_LENGTH, bytes, 0, nextLength);
+      compressor.decompress(bytes, nextLength);
+      next += HEADER_LENGTH + nextLength;
+    }
+    buffer.read(position + HEADER_LENGTH, bytes, 0, length);
+    return serializer.decode(compressor.decompress(bytes, length));
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void truncate(long index) {
@@ -228,6 +419,9 @@ public class JournalSegmentWriter<E> implements JournalWriter<E> {
       buffer.zero().clear();
       this.cache.truncate(index);
       this.index.truncate(index);
+      if (compressor != null) {
+        compressor.reset();
+      }
       return;
     }
 
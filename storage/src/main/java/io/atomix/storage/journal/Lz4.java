@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.StorageException;
+
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the LZ4 block format.
+ * <p>
+ * The compressor performs a single greedy pass using a hash table of recent four byte sequences, favoring speed
+ * over compression ratio. Output is compatible with any LZ4 block decompressor.
+ */
+final class Lz4 {
+  private static final int MIN_MATCH = 4;
+  private static final int LAST_LITERALS = 5;
+  private static final int MF_LIMIT = 12;
+  private static final int MAX_DISTANCE = 65535;
+  private static final int RUN_MASK = 15;
+  static final int HASH_LOG = 12;
+
+  private Lz4() {
+  }
+
+  /**
+   * Returns the maximum compressed length for the given input length.
+   *
+   * @param length the input length
+   * @return the maximum compressed length
+   */
+  static int maxCompressedLength(int length) {
+    return length + length / 255 + 16;
+  }
+
+  /**
+   * Compresses the given bytes.
+   *
+   * @param src the source array
+   * @param srcOff the offset of the first byte to compress
+   * @param srcLen the number of bytes to compress
+   * @param dst the destination array, which must have at least {@link #maxCompressedLength(int)} bytes remaining
+   * @param dstOff the offset at which to write compressed bytes
+   * @param table a hash table of {@code 1 << HASH_LOG} entries
+   * @return the number of compressed bytes written
+   */
+  static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int[] table) {
+    reset(table);
+    return compress(src, srcOff, srcOff, srcLen, dst, dstOff, table);
+  }
+
+  /**
+   * Compresses the given bytes, allowing matches to reference the dictionary bytes that precede them.
+   * <p>
+   * The hash table is not cleared, so positions recorded while compressing the dictionary remain usable. The table
+   * must be {@link #reset(int[]) reset} before compressing the first bytes following a new dictionary offset.
+   *
+   * @param src the source array
+   * @param dictOff the offset of the first dictionary byte
+   * @param srcOff the offset of the first byte to compress, which follows the dictionary bytes
+   * @param srcLen the number of bytes to compress
+   * @param dst the destination array, which must have at least {@link #maxCompressedLength(int)} bytes remaining
+   * @param dstOff the offset at which to write compressed bytes
+   * @param table a hash table of {@code 1 << HASH_LOG} entries
+   * @return the number of compressed bytes written
+   */
+  static int compress(byte[] src, int dictOff, int srcOff, int srcLen, byte[] dst, int dstOff, int[] table) {
+    final int srcEnd = srcOff + srcLen;
+    final int matchLimit = srcEnd - LAST_LITERALS;
+    final int inputLimit = srcEnd - MF_LIMIT;
+    int sp = srcOff;
+    int dp = dstOff;
+    int anchor = srcOff;
+
+    if (srcLen >= MF_LIMIT + 1) {
+      while (sp <= inputLimit) {
+        final int sequence = readInt(src, sp);
+        final int hash = hash(sequence);
+        final int ref = table[hash];
+        table[hash] = sp;
+        if (ref < dictOff || sp - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+          sp++;
+          continue;
+        }
+
+        // Extend the match backward over any pending literals.
+        int start = sp;
+        int matchRef = ref;
+        while (start > anchor && matchRef > dictOff && src[start - 1] == src[matchRef - 1]) {
+          start--;
+          matchRef--;
+        }
+
+        // Extend the match forward.
+        int end = sp + MIN_MATCH;
+        int refEnd = ref + MIN_MATCH;
+        while (end < matchLimit && src[end] == src[refEnd]) {
+          end++;
+          refEnd++;
+        }
+
+        dp = writeSequence(src, anchor, start - anchor, start - matchRef, end - start, dst, dp);
+        sp = end;
+        anchor = end;
+      }
+    }
+
+    // Write the remaining bytes as literals.
+    return writeLiterals(src, anchor, srcEnd - anchor, dst, dp) - dstOff;
+  }
+
+  /**
+   * Clears the given hash table.
+   *
+   * @param table a hash table of {@code 1 << HASH_LOG} entries
+   */
+  static void reset(int[] table) {
+    Arrays.fill(table, -1);
+  }
+
+  /**
+   * Decompresses the given bytes.
+   *
+   * @param src the source array
+   * @param srcOff the offset of the first compressed byte
+   * @param srcLen the number of compressed bytes
+   * @param dst the destination array
+   * @param dstOff the offset at which to write decompressed bytes
+   * @param dstLen the expected decompressed length
+   * @throws StorageException if the input is malformed
+   */
+  static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+    decompress(src, srcOff, srcLen, dst, dstOff, dstOff, dstLen);
+  }
+
+  /**
+   * Decompresses the given bytes, resolving matches against the dictionary bytes that precede the output.
+   *
+   * @param src the source array
+   * @param srcOff the offset of the first compressed byte
+   * @param srcLen the number of compressed bytes
+   * @param dst the destination array
+   * @param dictOff the offset of the first dictionary byte in the destination array
+   * @param dstOff the offset at which to write decompressed bytes, which follows the dictionary bytes
+   * @param dstLen the expected decompressed length
+   * @throws StorageException if the input is malformed
+   */
+  static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dictOff, int dstOff, int dstLen) {
+    final int srcEnd = srcOff + srcLen;
+    final int dstEnd = dstOff + dstLen;
+    int sp = srcOff;
+    int dp = dstOff;
+
+    try {
+      while (true) {
+        final int token = src[sp++] & 0xFF;
+
+        // Copy literals.
+        int literalLength = token >>> 4;
+        if (literalLength == RUN_MASK) {
+          int b;
+          do {
+            b = src[sp++] & 0xFF;
+            literalLength += b;
+          } while (b == 255);
+        }
+        if (sp + literalLength > srcEnd || dp + literalLength > dstEnd) {
+          throw new StorageException("Malformed LZ4 input");
+        }
+        System.arraycopy(src, sp, dst, dp, literalLength);
+        sp += literalLength;
+        dp += literalLength;
+
+        // The last sequence contains only literals.
+        if (sp == srcEnd) {
+          break;
+        }
+
+        // Copy the match.
+        final int offset = (src[sp] & 0xFF) | (src[sp + 1] & 0xFF) << 8;
+        sp += 2;
+        int ref = dp - offset;
+        if (offset == 0 || ref < dictOff) {
+          throw new StorageException("Malformed LZ4 input");
+        }
+
+        int matchLength = token & RUN_MASK;
+        if (matchLength == RUN_MASK) {
+          int b;
+          do {
+            b = src[sp++] & 0xFF;
+            matchLength += b;
+          } while (b == 255);
+        }
+        matchLength += MIN_MATCH;
+        if (dp + matchLength > dstEnd) {
+          throw new StorageException("Malformed LZ4 input");
+        }
+
+        // Matches may overlap the output, so bytes are copied one at a time.
+        for (int i = 0; i < matchLength; i++) {
+          dst[dp++] = dst[ref++];
+        }
+      }
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new StorageException("Malformed LZ4 input");
+    }
+
+    if (dp != dstEnd) {
+      throw new StorageException("Malformed LZ4 input");
+    }
+  }
+
+  private static int writeSequence(byte[] src, int literalOff, int literalLength, int offset, int matchLength, byte[] dst, int dp) {
+    final int tokenPosition = dp++;
+    int token = Math.min(literalLength, RUN_MASK) << 4;
+    if (literalLength >= RUN_MASK) {
+      dp = writeLength(literalLength - RUN_MASK, dst, dp);
+    }
+    System.arraycopy(src, literalOff, dst, dp, literalLength);
+    dp += literalLength;
+
+    dst[dp++] = (byte) offset;
+    dst[dp++] = (byte) (offset >>> 8);
+
+    final int length = matchLength - MIN_MATCH;
+    token |= Math.min(length, RUN_MASK);
+    if (length >= RUN_MASK) {
+      dp = writeLength(length - RUN_MASK, dst, dp);
+    }
+    dst[tokenPosition] = (byte) token;
+    return dp;
+  }
+
+  private static int writeLiterals(byte[] src, int literalOff, int literalLength, byte[] dst, int dp) {
+    dst[dp++] = (byte) (Math.min(literalLength, RUN_MASK) << 4);
+    if (literalLength >= RUN_MASK) {
+      dp = writeLength(literalLength - RUN_MASK, dst, dp);
+    }
+    System.arraycopy(src, literalOff, dst, dp, literalLength);
+    return dp + literalLength;
+  }
+
+  private static int writeLength(int length, byte[] dst, int dp) {
+    while (length >= 255) {
+      dst[dp++] = (byte) 255;
+      length -= 255;
+    }
+    dst[dp++] = (byte) length;
+    return dp;
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF)
+        | (bytes[offset + 1] & 0xFF) << 8
+        | (bytes[offset + 2] & 0xFF) << 16
+        | (bytes[offset + 3] & 0xFF) << 24;
+  }
+
+  private static int hash(int sequence) {
+    return (sequence * -1640531535) >>> (32 - HASH_LOG);
+  }
+}
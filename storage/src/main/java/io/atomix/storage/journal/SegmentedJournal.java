@@ -15,6 +15,7 @@
  */
 package io.atomix.storage.journal;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
 import io.atomix.storage.StorageException;
 import io.atomix.storage.StorageLevel;
@@ -23,21 +24,40 @@ import io.atomix.storage.buffer.FileBuffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.storage.buffer.MappedBuffer;
 import io.atomix.storage.journal.index.SparseJournalIndex;
+import io.atomix.utils.memory.MemoryCategory;
 import io.atomix.utils.serializer.Serializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static io.atomix.utils.concurrent.Threads.namedThreads;
 
 /**
  *
@@ -58,6 +78,8 @@ public class SegmentedJournal<E> implements Journal<E> {
 
   private static final int DEFAULT_BUFFER_SIZE = 1024 * 64;
   private static final int SEGMENT_BUFFER_FACTOR = 3;
+  private static final String FILE_MODE = "rw";
+  private static final String SYNCHRONOUS_FILE_MODE = "rwd";
 
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final String name;
@@ -68,6 +90,15 @@ public class SegmentedJournal<E> implements Journal<E> {
   private final int maxEntriesPerSegment;
   private final double indexDensity;
   private final int cacheSize;
+  private final int groupCommitSize;
+  private final Duration groupCommitWindow;
+  private final Duration groupCommitMaxDelay;
+  private final int recoveryThreads;
+  private final boolean preallocateSegments;
+  private final CompressionType compression;
+  private final boolean synchronousWrites;
+  private final ExecutorService preallocator;
+  private PreparedSegment preparedSegment;
 
   private final NavigableMap<Long, JournalSegment<E>> segments = new ConcurrentSkipListMap<>();
   private final Collection<SegmentedJournalReader<E>> readers = Sets.newConcurrentHashSet();
@@ -84,7 +115,14 @@ public class SegmentedJournal<E> implements Journal<E> {
       int maxSegmentSize,
       int maxEntriesPerSegment,
       double indexDensity,
-      int cacheSize) {
+      int cacheSize,
+      int groupCommitSize,
+      Duration groupCommitWindow,
+      Duration groupCommitMaxDelay,
+      int recoveryThreads,
+      boolean preallocateSegments,
+      CompressionType compression,
+      boolean synchronousWrites) {
     this.name = checkNotNull(name, "name cannot be null");
     this.storageLevel = checkNotNull(storageLevel, "storageLevel cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
@@ -93,6 +131,16 @@ public class SegmentedJournal<E> implements Journal<E> {
     this.maxEntriesPerSegment = maxEntriesPerSegment;
     this.indexDensity = indexDensity;
     this.cacheSize = cacheSize;
+    this.groupCommitSize = groupCommitSize;
+    this.groupCommitWindow = checkNotNull(groupCommitWindow, "groupCommitWindow cannot be null");
+    this.groupCommitMaxDelay = checkNotNull(groupCommitMaxDelay, "groupCommitMaxDelay cannot be null");
+    this.recoveryThreads = recoveryThreads;
+    this.preallocateSegments = preallocateSegments;
+    this.compression = checkNotNull(compression, "compression cannot be null");
+    this.synchronousWrites = synchronousWrites;
+    this.preallocator = preallocateSegments && storageLevel != StorageLevel.MEMORY
+        ? Executors.newSingleThreadExecutor(namedThreads("atomix-journal-preallocator-%d", log))
+        : null;
     open();
     this.writer = openWriter();
   }
@@ -154,6 +202,88 @@ public class SegmentedJournal<E> implements Journal<E> {
     return maxEntriesPerSegment;
   }
 
+  /**
+   * Returns the group commit size.
+   * <p>
+   * The group commit size is the number of unflushed bytes after which a pending group commit is flushed to disk.
+   * A size of {@code 0} indicates no size threshold is applied.
+   *
+   * @return The group commit size in bytes.
+   */
+  public int groupCommitSize() {
+    return groupCommitSize;
+  }
+
+  /**
+   * Returns the group commit window.
+   * <p>
+   * The group commit window is the maximum amount of time for which commits will be gathered into a single flush.
+   * A window of {@link Duration#ZERO} indicates no time window is applied.
+   *
+   * @return The group commit window.
+   */
+  public Duration groupCommitWindow() {
+    return groupCommitWindow;
+  }
+
+  /**
+   * Returns the group commit maximum delay.
+   * <p>
+   * The group commit maximum delay is the maximum amount of time for which a pending group commit waits for the
+   * group commit size to be reached before it is flushed to disk. A delay of {@link Duration#ZERO} indicates
+   * pending commits wait for the group commit size or window.
+   *
+   * @return The group commit maximum delay.
+   */
+  public Duration groupCommitMaxDelay() {
+    return groupCommitMaxDelay;
+  }
+
+  /**
+   * Returns the maximum number of threads used to recover segments when the journal is opened.
+   *
+   * @return The maximum number of threads used to recover segments.
+   */
+  public int recoveryThreads() {
+    return recoveryThreads;
+  }
+
+  /**
+   * Returns whether the next segment is preallocated in the background.
+   * <p>
+   * When segment preallocation is enabled, the next segment is allocated, opened and its descriptor written on a
+   * background thread while the current segment is written, so rolling over to a new segment does not require
+   * allocating or opening a file on the writer thread. If the next segment is not ready when the writer rolls over,
+   * the writer creates the segment itself rather than waiting. The preallocated file is kept when the journal is
+   * closed and reused when it's reopened.
+   *
+   * @return Whether the next segment is preallocated in the background.
+   */
+  public boolean isPreallocateSegments() {
+    return preallocateSegments;
+  }
+
+  /**
+   * Returns the compression type used for new segments.
+   * <p>
+   * The compression type of existing segments is determined by each segment's descriptor, so changing the
+   * compression type applies only to segments created after the journal is opened.
+   *
+   * @return The compression type used for new segments.
+   */
+  public CompressionType compression() {
+    return compression;
+  }
+
+  /**
+   * Returns a boolean indicating whether {@link StorageLevel#DISK} segments are written synchronously.
+   *
+   * @return indicates whether disk segments are written synchronously
+   */
+  public boolean isSynchronousWrites() {
+    return synchronousWrites;
+  }
+
   /**
    * Opens a new journal writer.
    *
@@ -175,12 +305,17 @@ public class SegmentedJournal<E> implements Journal<E> {
     // If a segment doesn't already exist, create an initial segment starting at index 1.
     if (!segments.isEmpty()) {
       currentSegment = segments.lastEntry().getValue();
+      for (JournalSegment<E> segment : segments.headMap(currentSegment.index()).values()) {
+        segment.seal();
+      }
+      preallocateSegment(currentSegment.id() + 1);
     } else {
       JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
           .withId(1)
           .withIndex(1)
           .withMaxSegmentSize(maxSegmentSize)
           .withMaxEntries(maxEntriesPerSegment)
+          .withCompression(compression)
           .build();
 
       currentSegment = createSegment(descriptor);
@@ -215,12 +350,14 @@ public class SegmentedJournal<E> implements Journal<E> {
     JournalSegment<E> lastSegment = getLastSegment();
     if (lastSegment != null) {
       currentSegment = lastSegment;
+      currentSegment.unseal();
     } else {
       JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
           .withId(1)
           .withIndex(1)
           .withMaxSegmentSize(maxSegmentSize)
           .withMaxEntries(maxEntriesPerSegment)
+          .withCompression(compression)
           .build();
 
       currentSegment = createSegment(descriptor);
@@ -255,6 +392,7 @@ public class SegmentedJournal<E> implements Journal<E> {
         .withIndex(index)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntries(maxEntriesPerSegment)
+        .withCompression(compression)
         .build();
     currentSegment = createSegment(descriptor);
     segments.put(index, currentSegment);
@@ -293,12 +431,18 @@ public class SegmentedJournal<E> implements Journal<E> {
     assertOpen();
     assertDiskSpace();
 
+    // The current segment is full, so persist its index to avoid reading the segment when the journal is reopened
+    // and seal it so readers can read it through a read-only mapped view.
+    currentSegment.persistIndex();
+    currentSegment.seal();
+
     JournalSegment lastSegment = getLastSegment();
     JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
         .withId(lastSegment != null ? lastSegment.descriptor().id() + 1 : 1)
         .withIndex(currentSegment.lastIndex() + 1)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntries(maxEntriesPerSegment)
+        .withCompression(compression)
         .build();
 
     currentSegment = createSegment(descriptor);
@@ -375,7 +519,14 @@ public class SegmentedJournal<E> implements Journal<E> {
    * @return The segment instance.
    */
   protected JournalSegment<E> newSegment(JournalSegmentFile segmentFile, JournalSegmentDescriptor descriptor) {
-    return new JournalSegment<>(segmentFile, descriptor, indexDensity, cacheSize, serializer);
+    return new JournalSegment<>(segmentFile, descriptor, storageLevel, indexDensity, cacheSize, serializer);
+  }
+
+  /**
+   * Returns the mode in which to open disk segment files.
+   */
+  private String fileMode() {
+    return synchronousWrites ? SYNCHRONOUS_FILE_MODE : FILE_MODE;
   }
 
   /**
@@ -383,10 +534,17 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   private JournalSegment<E> createDiskSegment(JournalSegmentDescriptor descriptor) {
     File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
-    Buffer buffer = FileBuffer.allocate(segmentFile, Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
-    descriptor.copyTo(buffer);
+    Buffer buffer = takePreparedSegment(descriptor.id());
+    boolean prepared = buffer != null;
+    if (prepared) {
+      descriptor = JournalSegmentDescriptor.builder(buffer).withIndex(descriptor.index()).build();
+    } else {
+      buffer = FileBuffer.allocate(segmentFile, fileMode(), Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
+      descriptor.copyTo(buffer);
+    }
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
-    log.debug("Created disk segment: {}", segment);
+    log.debug("Created {}disk segment: {}", prepared ? "preallocated " : "", segment);
+    preallocateSegment(descriptor.id() + 1);
     return segment;
   }
 
@@ -395,13 +553,193 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   private JournalSegment<E> createMappedSegment(JournalSegmentDescriptor descriptor) {
     File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
-    Buffer buffer = MappedBuffer.allocate(segmentFile, Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE);
-    descriptor.copyTo(buffer);
+    Buffer buffer = takePreparedSegment(descriptor.id());
+    boolean prepared = buffer != null;
+    if (prepared) {
+      descriptor = JournalSegmentDescriptor.builder(buffer).withIndex(descriptor.index()).build();
+    } else {
+      buffer = MappedBuffer.allocate(
+          segmentFile, FileChannel.MapMode.READ_WRITE, Math.min(DEFAULT_BUFFER_SIZE, descriptor.maxSegmentSize()), Integer.MAX_VALUE, MemoryCategory.JOURNAL);
+      descriptor.copyTo(buffer);
+    }
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
-    log.debug("Created memory mapped segment: {}", segment);
+    log.debug("Created {}memory mapped segment: {}", prepared ? "preallocated " : "", segment);
+    preallocateSegment(descriptor.id() + 1);
     return segment;
   }
 
+  /**
+   * Begins preparing the segment with the given ID in the background.
+   * <p>
+   * Any previously prepared segment with a different ID is discarded.
+   *
+   * @param segmentId the ID of the segment to prepare
+   */
+  private synchronized void preallocateSegment(long segmentId) {
+    if (preallocator == null || preparedSegment != null && preparedSegment.id == segmentId) {
+      return;
+    }
+
+    if (preparedSegment != null) {
+      discardPreparedSegment(preparedSegment);
+    }
+
+    PreparedSegment segment = new PreparedSegment(segmentId);
+    segment.future = preallocator.submit(() -> prepareSegment(segment));
+    preparedSegment = segment;
+  }
+
+  /**
+   * Prepares a segment on the preallocator thread.
+   * <p>
+   * The preallocated segment file is zeroed to the maximum segment size unless a file of that size was left by a
+   * previous preparation, in which case it's reused as is. Once the file is allocated it's moved into place, opened,
+   * and the segment descriptor is written with a first index of {@code 0}. The first index is written when the
+   * segment is {@link #takePreparedSegment(long) taken} by the writer, since it's only known at that time. Until
+   * then, recovery treats the segment file as unused.
+   *
+   * @param segment the segment to prepare
+   * @return the prepared segment buffer or {@code null} if the segment was abandoned by the writer
+   */
+  private Buffer prepareSegment(PreparedSegment segment) throws IOException {
+    long startTime = System.currentTimeMillis();
+    File file = JournalSegmentFile.createPreallocatedFile(name, directory);
+    if (file.length() != maxSegmentSize) {
+      zeroFile(file, maxSegmentSize);
+    }
+
+    // If the writer rolled over before the file was allocated, leave the file in place for the next segment.
+    if (!segment.claimed.compareAndSet(false, true)) {
+      return null;
+    }
+
+    File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, segment.id);
+    moveFile(file, segmentFile);
+
+    final Buffer buffer;
+    if (storageLevel == StorageLevel.MAPPED) {
+      buffer = MappedBuffer.allocate(
+          segmentFile, FileChannel.MapMode.READ_WRITE, maxSegmentSize, Integer.MAX_VALUE, MemoryCategory.JOURNAL);
+    } else {
+      buffer = FileBuffer.allocate(segmentFile, fileMode(), Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
+    }
+
+    JournalSegmentDescriptor.builder()
+        .withId(segment.id)
+        .withMaxSegmentSize(maxSegmentSize)
+        .withMaxEntries(maxEntriesPerSegment)
+        .withCompression(compression)
+        .build()
+        .copyTo(buffer);
+    log.trace("Prepared segment {} in {} ms", segment.id, System.currentTimeMillis() - startTime);
+    return buffer;
+  }
+
+  /**
+   * Takes the prepared segment for the given ID.
+   * <p>
+   * This method does not wait for the segment file to be allocated. If the preallocator is still allocating the file,
+   * the prepared segment is abandoned and the caller creates the segment itself. If the prepared segment is for a
+   * different ID, it's discarded.
+   *
+   * @param segmentId the ID of the segment being created
+   * @return the prepared segment buffer or {@code null} if no segment was prepared
+   */
+  private synchronized Buffer takePreparedSegment(long segmentId) {
+    PreparedSegment segment = preparedSegment;
+    if (segment == null) {
+      return null;
+    }
+
+    preparedSegment = null;
+    if (segment.id != segmentId) {
+      discardPreparedSegment(segment);
+      return null;
+    }
+    if (segment.claimed.compareAndSet(false, true)) {
+      return null;
+    }
+    return awaitPreparedSegment(segment);
+  }
+
+  /**
+   * Discards the given prepared segment, returning its file to the preallocated segment file for reuse.
+   *
+   * @param segment the segment to discard
+   */
+  private void discardPreparedSegment(PreparedSegment segment) {
+    if (segment.claimed.compareAndSet(false, true)) {
+      return;
+    }
+
+    Buffer buffer = awaitPreparedSegment(segment);
+    if (buffer != null) {
+      buffer.close();
+      recycleSegmentFile(JournalSegmentFile.createSegmentFile(name, directory, segment.id));
+    }
+  }
+
+  /**
+   * Waits for the given prepared segment.
+   *
+   * @param segment the segment for which to wait
+   * @return the prepared segment buffer or {@code null} if the segment could not be prepared
+   */
+  private Buffer awaitPreparedSegment(PreparedSegment segment) {
+    try {
+      return segment.future.get();
+    } catch (ExecutionException e) {
+      log.warn("Failed to preallocate segment {}", segment.id, e.getCause());
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StorageException(e);
+    }
+  }
+
+  /**
+   * Returns an unused segment file to the preallocated segment file if preallocation is enabled, otherwise deletes it.
+   *
+   * @param file the unused segment file
+   */
+  private void recycleSegmentFile(File file) {
+    try {
+      if (preallocator != null) {
+        moveFile(file, JournalSegmentFile.createPreallocatedFile(name, directory));
+      } else {
+        Files.deleteIfExists(file.toPath());
+      }
+    } catch (IOException e) {
+      log.warn("Failed to recycle segment file {}", file, e);
+    }
+  }
+
+  /**
+   * Moves the given file into place, replacing the target file if it exists.
+   */
+  private static void moveFile(File source, File target) throws IOException {
+    try {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Creates the given file and writes zeros to the given size to ensure the file's blocks are allocated.
+   */
+  private static void zeroFile(File file, int size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer zeros = ByteBuffer.allocate(Math.min(size, DEFAULT_BUFFER_SIZE));
+      long position = 0;
+      while (position < size) {
+        zeros.clear().limit((int) Math.min(zeros.capacity(), size - position));
+        position += channel.write(zeros, position);
+      }
+    }
+  }
+
   /**
    * Creates a new segment.
    */
@@ -435,7 +773,7 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   private JournalSegment<E> loadDiskSegment(long segmentId) {
     File file = JournalSegmentFile.createSegmentFile(name, directory, segmentId);
-    Buffer buffer = FileBuffer.allocate(file, Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
+    Buffer buffer = FileBuffer.allocate(file, fileMode(), Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
     JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(file), descriptor);
     log.debug("Loaded disk segment: {} ({})", descriptor.id(), file.getName());
@@ -447,7 +785,8 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   private JournalSegment<E> loadMappedSegment(long segmentId) {
     File file = JournalSegmentFile.createSegmentFile(name, directory, segmentId);
-    Buffer buffer = MappedBuffer.allocate(file, Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE);
+    Buffer buffer = MappedBuffer.allocate(
+        file, FileChannel.MapMode.READ_WRITE, Math.min(DEFAULT_BUFFER_SIZE, maxSegmentSize), Integer.MAX_VALUE, MemoryCategory.JOURNAL);
     JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(buffer);
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(file), descriptor);
     log.debug("Loaded memory mapped segment: {} ({})", descriptor.id(), file.getName());
@@ -477,65 +816,55 @@ public class SegmentedJournal<E> implements Journal<E> {
 
     TreeMap<Long, JournalSegment<E>> segments = new TreeMap<>();
 
-    // Iterate through all files in the log directory.
-    for (File file : directory.listFiles(File::isFile)) {
+    // Iterate through all segments recovered from the log directory.
+    for (JournalSegment<E> segment : recoverSegments()) {
+      JournalSegmentFile segmentFile = segment.file();
 
-      // If the file looks like a segment file, attempt to load the segment.
-      if (JournalSegmentFile.isSegmentFile(name, file)) {
-        JournalSegmentFile segmentFile = new JournalSegmentFile(file);
-        JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+      // If a segment with an equal or lower index has already been loaded, ensure this segment is not superseded
+      // by the earlier segment. This can occur due to segments being combined during log compaction.
+      Map.Entry<Long, JournalSegment<E>> previousEntry = segments.floorEntry(segment.index());
+      if (previousEntry != null) {
 
-        // Load the segment.
-        JournalSegment<E> segment = loadSegment(descriptor.id());
-
-        // If a segment with an equal or lower index has already been loaded, ensure this segment is not superseded
-        // by the earlier segment. This can occur due to segments being combined during log compaction.
-        Map.Entry<Long, JournalSegment<E>> previousEntry = segments.floorEntry(segment.index());
-        if (previousEntry != null) {
-
-          // If an existing descriptor exists with a lower index than this segment's first index, check to determine
-          // whether this segment's first index is contained in that existing index. If it is, determine which segment
-          // should take precedence based on segment versions.
-          JournalSegment previousSegment = previousEntry.getValue();
-
-          // If the two segments start at the same index, the segment with the higher version number is used.
-          if (previousSegment.index() == segment.index()) {
-            if (segment.descriptor().version() > previousSegment.descriptor().version()) {
-              log.debug("Replaced segment {} with newer version: {} ({})", previousSegment.descriptor().id(), segment.descriptor().version(), segmentFile.file().getName());
-              segments.remove(previousEntry.getKey());
-              previousSegment.close();
-              previousSegment.delete();
-            } else {
-              segment.close();
-              segment.delete();
-              continue;
-            }
-          }
-          // If the existing segment's entries overlap with the loaded segment's entries, the existing segment always
-          // supersedes the loaded segment. Log compaction processes ensure this is always the case.
-          else if (previousSegment.index() + previousSegment.length() > segment.index()) {
+        // If an existing descriptor exists with a lower index than this segment's first index, check to determine
+        // whether this segment's first index is contained in that existing index. If it is, determine which segment
+        // should take precedence based on segment versions.
+        JournalSegment previousSegment = previousEntry.getValue();
+
+        // If the two segments start at the same index, the segment with the higher version number is used.
+        if (previousSegment.index() == segment.index()) {
+          if (segment.descriptor().version() > previousSegment.descriptor().version()) {
+            log.debug("Replaced segment {} with newer version: {} ({})", previousSegment.descriptor().id(), segment.descriptor().version(), segmentFile.file().getName());
+            segments.remove(previousEntry.getKey());
+            previousSegment.close();
+            previousSegment.delete();
+          } else {
             segment.close();
             segment.delete();
             continue;
           }
         }
-
-        // Add the segment to the segments list.
-        log.debug("Found segment: {} ({})", segment.descriptor().id(), segmentFile.file().getName());
-        segments.put(segment.index(), segment);
-
-        // Ensure any segments later in the log with which this segment overlaps are removed.
-        Map.Entry<Long, JournalSegment<E>> nextEntry = segments.higherEntry(segment.index());
-        while (nextEntry != null) {
-          if (nextEntry.getValue().index() < segment.index() + segment.length()) {
-            segments.remove(nextEntry.getKey());
-            nextEntry = segments.higherEntry(segment.index());
-          } else {
-            break;
-          }
+        // If the existing segment's entries overlap with the loaded segment's entries, the existing segment always
+        // supersedes the loaded segment. Log compaction processes ensure this is always the case.
+        else if (previousSegment.index() + previousSegment.length() > segment.index()) {
+          segment.close();
+          segment.delete();
+          continue;
         }
+      }
 
-        descriptor.close();
+      // Add the segment to the segments list.
+      log.debug("Found segment: {} ({})", segment.descriptor().id(), segmentFile.file().getName());
+      segments.put(segment.index(), segment);
+
+      // Ensure any segments later in the log with which this segment overlaps are removed.
+      Map.Entry<Long, JournalSegment<E>> nextEntry = segments.higherEntry(segment.index());
+      while (nextEntry != null) {
+        if (nextEntry.getValue().index() < segment.index() + segment.length()) {
+          segments.remove(nextEntry.getKey());
+          nextEntry = segments.higherEntry(segment.index());
+        } else {
+          break;
+        }
       }
     }
 
@@ -555,6 +884,96 @@ public class SegmentedJournal<E> implements Journal<E> {
     return segments.values();
   }
 
+  /**
+   * Recovers all segments in the log directory.
+   * <p>
+   * Opening a segment requires reading the segment to locate the last entry, so segments are recovered in parallel
+   * using up to {@link #recoveryThreads()} threads. Sealed segments are recovered from their persisted indexes. The
+   * tail segment may have been partially written when the journal was last closed, so it's always recovered by
+   * validating every entry from the start of the segment.
+   *
+   * @return The recovered segments in segment ID order.
+   */
+  private List<JournalSegment<E>> recoverSegments() {
+    // Read the descriptor of each segment file to determine the segment IDs.
+    TreeMap<Long, File> segmentFiles = new TreeMap<>();
+    for (File file : directory.listFiles(File::isFile)) {
+      if (JournalSegmentFile.isSegmentFile(name, file)) {
+        JournalSegmentDescriptor descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+        descriptor.close();
+
+        // Segments are assigned a first index only when the writer takes them, so a segment without a first index
+        // was prepared in the background but never used.
+        if (descriptor.index() == 0) {
+          log.debug("Recycling unused segment file {}", file.getName());
+          recycleSegmentFile(file);
+          continue;
+        }
+        segmentFiles.put(descriptor.id(), file);
+      }
+    }
+
+    if (segmentFiles.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // Discard the tail segment's index to force the segment to be validated from the start.
+    File tailFile = segmentFiles.lastEntry().getValue();
+    try {
+      Files.deleteIfExists(new JournalSegmentFile(tailFile).indexFile().toPath());
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+
+    final int total = segmentFiles.size();
+    final int threads = Math.min(recoveryThreads, total);
+    final AtomicInteger recovered = new AtomicInteger();
+    final long startTime = System.currentTimeMillis();
+    log.debug("{} - Recovering {} segment(s) using {} thread(s)", name, total, threads);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads, namedThreads("atomix-journal-recovery-%d", log));
+    try {
+      List<Future<JournalSegment<E>>> futures = new ArrayList<>(total);
+      for (Long segmentId : segmentFiles.keySet()) {
+        futures.add(executor.submit(() -> {
+          long segmentStartTime = System.currentTimeMillis();
+          JournalSegment<E> segment = loadSegment(segmentId);
+          log.debug("{} - Recovered segment {} ({}/{}) with {} entries in {} ms",
+              name, segmentId, recovered.incrementAndGet(), total, segment.length(),
+              System.currentTimeMillis() - segmentStartTime);
+          return segment;
+        }));
+      }
+
+      List<JournalSegment<E>> segments = new ArrayList<>(total);
+      Throwable error = null;
+      for (Future<JournalSegment<E>> future : futures) {
+        try {
+          segments.add(future.get());
+        } catch (ExecutionException e) {
+          if (error == null) {
+            error = e.getCause();
+          }
+        }
+      }
+
+      // If any segment could not be recovered, close the recovered segments and fail.
+      if (error != null) {
+        segments.forEach(JournalSegment::close);
+        Throwables.throwIfUnchecked(error);
+        throw new StorageException(error);
+      }
+
+      log.info("{} - Recovered {} segment(s) in {} ms", name, total, System.currentTimeMillis() - startTime);
+      return segments;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StorageException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Resets journal readers to the given head.
    *
@@ -650,6 +1069,22 @@ public class SegmentedJournal<E> implements Journal<E> {
 
   @Override
   public void close() {
+    if (preallocator != null) {
+      synchronized (this) {
+        if (preparedSegment != null) {
+          discardPreparedSegment(preparedSegment);
+          preparedSegment = null;
+        }
+      }
+
+      // Let an abandoned preallocation finish so the preallocated file can be reused when the journal is reopened.
+      preallocator.shutdown();
+      try {
+        preallocator.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
     segments.values().forEach(segment -> {
       log.debug("Closing segment: {}", segment);
       segment.close();
@@ -658,6 +1093,19 @@ public class SegmentedJournal<E> implements Journal<E> {
     open = false;
   }
 
+  /**
+   * Segment prepared in the background by the preallocator.
+   */
+  private static final class PreparedSegment {
+    private final long id;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private volatile Future<Buffer> future;
+
+    PreparedSegment(long id) {
+      this.id = id;
+    }
+  }
+
   /**
    * Segmented journal builder.
    */
@@ -668,6 +1116,13 @@ public class SegmentedJournal<E> implements Journal<E> {
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
     private static final double DEFAULT_INDEX_DENSITY = .005;
     private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 0;
+    private static final Duration DEFAULT_GROUP_COMMIT_WINDOW = Duration.ZERO;
+    private static final Duration DEFAULT_GROUP_COMMIT_MAX_DELAY = Duration.ZERO;
+    private static final int DEFAULT_RECOVERY_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final boolean DEFAULT_PREALLOCATE_SEGMENTS = false;
+    private static final CompressionType DEFAULT_COMPRESSION = CompressionType.NONE;
+    private static final boolean DEFAULT_SYNCHRONOUS_WRITES = false;
 
     protected String name = DEFAULT_NAME;
     protected StorageLevel storageLevel = StorageLevel.DISK;
@@ -677,6 +1132,13 @@ public class SegmentedJournal<E> implements Journal<E> {
     protected int maxEntriesPerSegment = DEFAULT_MAX_ENTRIES_PER_SEGMENT;
     protected double indexDensity = DEFAULT_INDEX_DENSITY;
     protected int cacheSize = DEFAULT_CACHE_SIZE;
+    protected int groupCommitSize = DEFAULT_GROUP_COMMIT_SIZE;
+    protected Duration groupCommitWindow = DEFAULT_GROUP_COMMIT_WINDOW;
+    protected Duration groupCommitMaxDelay = DEFAULT_GROUP_COMMIT_MAX_DELAY;
+    protected int recoveryThreads = DEFAULT_RECOVERY_THREADS;
+    protected boolean preallocateSegments = DEFAULT_PREALLOCATE_SEGMENTS;
+    protected CompressionType compression = DEFAULT_COMPRESSION;
+    protected boolean synchronousWrites = DEFAULT_SYNCHRONOUS_WRITES;
 
     protected Builder() {
     }
@@ -813,6 +1275,147 @@ public class SegmentedJournal<E> implements Journal<E> {
       return this;
     }
 
+    /**
+     * Sets the journal group commit size.
+     * <p>
+     * When group commit is enabled, commits are gathered into a single batch which is flushed to disk once the number
+     * of unflushed bytes exceeds the group commit size or the group commit window elapses. A size of {@code 0}
+     * disables the size threshold.
+     *
+     * @param groupCommitSize the group commit size in bytes
+     * @return the journal builder
+     * @throws IllegalArgumentException if the group commit size is negative
+     */
+    public Builder<E> withGroupCommitSize(int groupCommitSize) {
+      checkArgument(groupCommitSize >= 0, "groupCommitSize must be positive");
+      this.groupCommitSize = groupCommitSize;
+      return this;
+    }
+
+    /**
+     * Sets the journal group commit window.
+     * <p>
+     * When group commit is enabled, commits are gathered into a single batch which is flushed to disk once the group
+     * commit window elapses or the number of unflushed bytes exceeds the group commit size. A window of
+     * {@link Duration#ZERO} disables the time window.
+     *
+     * @param groupCommitWindow the group commit window
+     * @return the journal builder
+     * @throws NullPointerException if the window is {@code null}
+     * @throws IllegalArgumentException if the window is negative
+     */
+    public Builder<E> withGroupCommitWindow(Duration groupCommitWindow) {
+      checkNotNull(groupCommitWindow, "groupCommitWindow cannot be null");
+      checkArgument(!groupCommitWindow.isNegative(), "groupCommitWindow must be positive");
+      this.groupCommitWindow = groupCommitWindow;
+      return this;
+    }
+
+    /**
+     * Sets the journal group commit maximum delay.
+     * <p>
+     * When only a group commit size is configured, pending commits are flushed once the number of unflushed bytes
+     * exceeds the group commit size. The maximum delay bounds the time for which a pending commit waits for the size
+     * to be reached, which otherwise is unbounded when few entries are written. A delay of {@link Duration#ZERO}
+     * disables the bound.
+     *
+     * @param groupCommitMaxDelay the group commit maximum delay
+     * @return the journal builder
+     * @throws NullPointerException if the delay is {@code null}
+     * @throws IllegalArgumentException if the delay is negative
+     */
+    public Builder<E> withGroupCommitMaxDelay(Duration groupCommitMaxDelay) {
+      checkNotNull(groupCommitMaxDelay, "groupCommitMaxDelay cannot be null");
+      checkArgument(!groupCommitMaxDelay.isNegative(), "groupCommitMaxDelay must be positive");
+      this.groupCommitMaxDelay = groupCommitMaxDelay;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of threads with which to recover segments when the journal is opened.
+     * <p>
+     * By default, segments are recovered using one thread per available processor.
+     *
+     * @param recoveryThreads the maximum number of recovery threads
+     * @return the journal builder
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public Builder<E> withRecoveryThreads(int recoveryThreads) {
+      checkArgument(recoveryThreads > 0, "recoveryThreads must be positive");
+      this.recoveryThreads = recoveryThreads;
+      return this;
+    }
+
+    /**
+     * Enables preallocating the next segment in the background.
+     * <p>
+     * When segment preallocation is enabled, the next segment is allocated and opened on a background thread while
+     * the current segment is written, so rolling over to a new segment does not require allocating or opening a file
+     * on the writer thread. Preallocation does not apply to {@link StorageLevel#MEMORY} journals.
+     *
+     * @return the journal builder
+     */
+    public Builder<E> withPreallocateSegments() {
+      return withPreallocateSegments(true);
+    }
+
+    /**
+     * Sets whether to preallocate the next segment in the background.
+     * <p>
+     * When segment preallocation is enabled, the next segment is allocated and opened on a background thread while
+     * the current segment is written, so rolling over to a new segment does not require allocating or opening a file
+     * on the writer thread. Preallocation does not apply to {@link StorageLevel#MEMORY} journals.
+     *
+     * @param preallocateSegments whether to preallocate the next segment
+     * @return the journal builder
+     */
+    public Builder<E> withPreallocateSegments(boolean preallocateSegments) {
+      this.preallocateSegments = preallocateSegments;
+      return this;
+    }
+
+    /**
+     * Sets the compression type for entries in new segments.
+     * <p>
+     * When compression is enabled, each entry is compressed individually as it's written. The compression type
+     * is recorded in each segment's descriptor, so existing segments remain readable when the compression type
+     * is changed. By default, entries are not compressed.
+     *
+     * @param compression the compression type
+     * @return the journal builder
+     * @throws NullPointerException if the compression type is {@code null}
+     */
+    public Builder<E> withCompression(CompressionType compression) {
+      this.compression = checkNotNull(compression, "compression cannot be null");
+      return this;
+    }
+
+    /**
+     * Enables synchronous writes for {@link StorageLevel#DISK} segments.
+     *
+     * @return the journal builder
+     */
+    public Builder<E> withSynchronousWrites() {
+      return withSynchronousWrites(true);
+    }
+
+    /**
+     * Sets whether to write {@link StorageLevel#DISK} segments synchronously.
+     * <p>
+     * When synchronous writes are enabled, segment files are opened in {@code O_DSYNC} mode and each entry is
+     * written to the storage device before the append returns. Flushing the journal then does not need to force
+     * the segment file, trading append throughput for predictable commit latency. Synchronous writes do not apply
+     * to {@link StorageLevel#MAPPED} or {@link StorageLevel#MEMORY} journals. By default, segments are written
+     * asynchronously and forced to disk when the journal is flushed.
+     *
+     * @param synchronousWrites whether to write disk segments synchronously
+     * @return the journal builder
+     */
+    public Builder<E> withSynchronousWrites(boolean synchronousWrites) {
+      this.synchronousWrites = synchronousWrites;
+      return this;
+    }
+
     /**
      * Builds the journal.
      *
@@ -820,7 +1423,7 @@ public class SegmentedJournal<E> implements Journal<E> {
      */
     @Override
     public SegmentedJournal<E> build() {
-      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, cacheSize);
+      return new SegmentedJournal<>(name, storageLevel, directory, serializer, maxSegmentSize, maxEntriesPerSegment, indexDensity, cacheSize, groupCommitSize, groupCommitWindow, groupCommitMaxDelay, recoveryThreads, preallocateSegments, compression, synchronousWrites);
     }
   }
 }
\ No newline at end of file
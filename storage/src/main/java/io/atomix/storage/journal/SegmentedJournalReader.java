@@ -137,6 +137,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null && nextSegment.index() == getNextIndex()) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment = nextSegment;
         currentReader = currentSegment.createReader();
         return currentReader.hasNext();
@@ -152,6 +153,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null && nextSegment.index() == getNextIndex()) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment = nextSegment;
         currentReader = currentSegment.createReader();
         return currentReader.next();
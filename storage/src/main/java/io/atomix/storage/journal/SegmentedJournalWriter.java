@@ -15,20 +15,44 @@
  */
 package io.atomix.storage.journal;
 
+import io.atomix.storage.StorageException;
+import io.atomix.storage.buffer.Bytes;
+
 import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Log writer.
+ * <p>
+ * The writer supports an optional group commit mode. When group commit is enabled, calls to {@link #commit()} do not
+ * flush the journal immediately. Instead, entries appended within the configured group commit window are gathered
+ * into a single batch which is flushed to disk once the window elapses or once the size of unflushed entries exceeds
+ * the configured group commit size, completing all pending commit futures together.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class SegmentedJournalWriter<E> implements JournalWriter<E> {
   private final SegmentedJournal<E> journal;
+  private final int groupCommitSize;
+  private final long groupCommitWindow;
+  private final long groupCommitMaxDelay;
+  private final List<CompletableFuture<Void>> commitFutures = new ArrayList<>();
   private JournalSegment<E> currentSegment;
   private JournalSegmentWriter<E> currentWriter;
+  private long pendingBytes;
+  private long pendingTime;
+  private AtomicBoolean flushAborted;
+  private long flushIndex;
 
   public SegmentedJournalWriter(SegmentedJournal<E> journal) {
     this.journal = journal;
+    this.groupCommitSize = journal.groupCommitSize();
+    this.groupCommitWindow = journal.groupCommitWindow().toMillis();
+    this.groupCommitMaxDelay = journal.groupCommitMaxDelay().toMillis();
     this.currentSegment = journal.getLastSegment();
     this.currentWriter = currentSegment.writer();
   }
@@ -54,57 +78,84 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
    * @param index the index to which to reset the head of the journal
    */
   public void reset(long index) {
-    currentWriter.close();
+    abortFlush(-1);
     currentSegment = journal.resetSegments(index);
     currentWriter = currentSegment.writer();
     journal.resetHead(index);
   }
 
+  /**
+   * Returns a boolean indicating whether group commit is enabled for the writer.
+   *
+   * @return indicates whether group commit is enabled
+   */
+  public boolean isGroupCommit() {
+    return groupCommitWindow > 0 || groupCommitSize > 0;
+  }
+
   @Override
   public <T extends E> Indexed<T> append(T entry) {
+    Indexed<T> indexed;
     try {
       if (currentWriter.isFull()) {
-        currentWriter.flush();
-        currentSegment = journal.getNextSegment();
-        currentWriter = currentSegment.writer();
+        rollSegment();
       }
-      return currentWriter.append(entry);
+      indexed = currentWriter.append(entry);
     } catch (BufferOverflowException e) {
       if (currentWriter.firstIndex() == currentWriter.getNextIndex()) {
         throw e;
       }
-      currentWriter.flush();
-      currentSegment = journal.getNextSegment();
-      currentWriter = currentSegment.writer();
-      return currentWriter.append(entry);
+      rollSegment();
+      indexed = currentWriter.append(entry);
     }
+    onAppend(indexed.size());
+    return indexed;
   }
 
   @Override
   public void append(Indexed<E> entry) {
     try {
       if (currentWriter.isFull()) {
-        currentWriter.flush();
-        currentSegment = journal.getNextSegment();
-        currentWriter = currentSegment.writer();
+        rollSegment();
       }
       currentWriter.append(entry);
     } catch (BufferOverflowException e) {
       if (currentWriter.firstIndex() == currentWriter.getNextIndex()) {
         throw e;
       }
-      currentWriter.flush();
-      currentSegment = journal.getNextSegment();
-      currentWriter = currentSegment.writer();
+      rollSegment();
       currentWriter.append(entry);
     }
+    onAppend(currentWriter.getLastEntry().size());
+  }
+
+  /**
+   * Flushes the current segment and rolls over to the next segment.
+   */
+  private void rollSegment() {
+    flush();
+    currentSegment = journal.getNextSegment();
+    currentWriter = currentSegment.writer();
+  }
+
+  /**
+   * Records an appended entry in the pending group commit batch.
+   *
+   * @param size the serialized size of the appended entry
+   */
+  private void onAppend(int size) {
+    if (pendingBytes == 0) {
+      pendingTime = System.currentTimeMillis();
+    }
+    pendingBytes += size + Bytes.INTEGER + Bytes.INTEGER;
   }
 
   @Override
   public void truncate(long index) {
+    abortFlush(index);
+
     // Delete all segments with first indexes greater than the given index.
     while (index < currentWriter.firstIndex() - 1) {
-      currentWriter.close();
       journal.removeSegment(currentSegment);
       currentSegment = journal.getLastSegment();
       currentWriter = currentSegment.writer();
@@ -117,13 +168,124 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
     journal.resetTail(index + 1);
   }
 
+  /**
+   * Commits entries written to the journal, flushing them to disk.
+   * <p>
+   * If group commit is disabled, the journal is flushed immediately and the returned future is already complete.
+   * Otherwise, the flush is deferred until the group commit window elapses or the size of unflushed entries exceeds
+   * the group commit size. All commits pending at that point are completed by a single flush.
+   *
+   * @return a future to be completed once all entries written prior to the commit have been flushed to disk
+   */
+  public CompletableFuture<Void> commit() {
+    if (!isGroupCommit()) {
+      flush();
+      return CompletableFuture.completedFuture(null);
+    } else if (pendingBytes == 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    commitFutures.add(future);
+    if ((groupCommitSize > 0 && pendingBytes >= groupCommitSize) || isExpired()) {
+      flush();
+    }
+    return future;
+  }
+
+  /**
+   * Flushes the pending group commit batch if the group commit window or maximum delay has elapsed.
+   * <p>
+   * This method should be called periodically by the thread that owns the writer to ensure commits are completed
+   * within the group commit window when no further entries are being written. If neither a window nor a maximum
+   * delay is configured, pending commits are only flushed once the group commit size is reached.
+   */
+  public void flushExpired() {
+    if (!commitFutures.isEmpty() && isExpired()) {
+      flush();
+    }
+  }
+
+  /**
+   * Returns a boolean indicating whether the pending group commit batch has been pending for longer than the group
+   * commit window or maximum delay.
+   */
+  private boolean isExpired() {
+    long pending = System.currentTimeMillis() - pendingTime;
+    return (groupCommitWindow > 0 && pending >= groupCommitWindow)
+        || (groupCommitMaxDelay > 0 && pending >= groupCommitMaxDelay);
+  }
+
+  /**
+   * Flushes entries written to the journal to disk on the given executor.
+   * <p>
+   * Unlike {@link #flush()}, the flush does not block the thread that owns the writer, which may continue appending
+   * entries to the journal while the flush is in progress. Only entries written prior to this call are guaranteed to
+   * have been flushed once the returned future is completed. Entries in segments that have already been rolled over
+   * were flushed when the segment was rolled. Pending group commits are not completed by the flush.
+   * <p>
+   * The flushed segment cannot be closed while the flush is in progress. If the segment is closed before the flush
+   * begins, or if the journal is truncated or reset below the flushed index before the flush completes, the returned
+   * future is completed exceptionally with {@link StorageException.FlushAborted} rather than with an index that
+   * may cover entries that were never flushed.
+   *
+   * @param executor the executor on which to flush the journal
+   * @return a future to be completed with the index of the last entry flushed to disk
+   */
+  public CompletableFuture<Long> flushAsync(Executor executor) {
+    JournalSegment<E> segment = currentSegment;
+    JournalSegmentWriter<E> writer = currentWriter;
+    long index = writer.getLastIndex();
+    AtomicBoolean aborted = new AtomicBoolean();
+    CompletableFuture<Long> future = new CompletableFuture<>();
+    flushAborted = aborted;
+    flushIndex = index;
+    executor.execute(() -> {
+      if (!segment.acquire()) {
+        future.completeExceptionally(new StorageException.FlushAborted("Segment " + segment.id() + " was closed"));
+        return;
+      }
+      try {
+        writer.flush();
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+        return;
+      } finally {
+        segment.release();
+      }
+      if (aborted.get()) {
+        future.completeExceptionally(new StorageException.FlushAborted("Entries up to " + index + " were truncated"));
+      } else {
+        future.complete(index);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Aborts the in-progress asynchronous flush if the journal is truncated below the flushed index.
+   *
+   * @param index the index to which the journal is being truncated
+   */
+  private void abortFlush(long index) {
+    if (flushAborted != null && index < flushIndex) {
+      flushAborted.set(true);
+    }
+  }
+
   @Override
   public void flush() {
     currentWriter.flush();
+    pendingBytes = 0;
+    if (!commitFutures.isEmpty()) {
+      List<CompletableFuture<Void>> futures = new ArrayList<>(commitFutures);
+      commitFutures.clear();
+      futures.forEach(future -> future.complete(null));
+    }
   }
 
   @Override
   public void close() {
-    currentWriter.close();
+    currentSegment.closeWriter();
   }
 }
\ No newline at end of file
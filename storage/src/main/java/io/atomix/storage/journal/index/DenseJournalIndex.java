@@ -0,0 +1,264 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal.index;
+
+import io.atomix.storage.journal.ChecksumType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.Checksum;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Journal index backed by sorted primitive arrays.
+ * <p>
+ * Indexed positions are stored in parallel {@code long[]} and {@code int[]} arrays and looked up with a binary search.
+ * When the index is constructed with a file, the index can be {@link #persist() persisted} to and {@link #load() loaded}
+ * from disk, allowing a segment to be opened without reading every entry in the segment. The index file is deleted
+ * whenever the index is truncated prior to the last persisted entry, ensuring a persisted index never references
+ * entries that have since been overwritten.
+ * <p>
+ * The format of the index file is as follows:
+ * <ul>
+ * <li>32-bit magic number</li>
+ * <li>32-bit index format version</li>
+ * <li>64-bit first index in the segment</li>
+ * <li>32-bit number of indexed entries</li>
+ * <li>64-bit index and 32-bit position for each indexed entry</li>
+ * <li>32-bit CRC32C checksum of all preceding bytes</li>
+ * </ul>
+ */
+public class DenseJournalIndex implements JournalIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DenseJournalIndex.class);
+  private static final int MIN_DENSITY = 1000;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAGIC = 0x4A494458;
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+  private static final int ENTRY_LENGTH = Long.BYTES + Integer.BYTES;
+  private static final int CHECKSUM_LENGTH = Integer.BYTES;
+
+  private final int density;
+  private final File file;
+  private final long firstIndex;
+  private long[] indexes = new long[INITIAL_CAPACITY];
+  private int[] positions = new int[INITIAL_CAPACITY];
+  private int size;
+  private long persistedIndex;
+  private boolean dirty;
+
+  public DenseJournalIndex(double density) {
+    this(density, null, 0);
+  }
+
+  /**
+   * @param density the index density
+   * @param file the file to which to persist the index
+   * @param firstIndex the first index in the indexed segment
+   */
+  public DenseJournalIndex(double density, File file, long firstIndex) {
+    this.density = (int) Math.ceil(MIN_DENSITY / (density * MIN_DENSITY));
+    this.file = file;
+    this.firstIndex = firstIndex;
+    this.persistedIndex = firstIndex - 1;
+  }
+
+  /**
+   * Returns the number of indexed entries.
+   *
+   * @return the number of indexed entries
+   */
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean index(long index, int position) {
+    if (index % density != 0) {
+      return false;
+    }
+
+    if (size > 0 && index <= indexes[size - 1]) {
+      if (index == indexes[size - 1] && position == positions[size - 1]) {
+        return true;
+      }
+      truncate(index - 1);
+    }
+
+    if (size == indexes.length) {
+      indexes = Arrays.copyOf(indexes, size * 2);
+      positions = Arrays.copyOf(positions, size * 2);
+    }
+    indexes[size] = index;
+    positions[size] = position;
+    size++;
+    dirty = true;
+    return true;
+  }
+
+  @Override
+  public Position lookup(long index) {
+    int i = Arrays.binarySearch(indexes, 0, size, index);
+    if (i < 0) {
+      i = -i - 2;
+    }
+    return i >= 0 ? new Position(indexes[i], positions[i]) : null;
+  }
+
+  @Override
+  public void truncate(long index) {
+    int i = Arrays.binarySearch(indexes, 0, size, index);
+    int newSize = i >= 0 ? i + 1 : -i - 1;
+    if (newSize < size) {
+      size = newSize;
+      dirty = true;
+    }
+
+    // If the index was truncated prior to the last persisted entry, the index file is no longer valid.
+    if (index < persistedIndex) {
+      delete();
+    }
+  }
+
+  /**
+   * Loads the index from disk.
+   * <p>
+   * If the index file does not exist or cannot be validated, the index is left unchanged.
+   *
+   * @return indicates whether the index was loaded from disk
+   */
+  public boolean load() {
+    if (file == null || !file.exists()) {
+      return false;
+    }
+
+    final ByteBuffer buffer;
+    try {
+      buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    } catch (IOException e) {
+      LOGGER.warn("Failed to read journal index {}", file, e);
+      return false;
+    }
+
+    if (buffer.remaining() < HEADER_LENGTH + CHECKSUM_LENGTH) {
+      return false;
+    }
+
+    final Checksum checksum = ChecksumType.CRC32C.newChecksum();
+    checksum.update(buffer.array(), 0, buffer.limit() - CHECKSUM_LENGTH);
+    if ((int) checksum.getValue() != buffer.getInt(buffer.limit() - CHECKSUM_LENGTH)) {
+      LOGGER.debug("Discarding corrupt journal index {}", file);
+      return false;
+    }
+
+    if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != firstIndex) {
+      LOGGER.debug("Discarding incompatible journal index {}", file);
+      return false;
+    }
+
+    final int count = buffer.getInt();
+    if (count < 0 || buffer.remaining() != count * ENTRY_LENGTH + CHECKSUM_LENGTH) {
+      return false;
+    }
+
+    final long[] indexes = new long[Math.max(count, INITIAL_CAPACITY)];
+    final int[] positions = new int[Math.max(count, INITIAL_CAPACITY)];
+    for (int i = 0; i < count; i++) {
+      indexes[i] = buffer.getLong();
+      positions[i] = buffer.getInt();
+    }
+
+    this.indexes = indexes;
+    this.positions = positions;
+    this.size = count;
+    this.persistedIndex = count > 0 ? indexes[count - 1] : firstIndex - 1;
+    this.dirty = false;
+    return true;
+  }
+
+  /**
+   * Persists the index to disk if it has been modified since it was last loaded or persisted.
+   * <p>
+   * The index is written to a temporary file which is then moved over the index file, so a partially written
+   * index is never loaded.
+   */
+  public void persist() {
+    if (file == null || !dirty) {
+      return;
+    }
+
+    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + size * ENTRY_LENGTH + CHECKSUM_LENGTH);
+    buffer.putInt(MAGIC)
+        .putInt(VERSION)
+        .putLong(firstIndex)
+        .putInt(size);
+    for (int i = 0; i < size; i++) {
+      buffer.putLong(indexes[i]).putInt(positions[i]);
+    }
+
+    final Checksum checksum = ChecksumType.CRC32C.newChecksum();
+    checksum.update(buffer.array(), 0, buffer.position());
+    buffer.putInt((int) checksum.getValue());
+
+    final Path path = file.toPath();
+    final Path tempPath = path.resolveSibling(file.getName() + ".tmp");
+    try {
+      Files.write(tempPath, buffer.array());
+      try {
+        Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+      persistedIndex = size > 0 ? indexes[size - 1] : firstIndex - 1;
+      dirty = false;
+    } catch (IOException e) {
+      LOGGER.warn("Failed to persist journal index {}", file, e);
+      delete();
+    }
+  }
+
+  /**
+   * Deletes the index file.
+   */
+  public void delete() {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file.toPath());
+      } catch (IOException e) {
+        LOGGER.warn("Failed to delete journal index {}", file, e);
+      }
+      persistedIndex = firstIndex - 1;
+      dirty = size > 0;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("size", size)
+        .add("file", file)
+        .toString();
+  }
+}
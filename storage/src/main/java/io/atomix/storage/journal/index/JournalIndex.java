@@ -25,8 +25,9 @@ public interface JournalIndex {
    *
    * @param index the index for which to add the entry
    * @param position the position of the given index
+   * @return indicates whether the given index is indexed at the given position
    */
-  void index(long index, int position);
+  boolean index(long index, int position);
 
   /**
    * Looks up the position of the given index.
@@ -31,10 +31,12 @@ public class SparseJournalIndex implements JournalIndex {
   }
 
   @Override
-  public void index(long index, int position) {
+  public boolean index(long index, int position) {
     if (index % density == 0) {
       positions.put(index, position);
+      return true;
     }
+    return false;
   }
 
   @Override
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffer pool statistics.
+ */
+public class BufferPoolStatistics {
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder outstandingBytes;
+  private final LongAdder cachedBytes;
+
+  public BufferPoolStatistics(LongAdder hits, LongAdder misses, LongAdder outstandingBytes, LongAdder cachedBytes) {
+    this.hits = hits;
+    this.misses = misses;
+    this.outstandingBytes = outstandingBytes;
+    this.cachedBytes = cachedBytes;
+  }
+
+  /**
+   * Returns the number of allocations served from the pool.
+   *
+   * @return the number of allocations served from the pool
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of allocations that required new memory.
+   *
+   * @return the number of allocations that required new memory
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the fraction of allocations served from the pool.
+   *
+   * @return the fraction of allocations served from the pool
+   */
+  public double getHitRate() {
+    long hits = getHits();
+    long total = hits + getMisses();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * Returns the number of bytes allocated from the pool and not yet released.
+   *
+   * @return the number of bytes allocated from the pool and not yet released
+   */
+  public long getOutstandingBytes() {
+    return outstandingBytes.sum();
+  }
+
+  /**
+   * Returns the number of bytes held in the pool's caches.
+   *
+   * @return the number of bytes held in the pool's caches
+   */
+  public long getCachedBytes() {
+    return cachedBytes.sum();
+  }
+}
@@ -15,6 +15,11 @@
  */
 package io.atomix.storage.statistics;
 
+import io.atomix.storage.buffer.SlabAllocator;
+import io.atomix.utils.memory.MemoryAccountant;
+import io.atomix.utils.memory.MemoryBudget;
+import io.atomix.utils.memory.MemoryCategory;
+
 import java.io.File;
 
 /**
@@ -22,6 +27,7 @@ import java.io.File;
  */
 public class StorageStatistics {
   private final File file;
+  private final MemoryBudget journalMemory = MemoryAccountant.instance().budget(MemoryCategory.JOURNAL);
 
   public StorageStatistics(File file) {
     this.file = file;
@@ -53,4 +59,49 @@ public class StorageStatistics {
   public long getTotalSpace() {
     return file.getTotalSpace();
   }
+
+  /**
+   * Returns the number of bytes of journal memory in use by the process.
+   *
+   * @return the number of bytes of journal memory in use by the process
+   */
+  public long getJournalMemoryUsed() {
+    return journalMemory.getUsed();
+  }
+
+  /**
+   * Returns the largest number of bytes of journal memory that have been in use by the process at once.
+   *
+   * @return the largest number of bytes of journal memory that have been in use by the process at once
+   */
+  public long getJournalMemoryPeak() {
+    return journalMemory.getPeak();
+  }
+
+  /**
+   * Returns the maximum number of bytes of journal memory that may be in use by the process.
+   *
+   * @return the maximum number of bytes of journal memory that may be in use by the process
+   */
+  public long getJournalMemoryLimit() {
+    return journalMemory.getLimit();
+  }
+
+  /**
+   * Returns the statistics of the shared heap buffer pool.
+   *
+   * @return the statistics of the shared heap buffer pool
+   */
+  public BufferPoolStatistics getHeapBufferPool() {
+    return SlabAllocator.heap().statistics();
+  }
+
+  /**
+   * Returns the statistics of the shared direct buffer pool.
+   *
+   * @return the statistics of the shared direct buffer pool
+   */
+  public BufferPoolStatistics getDirectBufferPool() {
+    return SlabAllocator.direct().statistics();
+  }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Composite bytes test.
+ */
+public class CompositeBytesTest {
+  @AfterClass
+  public static void afterTest() {
+    FileTesting.cleanFiles();
+  }
+
+  private static byte[] sequence(int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) i;
+    }
+    return bytes;
+  }
+
+  @Test
+  public void testReadAcrossRegions() {
+    byte[] bytes = sequence(32);
+    Bytes direct = DirectBytes.allocate(22).write(0, bytes, 10, 22);
+    CompositeBytes composite = CompositeBytes.builder()
+        .add(HeapBytes.wrap(bytes), 2, 5)
+        .add(HeapBytes.wrap(bytes), 7, 3)
+        .add(direct, 0, 22)
+        .build();
+    assertEquals(3, composite.components());
+    assertEquals(30, composite.size());
+
+    // Reads that span region boundaries.
+    assertEquals(0x02030405, composite.readInt(0));
+    assertEquals(0x060708090A0B0C0DL, composite.readLong(4));
+    assertEquals(0x0E, composite.readByte(12));
+
+    byte[] rest = new byte[17];
+    composite.read(13, rest, 0, 17);
+    byte[] expected = new byte[17];
+    System.arraycopy(bytes, 15, expected, 0, 17);
+    assertArrayEquals(expected, rest);
+  }
+
+  @Test
+  public void testWriteThroughRegions() {
+    HeapBytes first = HeapBytes.allocate(3);
+    HeapBytes second = HeapBytes.allocate(8);
+    CompositeBytes composite = CompositeBytes.of(first, second);
+    composite.writeInt(0, 0x01020304).writeShort(4, (short) 0x0506).writeInt(6, 0x0708090A).writeByte(10, 0x0B);
+    assertEquals(0x010203, first.readMedium(0));
+    assertEquals(0x0405060708090A0BL, second.readLong(0));
+  }
+
+  @Test
+  public void testBigEndianRegardlessOfRegionOrder() {
+    byte[] bytes = sequence(8);
+    CompositeBytes composite = CompositeBytes.of(HeapBytes.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN));
+    assertEquals(0x00010203, composite.readInt(0));
+    assertEquals(0x0001020304050607L, composite.readLong(0));
+    composite.writeShort(0, (short) 0x0A0B);
+    assertEquals(0x0A, bytes[0]);
+    assertEquals(0x0B, bytes[1]);
+  }
+
+  @Test
+  public void testByteBuffers() {
+    byte[] bytes = sequence(16);
+    CompositeBytes composite = CompositeBytes.builder()
+        .add(HeapBytes.wrap(bytes), 0, 4)
+        .add(HeapBytes.allocate(0), 0, 0)
+        .add(HeapBytes.wrap(bytes), 8, 8)
+        .build();
+    ByteBuffer[] buffers = composite.byteBuffers(2, 10);
+    assertEquals(2, buffers.length);
+    assertEquals(2, buffers[0].remaining());
+    assertEquals(2, buffers[0].get(0));
+    assertEquals(8, buffers[1].remaining());
+    assertEquals(8, buffers[1].get(0));
+  }
+
+  @Test
+  public void testWriteToBuffers() {
+    byte[] bytes = sequence(16);
+    CompositeBytes composite = CompositeBytes.builder()
+        .add(HeapBytes.wrap(bytes), 4, 4)
+        .add(DirectBytes.allocate(8).writeLong(0, 0x1112131415161718L), 0, 8)
+        .build();
+
+    // Composite bytes are written to file buffers with a gathering write.
+    try (FileBuffer fileBuffer = FileBuffer.allocate(FileTesting.createFile(), 16)) {
+      fileBuffer.writeInt(1).write(composite).flip();
+      assertEquals(1, fileBuffer.readInt());
+      assertEquals(0x04050607, fileBuffer.readInt());
+      assertEquals(0x1112131415161718L, fileBuffer.readLong());
+    }
+
+    HeapBuffer heapBuffer = HeapBuffer.allocate(16);
+    heapBuffer.write(composite).flip();
+    assertEquals(0x04050607, heapBuffer.readInt());
+    assertEquals(0x1112131415161718L, heapBuffer.readLong());
+  }
+}
@@ -79,7 +79,26 @@ public class FileBufferTest extends BufferTest {
   /**
    * Tests deleting a file.
    */
+  /**
+   * Tests writing to a file opened in a synchronous mode.
+   */
   @Test
+  public void testSynchronousMode() {
+    File file = FileTesting.createFile();
+    try (FileBuffer buffer = FileBuffer.allocate(file, FileBytes.DSYNC_MODE, 16, 16)) {
+      assertTrue(((FileBytes) buffer.bytes()).isSynchronous());
+      buffer.writeLong(10).writeLong(11).flush().flip();
+      assertEquals(buffer.readLong(), 10);
+      assertEquals(buffer.readLong(), 11);
+    }
+    try (FileBuffer buffer = FileBuffer.allocate(file, 16)) {
+      assertFalse(((FileBytes) buffer.bytes()).isSynchronous());
+      assertEquals(buffer.readLong(), 10);
+      assertEquals(buffer.readLong(), 11);
+    }
+  }
+
+    @Test
   public void testDelete() {
     File file = FileTesting.createFile();
     FileBuffer buffer = FileBuffer.allocate(file, 16);
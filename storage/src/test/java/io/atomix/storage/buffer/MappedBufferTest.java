@@ -15,14 +15,19 @@
  */
 package io.atomix.storage.buffer;
 
+import io.atomix.utils.memory.MemoryAccountant;
+import io.atomix.utils.memory.MemoryBudget;
+import io.atomix.utils.memory.MemoryCategory;
 import org.junit.AfterClass;
 import org.junit.Test;
 
 import java.io.File;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -78,4 +83,45 @@ public class MappedBufferTest extends BufferTest {
     assertFalse(Files.exists(file.toPath()));
   }
 
+
+  /**
+   * Tests that mapped memory is charged once to the buffer's memory category.
+   */
+  @Test
+  public void testMemoryAccounting() {
+    MemoryBudget journal = MemoryAccountant.instance().budget(MemoryCategory.JOURNAL);
+    MemoryBudget defaults = MemoryAccountant.instance().budget(MemoryCategory.DEFAULT);
+    long journalUsed = journal.getUsed();
+    long defaultUsed = defaults.getUsed();
+    long totalUsed = MemoryAccountant.instance().getUsed();
+
+    MappedBuffer buffer = MappedBuffer.allocate(FileTesting.createFile(), FileChannel.MapMode.READ_WRITE, 16, 1024, MemoryCategory.JOURNAL);
+    assertEquals(journalUsed + 16, journal.getUsed());
+    assertEquals(defaultUsed, defaults.getUsed());
+    assertEquals(totalUsed + 16, MemoryAccountant.instance().getUsed());
+
+    buffer.writeLong(1).writeLong(2).writeLong(3);
+    assertEquals(journalUsed + buffer.bytes().size(), journal.getUsed());
+    assertEquals(totalUsed + buffer.bytes().size(), MemoryAccountant.instance().getUsed());
+
+    buffer.close();
+    buffer.close();
+    assertEquals(journalUsed, journal.getUsed());
+    assertEquals(totalUsed, MemoryAccountant.instance().getUsed());
+  }
+
+  /**
+   * Tests that mapping fails without waiting when the memory budget is exhausted.
+   */
+  @Test
+  public void testTryAllocateExhausted() {
+    MemoryBudget journal = MemoryAccountant.instance().budget(MemoryCategory.JOURNAL);
+    long limit = journal.getLimit();
+    journal.setLimit(journal.getUsed() + 8);
+    try {
+      assertNull(MappedBuffer.tryAllocate(FileTesting.createFile(), FileChannel.MapMode.READ_WRITE, 16, MemoryCategory.JOURNAL));
+    } finally {
+      journal.setLimit(limit);
+    }
+  }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.storage.statistics.BufferPoolStatistics;
+import io.atomix.utils.serializer.Namespaces;
+import io.atomix.utils.serializer.Serializer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Slab allocator test.
+ */
+public class SlabAllocatorTest extends BufferTest {
+
+  @Override
+  protected Buffer createBuffer(int capacity) {
+    return SlabAllocator.heap().allocate(capacity);
+  }
+
+  @Override
+  protected Buffer createBuffer(int capacity, int maxCapacity) {
+    return SlabAllocator.heap().allocate(capacity, maxCapacity);
+  }
+
+  @Test
+  public void testSizeClass() {
+    assertEquals(SlabAllocator.MIN_SIZE_CLASS, SlabAllocator.sizeClass(0));
+    assertEquals(SlabAllocator.MIN_SIZE_CLASS, SlabAllocator.sizeClass(64));
+    assertEquals(7, SlabAllocator.sizeClass(65));
+    assertEquals(12, SlabAllocator.sizeClass(4096));
+    assertEquals(13, SlabAllocator.sizeClass(4097));
+  }
+
+  @Test
+  public void testReuse() {
+    SlabAllocator allocator = SlabAllocator.heap();
+    BufferPoolStatistics statistics = allocator.statistics();
+
+    Buffer buffer = allocator.allocate(1000);
+    buffer.writeLong(1).writeLong(2);
+    long outstanding = statistics.getOutstandingBytes();
+    buffer.close();
+    assertEquals(outstanding - 1024, statistics.getOutstandingBytes());
+
+    long hits = statistics.getHits();
+    Buffer reused = allocator.allocate(900);
+    assertSame(buffer, reused);
+    assertEquals(hits + 1, statistics.getHits());
+    assertEquals(outstanding, statistics.getOutstandingBytes());
+    assertEquals(0, reused.position());
+    assertEquals(900, reused.capacity());
+    reused.close();
+  }
+
+  @Test
+  public void testReleaseReferences() {
+    SlabAllocator allocator = SlabAllocator.heap();
+    Buffer buffer = allocator.allocate(100);
+    buffer.acquire();
+    buffer.release();
+    Buffer other = allocator.allocate(100);
+    assertNotSame(buffer, other);
+    buffer.release();
+    other.close();
+  }
+
+  @Test
+  public void testDoubleClose() {
+    SlabAllocator allocator = SlabAllocator.direct();
+    BufferPoolStatistics statistics = allocator.statistics();
+    long outstanding = statistics.getOutstandingBytes();
+    long cached = statistics.getCachedBytes();
+    Buffer buffer = allocator.allocate(200);
+    buffer.close();
+    buffer.close();
+    assertEquals(outstanding, statistics.getOutstandingBytes());
+    assertEquals(cached + 256, statistics.getCachedBytes());
+    Buffer first = allocator.allocate(200);
+    Buffer second = allocator.allocate(200);
+    assertSame(buffer, first);
+    assertNotSame(first, second);
+    first.close();
+    second.close();
+  }
+
+  @Test
+  public void testUnpooled() {
+    SlabAllocator allocator = SlabAllocator.heap();
+    BufferPoolStatistics statistics = allocator.statistics();
+    long misses = statistics.getMisses();
+    long cached = statistics.getCachedBytes();
+    Buffer buffer = allocator.allocate((1 << SlabAllocator.MAX_SIZE_CLASS) + 1);
+    assertEquals(misses + 1, statistics.getMisses());
+    buffer.close();
+    assertEquals(cached, statistics.getCachedBytes());
+  }
+
+  @Test
+  public void testPooledSerializer() {
+    BufferPoolStatistics statistics = SlabAllocator.heap().statistics();
+    Serializer serializer = Serializer.using(Namespaces.BASIC);
+    PooledSerializer pooled = new PooledSerializer(serializer);
+
+    String small = "Hello world!";
+    assertArrayEquals(serializer.encode(small), pooled.encode(small));
+    assertEquals(small, pooled.decode(pooled.encode(small)));
+
+    long outstanding = statistics.getOutstandingBytes();
+    Buffer buffer = HeapBuffer.allocate();
+    pooled.encode(small, buffer);
+    long hits = statistics.getHits();
+    pooled.encode(small, buffer);
+    assertEquals(hits + 1, statistics.getHits());
+    assertEquals(outstanding, statistics.getOutstandingBytes());
+
+    // Objects larger than the initial pooled buffer are encoded into a buffer sized by the last object of their type.
+    byte[] large = new byte[10000];
+    large[large.length - 1] = 1;
+    pooled.encode(large, buffer);
+    pooled.encode(large, buffer);
+    assertEquals(outstanding, statistics.getOutstandingBytes());
+
+    buffer.flip();
+    assertEquals(small, buffer.readObject(serializer::decode));
+    assertEquals(small, buffer.readObject(serializer::decode));
+    assertArrayEquals(large, buffer.readObject(serializer::decode));
+    assertArrayEquals(large, buffer.readObject(serializer::decode));
+  }
+
+  @Test
+  public void testPooledSerializerInvocations() {
+    Serializer serializer = Serializer.using(Namespaces.BASIC);
+    AtomicInteger invocations = new AtomicInteger();
+    PooledSerializer pooled = new PooledSerializer(new Serializer() {
+      @Override
+      public <T> byte[] encode(T object) {
+        invocations.incrementAndGet();
+        return serializer.encode(object);
+      }
+
+      @Override
+      public <T> void encode(T object, ByteBuffer buffer) {
+        invocations.incrementAndGet();
+        serializer.encode(object, buffer);
+      }
+
+      @Override
+      public <T> T decode(byte[] bytes) {
+        return serializer.decode(bytes);
+      }
+    });
+
+    // An object larger than the largest pooled buffer is encoded at most twice the first time it's written,
+    // and once thereafter.
+    byte[] large = new byte[(1 << SlabAllocator.MAX_SIZE_CLASS) * 2];
+    Buffer buffer = HeapBuffer.allocate(1024, Integer.MAX_VALUE);
+    pooled.encode(large, buffer);
+    assertEquals(2, invocations.get());
+    pooled.encode(large, buffer);
+    assertEquals(3, invocations.get());
+
+    buffer.flip();
+    assertArrayEquals(large, buffer.readObject(serializer::decode));
+    assertArrayEquals(large, buffer.readObject(serializer::decode));
+
+    // Encoding to a byte array is delegated to the wrapped serializer.
+    pooled.encode(large);
+    assertEquals(4, invocations.get());
+  }
+}
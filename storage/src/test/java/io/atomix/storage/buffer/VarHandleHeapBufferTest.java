@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.buffer;
+
+import io.atomix.utils.memory.HeapMemory;
+import io.atomix.utils.memory.Memory;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Var handle heap buffer test.
+ */
+public class VarHandleHeapBufferTest extends BufferTest {
+
+  @Before
+  public void checkAvailable() {
+    assumeTrue(VarHandleHeapBytes.isAvailable());
+  }
+
+  @Override
+  protected Buffer createBuffer(int capacity) {
+    return createBuffer(capacity, HeapMemory.MAX_SIZE);
+  }
+
+  @Override
+  protected Buffer createBuffer(int capacity, int maxCapacity) {
+    return new HeapBuffer(VarHandleHeapBytes.allocate((int) Math.min(Memory.Util.toPow2(capacity), HeapMemory.MAX_SIZE)), 0, capacity, maxCapacity);
+  }
+
+  @Test
+  public void testHeapBytesDefault() {
+    assertFalse(Boolean.getBoolean(HeapBytes.VAR_HANDLES_PROPERTY));
+    assertEquals(HeapBytes.class, HeapBytes.allocate(8).getClass());
+    assertEquals(HeapBytes.class, HeapBytes.wrap(new byte[8]).getClass());
+  }
+
+}
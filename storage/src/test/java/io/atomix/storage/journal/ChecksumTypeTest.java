@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checksum type test.
+ */
+public class ChecksumTypeTest {
+  private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  public void testForId() {
+    assertEquals(ChecksumType.CRC32, ChecksumType.forId(ChecksumType.CRC32.id()));
+    assertEquals(ChecksumType.CRC32C, ChecksumType.forId(ChecksumType.CRC32C.id()));
+    assertEquals(ChecksumType.CRC32, ChecksumType.forId(0));
+  }
+
+  @Test
+  public void testCrc32() {
+    Checksum checksum = ChecksumType.CRC32.newChecksum();
+    checksum.update(CHECK, 0, CHECK.length);
+    assertEquals(0xCBF43926L, checksum.getValue());
+  }
+
+  @Test
+  public void testCrc32c() {
+    Checksum checksum = ChecksumType.CRC32C.newChecksum();
+    checksum.update(CHECK, 0, CHECK.length);
+    assertEquals(0xE3069283L, checksum.getValue());
+
+    checksum = new Crc32c();
+    checksum.update(CHECK, 0, CHECK.length);
+    assertEquals(0xE3069283L, checksum.getValue());
+    checksum.reset();
+    checksum.update(CHECK, 0, CHECK.length);
+    assertEquals(0xE3069283L, checksum.getValue());
+  }
+
+  @Test
+  public void testUpdateByteBuffer() {
+    byte[] bytes = new byte[4096 + 13];
+    new Random(1).nextBytes(bytes);
+    for (ChecksumType type : ChecksumType.values()) {
+      Checksum expected = type.newChecksum();
+      expected.update(bytes, 0, bytes.length);
+
+      Checksum heap = type.newChecksum();
+      ByteBuffer heapBuffer = ByteBuffer.wrap(bytes);
+      ChecksumType.update(heap, heapBuffer);
+      assertEquals(expected.getValue(), heap.getValue());
+      assertEquals(0, heapBuffer.remaining());
+
+      Checksum direct = type.newChecksum();
+      ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+      directBuffer.put(bytes).flip();
+      ChecksumType.update(direct, directBuffer);
+      assertEquals(expected.getValue(), direct.getValue());
+      assertEquals(0, directBuffer.remaining());
+    }
+
+    Checksum expected = new Crc32c();
+    expected.update(bytes, 0, bytes.length);
+    Crc32c direct = new Crc32c();
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+    directBuffer.put(bytes).flip();
+    direct.update(directBuffer);
+    assertEquals(expected.getValue(), direct.getValue());
+  }
+}
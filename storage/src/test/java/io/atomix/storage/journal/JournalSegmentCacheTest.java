@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Journal segment cache test.
+ */
+public class JournalSegmentCacheTest {
+
+  private static Indexed<TestEntry> entry(long index) {
+    return new Indexed<>(index, new TestEntry(1), 1);
+  }
+
+  @Test
+  public void testPutGet() {
+    JournalSegmentCache cache = new JournalSegmentCache(10, 4);
+    assertNull(cache.get(10));
+    for (long i = 10; i < 14; i++) {
+      cache.put(entry(i));
+    }
+    for (long i = 10; i < 14; i++) {
+      assertEquals(i, cache.get(i).index());
+    }
+    assertNull(cache.get(9));
+    assertNull(cache.get(14));
+
+    // Overflowing the cache evicts the oldest entries.
+    cache.put(entry(14));
+    cache.put(entry(15));
+    assertNull(cache.get(10));
+    assertNull(cache.get(11));
+    for (long i = 12; i < 16; i++) {
+      assertEquals(i, cache.get(i).index());
+    }
+  }
+
+  @Test
+  public void testTruncate() {
+    JournalSegmentCache cache = new JournalSegmentCache(1, 4);
+    for (long i = 1; i <= 6; i++) {
+      cache.put(entry(i));
+    }
+
+    // Truncate across the end of the ring.
+    cache.truncate(3);
+    assertEquals(3, cache.get(3).index());
+    assertNull(cache.get(4));
+    assertNull(cache.get(5));
+    assertNull(cache.get(6));
+
+    cache.put(entry(4));
+    assertEquals(4, cache.get(4).index());
+
+    // Truncating prior to the first cached entry clears the cache.
+    cache.truncate(1);
+    assertNull(cache.get(3));
+    assertNull(cache.get(4));
+    cache.put(entry(2));
+    assertEquals(2, cache.get(2).index());
+
+    cache.truncate(0);
+    assertNull(cache.get(2));
+    cache.put(entry(1));
+    assertEquals(1, cache.get(1).index());
+  }
+
+  @Test
+  public void testNonSequentialPut() {
+    JournalSegmentCache cache = new JournalSegmentCache(1, 4);
+    cache.put(entry(1));
+    cache.put(entry(2));
+    cache.put(entry(5));
+    assertNull(cache.get(1));
+    assertNull(cache.get(2));
+    assertEquals(5, cache.get(5).index());
+    cache.put(entry(6));
+    assertEquals(6, cache.get(6).index());
+  }
+
+  @Test
+  public void testDisabled() {
+    JournalSegmentCache cache = new JournalSegmentCache(1, 0);
+    cache.put(entry(1));
+    assertNull(cache.get(1));
+    cache.truncate(0);
+    assertNull(cache.get(1));
+  }
+}
@@ -121,6 +121,72 @@ public class JournalSegmentDescriptorTest {
     assertEquals(descriptor.updated(), time);
   }
 
+  /**
+   * Tests persisting the segment checksum type.
+   */
+  @Test
+  public void testDescriptorChecksumType() {
+    Buffer buffer = FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES);
+    JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder(buffer)
+      .withId(2)
+      .withIndex(1025)
+      .withMaxSegmentSize(1024 * 1024)
+      .withMaxEntries(2048)
+      .build();
+    assertEquals(ChecksumType.CRC32C, descriptor.checksumType());
+    assertEquals(JournalSegmentDescriptor.VERSION, descriptor.version());
+
+    // Clear the checksum type as stored by segments written prior to the introduction of the field.
+    buffer.writeByte(38, 0).flush();
+    buffer.close();
+
+    descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+    assertEquals(JournalSegmentDescriptor.VERSION, descriptor.version());
+    assertEquals(ChecksumType.CRC32, descriptor.checksumType());
+    assertEquals(descriptor.id(), 2);
+    assertEquals(descriptor.index(), 1025);
+
+    descriptor = JournalSegmentDescriptor.builder()
+      .withId(2)
+      .withIndex(1025)
+      .withMaxSegmentSize(1024 * 1024)
+      .withMaxEntries(2048)
+      .withChecksumType(ChecksumType.CRC32)
+      .build();
+    descriptor.copyTo(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES)).close();
+
+    descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+    assertEquals(ChecksumType.CRC32, descriptor.checksumType());
+  }
+
+  /**
+   * Tests persisting the segment compression type.
+   */
+  @Test
+  public void testDescriptorCompression() {
+    JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
+      .withId(2)
+      .withIndex(1025)
+      .withMaxSegmentSize(1024 * 1024)
+      .withMaxEntries(2048)
+      .build();
+    assertEquals(CompressionType.NONE, descriptor.compression());
+
+    descriptor = JournalSegmentDescriptor.builder()
+      .withId(2)
+      .withIndex(1025)
+      .withMaxSegmentSize(1024 * 1024)
+      .withMaxEntries(2048)
+      .withCompression(CompressionType.LZ4)
+      .build();
+    descriptor.copyTo(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES)).close();
+
+    descriptor = new JournalSegmentDescriptor(FileBuffer.allocate(file, JournalSegmentDescriptor.BYTES));
+    assertEquals(CompressionType.LZ4, descriptor.compression());
+    assertEquals(descriptor.id(), 2);
+    assertEquals(descriptor.index(), 1025);
+  }
+
   /**
    * Deletes the descriptor file.
    */
@@ -41,4 +41,15 @@ public class JournalSegmentFileTest {
     assertTrue(JournalSegmentFile.isSegmentFile("foo", file));
   }
 
+  @Test
+  public void testIndexFile() throws Exception {
+    File file = JournalSegmentFile.createSegmentFile("foo", new File(System.getProperty("user.dir")), 1);
+    File indexFile = new JournalSegmentFile(file).indexFile();
+    assertEquals("foo-1.index", indexFile.getName());
+    assertEquals(file.getParentFile(), indexFile.getParentFile());
+    assertTrue(JournalSegmentFile.isSegmentIndexFile("foo", indexFile));
+    assertFalse(JournalSegmentFile.isSegmentFile("foo", indexFile));
+    assertFalse(JournalSegmentFile.isSegmentIndexFile("foo", file));
+  }
+
 }
@@ -17,11 +17,13 @@ package io.atomix.storage.journal;
 
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.utils.serializer.Namespace;
+import io.atomix.storage.StorageException;
 import io.atomix.storage.StorageLevel;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -29,10 +31,18 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Log test.
@@ -178,6 +188,619 @@ public class JournalTest {
     assertFalse(reader.hasNext());
   }
 
+  @Test
+  public void testWriteReadEntries() throws Exception {
+    for (StorageLevel storageLevel : StorageLevel.values()) {
+      testWriteReadEntries(storageLevel);
+      cleanupStorage();
+    }
+  }
+
+  private void testWriteReadEntries(StorageLevel storageLevel) throws Exception {
+    SegmentedJournal<TestEntry> journal = createJournal(storageLevel);
+    JournalWriter<TestEntry> writer = journal.writer();
+
+    // Write entries of varying sizes to exercise both the direct and scratch serialization paths.
+    for (int i = 1; i <= 100; i++) {
+      byte[] bytes = new byte[(i * 397) % (1024 * 24)];
+      Arrays.fill(bytes, (byte) i);
+      assertEquals(i, writer.append(new TestEntry(bytes)).index());
+    }
+    writer.flush();
+
+    if (storageLevel != StorageLevel.MEMORY) {
+      journal.close();
+      journal = createJournal(storageLevel);
+      assertEquals(100, journal.writer().getLastIndex());
+    }
+
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= 100; i++) {
+      assertTrue(reader.hasNext());
+      Indexed<TestEntry> indexed = reader.next();
+      assertEquals(i, indexed.index());
+      byte[] bytes = indexed.entry().bytes();
+      assertEquals((i * 397) % (1024 * 24), bytes.length);
+      for (byte b : bytes) {
+        assertEquals((byte) i, b);
+      }
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  @Test
+  public void testPersistedIndex() throws Exception {
+    for (StorageLevel storageLevel : new StorageLevel[]{StorageLevel.DISK, StorageLevel.MAPPED}) {
+      testPersistedIndex(storageLevel);
+      cleanupStorage();
+    }
+  }
+
+  private SegmentedJournal<TestEntry> createIndexedJournal(StorageLevel storageLevel) {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel)
+        .withMaxEntriesPerSegment(10)
+        .withIndexDensity(.5)
+        .build();
+  }
+
+  private void assertEntries(SegmentedJournal<TestEntry> journal, int lastIndex) {
+    assertEquals(lastIndex, journal.writer().getLastIndex());
+    assertEquals(lastIndex, journal.writer().getLastEntry().index());
+    assertEquals(lastIndex, journal.writer().getLastEntry().entry().bytes()[0]);
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= lastIndex; i++) {
+      assertTrue(reader.hasNext());
+      Indexed<TestEntry> indexed = reader.next();
+      assertEquals(i, indexed.index());
+      assertEquals((byte) i, indexed.entry().bytes()[0]);
+    }
+    assertFalse(reader.hasNext());
+    reader.close();
+  }
+
+  private void testPersistedIndex(StorageLevel storageLevel) throws Exception {
+    SegmentedJournal<TestEntry> journal = createIndexedJournal(storageLevel);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 35; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+
+    // Sealed segments' indexes are persisted when the journal rolls over to a new segment.
+    assertTrue(journal.getFirstSegment().file().indexFile().exists());
+    File lastIndexFile = journal.getLastSegment().file().indexFile();
+    assertFalse(lastIndexFile.exists());
+    journal.close();
+    assertTrue(lastIndexFile.exists());
+
+    journal = createIndexedJournal(storageLevel);
+    assertEntries(journal, 35);
+
+    // Truncating a segment prior to its persisted index invalidates the index.
+    journal.writer().truncate(25);
+    assertFalse(journal.getLastSegment().file().indexFile().exists());
+    journal.writer().flush();
+    journal.close();
+
+    journal = createIndexedJournal(storageLevel);
+    assertEntries(journal, 25);
+
+    // Corrupt index files are ignored.
+    File indexFile = journal.getFirstSegment().file().indexFile();
+    journal.close();
+    Files.write(indexFile.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24});
+
+    journal = createIndexedJournal(storageLevel);
+    assertEntries(journal, 25);
+    journal.close();
+  }
+
+  @Test
+  public void testParallelRecovery() throws Exception {
+    SegmentedJournal<TestEntry> journal = createIndexedJournal(StorageLevel.DISK);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 95; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+    journal.close();
+
+    for (int threads : new int[]{1, 4, 16}) {
+      journal = SegmentedJournal.<TestEntry>builder()
+          .withName("test")
+          .withDirectory(PATH.toFile())
+          .withSerializer(serializer)
+          .withStorageLevel(StorageLevel.DISK)
+          .withMaxEntriesPerSegment(10)
+          .withIndexDensity(.5)
+          .withRecoveryThreads(threads)
+          .build();
+      assertEquals(threads, journal.recoveryThreads());
+      assertEquals(10, journal.getLastSegment().descriptor().id());
+      assertEquals(91, journal.getLastSegment().index());
+      assertEntries(journal, 95);
+      journal.close();
+    }
+  }
+
+  @Test
+  public void testSealedSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = createIndexedJournal(StorageLevel.DISK);
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 35; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+
+    // Full segments are sealed and mapped once they're read.
+    JournalSegment<TestEntry> firstSegment = journal.getFirstSegment();
+    assertTrue(firstSegment.isSealed());
+    assertFalse(firstSegment.isMapped());
+    assertFalse(journal.getLastSegment().isSealed());
+    assertEntries(journal, 35);
+    assertTrue(firstSegment.isMapped());
+    assertFalse(journal.getLastSegment().isMapped());
+
+    // Truncating the journal into a sealed segment unseals it, and open readers are moved back to the file.
+    JournalReader<TestEntry> reader = journal.openReader(15);
+    assertEquals(15, reader.next().index());
+    JournalSegment<TestEntry> truncatedSegment = journal.getSegment(15);
+    assertTrue(truncatedSegment.isMapped());
+    writer.truncate(12);
+    assertFalse(truncatedSegment.isSealed());
+    assertFalse(truncatedSegment.isMapped());
+    for (int i = 13; i <= 25; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+    for (int i = 13; i <= 25; i++) {
+      assertTrue(reader.hasNext());
+      Indexed<TestEntry> indexed = reader.next();
+      assertEquals(i, indexed.index());
+      assertEquals((byte) i, indexed.entry().bytes()[0]);
+    }
+    assertFalse(reader.hasNext());
+    reader.close();
+    assertEntries(journal, 25);
+    journal.close();
+
+    // Segments preceding the last segment are sealed when the journal is opened.
+    journal = createIndexedJournal(StorageLevel.DISK);
+    assertTrue(journal.getFirstSegment().isSealed());
+    assertFalse(journal.getLastSegment().isSealed());
+    assertEntries(journal, 25);
+    journal.close();
+  }
+
+  @Test
+  public void testPreallocateSegments() throws Exception {
+    for (StorageLevel storageLevel : new StorageLevel[]{StorageLevel.DISK, StorageLevel.MAPPED}) {
+      testPreallocateSegments(storageLevel);
+      cleanupStorage();
+    }
+  }
+
+  private SegmentedJournal<TestEntry> createPreallocatedJournal(StorageLevel storageLevel) {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel)
+        .withMaxSegmentSize(1024 * 8)
+        .withMaxEntriesPerSegment(10)
+        .withPreallocateSegments()
+        .build();
+  }
+
+  private void testPreallocateSegments(StorageLevel storageLevel) throws Exception {
+    File preallocatedFile = JournalSegmentFile.createPreallocatedFile("test", PATH.toFile());
+    SegmentedJournal<TestEntry> journal = createPreallocatedJournal(storageLevel);
+    assertTrue(journal.isPreallocateSegments());
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 35; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+    assertEquals(4, journal.getLastSegment().descriptor().id());
+    assertEntries(journal, 35);
+
+    // Truncating the journal removes segments, after which the preallocated segment is discarded.
+    writer.truncate(15);
+    for (int i = 16; i <= 25; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+    assertEquals(3, journal.getLastSegment().descriptor().id());
+    assertEntries(journal, 25);
+    journal.close();
+
+    // The preallocated segment file is kept for reuse when the journal is reopened.
+    assertTrue(preallocatedFile.exists());
+    assertEquals(1024 * 8, preallocatedFile.length());
+
+    // A segment prepared in the background but never used by the writer has no first index and is recycled.
+    File unusedFile = JournalSegmentFile.createSegmentFile("test", PATH.toFile(), 4);
+    Files.move(preallocatedFile.toPath(), unusedFile.toPath());
+    journal = createPreallocatedJournal(storageLevel);
+    assertEquals(3, journal.getLastSegment().descriptor().id());
+    assertEntries(journal, 25);
+
+    // Wait for the next segment to be prepared and roll over to it.
+    long startTime = System.currentTimeMillis();
+    while (!unusedFile.exists() || preallocatedFile.exists()) {
+      assertTrue(System.currentTimeMillis() - startTime < 10000);
+      Thread.sleep(10);
+    }
+    writer = journal.writer();
+    for (int i = 26; i <= 35; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+    assertEquals(4, journal.getLastSegment().descriptor().id());
+    assertEquals(31, journal.getLastSegment().descriptor().index());
+    assertEntries(journal, 35);
+    journal.close();
+
+    journal = createPreallocatedJournal(storageLevel);
+    assertEntries(journal, 35);
+    journal.close();
+  }
+
+  @Test
+  public void testCompression() throws Exception {
+    for (StorageLevel storageLevel : StorageLevel.values()) {
+      testCompression(storageLevel);
+      cleanupStorage();
+    }
+  }
+
+  private SegmentedJournal<TestEntry> createCompressedJournal(StorageLevel storageLevel, CompressionType compression) {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel)
+        .withMaxEntriesPerSegment(10)
+        .withIndexDensity(.5)
+        .withCompression(compression)
+        .build();
+  }
+
+  private void testCompression(StorageLevel storageLevel) throws Exception {
+    SegmentedJournal<TestEntry> journal = createCompressedJournal(storageLevel, CompressionType.LZ4);
+    assertEquals(CompressionType.LZ4, journal.compression());
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 25; i++) {
+      byte[] bytes = new byte[128 + i];
+      Arrays.fill(bytes, (byte) i);
+      Indexed<TestEntry> indexed = writer.append(new TestEntry(bytes));
+      assertTrue(indexed.size() < bytes.length);
+    }
+    writer.flush();
+    assertEquals(CompressionType.LZ4, journal.getFirstSegment().descriptor().compression());
+    assertEntries(journal, 25);
+
+    writer.truncate(15);
+    assertEntries(journal, 15);
+    writer.flush();
+
+    if (storageLevel == StorageLevel.MEMORY) {
+      journal.close();
+      return;
+    }
+    journal.close();
+
+    // Segments written with compression remain readable when compression is disabled.
+    journal = createCompressedJournal(storageLevel, CompressionType.NONE);
+    assertEntries(journal, 15);
+    writer = journal.writer();
+    for (int i = 16; i <= 35; i++) {
+      byte[] bytes = new byte[128 + i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+    }
+    writer.flush();
+    assertEquals(CompressionType.LZ4, journal.getFirstSegment().descriptor().compression());
+    assertEquals(CompressionType.NONE, journal.getLastSegment().descriptor().compression());
+    journal.close();
+
+    journal = createCompressedJournal(storageLevel, CompressionType.LZ4);
+    assertEntries(journal, 35);
+    journal.close();
+  }
+
+  @Test
+  public void testCompressedBlocks() throws Exception {
+    for (StorageLevel storageLevel : StorageLevel.values()) {
+      testCompressedBlocks(storageLevel, 0);
+      cleanupStorage();
+      testCompressedBlocks(storageLevel, 16);
+      cleanupStorage();
+    }
+  }
+
+  private SegmentedJournal<TestEntry> createBlockJournal(
+      String name, StorageLevel storageLevel, CompressionType compression, int cacheSize) {
+    return SegmentedJournal.<TestEntry>builder()
+        .withName(name)
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel)
+        .withMaxEntriesPerSegment(100)
+        .withIndexDensity(.1)
+        .withCacheSize(cacheSize)
+        .withCompression(compression)
+        .build();
+  }
+
+  /**
+   * Returns a small entry resembling a serialized map update, with the entry index as its first byte.
+   */
+  private static TestEntry blockEntry(int index) {
+    byte[] update = ("{\"op\":\"put\",\"key\":\"key-" + index + "\",\"value\":\"value-" + index * 31 + "\"}").getBytes();
+    byte[] bytes = new byte[update.length + 1];
+    bytes[0] = (byte) index;
+    System.arraycopy(update, 0, bytes, 1, update.length);
+    return new TestEntry(bytes);
+  }
+
+  private void testCompressedBlocks(StorageLevel storageLevel, int cacheSize) throws Exception {
+    SegmentedJournal<TestEntry> uncompressed = createBlockJournal("raw", storageLevel, CompressionType.NONE, cacheSize);
+    SegmentedJournal<TestEntry> journal = createBlockJournal("test", storageLevel, CompressionType.LZ4, cacheSize);
+    long uncompressedSize = 0;
+    long compressedSize = 0;
+    for (int i = 1; i <= 250; i++) {
+      uncompressedSize += uncompressed.writer().append(blockEntry(i)).size();
+      compressedSize += journal.writer().append(blockEntry(i)).size();
+    }
+    uncompressed.close();
+
+    // Small entries are compressed against the preceding entries in their block.
+    assertTrue(compressedSize * 4 < uncompressedSize * 3);
+    assertBlockEntries(journal, 250);
+
+    // Seek into the middle of blocks and to block boundaries.
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i : new int[]{5, 10, 11, 99, 100, 101, 187, 2, 250}) {
+      reader.reset(i);
+      assertTrue(reader.hasNext());
+      Indexed<TestEntry> indexed = reader.next();
+      assertEquals(i, indexed.index());
+      assertArrayEquals(blockEntry(i).bytes(), indexed.entry().bytes());
+    }
+    reader.close();
+
+    // Truncate within a block and append new entries following the truncated entry.
+    journal.writer().truncate(155);
+    assertArrayEquals(blockEntry(155).bytes(), journal.writer().getLastEntry().entry().bytes());
+    for (int i = 156; i <= 175; i++) {
+      journal.writer().append(blockEntry(i));
+    }
+    journal.writer().flush();
+    assertBlockEntries(journal, 175);
+    journal.close();
+
+    if (storageLevel == StorageLevel.MEMORY) {
+      return;
+    }
+
+    journal = createBlockJournal("test", storageLevel, CompressionType.LZ4, cacheSize);
+    assertArrayEquals(blockEntry(175).bytes(), journal.writer().getLastEntry().entry().bytes());
+    for (int i = 176; i <= 180; i++) {
+      journal.writer().append(blockEntry(i));
+    }
+    assertBlockEntries(journal, 180);
+    journal.close();
+  }
+
+  private void assertBlockEntries(SegmentedJournal<TestEntry> journal, int lastIndex) {
+    assertEquals(lastIndex, journal.writer().getLastIndex());
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= lastIndex; i++) {
+      assertTrue(reader.hasNext());
+      Indexed<TestEntry> indexed = reader.next();
+      assertEquals(i, indexed.index());
+      assertArrayEquals(blockEntry(i).bytes(), indexed.entry().bytes());
+    }
+    assertFalse(reader.hasNext());
+    reader.close();
+  }
+
+  @Test
+  public void testSynchronousWrites() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withMaxEntriesPerSegment(10)
+        .withSynchronousWrites()
+        .build();
+    assertTrue(journal.isSynchronousWrites());
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 1; i <= 25; i++) {
+      byte[] bytes = new byte[i];
+      Arrays.fill(bytes, (byte) i);
+      writer.append(new TestEntry(bytes));
+      writer.flush();
+    }
+    assertEntries(journal, 25);
+    writer.truncate(18);
+    assertEntries(journal, 18);
+    journal.close();
+
+    journal = createJournal(StorageLevel.DISK);
+    assertFalse(journal.isSynchronousWrites());
+    assertEntries(journal, 18);
+    journal.close();
+  }
+
+  @Test
+  public void testGroupCommit() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withGroupCommitSize(1024)
+        .withGroupCommitWindow(Duration.ofMinutes(1))
+        .build();
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    assertTrue(writer.isGroupCommit());
+
+    writer.append(new TestEntry(32));
+    CompletableFuture<Void> future1 = writer.commit();
+    writer.append(new TestEntry(32));
+    CompletableFuture<Void> future2 = writer.commit();
+    assertFalse(future1.isDone());
+    assertFalse(future2.isDone());
+
+    // Exceeding the group commit size should flush the batch and complete all pending commits.
+    for (int i = 0; i < 32; i++) {
+      writer.append(new TestEntry(32));
+    }
+    CompletableFuture<Void> future3 = writer.commit();
+    assertTrue(future1.isDone());
+    assertTrue(future2.isDone());
+    assertTrue(future3.isDone());
+
+    // Commits with no unflushed entries complete immediately.
+    assertTrue(writer.commit().isDone());
+
+    writer.append(new TestEntry(32));
+    CompletableFuture<Void> future4 = writer.commit();
+    assertFalse(future4.isDone());
+    writer.flush();
+    assertTrue(future4.isDone());
+    journal.close();
+  }
+
+  @Test
+  public void testFlushAsync() throws Exception {
+    for (StorageLevel storageLevel : StorageLevel.values()) {
+      testFlushAsync(storageLevel);
+      cleanupStorage();
+    }
+  }
+
+  private void testFlushAsync(StorageLevel storageLevel) throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(storageLevel)
+        .withMaxEntriesPerSegment(10)
+        .build();
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    List<Runnable> flushes = new ArrayList<>();
+
+    // A flush reports the last index written prior to the flush, not entries appended while it is pending.
+    for (int i = 1; i <= 5; i++) {
+      writer.append(new TestEntry(32));
+    }
+    CompletableFuture<Long> future1 = writer.flushAsync(flushes::add);
+    writer.append(new TestEntry(32));
+    flushes.remove(0).run();
+    assertEquals(Long.valueOf(5), future1.get());
+
+    // Rolling and compacting the flushed segment while the flush is pending aborts the flush.
+    CompletableFuture<Long> future2 = writer.flushAsync(flushes::add);
+    for (int i = 7; i <= 25; i++) {
+      writer.append(new TestEntry(32));
+    }
+    journal.compact(25);
+    assertEquals(21, journal.getFirstSegment().index());
+    flushes.remove(0).run();
+    assertFlushAborted(future2);
+
+    // Truncating the journal below the flushed index while the flush is pending aborts the flush.
+    CompletableFuture<Long> future3 = writer.flushAsync(flushes::add);
+    writer.truncate(22);
+    writer.append(new TestEntry(32));
+    flushes.remove(0).run();
+    assertFlushAborted(future3);
+
+    // Subsequent flushes complete normally.
+    CompletableFuture<Long> future4 = writer.flushAsync(flushes::add);
+    flushes.remove(0).run();
+    assertEquals(Long.valueOf(23), future4.get());
+    journal.close();
+  }
+
+  private void assertFlushAborted(CompletableFuture<Long> future) throws Exception {
+    try {
+      future.get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof StorageException.FlushAborted);
+    }
+  }
+
+  @Test
+  public void testGroupCommitSizeOnly() throws Exception {
+    SegmentedJournal<TestEntry> journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withGroupCommitSize(1024)
+        .build();
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    assertTrue(writer.isGroupCommit());
+
+    // Without a window or maximum delay, pending commits are only flushed once the group commit size is reached.
+    writer.append(new TestEntry(32));
+    CompletableFuture<Void> future1 = writer.commit();
+    Thread.sleep(10);
+    writer.flushExpired();
+    assertFalse(future1.isDone());
+    for (int i = 0; i < 32; i++) {
+      writer.append(new TestEntry(32));
+    }
+    writer.commit();
+    assertTrue(future1.isDone());
+    journal.close();
+
+    journal = SegmentedJournal.<TestEntry>builder()
+        .withName("test")
+        .withDirectory(PATH.toFile())
+        .withSerializer(serializer)
+        .withStorageLevel(StorageLevel.DISK)
+        .withGroupCommitSize(1024)
+        .withGroupCommitMaxDelay(Duration.ofMillis(10))
+        .build();
+    writer = journal.writer();
+
+    // The maximum delay bounds the time for which pending commits wait for the group commit size.
+    writer.append(new TestEntry(32));
+    CompletableFuture<Void> future2 = writer.commit();
+    writer.flushExpired();
+    assertFalse(future2.isDone());
+    Thread.sleep(20);
+    writer.flushExpired();
+    assertTrue(future2.isDone());
+    journal.close();
+  }
+
   @Before
   @After
   public void cleanupStorage() throws IOException {
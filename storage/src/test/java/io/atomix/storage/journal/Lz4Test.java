@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import io.atomix.storage.StorageException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * LZ4 codec test.
+ */
+public class Lz4Test {
+  private final int[] table = new int[1 << Lz4.HASH_LOG];
+
+  @Test
+  public void testRoundTripRandom() {
+    Random random = new Random(1);
+    for (int length : new int[]{0, 1, 12, 13, 64, 1000, 65536 + 100}) {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      assertRoundTrip(bytes);
+    }
+  }
+
+  @Test
+  public void testRoundTripRepetitive() {
+    for (int length : new int[]{64, 1000, 70000}) {
+      byte[] bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) (i % 7);
+      }
+      int compressedLength = assertRoundTrip(bytes);
+      assertTrue(compressedLength < length);
+
+      Arrays.fill(bytes, (byte) 1);
+      compressedLength = assertRoundTrip(bytes);
+      assertTrue(compressedLength < length);
+    }
+  }
+
+  @Test
+  public void testRoundTripMixed() {
+    Random random = new Random(2);
+    byte[] bytes = new byte[10000];
+    for (int i = 0; i < bytes.length; i += 100) {
+      if ((i / 100) % 2 == 0) {
+        Arrays.fill(bytes, i, i + 100, (byte) i);
+      } else {
+        byte[] chunk = new byte[100];
+        random.nextBytes(chunk);
+        System.arraycopy(chunk, 0, bytes, i, 100);
+      }
+    }
+    assertRoundTrip(bytes);
+  }
+
+  @Test
+  public void testMalformedInput() {
+    byte[] bytes = new byte[256];
+    Arrays.fill(bytes, (byte) 3);
+    byte[] compressed = new byte[Lz4.maxCompressedLength(bytes.length)];
+    int compressedLength = Lz4.compress(bytes, 0, bytes.length, compressed, 0, table);
+    try {
+      Lz4.decompress(compressed, 0, compressedLength - 1, new byte[bytes.length], 0, bytes.length);
+      fail();
+    } catch (StorageException e) {
+    }
+    try {
+      Lz4.decompress(compressed, 0, compressedLength, new byte[bytes.length + 1], 0, bytes.length + 1);
+      fail();
+    } catch (StorageException e) {
+    }
+  }
+
+  @Test
+  public void testEntryCompressor() {
+    JournalEntryCompressor compressor = new JournalEntryCompressor();
+    byte[] small = new byte[]{1, 2, 3};
+    ByteBuffer stored = compressor.compress(ByteBuffer.wrap(small));
+    assertEquals(small.length + 1, stored.remaining());
+    byte[] bytes = Arrays.copyOf(stored.array(), stored.limit());
+    assertArrayEquals(small, Arrays.copyOf(compressor.decompress(bytes, bytes.length), small.length));
+
+    byte[] large = new byte[4096];
+    Arrays.fill(large, (byte) 5);
+    stored = compressor.compress(ByteBuffer.wrap(large));
+    assertTrue(stored.remaining() < large.length);
+    bytes = Arrays.copyOf(stored.array(), stored.limit());
+    assertArrayEquals(large, Arrays.copyOf(compressor.decompress(bytes, bytes.length), large.length));
+  }
+
+  @Test
+  public void testRoundTripDictionary() {
+    byte[] bytes = new byte[200];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (i % 100 < 50 ? i % 100 : i * 7);
+    }
+
+    // Compress the second half of the bytes using the first half as a dictionary.
+    Lz4.reset(table);
+    byte[] compressed = new byte[Lz4.maxCompressedLength(bytes.length)];
+    Lz4.compress(bytes, 0, 0, 100, compressed, 0, table);
+    int compressedLength = Lz4.compress(bytes, 0, 100, 100, compressed, 0, table);
+    assertTrue(compressedLength < 100);
+
+    byte[] decompressed = Arrays.copyOf(bytes, bytes.length);
+    Arrays.fill(decompressed, 100, 200, (byte) 0);
+    Lz4.decompress(compressed, 0, compressedLength, decompressed, 0, 100, 100);
+    assertArrayEquals(bytes, decompressed);
+
+    // Matches can't reference bytes preceding the dictionary.
+    try {
+      Lz4.decompress(compressed, 0, compressedLength, decompressed, 100, 100, 100);
+      fail();
+    } catch (StorageException e) {
+    }
+  }
+
+  @Test
+  public void testLinkedEntries() {
+    JournalEntryCompressor compressor = new JournalEntryCompressor();
+    JournalEntryCompressor decompressor = new JournalEntryCompressor();
+    byte[][] stored = new byte[20][];
+    for (int i = 0; i < stored.length; i++) {
+      if (i == 10) {
+        compressor.reset();
+      }
+      byte[] entry = ("{\"key\":\"key-" + i + "\",\"value\":\"value-" + i + "\"}").getBytes();
+      ByteBuffer buffer = compressor.compress(ByteBuffer.wrap(entry));
+      stored[i] = Arrays.copyOf(buffer.array(), buffer.limit());
+      assertEquals(i != 0 && i != 10, JournalEntryCompressor.isLinked(stored[i][0]));
+      if (JournalEntryCompressor.isLinked(stored[i][0])) {
+        assertTrue(stored[i].length < entry.length);
+      }
+      assertArrayEquals(entry, Arrays.copyOf(decompressor.decompress(stored[i], stored[i].length), entry.length));
+    }
+
+    // The first entry in a block can be decompressed without the preceding entries.
+    decompressor = new JournalEntryCompressor();
+    byte[] entry = ("{\"key\":\"key-10\",\"value\":\"value-10\"}").getBytes();
+    assertArrayEquals(entry, Arrays.copyOf(decompressor.decompress(stored[10], stored[10].length), entry.length));
+  }
+
+  private int assertRoundTrip(byte[] bytes) {
+    byte[] compressed = new byte[Lz4.maxCompressedLength(bytes.length) + 3];
+    int compressedLength = Lz4.compress(bytes, 0, bytes.length, compressed, 3, table);
+    assertTrue(compressedLength <= Lz4.maxCompressedLength(bytes.length));
+    byte[] decompressed = new byte[bytes.length + 2];
+    Lz4.decompress(compressed, 3, compressedLength, decompressed, 2, bytes.length);
+    assertArrayEquals(bytes, Arrays.copyOfRange(decompressed, 2, decompressed.length));
+    return compressedLength;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal.index;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dense journal index test.
+ */
+public class DenseJournalIndexTest {
+  private static final File file = new File("target/test-index.index");
+
+  @Test
+  public void testDenseJournalIndex() throws Exception {
+    JournalIndex index = new DenseJournalIndex(.2);
+    assertNull(index.lookup(1));
+    assertFalse(index.index(1, 2));
+    assertNull(index.lookup(1));
+    index.index(2, 4);
+    index.index(3, 6);
+    index.index(4, 8);
+    assertTrue(index.index(5, 10));
+    assertEquals(5, index.lookup(5).index());
+    assertEquals(10, index.lookup(5).position());
+    index.index(6, 12);
+    index.index(7, 14);
+    index.index(8, 16);
+    assertEquals(5, index.lookup(8).index());
+    assertEquals(10, index.lookup(8).position());
+    index.index(9, 18);
+    index.index(10, 20);
+    assertEquals(10, index.lookup(10).index());
+    assertEquals(20, index.lookup(10).position());
+    index.truncate(8);
+    assertEquals(5, index.lookup(8).index());
+    assertEquals(10, index.lookup(8).position());
+    assertEquals(5, index.lookup(10).index());
+    assertEquals(10, index.lookup(10).position());
+    index.truncate(4);
+    assertNull(index.lookup(4));
+    assertNull(index.lookup(8));
+
+    index = new DenseJournalIndex(1);
+    for (int i = 101; i <= 1100; i++) {
+      index.index(i, i * 2);
+    }
+    for (int i = 101; i <= 1100; i++) {
+      assertEquals(i, index.lookup(i).index());
+      assertEquals(i * 2, index.lookup(i).position());
+    }
+    assertNull(index.lookup(100));
+    assertEquals(1100, index.lookup(Long.MAX_VALUE).index());
+
+    // Indexing an entry at its indexed position leaves the index unchanged.
+    assertTrue(index.index(1100, 2200));
+    assertEquals(1100, index.lookup(Long.MAX_VALUE).index());
+
+    // Rewriting an entry replaces all following entries.
+    assertTrue(index.index(500, 10));
+    assertEquals(500, index.lookup(Long.MAX_VALUE).index());
+    assertEquals(10, index.lookup(600).position());
+    assertEquals(998, index.lookup(499).position());
+  }
+
+  @Test
+  public void testPersistIndex() throws Exception {
+    DenseJournalIndex index = new DenseJournalIndex(.5, file, 1);
+    assertFalse(index.load());
+    for (int i = 1; i <= 100; i++) {
+      index.index(i, i * 10);
+    }
+    index.persist();
+    assertTrue(file.exists());
+
+    index = new DenseJournalIndex(.5, file, 1);
+    assertTrue(index.load());
+    assertEquals(50, index.size());
+    assertEquals(100, index.lookup(101).index());
+    assertEquals(1000, index.lookup(101).position());
+    assertEquals(50, index.lookup(51).index());
+    assertEquals(500, index.lookup(51).position());
+
+    // An index for a different segment is not loaded.
+    assertFalse(new DenseJournalIndex(.5, file, 2).load());
+
+    // Truncating after the last persisted entry does not invalidate the index file.
+    index.truncate(100);
+    assertTrue(file.exists());
+
+    // Truncating prior to the last persisted entry deletes the index file.
+    index.truncate(50);
+    assertFalse(file.exists());
+    index.persist();
+    index = new DenseJournalIndex(.5, file, 1);
+    assertTrue(index.load());
+    assertEquals(25, index.size());
+
+    // Corrupt index files are not loaded.
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    bytes[bytes.length / 2] ^= 1;
+    Files.write(file.toPath(), bytes);
+    index = new DenseJournalIndex(.5, file, 1);
+    assertFalse(index.load());
+    assertEquals(0, index.size());
+  }
+
+  @After
+  public void deleteIndex() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+}
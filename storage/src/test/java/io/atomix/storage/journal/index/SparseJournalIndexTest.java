@@ -18,7 +18,9 @@ package io.atomix.storage.journal.index;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Sparse journal index test.
@@ -28,12 +30,12 @@ public class SparseJournalIndexTest {
   public void testSparseJournalIndex() throws Exception {
     JournalIndex index = new SparseJournalIndex(.2);
     assertNull(index.lookup(1));
-    index.index(1, 2);
+    assertFalse(index.index(1, 2));
     assertNull(index.lookup(1));
     index.index(2, 4);
     index.index(3, 6);
     index.index(4, 8);
-    index.index(5, 10);
+    assertTrue(index.index(5, 10));
     assertEquals(5, index.lookup(5).index());
     assertEquals(10, index.lookup(5).position());
     index.index(6, 12);
@@ -70,6 +70,8 @@ import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftClientProtocol;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
@@ -174,6 +176,8 @@ public class RaftFuzzTest implements Runnable {
       .register(VoteResponse.class)
       .register(AppendRequest.class)
       .register(AppendResponse.class)
+      .register(ReadIndexRequest.class)
+      .register(ReadIndexResponse.class)
       .register(PublishRequest.class)
       .register(ResetRequest.class)
       .register(RaftResponse.Status.class)
@@ -46,6 +46,8 @@ import io.atomix.protocols.raft.protocol.PublishRequest;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
@@ -81,6 +83,7 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
   private Function<PollRequest, CompletableFuture<PollResponse>> pollHandler;
   private Function<VoteRequest, CompletableFuture<VoteResponse>> voteHandler;
   private Function<TransferRequest, CompletableFuture<TransferResponse>> transferHandler;
+  private Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> readIndexHandler;
   private Function<AppendRequest, CompletableFuture<AppendResponse>> appendHandler;
   private final Map<Long, Consumer<ResetRequest>> resetListeners = Maps.newConcurrentMap();
 
@@ -167,6 +170,11 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
     return getServer(memberId).thenCompose(listener -> listener.install(encode(request))).thenApply(this::decode);
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(MemberId memberId, ReadIndexRequest request) {
+    return getServer(memberId).thenCompose(listener -> listener.readIndex(encode(request))).thenApply(this::decode);
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(MemberId memberId, PollRequest request) {
     return getServer(memberId).thenCompose(listener -> listener.poll(encode(request))).thenApply(this::decode);
@@ -436,6 +444,24 @@ public class LocalRaftServerProtocol extends LocalRaftProtocol implements RaftSe
     this.transferHandler = null;
   }
 
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    this.readIndexHandler = handler;
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    this.readIndexHandler = null;
+  }
+
+  CompletableFuture<byte[]> readIndex(byte[] request) {
+    if (readIndexHandler != null) {
+      return readIndexHandler.apply(decode(request)).thenApply(this::encode);
+    } else {
+      return Futures.exceptionalFuture(new ConnectException());
+    }
+  }
+
   CompletableFuture<byte[]> transfer(byte[] request) {
     if (transferHandler != null) {
       return transferHandler.apply(decode(request)).thenApply(this::encode);
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.test;
+
+import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.DirectBytes;
+import io.atomix.storage.buffer.HeapBytes;
+import io.atomix.storage.buffer.UnsafeDirectBytes;
+import io.atomix.storage.buffer.UnsafeHeapBytes;
+import io.atomix.storage.buffer.VarHandleHeapBytes;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Bytes performance test.
+ * <p>
+ * Compares the throughput of the {@link java.nio.ByteBuffer} based, {@code sun.misc.Unsafe} based and
+ * {@code VarHandle} based {@link Bytes} implementations for primitive reads and writes and bulk copies. The
+ * {@code VarHandle} based heap implementation is only measured on JVMs that support it.
+ */
+public class BytesPerformanceTest implements Runnable {
+
+  private static final int ITERATIONS = 5;
+  private static final int SIZE = 1024 * 64;
+  private static final int PASSES = 2000;
+
+  /**
+   * Runs the test.
+   * <p>
+   * Because the {@link Bytes} call sites become megamorphic when several implementations are measured in the same
+   * JVM, the name of a single implementation to measure may be passed as an argument.
+   */
+  public static void main(String[] args) {
+    new BytesPerformanceTest(args.length > 0 ? args[0] : null).run();
+  }
+
+  private final String implementation;
+  private long blackhole;
+
+  public BytesPerformanceTest(String implementation) {
+    this.implementation = implementation;
+  }
+
+  @Override
+  public void run() {
+    Map<String, IntFunction<Bytes>> factories = new LinkedHashMap<>();
+    factories.put("HeapBytes", size -> new HeapBytes(ByteBuffer.allocate(size)) {
+    });
+    factories.put("UnsafeHeapBytes", UnsafeHeapBytes::allocate);
+    if (VarHandleHeapBytes.isAvailable()) {
+      factories.put("VarHandleHeapBytes", VarHandleHeapBytes::allocate);
+    }
+    factories.put("DirectBytes", DirectBytes::allocate);
+    factories.put("UnsafeDirectBytes", UnsafeDirectBytes::allocate);
+    if (implementation != null) {
+      factories.keySet().retainAll(Collections.singleton(implementation));
+    }
+
+    for (int i = 0; i < ITERATIONS; i++) {
+      System.out.println("Iteration " + (i + 1));
+      for (Map.Entry<String, IntFunction<Bytes>> entry : factories.entrySet()) {
+        Bytes bytes = entry.getValue().apply(SIZE);
+        Bytes target = entry.getValue().apply(SIZE);
+        System.out.println(String.format("%-22s longs: %6.2f ns/op  ints: %6.2f ns/op  copy: %8.2f ns/KB",
+            entry.getKey(), runLongs(bytes), runInts(bytes), runCopy(bytes, target)));
+        bytes.close();
+        target.close();
+      }
+    }
+    System.out.println(blackhole == 42 ? "" : "Done");
+  }
+
+  /**
+   * Writes and reads longs, returning the average time per operation in nanoseconds.
+   */
+  private double runLongs(Bytes bytes) {
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int pass = 0; pass < PASSES; pass++) {
+      for (int offset = 0; offset < SIZE; offset += Long.BYTES) {
+        bytes.writeLong(offset, offset + pass);
+      }
+      for (int offset = 0; offset < SIZE; offset += Long.BYTES) {
+        sum += bytes.readLong(offset);
+      }
+    }
+    blackhole += sum;
+    return (System.nanoTime() - start) / ((double) PASSES * SIZE / Long.BYTES * 2);
+  }
+
+  /**
+   * Writes and reads ints, returning the average time per operation in nanoseconds.
+   */
+  private double runInts(Bytes bytes) {
+    long start = System.nanoTime();
+    long sum = 0;
+    for (int pass = 0; pass < PASSES; pass++) {
+      for (int offset = 0; offset < SIZE; offset += Integer.BYTES) {
+        bytes.writeInt(offset, offset + pass);
+      }
+      for (int offset = 0; offset < SIZE; offset += Integer.BYTES) {
+        sum += bytes.readInt(offset);
+      }
+    }
+    blackhole += sum;
+    return (System.nanoTime() - start) / ((double) PASSES * SIZE / Integer.BYTES * 2);
+  }
+
+  /**
+   * Copies bytes between buffers, returning the average time per kilobyte in nanoseconds.
+   */
+  private double runCopy(Bytes source, Bytes target) {
+    byte[] array = new byte[SIZE];
+    long start = System.nanoTime();
+    for (int pass = 0; pass < PASSES / 10; pass++) {
+      source.read(0, array, 0, SIZE);
+      target.write(0, array, 0, SIZE);
+    }
+    blackhole += target.readByte(SIZE - 1);
+    return (System.nanoTime() - start) / ((double) PASSES / 10 * SIZE / 1024 * 2);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.test;
+
+import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.JournalWriter;
+import io.atomix.storage.journal.SegmentedJournal;
+import io.atomix.utils.serializer.Namespace;
+import io.atomix.utils.serializer.Serializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal write performance test.
+ * <p>
+ * Compares the commit latency of {@link StorageLevel#DISK} journals that force segment files to disk on flush with
+ * journals that write segment files synchronously. Each iteration appends a batch of entries and flushes the journal,
+ * simulating a Raft commit.
+ */
+public class JournalPerformanceTest implements Runnable {
+
+  private static final int ITERATIONS = 3;
+  private static final int WARMUP_COMMITS = 1000;
+  private static final int TOTAL_COMMITS = 10000;
+  private static final int ENTRIES_PER_COMMIT = 4;
+  private static final int ENTRY_SIZE = 256;
+
+  private static final Serializer SERIALIZER = Serializer.using(Namespace.builder()
+      .register(byte[].class)
+      .build());
+
+  /**
+   * Runs the test.
+   */
+  public static void main(String[] args) {
+    new JournalPerformanceTest().run();
+  }
+
+  @Override
+  public void run() {
+    for (int i = 0; i < ITERATIONS; i++) {
+      try {
+        runIteration(false);
+        runIteration(true);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * Runs a single iteration of the test.
+   *
+   * @param synchronousWrites whether to write the journal synchronously
+   */
+  private void runIteration(boolean synchronousWrites) throws IOException {
+    Path directory = Files.createTempDirectory("atomix-journal-performance");
+    try {
+      SegmentedJournal<byte[]> journal = SegmentedJournal.<byte[]>builder()
+          .withName("test")
+          .withDirectory(directory.toFile())
+          .withSerializer(SERIALIZER)
+          .withStorageLevel(StorageLevel.DISK)
+          .withSynchronousWrites(synchronousWrites)
+          .build();
+
+      byte[] entry = new byte[ENTRY_SIZE];
+      JournalWriter<byte[]> writer = journal.writer();
+      for (int i = 0; i < WARMUP_COMMITS; i++) {
+        commit(writer, entry);
+      }
+
+      long[] latencies = new long[TOTAL_COMMITS];
+      long startTime = System.nanoTime();
+      for (int i = 0; i < TOTAL_COMMITS; i++) {
+        long commitTime = System.nanoTime();
+        commit(writer, entry);
+        latencies[i] = System.nanoTime() - commitTime;
+      }
+      long runTime = System.nanoTime() - startTime;
+      journal.close();
+
+      Arrays.sort(latencies);
+      System.out.println(String.format(
+          "mode: %s, commits: %d, entries/commit: %d, throughput: %d commits/s, p50: %dus, p99: %dus, p99.9: %dus, max: %dus",
+          synchronousWrites ? "dsync" : "force-on-flush",
+          TOTAL_COMMITS,
+          ENTRIES_PER_COMMIT,
+          TOTAL_COMMITS * TimeUnit.SECONDS.toNanos(1) / runTime,
+          micros(percentile(latencies, .5)),
+          micros(percentile(latencies, .99)),
+          micros(percentile(latencies, .999)),
+          micros(latencies[latencies.length - 1])));
+    } finally {
+      Files.walk(directory)
+          .sorted(Comparator.reverseOrder())
+          .map(Path::toFile)
+          .forEach(File::delete);
+    }
+  }
+
+  /**
+   * Appends a batch of entries to the journal and flushes the journal.
+   */
+  private void commit(JournalWriter<byte[]> writer, byte[] entry) {
+    for (int i = 0; i < ENTRIES_PER_COMMIT; i++) {
+      writer.append(entry);
+    }
+    writer.flush();
+  }
+
+  private static long percentile(long[] sortedLatencies, double percentile) {
+    return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, sortedLatencies.length * percentile)];
+  }
+
+  private static long micros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
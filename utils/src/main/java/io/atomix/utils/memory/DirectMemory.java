@@ -32,8 +32,35 @@ public class DirectMemory extends NativeMemory {
     return new DirectMemoryAllocator().allocate(size);
   }
 
+  private final MemoryBudget budget;
+  private boolean accounted = true;
+
   public DirectMemory(long address, int size, DirectMemoryAllocator allocator) {
     super(address, size, allocator);
+    this.budget = allocator.budget();
+  }
+
+  /**
+   * Returns the budget to which the memory is charged.
+   */
+  MemoryBudget budget() {
+    return budget;
+  }
+
+  /**
+   * Transfers the memory's budget charge to memory reallocated from it.
+   */
+  void detach() {
+    accounted = false;
+  }
+
+  @Override
+  public void free() {
+    if (address() != 0 && accounted) {
+      accounted = false;
+      budget.release(size());
+    }
+    super.free();
   }
 
 }
@@ -15,23 +15,79 @@
  */
 package io.atomix.utils.memory;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Direct memory allocator.
+ * <p>
+ * Allocated memory is charged to the {@link MemoryAccountant} budget for the allocator's {@link MemoryCategory}
+ * until it is {@link Memory#free() freed}. If the budget is exhausted, allocation blocks until memory is released
+ * or the budget's maximum wait time elapses.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class DirectMemoryAllocator implements MemoryAllocator<NativeMemory> {
+  private final MemoryBudget budget;
+
+  public DirectMemoryAllocator() {
+    this(MemoryCategory.DEFAULT);
+  }
+
+  public DirectMemoryAllocator(MemoryCategory category) {
+    this.budget = MemoryAccountant.instance().budget(checkNotNull(category, "category cannot be null"));
+  }
+
+  /**
+   * Returns the budget to which allocated memory is charged.
+   *
+   * @return the budget to which allocated memory is charged
+   */
+  MemoryBudget budget() {
+    return budget;
+  }
 
   @Override
   public DirectMemory allocate(int size) {
-    DirectMemory memory = new DirectMemory(DirectMemory.UNSAFE.allocateMemory(size), size, this);
+    budget.reserve(size);
+    long address;
+    try {
+      address = DirectMemory.UNSAFE.allocateMemory(size);
+    } catch (OutOfMemoryError e) {
+      budget.release(size);
+      throw e;
+    }
+    DirectMemory memory = new DirectMemory(address, size, this);
     DirectMemory.UNSAFE.setMemory(memory.address(), size, (byte) 0);
     return memory;
   }
 
   @Override
   public DirectMemory reallocate(NativeMemory memory, int size) {
-    DirectMemory newMemory = new DirectMemory(DirectMemory.UNSAFE.reallocateMemory(memory.address(), size), size, this);
+    // Only the difference in size is charged when the existing memory is already accounted for by this budget.
+    boolean accounted = memory instanceof DirectMemory && ((DirectMemory) memory).budget() == budget;
+    long delta = accounted ? (long) size - memory.size() : size;
+    if (delta > 0) {
+      budget.reserve(delta);
+    }
+
+    long address;
+    try {
+      address = DirectMemory.UNSAFE.reallocateMemory(memory.address(), size);
+    } catch (OutOfMemoryError e) {
+      if (delta > 0) {
+        budget.release(delta);
+      }
+      throw e;
+    }
+
+    if (accounted) {
+      ((DirectMemory) memory).detach();
+      if (delta < 0) {
+        budget.release(-delta);
+      }
+    }
+
+    DirectMemory newMemory = new DirectMemory(address, size, this);
     if (newMemory.size() > memory.size()) {
       DirectMemory.UNSAFE.setMemory(newMemory.address(), newMemory.size() - memory.size(), (byte) 0);
     }
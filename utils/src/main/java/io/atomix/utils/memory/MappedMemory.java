@@ -62,12 +62,20 @@ public class MappedMemory extends NativeMemory {
   }
 
   private final MappedByteBuffer buffer;
+  private boolean accounted = true;
 
   public MappedMemory(MappedByteBuffer buffer, MappedMemoryAllocator allocator) {
     super(((DirectBuffer) buffer).address(), buffer.capacity(), allocator);
     this.buffer = buffer;
   }
 
+  /**
+   * Transfers the memory's budget charge to memory reallocated from it.
+   */
+  void detach() {
+    accounted = false;
+  }
+
   /**
    * Flushes the mapped buffer to disk.
    */
@@ -77,6 +85,10 @@ public class MappedMemory extends NativeMemory {
 
   @Override
   public void free() {
+    if (accounted) {
+      accounted = false;
+      ((MappedMemoryAllocator) allocator).budget().release(size());
+    }
     Util.CLEANER.freeDirectBuffer(buffer);
     ((MappedMemoryAllocator) allocator).release();
   }
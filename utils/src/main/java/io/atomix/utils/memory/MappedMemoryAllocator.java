@@ -28,6 +28,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * supports allocating memory in any {@link FileChannel.MapMode}. Once the file is mapped and the
  * memory has been allocated, the mapped allocator provides the memory address of the underlying
  * {@link java.nio.MappedByteBuffer} for access via {@link sun.misc.Unsafe}.
+ * <p>
+ * Mapped memory is charged to the {@link MemoryAccountant} budget for the allocator's {@link MemoryCategory} until
+ * it is {@link Memory#free() freed}.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -39,6 +42,7 @@ public class MappedMemoryAllocator implements MemoryAllocator<MappedMemory> {
   private final FileChannel channel;
   private final FileChannel.MapMode mode;
   private final long offset;
+  private final MemoryBudget budget;
 
   public MappedMemoryAllocator(File file) {
     this(file, DEFAULT_MAP_MODE, 0);
@@ -53,16 +57,23 @@ public class MappedMemoryAllocator implements MemoryAllocator<MappedMemory> {
   }
 
   public MappedMemoryAllocator(RandomAccessFile file, FileChannel.MapMode mode, long offset) {
+    this(file, mode, offset, MemoryCategory.DEFAULT);
+  }
+
+  public MappedMemoryAllocator(RandomAccessFile file, FileChannel.MapMode mode, long offset, MemoryCategory category) {
     if (file == null)
       throw new NullPointerException("file cannot be null");
     if (mode == null)
       throw new NullPointerException("mode cannot be null");
     if (offset < 0)
       throw new IllegalArgumentException("offset cannot be negative");
+    if (category == null)
+      throw new NullPointerException("category cannot be null");
     this.file = file;
     this.channel = this.file.getChannel();
     this.mode = mode;
     this.offset = offset;
+    this.budget = MemoryAccountant.instance().budget(category);
   }
 
   private static RandomAccessFile createFile(File file, FileChannel.MapMode mode) {
@@ -86,25 +97,64 @@ public class MappedMemoryAllocator implements MemoryAllocator<MappedMemory> {
     throw new IllegalArgumentException("unsupported map mode");
   }
 
+  /**
+   * Returns the budget to which mapped memory is charged.
+   *
+   * @return the budget to which mapped memory is charged
+   */
+  MemoryBudget budget() {
+    return budget;
+  }
+
   @Override
   public MappedMemory allocate(int size) {
+    budget.reserve(size);
     try {
-      if (file.length() < size)
-        file.setLength(size);
-      referenceCount.incrementAndGet();
-      return new MappedMemory(channel.map(mode, offset, size), this);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+      return map(size);
+    } catch (RuntimeException | Error e) {
+      budget.release(size);
+      throw e;
     }
   }
 
   @Override
   public MappedMemory reallocate(MappedMemory memory, int size) {
-    MappedMemory newMemory = allocate(size);
+    // Charge only the difference in size to avoid counting both mappings while the memory is remapped.
+    long delta = (long) size - memory.size();
+    if (delta > 0) {
+      budget.reserve(delta);
+    }
+    MappedMemory newMemory;
+    try {
+      newMemory = map(size);
+    } catch (RuntimeException | Error e) {
+      if (delta > 0) {
+        budget.release(delta);
+      }
+      throw e;
+    }
+    memory.detach();
     memory.free();
+    if (delta < 0) {
+      budget.release(-delta);
+    }
     return newMemory;
   }
 
+  /**
+   * Maps the given number of bytes of the file without charging the budget.
+   */
+  private MappedMemory map(int size) {
+    try {
+      if (file.length() < size)
+        file.setLength(size);
+      referenceCount.incrementAndGet();
+      return new MappedMemory(channel.map(mode, offset, size), this);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public void close() {
     try {
       file.close();
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.memory;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Process-wide memory accountant.
+ * <p>
+ * The accountant tracks the off-heap memory allocated by {@link DirectMemoryAllocator}s and
+ * {@link MappedMemoryAllocator}s, and by the direct and mapped buffers of the storage module. Each allocation is
+ * charged once, to the category on whose behalf it was made. Each {@link MemoryCategory} is assigned a
+ * {@link MemoryBudget}, and all category budgets are in turn charged to a single {@link #total() process-wide budget}.
+ * Budgets are unlimited unless configured either programmatically or via the {@code io.atomix.memory.limit} and
+ * {@code io.atomix.memory.<category>.limit} system properties, e.g. {@code -Dio.atomix.memory.journal.limit=1g}.
+ */
+public final class MemoryAccountant {
+  private static final String PROPERTY_PREFIX = "io.atomix.memory.";
+  private static final String LIMIT_SUFFIX = "limit";
+  private static final MemoryAccountant INSTANCE = new MemoryAccountant();
+
+  /**
+   * Returns the process-wide memory accountant.
+   *
+   * @return the process-wide memory accountant
+   */
+  public static MemoryAccountant instance() {
+    return INSTANCE;
+  }
+
+  private final MemoryBudget total;
+  private final Map<MemoryCategory, MemoryBudget> budgets = new EnumMap<>(MemoryCategory.class);
+
+  private MemoryAccountant() {
+    this.total = new MemoryBudget(null, limit(PROPERTY_PREFIX + LIMIT_SUFFIX), null);
+    for (MemoryCategory category : MemoryCategory.values()) {
+      String property = PROPERTY_PREFIX + category.name().toLowerCase() + "." + LIMIT_SUFFIX;
+      budgets.put(category, new MemoryBudget(category, limit(property), total));
+    }
+  }
+
+  /**
+   * Reads a limit from the given system property.
+   */
+  private static long limit(String property) {
+    String value = System.getProperty(property);
+    if (value == null) {
+      return MemoryBudget.UNLIMITED;
+    }
+    return parseSize(value.trim());
+  }
+
+  /**
+   * Parses a size with an optional {@code k}, {@code m} or {@code g} suffix.
+   */
+  static long parseSize(String value) {
+    if (value.isEmpty()) {
+      throw new IllegalArgumentException("size cannot be empty");
+    }
+    String number = value.substring(0, value.length() - 1);
+    switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+      case 'k':
+        return Long.parseLong(number) * 1024;
+      case 'm':
+        return Long.parseLong(number) * 1024 * 1024;
+      case 'g':
+        return Long.parseLong(number) * 1024 * 1024 * 1024;
+      default:
+        return Long.parseLong(value);
+    }
+  }
+
+  /**
+   * Returns the budget for the given memory category.
+   *
+   * @param category the memory category
+   * @return the budget for the given memory category
+   */
+  public MemoryBudget budget(MemoryCategory category) {
+    return budgets.get(checkNotNull(category, "category cannot be null"));
+  }
+
+  /**
+   * Returns the process-wide budget to which all category budgets are charged.
+   *
+   * @return the process-wide budget
+   */
+  public MemoryBudget total() {
+    return total;
+  }
+
+  /**
+   * Returns the total number of bytes in use across all categories.
+   *
+   * @return the total number of bytes in use across all categories
+   */
+  public long getUsed() {
+    return total.getUsed();
+  }
+
+  /**
+   * Returns the largest total number of bytes that have been in use at once.
+   *
+   * @return the largest total number of bytes that have been in use at once
+   */
+  public long getPeak() {
+    return total.getPeak();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("total", total)
+        .add("budgets", budgets.values())
+        .toString();
+  }
+}
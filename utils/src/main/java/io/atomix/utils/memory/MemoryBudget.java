@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.memory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Memory budget.
+ * <p>
+ * A budget tracks the memory in use by a single {@link MemoryCategory} and limits it to a configurable number of
+ * bytes. When a {@link #reserve(long) reservation} would exceed the limit, the reserving thread is blocked until
+ * enough memory is {@link #release(long) released} or the budget's maximum wait time elapses, at which point a
+ * {@link MemoryLimitExceededException} is thrown. Budgets are unlimited by default.
+ */
+public class MemoryBudget {
+  static final long UNLIMITED = Long.MAX_VALUE;
+  static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(5);
+
+  private final MemoryCategory category;
+  private final MemoryBudget parent;
+  private final AtomicLong used = new AtomicLong();
+  private final AtomicLong peak = new AtomicLong();
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private volatile long limit;
+  private volatile Duration maxWait = DEFAULT_MAX_WAIT;
+
+  MemoryBudget(MemoryCategory category, long limit, MemoryBudget parent) {
+    this.category = category;
+    this.limit = limit;
+    this.parent = parent;
+  }
+
+  /**
+   * Returns the budget category.
+   *
+   * @return the budget category or {@code null} if this is the process-wide budget
+   */
+  public MemoryCategory category() {
+    return category;
+  }
+
+  /**
+   * Returns the maximum number of bytes that may be in use.
+   *
+   * @return the maximum number of bytes that may be in use
+   */
+  public long getLimit() {
+    return limit;
+  }
+
+  /**
+   * Sets the maximum number of bytes that may be in use.
+   * <p>
+   * Lowering the limit below the number of bytes already in use does not free any memory, but blocks further
+   * reservations until enough memory has been released.
+   *
+   * @param limit the maximum number of bytes that may be in use
+   * @return the memory budget
+   */
+  public MemoryBudget setLimit(long limit) {
+    checkArgument(limit >= 0, "limit must be positive");
+    this.limit = limit;
+    signal();
+    return this;
+  }
+
+  /**
+   * Returns the maximum amount of time to wait for memory to be released when the budget is exhausted.
+   *
+   * @return the maximum amount of time to wait for memory to be released
+   */
+  public Duration getMaxWait() {
+    return maxWait;
+  }
+
+  /**
+   * Sets the maximum amount of time to wait for memory to be released when the budget is exhausted.
+   *
+   * @param maxWait the maximum amount of time to wait for memory to be released
+   * @return the memory budget
+   */
+  public MemoryBudget setMaxWait(Duration maxWait) {
+    this.maxWait = checkNotNull(maxWait, "maxWait cannot be null");
+    return this;
+  }
+
+  /**
+   * Returns the number of bytes in use.
+   *
+   * @return the number of bytes in use
+   */
+  public long getUsed() {
+    return used.get();
+  }
+
+  /**
+   * Returns the number of bytes that may still be reserved.
+   *
+   * @return the number of bytes that may still be reserved
+   */
+  public long getAvailable() {
+    return Math.max(limit - used.get(), 0);
+  }
+
+  /**
+   * Returns the largest number of bytes that have been in use at once.
+   *
+   * @return the largest number of bytes that have been in use at once
+   */
+  public long getPeak() {
+    return peak.get();
+  }
+
+  /**
+   * Returns the number of reservations that had to wait for memory to be released.
+   *
+   * @return the number of reservations that had to wait for memory to be released
+   */
+  public long getWaits() {
+    return waits.sum();
+  }
+
+  /**
+   * Returns the number of reservations that failed because the budget was exhausted.
+   *
+   * @return the number of reservations that failed because the budget was exhausted
+   */
+  public long getRejections() {
+    return rejections.sum();
+  }
+
+  /**
+   * Attempts to reserve the given number of bytes without waiting.
+   *
+   * @param bytes the number of bytes to reserve
+   * @return indicates whether the bytes were reserved
+   */
+  public boolean tryReserve(long bytes) {
+    checkArgument(bytes >= 0, "bytes must be positive");
+    if (!reserveLocal(bytes)) {
+      return false;
+    }
+    if (parent != null && !parent.tryReserve(bytes)) {
+      releaseLocal(bytes);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Reserves the given number of bytes, waiting for memory to be released if the budget is exhausted.
+   *
+   * @param bytes the number of bytes to reserve
+   * @throws MemoryLimitExceededException if the bytes could not be reserved within the maximum wait time
+   */
+  public void reserve(long bytes) {
+    if (tryReserve(bytes)) {
+      return;
+    }
+
+    waits.increment();
+    long deadline = System.nanoTime() + maxWait.toNanos();
+    waiting.incrementAndGet();
+    lock.lock();
+    try {
+      while (!tryReserve(bytes)) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          rejections.increment();
+          throw new MemoryLimitExceededException(
+              "Failed to reserve %d bytes for %s: %d of %d bytes in use", bytes, name(), used.get(), limit);
+        }
+        try {
+          // Wake up periodically since memory released to a parent budget does not signal this budget.
+          released.awaitNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          rejections.increment();
+          throw new MemoryLimitExceededException("Interrupted while reserving %d bytes for %s", bytes, name());
+        }
+      }
+    } finally {
+      lock.unlock();
+      waiting.decrementAndGet();
+    }
+  }
+
+  /**
+   * Releases the given number of previously reserved bytes.
+   *
+   * @param bytes the number of bytes to release
+   */
+  public void release(long bytes) {
+    checkArgument(bytes >= 0, "bytes must be positive");
+    releaseLocal(bytes);
+    if (parent != null) {
+      parent.release(bytes);
+    }
+    signal();
+  }
+
+  /**
+   * Reserves bytes in this budget only.
+   */
+  private boolean reserveLocal(long bytes) {
+    while (true) {
+      long current = used.get();
+      long next = current + bytes;
+      if (next > limit || next < 0) {
+        return false;
+      }
+      if (used.compareAndSet(current, next)) {
+        peak.accumulateAndGet(next, Math::max);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases bytes in this budget only.
+   */
+  private void releaseLocal(long bytes) {
+    used.addAndGet(-bytes);
+  }
+
+  /**
+   * Wakes up threads waiting for memory to be released.
+   */
+  private void signal() {
+    if (waiting.get() > 0) {
+      lock.lock();
+      try {
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private String name() {
+    return category != null ? category.name() : "process";
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("category", name())
+        .add("used", used.get())
+        .add("limit", limit)
+        .add("peak", peak.get())
+        .toString();
+  }
+}
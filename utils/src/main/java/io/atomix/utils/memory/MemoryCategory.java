@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.memory;
+
+/**
+ * Memory category.
+ * <p>
+ * Categories identify the subsystem on whose behalf memory is allocated. Each category is assigned its own
+ * {@link MemoryBudget} by the {@link MemoryAccountant}.
+ */
+public enum MemoryCategory {
+
+  /**
+   * Memory allocated by Raft and primary-backup logs.
+   */
+  JOURNAL,
+
+  /**
+   * Memory not allocated on behalf of a specific subsystem.
+   */
+  DEFAULT,
+}
@@ -16,6 +16,7 @@
 package io.atomix.utils.serializer;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Registration;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.ByteBufferInput;
@@ -25,6 +26,7 @@ import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
 import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import io.atomix.utils.config.ConfigurationException;
 import org.apache.commons.lang3.tuple.Pair;
@@ -34,6 +36,7 @@ import org.slf4j.Logger;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -356,13 +359,20 @@ public final class Namespace implements KryoFactory, KryoPool {
    *
    * @param obj    Object to serialize
    * @param buffer to write to
+   * @throws BufferOverflowException if the remaining bytes in the buffer are insufficient to hold the object
    */
   public void serialize(final Object obj, final ByteBuffer buffer) {
-    ByteBufferOutput out = new ByteBufferOutput(buffer);
+    ByteBufferOutput out = new FixedByteBufferOutput(buffer);
     Kryo kryo = borrow();
     try {
       kryo.writeClassAndObject(out, obj);
       out.flush();
+    } catch (KryoException e) {
+      // Field serializers wrap exceptions thrown while writing fields.
+      if (Throwables.getCausalChain(e).stream().anyMatch(BufferOverflowException.class::isInstance)) {
+        throw new BufferOverflowException();
+      }
+      throw e;
     } finally {
       release(kryo);
     }
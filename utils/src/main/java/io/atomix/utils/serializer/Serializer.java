@@ -16,6 +16,9 @@
 
 package io.atomix.utils.serializer;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Interface for serialization of store artifacts.
  */
@@ -30,6 +33,21 @@ public interface Serializer {
    */
   <T> byte[] encode(T object);
 
+  /**
+   * Serialize the specified object into the given buffer.
+   * <p>
+   * The object is written starting at the buffer's current position, and the position is advanced past the
+   * serialized bytes.
+   *
+   * @param object object to serialize.
+   * @param buffer buffer to which to write the serialized bytes.
+   * @param <T>    encoded type
+   * @throws BufferOverflowException if the remaining bytes in the buffer are insufficient to hold the object
+   */
+  default <T> void encode(T object, ByteBuffer buffer) {
+    buffer.put(encode(object));
+  }
+
   /**
    * Deserialize the specified bytes.
    *
@@ -52,6 +70,11 @@ public interface Serializer {
         return namespace.serialize(object);
       }
 
+      @Override
+      public <T> void encode(T object, ByteBuffer buffer) {
+        namespace.serialize(object, buffer);
+      }
+
       @Override
       public <T> T decode(byte[] bytes) {
         return namespace.deserialize(bytes);
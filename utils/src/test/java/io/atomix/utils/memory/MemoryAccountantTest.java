@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.memory;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Memory accountant test.
+ */
+public class MemoryAccountantTest {
+
+  @Test
+  public void testReserveAndRelease() {
+    MemoryBudget budget = new MemoryBudget(MemoryCategory.DEFAULT, 100, null);
+    assertTrue(budget.tryReserve(60));
+    assertEquals(60, budget.getUsed());
+    assertEquals(40, budget.getAvailable());
+    assertFalse(budget.tryReserve(50));
+    budget.release(30);
+    assertTrue(budget.tryReserve(50));
+    assertEquals(80, budget.getUsed());
+    assertEquals(80, budget.getPeak());
+    budget.release(80);
+    assertEquals(0, budget.getUsed());
+    assertEquals(80, budget.getPeak());
+  }
+
+  @Test
+  public void testParentBudget() {
+    MemoryBudget total = new MemoryBudget(null, 100, null);
+    MemoryBudget first = new MemoryBudget(MemoryCategory.JOURNAL, 80, total);
+    MemoryBudget second = new MemoryBudget(MemoryCategory.DEFAULT, 80, total);
+    assertTrue(first.tryReserve(60));
+    assertFalse(second.tryReserve(60));
+    assertEquals(0, second.getUsed());
+    assertTrue(second.tryReserve(40));
+    assertEquals(100, total.getUsed());
+    first.release(60);
+    second.release(40);
+    assertEquals(0, total.getUsed());
+  }
+
+  @Test
+  public void testReserveTimeout() {
+    MemoryBudget budget = new MemoryBudget(MemoryCategory.DEFAULT, 100, null).setMaxWait(Duration.ofMillis(50));
+    budget.reserve(100);
+    try {
+      budget.reserve(1);
+      fail();
+    } catch (MemoryLimitExceededException e) {
+    }
+    assertEquals(1, budget.getWaits());
+    assertEquals(1, budget.getRejections());
+    assertEquals(100, budget.getUsed());
+  }
+
+  @Test
+  public void testReserveBackPressure() throws Exception {
+    MemoryBudget budget = new MemoryBudget(MemoryCategory.DEFAULT, 100, null);
+    budget.reserve(100);
+    CountDownLatch latch = new CountDownLatch(1);
+    Thread thread = new Thread(() -> {
+      budget.reserve(50);
+      latch.countDown();
+    });
+    thread.start();
+    assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+    budget.release(50);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(100, budget.getUsed());
+    assertEquals(0, budget.getRejections());
+  }
+
+  @Test
+  public void testDirectMemoryAccounting() {
+    MemoryBudget budget = MemoryAccountant.instance().budget(MemoryCategory.DEFAULT);
+    long used = budget.getUsed();
+    long total = MemoryAccountant.instance().getUsed();
+    DirectMemoryAllocator allocator = new DirectMemoryAllocator(MemoryCategory.DEFAULT);
+    DirectMemory memory = allocator.allocate(1024);
+    assertEquals(used + 1024, budget.getUsed());
+    assertEquals(total + 1024, MemoryAccountant.instance().getUsed());
+    DirectMemory grown = allocator.reallocate(memory, 4096);
+    assertEquals(used + 4096, budget.getUsed());
+    DirectMemory shrunk = allocator.reallocate(grown, 2048);
+    assertEquals(used + 2048, budget.getUsed());
+    shrunk.free();
+    shrunk.free();
+    assertEquals(used, budget.getUsed());
+    assertEquals(total, MemoryAccountant.instance().getUsed());
+  }
+
+  @Test
+  public void testParseSize() {
+    assertEquals(100, MemoryAccountant.parseSize("100"));
+    assertEquals(2048, MemoryAccountant.parseSize("2k"));
+    assertEquals(3L * 1024 * 1024, MemoryAccountant.parseSize("3M"));
+    assertEquals(1024L * 1024 * 1024, MemoryAccountant.parseSize("1g"));
+  }
+}
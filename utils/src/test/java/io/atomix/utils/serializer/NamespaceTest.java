@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.serializer;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Namespace test.
+ */
+public class NamespaceTest {
+  private static final Namespace NAMESPACE = Namespace.builder()
+      .register(Namespaces.BASIC)
+      .register(TestObject.class)
+      .build();
+
+  @Test
+  public void testSerializeToBuffer() {
+    TestObject object = new TestObject("Hello world!");
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    buffer.position(8);
+    NAMESPACE.serialize(object, buffer);
+    byte[] bytes = NAMESPACE.serialize(object);
+    assertEquals(8 + bytes.length, buffer.position());
+
+    byte[] written = new byte[bytes.length];
+    buffer.flip().position(8);
+    buffer.get(written);
+    assertArrayEquals(bytes, written);
+    TestObject result = NAMESPACE.deserialize(written);
+    assertEquals(object.value, result.value);
+  }
+
+  @Test
+  public void testSerializeToBufferOverflow() {
+    try {
+      NAMESPACE.serialize(new byte[100], ByteBuffer.allocate(64));
+      fail();
+    } catch (BufferOverflowException e) {
+    }
+
+    // Overflows while writing an object's fields are reported as overflows as well.
+    try {
+      NAMESPACE.serialize(new TestObject(new String(new char[100])), ByteBuffer.allocate(64));
+      fail();
+    } catch (BufferOverflowException e) {
+    }
+  }
+
+  private static class TestObject {
+    private final String value;
+
+    TestObject(String value) {
+      this.value = value;
+    }
+  }
+}